@@ -0,0 +1,96 @@
+package com.example.momskitchen.bench;
+
+import com.example.momskitchen.service.CatalogSnapshot;
+import com.example.momskitchen.service.CatalogSnapshot.AddonView;
+import com.example.momskitchen.service.CatalogSnapshot.CategoryView;
+import com.example.momskitchen.service.CatalogSnapshot.ItemView;
+import com.example.momskitchen.service.CatalogSnapshot.MenuView;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+/**
+ * Compares "items of a category" lookups as the catalog grows:
+ *  - scan:  the old MenuService approach (walk every item, filter, sort)
+ *  - index: CatalogSnapshot.itemsOf (per-category bucket, pre-sorted)
+ * plus the cost of patching one item into the snapshot (withChanges).
+ *
+ * No database involved; this isolates the in-memory work per request.
+ * Run from the IDE or with (from backend/momskitchen, after building the benchmarks module):
+ *   java -cp benchmarks/target/benchmarks.jar com.example.momskitchen.bench.CatalogIndexBenchmark
+ */
+public class CatalogIndexBenchmark {
+
+    private static final int ITEMS_PER_CATEGORY = 25;
+    private static final int LOOKUPS = 20_000;
+
+    public static void main(String[] args) {
+        System.out.printf("%8s %14s %14s %14s%n", "items", "scan ns/op", "index ns/op", "patch us/op");
+        for (int size : new int[]{1_000, 10_000, 50_000}) {
+            run(size);
+        }
+    }
+
+    private static void run(int itemCount) {
+        int categoryCount = Math.max(1, itemCount / ITEMS_PER_CATEGORY);
+        List<CategoryView> categories = new ArrayList<>(categoryCount);
+        for (long c = 1; c <= categoryCount; c++) {
+            categories.add(new CategoryView(c, 1L, "Category " + c, null, (int) c, true));
+        }
+        Random rnd = new Random(42);
+        List<ItemView> items = new ArrayList<>(itemCount);
+        for (long i = 1; i <= itemCount; i++) {
+            long categoryId = 1 + rnd.nextInt(categoryCount);
+            items.add(new ItemView(i, categoryId, "Item " + i, null, BigDecimal.TEN, true, null,
+                    rnd.nextInt(100), List.of(1L, 2L)));
+        }
+        List<AddonView> addons = List.of(
+                new AddonView(1L, "Extra cheese", null, BigDecimal.ONE, true),
+                new AddonView(2L, "Extra sauce", null, BigDecimal.ONE, true));
+        CatalogSnapshot snapshot = CatalogSnapshot.of(1L,
+                List.of(new MenuView(1L, "Main", null, true)), categories, items, addons);
+
+        long[] keys = new long[LOOKUPS];
+        for (int k = 0; k < LOOKUPS; k++) keys[k] = 1 + rnd.nextInt(categoryCount);
+
+        // warm up both paths
+        long sink = 0;
+        for (int k = 0; k < 2_000; k++) {
+            sink += scan(items, keys[k]).size();
+            sink += snapshot.itemsOf(keys[k]).size();
+        }
+
+        // the scan is O(catalog) per call; cap iterations so 50k items stays quick
+        int scanLookups = Math.min(LOOKUPS, 2_000_000 / itemCount);
+        long t0 = System.nanoTime();
+        for (int k = 0; k < scanLookups; k++) sink += scan(items, keys[k]).size();
+        long scanNs = (System.nanoTime() - t0) / scanLookups;
+
+        t0 = System.nanoTime();
+        for (int k = 0; k < LOOKUPS; k++) sink += snapshot.itemsOf(keys[k]).size();
+        long indexNs = (System.nanoTime() - t0) / LOOKUPS;
+
+        int patches = 200;
+        t0 = System.nanoTime();
+        CatalogSnapshot s = snapshot;
+        for (int k = 0; k < patches; k++) {
+            ItemView old = items.get(rnd.nextInt(itemCount));
+            ItemView changed = new ItemView(old.id(), old.categoryId(), old.name(), "updated", old.price(),
+                    old.available(), old.imageUrl(), old.displayOrder(), old.allowedAddonIds());
+            s = s.withChanges(s.getVersion() + 1, List.of(), Set.of(), List.of(changed), Set.of());
+        }
+        long patchUs = (System.nanoTime() - t0) / patches / 1_000;
+
+        System.out.printf("%8d %14d %14d %14d   (sink %d)%n", itemCount, scanNs, indexNs, patchUs, sink % 10);
+    }
+
+    private static List<ItemView> scan(List<ItemView> all, long categoryId) {
+        return all.stream()
+                .filter(i -> i.categoryId() == categoryId)
+                .sorted((a, b) -> Integer.compare(a.displayOrder(), b.displayOrder()))
+                .toList();
+    }
+}
@@ -0,0 +1,105 @@
+package com.example.momskitchen.bench;
+
+import com.example.momskitchen.MomskitchenApplication;
+import com.example.momskitchen.dto.CartAddonDTO;
+import com.example.momskitchen.dto.CartItemDTO;
+import com.example.momskitchen.dto.CreateOrderRequest;
+import com.example.momskitchen.service.CatalogService;
+import com.example.momskitchen.service.CatalogSnapshot;
+import com.example.momskitchen.service.CatalogSnapshot.CategoryView;
+import com.example.momskitchen.service.CatalogSnapshot.ItemView;
+import com.example.momskitchen.service.CatalogSnapshot.MenuView;
+import com.example.momskitchen.service.OrderService;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * OrderService.createOrder end to end against a real MySQL (the app's normal DB_* settings),
+ * for carts of 1, 10 and 100 lines; every line that allows add-ons carries one.
+ * Prints ms per order and JDBC statements per order (Hibernate statistics; a batch counts once).
+ *
+ * Compare:
+ *  - before: run on the commit before pooled ids (IDENTITY, one INSERT per row)
+ *  - after:  this tree; add -DHIBERNATE_BATCH_SIZE=1 to see pooled ids without batching
+ *
+ * Runs with the dev profile (seed catalog) and writes real orders, so point it at a scratch database:
+ *   java -cp benchmarks/target/benchmarks.jar com.example.momskitchen.bench.CreateOrderBenchmark
+ */
+public class CreateOrderBenchmark {
+
+    private static final int WARMUP = 50;
+    private static final int ORDERS = 200;
+
+    public static void main(String[] args) {
+        try (ConfigurableApplicationContext ctx = new SpringApplicationBuilder(MomskitchenApplication.class)
+                .web(WebApplicationType.NONE)
+                .profiles("dev")
+                .properties("spring.jpa.show-sql=false",
+                        "logging.level.org.hibernate.SQL=WARN",
+                        "logging.level.org.hibernate.orm.jdbc.bind=WARN",
+                        "spring.jpa.properties.hibernate.generate_statistics=true",
+                        "logging.level.org.hibernate.engine.internal.StatisticalLoggingSessionEventListener=WARN")
+                .run(args)) {
+
+            OrderService orders = ctx.getBean(OrderService.class);
+            List<ItemView> items = orderableItems(ctx.getBean(CatalogService.class).refresh());
+            Statistics stats = ctx.getBean(EntityManagerFactory.class).unwrap(SessionFactory.class).getStatistics();
+
+            System.out.printf("%6s %12s %14s%n", "lines", "ms/order", "stmts/order");
+            for (int lines : new int[]{1, 10, 100}) {
+                CreateOrderRequest cart = cart(items, lines);
+                for (int i = 0; i < WARMUP; i++) orders.createOrder(cart);
+
+                stats.clear();
+                long t0 = System.nanoTime();
+                for (int i = 0; i < ORDERS; i++) orders.createOrder(cart);
+                double ms = (System.nanoTime() - t0) / 1e6 / ORDERS;
+                double statements = (double) stats.getPrepareStatementCount() / ORDERS;
+
+                System.out.printf("%6d %12.2f %14.1f%n", lines, ms, statements);
+            }
+        }
+    }
+
+    private static List<ItemView> orderableItems(CatalogSnapshot snapshot) {
+        List<ItemView> items = new ArrayList<>();
+        for (MenuView menu : snapshot.menus()) {
+            for (CategoryView category : snapshot.categoriesOf(menu.id())) {
+                for (ItemView item : snapshot.itemsOf(category.id())) {
+                    if (item.available()) items.add(item);
+                }
+            }
+        }
+        if (items.isEmpty()) throw new IllegalStateException("No available menu items to order");
+        return items;
+    }
+
+    /** Friday pickup (seed slot 1); lines cycle through the catalog. */
+    private static CreateOrderRequest cart(List<ItemView> items, int lines) {
+        List<CartItemDTO> cartLines = new ArrayList<>(lines);
+        for (int i = 0; i < lines; i++) {
+            ItemView item = items.get(i % items.size());
+            CartItemDTO line = new CartItemDTO();
+            line.setMenuItemId(item.id());
+            line.setQuantity(1 + i % 3);
+            List<CartAddonDTO> addons = new ArrayList<>();
+            if (!item.allowedAddonIds().isEmpty()) addons.add(new CartAddonDTO(item.allowedAddonIds().get(0), null, null));
+            line.setAddons(addons);
+            cartLines.add(line);
+        }
+        CreateOrderRequest req = new CreateOrderRequest();
+        req.setCustomerName("Bench");
+        req.setCustomerEmail("bench@example.com");
+        req.setCustomerPhone("3025550100");
+        req.setPickupDay(5);
+        req.setItems(cartLines);
+        return req;
+    }
+}
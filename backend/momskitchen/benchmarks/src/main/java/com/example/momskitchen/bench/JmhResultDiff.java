@@ -0,0 +1,86 @@
+package com.example.momskitchen.bench;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Compares two JMH JSON result files (-rf json), e.g. the previous release's and this build's:
+ * per benchmark the primary score and, when run with -prof gc, bytes allocated per operation.
+ * Benchmarks only present in one file are listed with a blank side.
+ *
+ * Run with:
+ *   java -cp benchmarks/target/benchmarks.jar com.example.momskitchen.bench.JmhResultDiff old.json new.json
+ */
+public class JmhResultDiff {
+
+    private static final String ALLOC_NORM = "gc.alloc.rate.norm";
+
+    private record Result(double score, String unit, Double allocPerOp) {}
+
+    public static void main(String[] args) throws IOException {
+        if (args.length != 2) {
+            System.err.println("usage: JmhResultDiff <baseline.json> <candidate.json>");
+            System.exit(2);
+        }
+        Map<String, Result> before = read(new File(args[0]));
+        Map<String, Result> after = read(new File(args[1]));
+
+        Map<String, Boolean> names = new LinkedHashMap<>();
+        before.keySet().forEach(k -> names.put(k, true));
+        after.keySet().forEach(k -> names.put(k, true));
+
+        System.out.printf("%-60s %14s %14s %8s %12s %12s  %s%n",
+                "benchmark", "baseline", "candidate", "change", "B/op before", "B/op after", "unit");
+        for (String name : names.keySet()) {
+            Result b = before.get(name);
+            Result a = after.get(name);
+            String change = b != null && a != null && b.score() != 0
+                    ? String.format("%+.1f%%", (a.score() - b.score()) / b.score() * 100) : "";
+            System.out.printf("%-60s %14s %14s %8s %12s %12s  %s%n", name,
+                    b != null ? String.format("%.3f", b.score()) : "",
+                    a != null ? String.format("%.3f", a.score()) : "",
+                    change,
+                    b != null && b.allocPerOp() != null ? String.format("%.0f", b.allocPerOp()) : "",
+                    a != null && a.allocPerOp() != null ? String.format("%.0f", a.allocPerOp()) : "",
+                    (a != null ? a : b).unit());
+        }
+    }
+
+    /** Results keyed by benchmark, mode and parameters (so @Param variants line up). */
+    private static Map<String, Result> read(File file) throws IOException {
+        Map<String, Result> out = new LinkedHashMap<>();
+        for (JsonNode run : new ObjectMapper().readTree(file)) {
+            StringBuilder key = new StringBuilder(shortName(run.path("benchmark").asText()))
+                    .append(" [").append(run.path("mode").asText()).append(']');
+            Iterator<Map.Entry<String, JsonNode>> params = run.path("params").fields();
+            while (params.hasNext()) {
+                Map.Entry<String, JsonNode> p = params.next();
+                key.append(' ').append(p.getKey()).append('=').append(p.getValue().asText());
+            }
+            JsonNode primary = run.path("primaryMetric");
+            out.put(key.toString(), new Result(primary.path("score").asDouble(),
+                    primary.path("scoreUnit").asText(), allocPerOp(run.path("secondaryMetrics"))));
+        }
+        return out;
+    }
+
+    // secondary metric names carry a profiler prefix ("·gc.alloc.rate.norm"), so match the suffix
+    private static Double allocPerOp(JsonNode secondary) {
+        Iterator<Map.Entry<String, JsonNode>> it = secondary.fields();
+        while (it.hasNext()) {
+            Map.Entry<String, JsonNode> m = it.next();
+            if (m.getKey().endsWith(ALLOC_NORM)) return m.getValue().path("score").asDouble();
+        }
+        return null;
+    }
+
+    private static String shortName(String benchmark) {
+        return benchmark.replace("com.example.momskitchen.", "");
+    }
+}
@@ -0,0 +1,70 @@
+package com.example.momskitchen.bench;
+
+import com.example.momskitchen.util.OrderCodeGenerator;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * OrderCodeGenerator.generate: lock, scramble and base32 encoding per code.
+ *
+ * The real generator issues at most 256 codes per second per node and then waits for the next
+ * second, so against the wall clock a throughput run would only measure that cap. Here the
+ * generator reads a simulated clock that moves 4 ms per read (and "sleeps" by moving it), so the
+ * sequence never runs out and the score is the cost of a code. generateContended runs the same
+ * generator on 4 threads to show the lock under contention.
+ *
+ * Run with (from backend/momskitchen, after building the benchmarks module):
+ *   java -jar benchmarks/target/benchmarks.jar OrderCodeBenchmark -prof gc -rf json
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class OrderCodeBenchmark {
+
+    private static final long START = 1_760_000_000_000L; // Oct 2025
+    private static final long MS_PER_READ = 4;              // 250 reads a second < 256 codes
+
+    private OrderCodeGenerator generator;
+
+    @Setup
+    public void setup() {
+        AtomicLong clock = new AtomicLong(START);
+        generator = new OrderCodeGenerator(1) {
+            @Override
+            protected long currentTimeMillis() {
+                return clock.addAndGet(MS_PER_READ);
+            }
+
+            @Override
+            protected void sleep(long millis) {
+                clock.addAndGet(millis);
+            }
+        };
+    }
+
+    @Benchmark
+    public String generate() {
+        return generator.generate();
+    }
+
+    @Benchmark
+    @Threads(4)
+    public String generateContended() {
+        return generator.generate();
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(OrderCodeBenchmark.class.getSimpleName())
+                .addProfiler("gc")
+                .build()).run();
+    }
+}
@@ -0,0 +1,73 @@
+package com.example.momskitchen.bench;
+
+import com.example.momskitchen.dto.CreateOrderRequest;
+import com.example.momskitchen.dto.QuoteResponse;
+import com.example.momskitchen.service.PricingService;
+import com.example.momskitchen.service.QuoteFixtures;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.math.BigDecimal;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Quote pricing: original BigDecimal math vs PricingService (Money, long cents),
+ * with and without the quote cache.
+ * Carts have 1..12 lines with 0..3 add-ons each; the catalog is in memory for both,
+ * so this measures the arithmetic and allocation only. Both sides validate add-ons;
+ * the PricingService side also collects cart ids for the batch lookup.
+ *
+ * Run with (from backend/momskitchen, after building the benchmarks module):
+ *   java -jar benchmarks/target/benchmarks.jar QuoteBenchmark -prof gc -rf json
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class QuoteBenchmark {
+
+    private static final BigDecimal TAX_RATE = new BigDecimal("0.06");
+    private static final int CARTS = 1_024;
+
+    private QuoteFixtures fixtures;
+    private PricingService pricing;
+    private PricingService cachedPricing;
+    private CreateOrderRequest[] carts;
+    private int next;
+
+    @Setup
+    public void setup() {
+        fixtures = new QuoteFixtures(7, 300, 40);
+        pricing = new PricingService(fixtures.catalogService(), TAX_RATE, true, 0);
+        cachedPricing = new PricingService(fixtures.catalogService(), TAX_RATE, true, CARTS);
+        carts = new CreateOrderRequest[CARTS];
+        for (int i = 0; i < CARTS; i++) carts[i] = fixtures.randomCart(12);
+    }
+
+    @Benchmark
+    public BigDecimal[] bigDecimal() {
+        return fixtures.referenceTotals(carts[next++ & (CARTS - 1)], TAX_RATE);
+    }
+
+    @Benchmark
+    public QuoteResponse money() {
+        return pricing.quote(carts[next++ & (CARTS - 1)]);
+    }
+
+    /** Repeated carts with the quote cache on (every cart is a hit after the first pass). */
+    @Benchmark
+    public QuoteResponse moneyCached() {
+        return cachedPricing.quote(carts[next++ & (CARTS - 1)]);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(QuoteBenchmark.class.getSimpleName())
+                .addProfiler("gc")
+                .build()).run();
+    }
+}
@@ -0,0 +1,181 @@
+package com.example.momskitchen.controller;
+
+import com.example.momskitchen.config.JacksonConfig;
+import com.example.momskitchen.controller.MenuController.MenuTreeDTO;
+import com.example.momskitchen.dto.OrderListItemDTO;
+import com.example.momskitchen.dto.OrderSummaryDTO;
+import com.example.momskitchen.model.Order;
+import com.example.momskitchen.model.OrderItem;
+import com.example.momskitchen.model.OrderItemAddon;
+import com.example.momskitchen.service.CatalogSnapshot;
+import com.example.momskitchen.service.CatalogSnapshot.AddonView;
+import com.example.momskitchen.service.CatalogSnapshot.CategoryView;
+import com.example.momskitchen.service.CatalogSnapshot.ItemView;
+import com.example.momskitchen.service.CatalogSnapshot.MenuView;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Entity/snapshot to DTO mapping done on the hot endpoints, and the JSON write of the menu tree:
+ *  - orderSummary:     OrderController.toSummaryDTO (order lookup, create response)
+ *  - adminListItem:    AdminOrderController.toListItemDTO (one row of the admin list)
+ *  - menuTree:         MenuController.toMenuTreeDTO from a catalog snapshot
+ *  - menuTreeJson:     ObjectMapper.writeValueAsBytes of that tree (the app's JacksonConfig)
+ *  - menuTreeMapAndJson: both, what a cache miss on GET /api/menu/{id}/tree costs before gzip
+ * Orders have 6 lines with 0..2 add-ons each; the menu has 8 categories of 12 items. The controllers
+ * are built with null collaborators: the mappers only read their arguments.
+ *
+ * Run with (from backend/momskitchen, after building the benchmarks module):
+ *   java -jar benchmarks/target/benchmarks.jar DtoMappingBenchmark -prof gc -rf json
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DtoMappingBenchmark {
+
+    private static final int CATEGORIES = 8;
+    private static final int ITEMS_PER_CATEGORY = 12;
+    private static final int ADDONS = 15;
+
+    private OrderController orderController;
+    private AdminOrderController adminController;
+    private MenuController menuController;
+    private ObjectMapper objectMapper;
+
+    private Order order;
+    private CatalogSnapshot catalog;
+    private MenuView menu;
+    private MenuTreeDTO tree;
+
+    @Setup
+    public void setup() {
+        objectMapper = new JacksonConfig().objectMapper();
+        orderController = new OrderController(null, null, null, null);
+        adminController = new AdminOrderController(null, null, null, null, 0);
+        menuController = new MenuController(null, objectMapper, 60);
+
+        Random rnd = new Random(11);
+        order = order(rnd, 6);
+        catalog = catalog(rnd);
+        menu = catalog.menus().get(0);
+        tree = menuController.toMenuTreeDTO(catalog, menu);
+    }
+
+    @Benchmark
+    public OrderSummaryDTO orderSummary() {
+        return orderController.toSummaryDTO(order);
+    }
+
+    @Benchmark
+    public OrderListItemDTO adminListItem() {
+        return adminController.toListItemDTO(order);
+    }
+
+    @Benchmark
+    public MenuTreeDTO menuTree() {
+        return menuController.toMenuTreeDTO(catalog, menu);
+    }
+
+    @Benchmark
+    public byte[] menuTreeJson() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(tree);
+    }
+
+    @Benchmark
+    public byte[] menuTreeMapAndJson() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(menuController.toMenuTreeDTO(catalog, menu));
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(DtoMappingBenchmark.class.getSimpleName())
+                .addProfiler("gc")
+                .build()).run();
+    }
+
+    // =========================
+    // Helpers
+    // =========================
+
+    private static Order order(Random rnd, int lines) {
+        Order o = Order.builder()
+                .id(1_000L)
+                .orderCode("MKABCDEFGHJ")
+                .status("CONFIRMED")
+                .paymentStatus("PAID")
+                .pickupAt(LocalDateTime.of(2025, 10, 17, 12, 30))
+                .createdAt(LocalDateTime.of(2025, 10, 16, 18, 4))
+                .customerName("Bench Customer")
+                .customerEmail("bench@example.com")
+                .customerPhone("3025550100")
+                .notes("No onions please")
+                .build();
+        BigDecimal subtotal = BigDecimal.ZERO;
+        for (int i = 0; i < lines; i++) {
+            BigDecimal unit = BigDecimal.valueOf(rnd.nextInt(199, 2_499), 2);
+            int qty = rnd.nextInt(1, 4);
+            OrderItem item = OrderItem.builder()
+                    .order(o)
+                    .itemName("Item " + i)
+                    .unitPrice(unit)
+                    .quantity(qty)
+                    .lineSubtotal(unit.multiply(BigDecimal.valueOf(qty)))
+                    .build();
+            int addons = rnd.nextInt(0, 3);
+            for (int a = 0; a < addons; a++) {
+                item.getAddons().add(OrderItemAddon.builder()
+                        .orderItem(item)
+                        .addonName("Addon " + a)
+                        .priceDelta(BigDecimal.valueOf(rnd.nextInt(0, 300), 2))
+                        .build());
+            }
+            o.getItems().add(item);
+            subtotal = subtotal.add(item.getLineSubtotal());
+        }
+        BigDecimal tax = subtotal.multiply(new BigDecimal("0.06")).setScale(2, RoundingMode.HALF_UP);
+        o.setSubtotal(subtotal);
+        o.setTaxAmount(tax);
+        o.setTotalAmount(subtotal.add(tax));
+        return o;
+    }
+
+    private static CatalogSnapshot catalog(Random rnd) {
+        List<AddonView> addons = new ArrayList<>();
+        for (long a = 1; a <= ADDONS; a++) {
+            addons.add(new AddonView(a, "Addon " + a, "Extra " + a, BigDecimal.valueOf(rnd.nextInt(0, 300), 2), true));
+        }
+        List<CategoryView> categories = new ArrayList<>();
+        List<ItemView> items = new ArrayList<>();
+        long itemId = 1;
+        for (long c = 1; c <= CATEGORIES; c++) {
+            categories.add(new CategoryView(c, 1L, "Category " + c, "Dishes of category " + c, (int) c, true));
+            for (int i = 0; i < ITEMS_PER_CATEGORY; i++, itemId++) {
+                List<Long> allowed = new ArrayList<>();
+                for (int k = rnd.nextInt(0, 5); k > 0; k--) {
+                    long a = rnd.nextLong(1, ADDONS + 1);
+                    if (!allowed.contains(a)) allowed.add(a);
+                }
+                items.add(new ItemView(itemId, c, "Item " + itemId, "A house favourite, made to order",
+                        BigDecimal.valueOf(rnd.nextInt(399, 2_499), 2), true,
+                        "/images/items/" + itemId + ".jpg", i, allowed));
+            }
+        }
+        return CatalogSnapshot.of(1L, List.of(new MenuView(1L, "Weekly menu", "This week's dishes", true)),
+                categories, items, addons);
+    }
+}
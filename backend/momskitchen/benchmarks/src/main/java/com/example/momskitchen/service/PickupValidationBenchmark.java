@@ -0,0 +1,147 @@
+package com.example.momskitchen.service;
+
+import com.example.momskitchen.model.PickupSlot;
+import com.example.momskitchen.repository.PickupSlotCapacityRepository;
+import com.example.momskitchen.repository.PickupSlotRepository;
+import com.example.momskitchen.service.PickupCalendar.SlotView;
+import com.example.momskitchen.service.PickupService.PickupChoice;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+import java.lang.reflect.Proxy;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.temporal.TemporalAdjusters;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * PickupService.validatePickup for the checkout shapes the frontend sends, plus the slot window
+ * check on its own. Slots come from in-memory repository stubs (3 slots a day, all with limits)
+ * and the capacity ledger starts empty, so after the first call no stub is touched: this measures
+ * the calendar lookups, java.time work and ledger reads per checkout.
+ *
+ * Run with (from backend/momskitchen, after building the benchmarks module):
+ *   java -jar benchmarks/target/benchmarks.jar PickupValidationBenchmark -prof gc -rf json
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PickupValidationBenchmark {
+
+    private static final int FRIDAY = 5;
+
+    private PickupService pickup;
+    private SlotView lunchSlot;
+    private LocalDateTime pickupAt;
+    private int minuteOfDay;
+
+    @Setup
+    public void setup() {
+        List<PickupSlot> slots = new ArrayList<>();
+        long id = 1;
+        for (int day = 0; day < 7; day++) {
+            slots.add(slot(id++, day, 10, 12));
+            slots.add(slot(id++, day, 12, 15));
+            slots.add(slot(id++, day, 16, 19));
+        }
+        PickupSlotRepository slotRepository = stub(PickupSlotRepository.class, "findAll", slots);
+        PickupSlotCapacityRepository capacityRepository = stub(PickupSlotCapacityRepository.class, "findById", Optional.empty());
+
+        pickup = new PickupService(slotRepository, new SlotCapacityLedger(capacityRepository, "UTC"),
+                new NoopTransactionManager(), 30, true, "UTC");
+        lunchSlot = pickup.getActiveSlotsForDay(FRIDAY).get(1);
+
+        // Friday next week at 13:05, inside the lunch slot and always far enough ahead
+        LocalDate friday = pickup.today().plusWeeks(1).with(TemporalAdjusters.nextOrSame(DayOfWeek.FRIDAY));
+        pickupAt = LocalDateTime.of(friday, LocalTime.of(13, 5));
+        minuteOfDay = PickupCalendar.minuteOfDay(pickupAt.toLocalTime());
+    }
+
+    /** Day only: the service picks the day's first slot and its next occurrence. */
+    @Benchmark
+    public PickupChoice dayOnly() {
+        return pickup.validatePickup(FRIDAY, null, null, 3);
+    }
+
+    @Benchmark
+    public PickupChoice slotOnly() {
+        return pickup.validatePickup(null, lunchSlot.id(), null, 3);
+    }
+
+    /** Day and time: finds the slot containing the time. */
+    @Benchmark
+    public PickupChoice dayAndTime() {
+        return pickup.validatePickup(FRIDAY, null, pickupAt, 3);
+    }
+
+    @Benchmark
+    public PickupChoice slotAndTime() {
+        return pickup.validatePickup(FRIDAY, lunchSlot.id(), pickupAt, 3);
+    }
+
+    @Benchmark
+    public boolean isWithinSlot() {
+        return pickup.isWithinSlot(lunchSlot, FRIDAY, minuteOfDay);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(PickupValidationBenchmark.class.getSimpleName())
+                .addProfiler("gc")
+                .build()).run();
+    }
+
+    // =========================
+    // Helpers
+    // =========================
+
+    private static PickupSlot slot(long id, int day, int fromHour, int toHour) {
+        return PickupSlot.builder()
+                .id(id)
+                .dayOfWeek(day)
+                .startTime(LocalTime.of(fromHour, 0))
+                .endTime(LocalTime.of(toHour, 0))
+                .maxOrders(40)
+                .maxItems(200)
+                .build();
+    }
+
+    /** Repository stub answering one method with a fixed result; anything else fails loudly. */
+    private static <T> T stub(Class<T> type, String method, Object result) {
+        return type.cast(Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type}, (proxy, m, args) -> {
+            if (m.getName().equals(method)) return result;
+            if (m.getName().equals("toString")) return type.getSimpleName() + " stub";
+            if (m.getName().equals("hashCode")) return System.identityHashCode(proxy);
+            if (m.getName().equals("equals")) return proxy == args[0];
+            throw new UnsupportedOperationException(type.getSimpleName() + "." + m.getName() + " is not stubbed");
+        }));
+    }
+
+    /** Calendar loads run in a read-only TransactionTemplate; nothing to open or commit here. */
+    private static final class NoopTransactionManager implements PlatformTransactionManager {
+        @Override
+        public TransactionStatus getTransaction(TransactionDefinition definition) {
+            return new SimpleTransactionStatus();
+        }
+
+        @Override
+        public void commit(TransactionStatus status) {}
+
+        @Override
+        public void rollback(TransactionStatus status) {}
+    }
+}
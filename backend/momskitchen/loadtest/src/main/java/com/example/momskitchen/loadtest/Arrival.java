@@ -0,0 +1,10 @@
+package com.example.momskitchen.loadtest;
+
+import java.util.function.Supplier;
+
+/**
+ * A request due at offsetNanos after the run started. The call is built when it is due, so it can
+ * use results of earlier requests (created order codes); a null call is counted as skipped.
+ */
+record Arrival(long offsetNanos, Supplier<Call> call) {
+}
@@ -0,0 +1,18 @@
+package com.example.momskitchen.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * One HTTP request to send.
+ *
+ * @param label     endpoint it is reported under ("GET /api/menu/{menuId}/tree")
+ * @param pathAndQuery path plus query string, relative to the base URL
+ * @param body      JSON body, or null
+ * @param onSuccess called with the parsed response body of a 2xx response (null = body ignored)
+ */
+record Call(String label, String method, String pathAndQuery, String body, Map<String, String> headers,
+            Consumer<JsonNode> onSuccess) {
+}
@@ -0,0 +1,411 @@
+package com.example.momskitchen.loadtest;
+
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Bulk-loads synthetic catalog and order history into the database for scale testing: menus,
+ * categories, items, add-ons, pickup slots, then orders with their lines and line add-ons
+ * (distributions: see SyntheticOrders). Existing rows are kept; new rows get ids above them.
+ *
+ * Usage (from backend/momskitchen, after ./mvnw -f loadtest/pom.xml package):
+ *   java -cp loadtest/target/loadtest.jar com.example.momskitchen.loadtest.DataGenerator [options]
+ *
+ * Options (defaults in brackets):
+ *   --url=JDBC_URL         [jdbc:mysql://$DB_HOST:$DB_PORT/$DB_NAME, as the backend: localhost:3306/moms_kitchen]
+ *   --user=NAME            [$DB_USERNAME or root]
+ *   --password=SECRET      [$DB_PASSWORD or empty]
+ *   --orders=N             [1000000]
+ *   --days=N               history length, ending now [365]
+ *   --customers=N          customer pool [orders / 5]
+ *   --repeat-skew=X        higher = more orders from regulars [3]
+ *   --menus=N              [2]
+ *   --categories=N         per menu [5]
+ *   --items=N              per menu [40]
+ *   --addons=N             shared by all menus [12]
+ *   --item-skew=X          Zipf exponent of item popularity [1.1]
+ *   --slot-days=LIST       0=Sun..6=Sat [5,6,0]
+ *   --slots-per-day=N      generated pickup slots per slot day, unlimited capacity; 0 = orders without slot [3]
+ *   --tax-rate=X           as pricing.taxRate [0.00]
+ *   --zone=ZONE            as pickup.zoneId [America/New_York]
+ *   --threads=N            writer connections [4]
+ *   --chunk=N              orders per transaction [2000]
+ *   --rows-per-insert=N    rows per multi-row INSERT [1000]
+ *   --defer-indexes        drop the order tables' secondary indexes during the load, rebuild after
+ *   --seed=N               [1]
+ *
+ * Writers use multi-row INSERTs with unique and foreign key checks off for their session, and
+ * commit per chunk. Afterwards id_alloc is moved past the new ids (see db/migration/V3__id_alloc.sql),
+ * so the backend keeps allocating from there. The schema must exist (start the backend once, so
+ * Flyway creates it). Run it with the backend stopped, then start the backend and rebuild the
+ * report rollups (POST /api/admin/reports/rebuild). Slot capacity counters (pickup_slot_capacity) are not written:
+ * generated slots are unlimited and generated orders are mostly history.
+ *
+ * Point it at a scratch database, never at production.
+ */
+public final class DataGenerator {
+
+    /** Windows for generated pickup slots, used in this order */
+    private static final LocalTime[][] SLOT_WINDOWS = {
+            {LocalTime.of(17, 0), LocalTime.of(19, 0)},
+            {LocalTime.of(11, 30), LocalTime.of(13, 30)},
+            {LocalTime.of(19, 0), LocalTime.of(21, 0)},
+            {LocalTime.of(14, 0), LocalTime.of(16, 0)},
+            {LocalTime.of(8, 30), LocalTime.of(10, 30)}};
+
+    private static final String[] CATEGORIES = {"Mains", "Sides", "Soups", "Salads", "Desserts", "Drinks",
+            "Specials", "Breakfast"};
+    private static final String[] DISH_STYLE = {"Braised", "Jerk", "Smoked", "Curried", "Grilled", "Stewed",
+            "Crispy", "Garlic", "Honey", "Spicy", "Roasted", "Fried"};
+    private static final String[] DISH = {"Chicken", "Oxtail", "Short Rib", "Salmon", "Tofu", "Shrimp", "Pork",
+            "Cabbage", "Plantains", "Mac and Cheese", "Greens", "Rice and Peas", "Cornbread", "Lentils"};
+    private static final String[] ADDONS = {"Extra Sauce", "Side Salad", "Fried Egg", "Avocado", "Extra Cheese",
+            "Bacon", "Garlic Bread", "Rice", "Hot Pepper", "Gluten-Free Bun", "Coleslaw", "Extra Meat"};
+
+    private static final String ORDER_COLUMNS = "id, order_code, status, pickup_at, prep_minutes, pickup_slot_id, "
+            + "customer_name, customer_email, customer_phone, notes, subtotal, tax_amount, total_amount, "
+            + "payment_status, created_at";
+    private static final String LINE_COLUMNS = "id, order_id, menu_item_id, item_name, unit_price, quantity, line_subtotal";
+    private static final String ADDON_COLUMNS = "id, order_item_id, addon_id, addon_name, price_delta";
+
+    private DataGenerator() {}
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> opts = new HashMap<>();
+        for (int i = 0; i < args.length; i++) {
+            String a = args[i];
+            if (a.startsWith("--") && a.contains("=")) {
+                opts.put(a.substring(2, a.indexOf('=')), a.substring(a.indexOf('=') + 1));
+            } else if (a.equals("--defer-indexes")) {
+                opts.put("defer-indexes", "true");
+            } else if (a.startsWith("--") && i + 1 < args.length) {
+                opts.put(a.substring(2), args[++i]);
+            } else {
+                usage("unexpected argument " + a);
+            }
+        }
+
+        String url = opts.getOrDefault("url", "jdbc:mysql://" + env("DB_HOST", "localhost") + ":" + env("DB_PORT", "3306")
+                + "/" + env("DB_NAME", "moms_kitchen") + "?useSSL=false&allowPublicKeyRetrieval=true&useUnicode=true&characterEncoding=utf8");
+        String user = opts.getOrDefault("user", env("DB_USERNAME", "root"));
+        String password = opts.getOrDefault("password", env("DB_PASSWORD", ""));
+        long orders = Long.parseLong(opts.getOrDefault("orders", "1000000"));
+        int days = Integer.parseInt(opts.getOrDefault("days", "365"));
+        long customers = Long.parseLong(opts.getOrDefault("customers", Long.toString(Math.max(1, orders / 5))));
+        int threads = Integer.parseInt(opts.getOrDefault("threads", "4"));
+        int chunk = Integer.parseInt(opts.getOrDefault("chunk", "2000"));
+        int rowsPerInsert = Integer.parseInt(opts.getOrDefault("rows-per-insert", "1000"));
+        long seed = Long.parseLong(opts.getOrDefault("seed", "1"));
+        ZoneId zone = ZoneId.of(opts.getOrDefault("zone", "America/New_York"));
+        if (orders < 0 || threads < 1 || chunk < 1 || rowsPerInsert < 1) usage("orders, threads, chunk and rows-per-insert must be positive");
+
+        long started = System.nanoTime();
+        try (Connection c = connect(url, user, password)) {
+            Statement st = c.createStatement();
+            SplittableRandom rnd = new SplittableRandom(seed);
+
+            List<SyntheticOrders.Menu> menus = catalog(st, rnd, rowsPerInsert,
+                    Integer.parseInt(opts.getOrDefault("menus", "2")),
+                    Integer.parseInt(opts.getOrDefault("categories", "5")),
+                    Integer.parseInt(opts.getOrDefault("items", "40")),
+                    Integer.parseInt(opts.getOrDefault("addons", "12")),
+                    Double.parseDouble(opts.getOrDefault("item-skew", "1.1")));
+            List<SyntheticOrders.Slot> slots = slots(st,
+                    opts.getOrDefault("slot-days", "5,6,0"),
+                    Integer.parseInt(opts.getOrDefault("slots-per-day", "3")));
+            c.commit();
+
+            SyntheticOrders generator = new SyntheticOrders(menus, slots, customers,
+                    Double.parseDouble(opts.getOrDefault("repeat-skew", "3")),
+                    new BigDecimal(opts.getOrDefault("tax-rate", "0.00")),
+                    zone, LocalDateTime.now(zone), days);
+
+            // new ids go above both the rows and any block the backend may already hold (id_alloc)
+            Map<String, Long> idAlloc = idAlloc(st);
+            long orderBase = Math.max(maxId(st, "`order`"), idAlloc.getOrDefault("order", 0L)) + 1;
+            AtomicLong nextLineId = new AtomicLong(Math.max(maxId(st, "order_item"), idAlloc.getOrDefault("order_item", 0L)) + 1);
+            AtomicLong nextAddonId = new AtomicLong(
+                    Math.max(maxId(st, "order_item_addon"), idAlloc.getOrDefault("order_item_addon", 0L)) + 1);
+
+            Map<String, String> deferred = new LinkedHashMap<>();
+            if (Boolean.parseBoolean(opts.getOrDefault("defer-indexes", "false"))) {
+                for (String table : List.of("`order`", "order_item", "order_item_addon")) {
+                    String restore = dropSecondaryIndexes(st, table);
+                    if (restore != null) deferred.put(table, restore);
+                }
+                c.commit();
+            }
+
+            System.out.printf(Locale.ROOT, "Generating %,d orders (ids from %d) over %d days with %d writers%n",
+                    orders, orderBase, days, threads);
+            long loadStart = System.nanoTime();
+            long[] rows = load(url, user, password, generator, seed, orders, orderBase, nextLineId, nextAddonId,
+                    threads, chunk, rowsPerInsert, loadStart);
+            double loadSeconds = (System.nanoTime() - loadStart) / 1e9;
+
+            for (Map.Entry<String, String> e : deferred.entrySet()) {
+                System.out.println("Rebuilding indexes on " + e.getKey() + " ...");
+                st.execute(e.getValue());
+            }
+
+            // the backend's pooled generator continues above what was written (next_val = top of next block)
+            bumpIdAlloc(st, "order", orderBase + orders - 1);
+            bumpIdAlloc(st, "order_item", nextLineId.get() - 1);
+            bumpIdAlloc(st, "order_item_addon", nextAddonId.get() - 1);
+            c.commit();
+            for (String table : List.of("`order`", "order_item", "order_item_addon")) {
+                st.execute("ANALYZE TABLE " + table);
+            }
+
+            System.out.printf(Locale.ROOT, "Wrote %,d orders, %,d lines, %,d line add-ons in %.1f s (%,.0f rows/s); total %.1f s%n",
+                    rows[0], rows[1], rows[2], loadSeconds, (rows[0] + rows[1] + rows[2]) / Math.max(loadSeconds, 1e-3),
+                    (System.nanoTime() - started) / 1e9);
+            System.out.println("Next: start the backend, then POST /api/admin/reports/rebuild?from=...&to=... to fill the sales rollups.");
+        }
+    }
+
+    // =========================
+    // Helpers
+    // =========================
+
+    /** Run the writers; returns rows written to order, order_item and order_item_addon. */
+    private static long[] load(String url, String user, String password, SyntheticOrders generator, long seed,
+                               long orders, long orderBase, AtomicLong nextLineId, AtomicLong nextAddonId,
+                               int threads, int chunk, int rowsPerInsert, long loadStart) throws Exception {
+        long chunks = (orders + chunk - 1) / chunk;
+        AtomicLong nextChunk = new AtomicLong();
+        AtomicLong done = new AtomicLong();
+        AtomicLong lastReport = new AtomicLong(loadStart);
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<long[]>> writers = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                writers.add(pool.submit(() -> {
+                    try (Connection c = connect(url, user, password); Statement st = c.createStatement()) {
+                        MultiRowInsert orderRows = new MultiRowInsert(st, "`order`", ORDER_COLUMNS, rowsPerInsert);
+                        MultiRowInsert lineRows = new MultiRowInsert(st, "order_item", LINE_COLUMNS, rowsPerInsert);
+                        MultiRowInsert addonRows = new MultiRowInsert(st, "order_item_addon", ADDON_COLUMNS, rowsPerInsert);
+                        long n;
+                        while ((n = nextChunk.getAndIncrement()) < chunks) {
+                            int count = (int) Math.min(chunk, orders - n * chunk);
+                            SyntheticOrders.Chunk ch = generator.generate(seed * 1_000_003L + n, orderBase + n * chunk, count);
+                            ch.write(nextLineId.getAndAdd(ch.lineCount()), nextAddonId.getAndAdd(ch.addonCount()),
+                                    orderRows, lineRows, addonRows);
+                            orderRows.flush();
+                            lineRows.flush();
+                            addonRows.flush();
+                            c.commit();
+                            progress(done.addAndGet(count), orders, loadStart, lastReport);
+                        }
+                        return new long[] {orderRows.total(), lineRows.total(), addonRows.total()};
+                    }
+                }));
+            }
+            long[] rows = new long[3];
+            for (Future<long[]> f : writers) {
+                long[] r = f.get();
+                for (int i = 0; i < 3; i++) rows[i] += r[i];
+            }
+            return rows;
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    private static void progress(long done, long total, long loadStart, AtomicLong lastReport) {
+        long now = System.nanoTime();
+        long last = lastReport.get();
+        if (now - last < 5_000_000_000L || !lastReport.compareAndSet(last, now)) return;
+        double seconds = (now - loadStart) / 1e9;
+        System.out.printf(Locale.ROOT, "  %,d / %,d orders (%.0f%%), %,.0f orders/s%n",
+                done, total, 100.0 * done / total, done / seconds);
+    }
+
+    /** Menus with categories and items, a shared add-on pool and item/add-on links; returns the menus for ordering. */
+    private static List<SyntheticOrders.Menu> catalog(Statement st, SplittableRandom rnd, int rowsPerInsert,
+                                                      int menuCount, int categories, int itemsPerMenu, int addonCount,
+                                                      double itemSkew) throws SQLException {
+        if (menuCount < 1 || categories < 1 || itemsPerMenu < 1) usage("menus, categories and items must be positive");
+
+        long addonId = maxId(st, "addon");
+        MultiRowInsert addonRows = new MultiRowInsert(st, "addon", "id, name, description, price_delta, is_active", rowsPerInsert);
+        List<SyntheticOrders.Addon> addons = new ArrayList<>();
+        for (int i = 0; i < addonCount; i++) {
+            String name = ADDONS[i % ADDONS.length] + (i >= ADDONS.length ? " " + (i / ADDONS.length + 1) : "");
+            SyntheticOrders.Addon a = new SyntheticOrders.Addon(++addonId, name, 50 + 25L * rnd.nextInt(11));
+            addonRows.row(a.id(), a.name(), null, MultiRowInsert.money(a.deltaCents()), 1);
+            addons.add(a);
+        }
+        addonRows.flush();
+
+        long menuId = maxId(st, "menu");
+        long categoryId = maxId(st, "menu_category");
+        long itemId = maxId(st, "menu_item");
+        MultiRowInsert menuRows = new MultiRowInsert(st, "menu", "id, name, description, is_active", rowsPerInsert);
+        MultiRowInsert categoryRows = new MultiRowInsert(st, "menu_category",
+                "id, menu_id, name, description, display_order, is_active", rowsPerInsert);
+        MultiRowInsert itemRows = new MultiRowInsert(st, "menu_item",
+                "id, category_id, name, description, price, is_available, image_url, display_order, prep_minutes", rowsPerInsert);
+        MultiRowInsert linkRows = new MultiRowInsert(st, "menu_item_addon", "menu_item_id, addon_id", rowsPerInsert);
+
+        List<SyntheticOrders.Menu> menus = new ArrayList<>();
+        for (int m = 0; m < menuCount; m++) {
+            menuRows.row(++menuId, "Generated Menu " + menuId, "Synthetic data for scale testing", 1);
+            long firstCategory = categoryId + 1;
+            for (int k = 0; k < categories; k++) {
+                String name = CATEGORIES[k % CATEGORIES.length] + (k >= CATEGORIES.length ? " " + (k / CATEGORIES.length + 1) : "");
+                categoryRows.row(++categoryId, menuId, name, null, k + 1, 1);
+            }
+            List<SyntheticOrders.Item> items = new ArrayList<>();
+            for (int i = 0; i < itemsPerMenu; i++) {
+                String name = DISH_STYLE[rnd.nextInt(DISH_STYLE.length)] + " " + DISH[rnd.nextInt(DISH.length)];
+                // log-normal prices around $11, in quarters
+                long price = Math.max(250, Math.min(4500, Math.round(Math.exp(Math.log(1100) + 0.45 * gaussian(rnd)) / 25) * 25));
+                Integer prep = rnd.nextDouble() < 0.2 ? null : 5 + rnd.nextInt(31);
+                int allowed = addons.isEmpty() || rnd.nextDouble() < 0.25 ? 0 : 1 + rnd.nextInt(Math.min(5, addons.size()));
+                SyntheticOrders.Addon[] itemAddons = new SyntheticOrders.Addon[allowed];
+                int firstAddon = addons.isEmpty() ? 0 : rnd.nextInt(addons.size());
+                for (int j = 0; j < allowed; j++) itemAddons[j] = addons.get((firstAddon + j) % addons.size());
+
+                SyntheticOrders.Item item = new SyntheticOrders.Item(++itemId, name, price, prep, itemAddons);
+                itemRows.row(item.id(), firstCategory + i % categories, name, null, MultiRowInsert.money(price),
+                        rnd.nextDouble() < 0.95 ? 1 : 0, null, i / categories + 1, prep);
+                for (SyntheticOrders.Addon a : itemAddons) linkRows.row(item.id(), a.id());
+                items.add(item);
+            }
+            menus.add(SyntheticOrders.menu(items, itemSkew, rnd));
+        }
+        menuRows.flush();
+        categoryRows.flush();
+        itemRows.flush();
+        linkRows.flush();
+        System.out.printf(Locale.ROOT, "Catalog: %d menus, %d categories, %d items, %d add-ons%n",
+                menuRows.total(), categoryRows.total(), itemRows.total(), addonRows.total());
+        return menus;
+    }
+
+    private static List<SyntheticOrders.Slot> slots(Statement st, String slotDays, int perDay) throws SQLException {
+        List<SyntheticOrders.Slot> out = new ArrayList<>();
+        if (perDay <= 0) return out;
+        if (perDay > SLOT_WINDOWS.length) usage("slots-per-day must be at most " + SLOT_WINDOWS.length);
+        long id = maxId(st, "pickup_slot");
+        MultiRowInsert rows = new MultiRowInsert(st, "pickup_slot",
+                "id, day_of_week, start_time, end_time, is_active, max_orders, max_items", 100);
+        for (String d : slotDays.split(",")) {
+            int day = Integer.parseInt(d.trim());
+            if (day < 0 || day > 6) usage("slot-days are 0=Sun..6=Sat");
+            for (int i = 0; i < perDay; i++) {
+                LocalTime[] w = SLOT_WINDOWS[i];
+                SyntheticOrders.Slot s = new SyntheticOrders.Slot(++id, day, w[0], w[1]);
+                rows.row(s.id(), day, s.start().toString(), s.end().toString(), 1, null, null);
+                out.add(s);
+            }
+        }
+        rows.flush();
+        System.out.printf(Locale.ROOT, "Pickup slots: %d%n", out.size());
+        return out;
+    }
+
+    /**
+     * Drop the table's secondary indexes that no foreign key depends on (InnoDB refuses to drop
+     * those) and return the ALTER TABLE that restores them.
+     */
+    private static String dropSecondaryIndexes(Statement st, String table) throws SQLException {
+        String name = table.replace("`", "");
+        Map<String, List<String>> indexes = new LinkedHashMap<>();
+        try (ResultSet rs = st.executeQuery("SELECT s.INDEX_NAME, s.COLUMN_NAME, s.SUB_PART, s.COLLATION"
+                + " FROM information_schema.STATISTICS s WHERE s.TABLE_SCHEMA = DATABASE() AND s.TABLE_NAME = '" + name + "'"
+                + " AND s.NON_UNIQUE = 1"
+                + " AND NOT EXISTS (SELECT 1 FROM information_schema.STATISTICS f"
+                + "   JOIN information_schema.KEY_COLUMN_USAGE k ON k.TABLE_SCHEMA = f.TABLE_SCHEMA AND k.TABLE_NAME = f.TABLE_NAME"
+                + "    AND k.COLUMN_NAME = f.COLUMN_NAME AND k.ORDINAL_POSITION = 1 AND k.REFERENCED_TABLE_NAME IS NOT NULL"
+                + "   WHERE f.TABLE_SCHEMA = s.TABLE_SCHEMA AND f.TABLE_NAME = s.TABLE_NAME AND f.INDEX_NAME = s.INDEX_NAME"
+                + "    AND f.SEQ_IN_INDEX = 1)"
+                + " ORDER BY s.INDEX_NAME, s.SEQ_IN_INDEX")) {
+            while (rs.next()) {
+                String column = "`" + rs.getString(2) + "`" + (rs.getObject(3) != null ? "(" + rs.getInt(3) + ")" : "")
+                        + ("D".equals(rs.getString(4)) ? " DESC" : "");
+                indexes.computeIfAbsent(rs.getString(1), k -> new ArrayList<>()).add(column);
+            }
+        }
+        if (indexes.isEmpty()) return null;
+
+        List<String> drops = new ArrayList<>();
+        List<String> adds = new ArrayList<>();
+        indexes.forEach((index, columns) -> {
+            drops.add("DROP INDEX `" + index + "`");
+            adds.add("ADD INDEX `" + index + "` (" + String.join(", ", columns) + ")");
+        });
+        String restore = "ALTER TABLE " + table + " " + String.join(", ", adds);
+        System.out.println("Dropping " + indexes.keySet() + " on " + table + "; if the run is interrupted, restore with:");
+        System.out.println("  " + restore + ";");
+        st.execute("ALTER TABLE " + table + " " + String.join(", ", drops));
+        return restore;
+    }
+
+    private static Map<String, Long> idAlloc(Statement st) throws SQLException {
+        Map<String, Long> out = new HashMap<>();
+        try (ResultSet rs = st.executeQuery("SELECT sequence_name, next_val FROM id_alloc")) {
+            while (rs.next()) out.put(rs.getString(1), rs.getLong(2));
+        }
+        return out;
+    }
+
+    private static void bumpIdAlloc(Statement st, String sequence, long lastId) throws SQLException {
+        // same rule as the id_alloc migration: next_val = MAX(id) + 50
+        st.executeUpdate("UPDATE id_alloc SET next_val = GREATEST(next_val, " + (lastId + 50)
+                + ") WHERE sequence_name = '" + sequence + "'");
+    }
+
+    private static long maxId(Statement st, String table) throws SQLException {
+        try (ResultSet rs = st.executeQuery("SELECT COALESCE(MAX(id), 0) FROM " + table)) {
+            rs.next();
+            return rs.getLong(1);
+        }
+    }
+
+    /** Connection for bulk writes: manual commit, no unique/foreign key checks, UTC session (created_at is UTC). */
+    private static Connection connect(String url, String user, String password) throws SQLException {
+        Connection c = DriverManager.getConnection(url, user, password);
+        try (Statement st = c.createStatement()) {
+            st.execute("SET SESSION unique_checks = 0, foreign_key_checks = 0, time_zone = '+00:00'");
+        }
+        c.setAutoCommit(false);
+        return c;
+    }
+
+    private static double gaussian(SplittableRandom rnd) {
+        // Box-Muller; SplittableRandom has no nextGaussian on Java 17
+        return Math.sqrt(-2 * Math.log(1 - rnd.nextDouble())) * Math.cos(2 * Math.PI * rnd.nextDouble());
+    }
+
+    private static String env(String name, String fallback) {
+        String v = System.getenv(name);
+        return v == null || v.isBlank() ? fallback : v;
+    }
+
+    private static void usage(String problem) {
+        System.err.println("datagen: " + problem);
+        System.err.println("usage: java -cp loadtest.jar com.example.momskitchen.loadtest.DataGenerator [--orders=1000000]"
+                + " [--days=365] [--url=jdbc:mysql://...] [--user=root] [--password=...] [options, see DataGenerator]");
+        System.exit(2);
+    }
+}
@@ -0,0 +1,150 @@
+package com.example.momskitchen.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Open-model load driver: sends each arrival when it is due, whether or not earlier requests have
+ * answered (a closed loop of N clients would slow down with the server and hide queueing).
+ * Latency is measured from the due time, so time spent waiting behind a slow server counts.
+ *
+ * Requests are sent asynchronously with the JDK HttpClient; at most maxInFlight are outstanding.
+ * Arrivals beyond that are counted as dropped, so an overloaded client shows up in the report
+ * instead of silently lowering the offered rate.
+ */
+final class Driver {
+
+    private final HttpClient client;
+    private final String baseUrl;
+    private final Duration timeout;
+    private final int maxInFlight;
+    private final Semaphore inFlight;
+    private final ObjectMapper mapper = new ObjectMapper();
+
+    private final Map<String, EndpointStats> stats = new ConcurrentSkipListMap<>();
+    private final LongAdder skipped = new LongAdder();
+
+    Driver(String baseUrl, Duration timeout, int maxInFlight) {
+        this.baseUrl = baseUrl.endsWith("/") ? baseUrl.substring(0, baseUrl.length() - 1) : baseUrl;
+        this.timeout = timeout;
+        this.maxInFlight = maxInFlight;
+        this.inFlight = new Semaphore(maxInFlight);
+        this.client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(timeout)
+                .build();
+    }
+
+    /** Result of a run: per-endpoint summaries (sorted by label) over the measured window. */
+    record Report(double measuredSeconds, long skipped, List<EndpointStats.Summary> endpoints) {}
+
+    /**
+     * Send all arrivals, then wait for outstanding responses.
+     * Requests due in the first warmup nanos are sent but not reported.
+     */
+    Report run(Iterator<Arrival> arrivals, long warmupNanos) throws InterruptedException {
+        long start = System.nanoTime();
+        long measureFrom = start + warmupNanos;
+        long lastDue = measureFrom;
+        while (arrivals.hasNext()) {
+            Arrival a = arrivals.next();
+            long due = start + a.offsetNanos();
+            sleepUntil(due);
+            lastDue = Math.max(lastDue, due);
+
+            Call call = a.call().get();
+            boolean measured = due >= measureFrom;
+            if (call == null) {
+                if (measured) skipped.increment();
+                continue;
+            }
+            EndpointStats s = measured ? stats.computeIfAbsent(call.label(), EndpointStats::new) : null;
+            if (!inFlight.tryAcquire()) {
+                if (s != null) s.dropped();
+                continue;
+            }
+            if (s != null) s.sent();
+            send(call, due, s);
+        }
+        // let the last requests finish (or time out)
+        if (inFlight.tryAcquire(maxInFlight, timeout.toMillis() + 5_000, TimeUnit.MILLISECONDS)) {
+            inFlight.release(maxInFlight);
+        }
+
+        double seconds = Math.max(1, lastDue - measureFrom) / 1e9;
+        List<EndpointStats.Summary> out = new ArrayList<>();
+        for (EndpointStats s : stats.values()) out.add(s.summarize(seconds));
+        return new Report(seconds, skipped.sum(), out);
+    }
+
+    /** Send once, synchronously, outside any measurement (setup requests such as loading the menu). */
+    JsonNode fetch(Call call) throws IOException, InterruptedException {
+        HttpResponse<byte[]> res = client.send(request(call), HttpResponse.BodyHandlers.ofByteArray());
+        if (res.statusCode() / 100 != 2) {
+            throw new IOException(call.method() + " " + call.pathAndQuery() + " returned " + res.statusCode());
+        }
+        return mapper.readTree(res.body());
+    }
+
+    // =========================
+    // Helpers
+    // =========================
+
+    private void send(Call call, long due, EndpointStats s) {
+        client.sendAsync(request(call), HttpResponse.BodyHandlers.ofByteArray())
+                .whenComplete((res, err) -> {
+                    try {
+                        long latency = System.nanoTime() - due;
+                        if (err != null) {
+                            if (s != null) s.failed(latency);
+                            return;
+                        }
+                        if (s != null) s.completed(res.statusCode(), latency);
+                        if (call.onSuccess() != null && res.statusCode() / 100 == 2) {
+                            call.onSuccess().accept(mapper.readTree(res.body()));
+                        }
+                    } catch (IOException | RuntimeException ignored) {
+                        // an unreadable body only loses the follow-up (e.g. a code to look up later)
+                    } finally {
+                        inFlight.release();
+                    }
+                });
+    }
+
+    private HttpRequest request(Call call) {
+        HttpRequest.Builder b = HttpRequest.newBuilder(URI.create(baseUrl + call.pathAndQuery()))
+                .timeout(timeout)
+                .header("Accept", "application/json");
+        call.headers().forEach(b::header);
+        if (call.body() != null) {
+            b.header("Content-Type", "application/json")
+                    .method(call.method(), HttpRequest.BodyPublishers.ofString(call.body()));
+        } else {
+            b.method(call.method(), HttpRequest.BodyPublishers.noBody());
+        }
+        return b.build();
+    }
+
+    private static void sleepUntil(long due) {
+        long wait;
+        while ((wait = due - System.nanoTime()) > 0) {
+            LockSupport.parkNanos(wait);
+        }
+    }
+}
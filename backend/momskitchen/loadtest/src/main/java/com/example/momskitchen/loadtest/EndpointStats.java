@@ -0,0 +1,98 @@
+package com.example.momskitchen.loadtest;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Outcome counts and latencies of one endpoint. Latencies are kept exactly (8 bytes per request)
+ * and sorted once for the report; a run of a million requests needs 8 MB.
+ */
+final class EndpointStats {
+
+    private final String label;
+    private final LongAdder sent = new LongAdder();
+    private final LongAdder ok = new LongAdder();
+    private final LongAdder clientErrors = new LongAdder();
+    private final LongAdder serverErrors = new LongAdder();
+    private final LongAdder failures = new LongAdder();
+    private final LongAdder dropped = new LongAdder();
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private long[] latencies = new long[1024];
+    private int size;
+
+    EndpointStats(String label) {
+        this.label = label;
+    }
+
+    void sent() {
+        sent.increment();
+    }
+
+    /** Not sent: max in-flight reached (the client, not the server, is the bottleneck). */
+    void dropped() {
+        dropped.increment();
+    }
+
+    /** A response arrived; latency counts from when the request was due, not when it was sent. */
+    void completed(int status, long latencyNanos) {
+        if (status >= 500) serverErrors.increment();
+        else if (status >= 400) clientErrors.increment();
+        else ok.increment();
+        latency(latencyNanos);
+    }
+
+    /** Connect error, reset or timeout. */
+    void failed(long latencyNanos) {
+        failures.increment();
+        latency(latencyNanos);
+    }
+
+    Summary summarize(double seconds) {
+        long[] sorted;
+        lock.lock();
+        try {
+            sorted = Arrays.copyOf(latencies, size);
+        } finally {
+            lock.unlock();
+        }
+        Arrays.sort(sorted);
+        long completed = ok.sum() + clientErrors.sum() + serverErrors.sum();
+        long total = sent.sum();
+        return new Summary(label, total, ok.sum(), clientErrors.sum(), serverErrors.sum(), failures.sum(), dropped.sum(),
+                seconds > 0 ? completed / seconds : 0,
+                total == 0 ? 0 : 100.0 * (serverErrors.sum() + failures.sum()) / total,
+                millis(sorted, 0.50), millis(sorted, 0.90), millis(sorted, 0.99), millis(sorted, 0.999),
+                sorted.length == 0 ? 0 : sorted[sorted.length - 1] / 1e6);
+    }
+
+    /**
+     * Per-endpoint result. errorPercent counts 5xx and failures; 4xx are listed separately since
+     * some are expected (a full pickup slot, a lookup of an order created before the recording).
+     */
+    record Summary(String label, long sent, long ok, long clientErrors, long serverErrors, long failures, long dropped,
+                   double throughput, double errorPercent,
+                   double p50Ms, double p90Ms, double p99Ms, double p999Ms, double maxMs) {}
+
+    // =========================
+    // Helpers
+    // =========================
+
+    private void latency(long nanos) {
+        lock.lock();
+        try {
+            if (size == latencies.length) latencies = Arrays.copyOf(latencies, size * 2);
+            latencies[size++] = nanos;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /** Nearest-rank percentile in milliseconds */
+    private static double millis(long[] sorted, double p) {
+        if (sorted.length == 0) return 0;
+        int rank = (int) Math.ceil(p * sorted.length);
+        return sorted[Math.max(0, rank - 1)] / 1e6;
+    }
+}
@@ -0,0 +1,149 @@
+package com.example.momskitchen.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+import java.io.File;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Load generator for the backend: synthetic dinner-rush scenarios (Scenario) or replay of recorded
+ * production traffic (Replay, see the backend's TrafficRecordingFilter), reporting throughput,
+ * latency percentiles and error rates per endpoint.
+ *
+ * Usage (from backend/momskitchen, after ./mvnw -f loadtest/pom.xml package):
+ *   java -jar loadtest/target/loadtest.jar scenario [options]
+ *   java -jar loadtest/target/loadtest.jar replay <traffic.ndjson> [options]
+ *
+ * Options (defaults in brackets):
+ *   --base-url=URL        backend under test [http://localhost:8081]
+ *   --admin-key=KEY       X-Admin-Key for admin requests [changeme]
+ *   --warmup=DURATION     requests due in this first part are sent but not reported [10s]
+ *   --max-in-flight=N     outstanding requests; arrivals beyond are reported as dropped [512]
+ *   --timeout=DURATION    per request [10s]
+ *   --json=FILE           also write the report as JSON
+ *  scenario:
+ *   --duration=DURATION   [60s]
+ *   --rates=LIST          requests/s per endpoint [menu:20,quote:8,create:2,lookup:4,admin:0.5]
+ *   --menu-id=N           [1]
+ *   --pickup-days=LIST    0=Sun..6=Sat [5,6,0]
+ *   --seed=N              [1]
+ *  replay:
+ *   --speed=X             2 = twice the recorded rate [1]
+ * Durations: 500ms, 30s, 2m.
+ *
+ * Point it at a local backend and a local database stand-in (docker compose up mysql), never at
+ * production: scenarios and replays create real orders.
+ */
+public final class LoadTest {
+
+    private static final String DEFAULT_RATES = "menu:20,quote:8,create:2,lookup:4,admin:0.5";
+
+    private LoadTest() {}
+
+    public static void main(String[] args) throws Exception {
+        if (args.length == 0 || !(args[0].equals("scenario") || args[0].equals("replay"))) {
+            usage("first argument must be 'scenario' or 'replay'");
+        }
+        String mode = args[0];
+        Map<String, String> opts = new HashMap<>();
+        String file = null;
+        for (int i = 1; i < args.length; i++) {
+            String a = args[i];
+            if (a.startsWith("--") && a.contains("=")) {
+                opts.put(a.substring(2, a.indexOf('=')), a.substring(a.indexOf('=') + 1));
+            } else if (a.startsWith("--") && i + 1 < args.length) {
+                opts.put(a.substring(2), args[++i]);
+            } else if (file == null && mode.equals("replay")) {
+                file = a;
+            } else {
+                usage("unexpected argument " + a);
+            }
+        }
+
+        String baseUrl = opts.getOrDefault("base-url", "http://localhost:8081");
+        String adminKey = opts.getOrDefault("admin-key", "changeme");
+        long warmup = duration(opts.getOrDefault("warmup", "10s")).toNanos();
+        Driver driver = new Driver(baseUrl, duration(opts.getOrDefault("timeout", "10s")),
+                Integer.parseInt(opts.getOrDefault("max-in-flight", "512")));
+
+        Driver.Report report;
+        if (mode.equals("scenario")) {
+            long menuId = Long.parseLong(opts.getOrDefault("menu-id", "1"));
+            Scenario scenario = new Scenario(
+                    rates(opts.getOrDefault("rates", DEFAULT_RATES)),
+                    warmup + duration(opts.getOrDefault("duration", "60s")).toNanos(),
+                    Long.parseLong(opts.getOrDefault("seed", "1")),
+                    menuId,
+                    Arrays.stream(opts.getOrDefault("pickup-days", "5,6,0").split(",")).map(String::trim)
+                            .mapToInt(Integer::parseInt).toArray(),
+                    adminKey,
+                    driver.fetch(new Call("setup", "GET", "/api/menu/" + menuId + "/tree", null, Map.of(), null)));
+            report = driver.run(scenario, warmup);
+        } else {
+            if (file == null) usage("replay needs a recording file");
+            String runId = UUID.randomUUID().toString().substring(0, 8);
+            try (Replay replay = new Replay(Path.of(file), Double.parseDouble(opts.getOrDefault("speed", "1")),
+                    runId, adminKey)) {
+                report = driver.run(replay, warmup);
+            }
+        }
+
+        print(report);
+        if (opts.containsKey("json")) {
+            new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT).writeValue(new File(opts.get("json")), report);
+        }
+    }
+
+    // =========================
+    // Helpers
+    // =========================
+
+    private static void print(Driver.Report report) {
+        System.out.printf(Locale.ROOT, "Measured %.1f s%s%n", report.measuredSeconds(),
+                report.skipped() > 0 ? " (" + report.skipped() + " arrivals skipped: nothing to look up yet)" : "");
+        System.out.printf(Locale.ROOT, "%-48s %8s %8s %6s %6s %6s %6s %9s %7s %8s %8s %8s %8s %8s%n",
+                "endpoint", "sent", "ok", "4xx", "5xx", "fail", "drop", "req/s", "err%",
+                "p50 ms", "p90 ms", "p99 ms", "p99.9 ms", "max ms");
+        for (EndpointStats.Summary s : report.endpoints()) {
+            System.out.printf(Locale.ROOT, "%-48s %8d %8d %6d %6d %6d %6d %9.1f %7.2f %8.1f %8.1f %8.1f %8.1f %8.1f%n",
+                    s.label(), s.sent(), s.ok(), s.clientErrors(), s.serverErrors(), s.failures(), s.dropped(),
+                    s.throughput(), s.errorPercent(), s.p50Ms(), s.p90Ms(), s.p99Ms(), s.p999Ms(), s.maxMs());
+        }
+    }
+
+    /** "menu:20,quote:8" -> rates per endpoint */
+    private static Map<Scenario.Endpoint, Double> rates(String spec) {
+        Map<Scenario.Endpoint, Double> out = new EnumMap<>(Scenario.Endpoint.class);
+        for (String part : spec.split(",")) {
+            String[] kv = part.trim().split(":");
+            if (kv.length != 2) usage("bad rate '" + part + "', expected endpoint:perSecond");
+            out.put(Scenario.Endpoint.of(kv[0].trim()), Double.parseDouble(kv[1].trim()));
+        }
+        return out;
+    }
+
+    private static Duration duration(String s) {
+        String v = s.trim().toLowerCase(Locale.ROOT);
+        if (v.endsWith("ms")) return Duration.ofMillis(Long.parseLong(v.substring(0, v.length() - 2)));
+        if (v.endsWith("s")) return Duration.ofMillis((long) (Double.parseDouble(v.substring(0, v.length() - 1)) * 1000));
+        if (v.endsWith("m")) return Duration.ofMillis((long) (Double.parseDouble(v.substring(0, v.length() - 1)) * 60_000));
+        usage("bad duration '" + s + "' (use 500ms, 30s, 2m)");
+        return null;
+    }
+
+    private static void usage(String problem) {
+        System.err.println("loadtest: " + problem);
+        System.err.println("usage: java -jar loadtest.jar scenario [--duration=60s] [--rates=" + DEFAULT_RATES + "] [options]");
+        System.err.println("       java -jar loadtest.jar replay <traffic.ndjson> [--speed=1] [options]");
+        System.err.println("options: --base-url --admin-key --warmup --max-in-flight --timeout --json (see LoadTest)");
+        System.exit(2);
+    }
+}
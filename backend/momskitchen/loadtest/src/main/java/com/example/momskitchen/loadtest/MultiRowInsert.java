@@ -0,0 +1,86 @@
+package com.example.momskitchen.loadtest;
+
+import java.math.BigDecimal;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+
+/**
+ * Builds INSERT INTO t (cols) VALUES (...),(...),... and executes it every maxRows rows: one
+ * round-trip and one parse per batch instead of per row. Values are written as SQL literals
+ * (numbers, quoted strings, DATETIME literals in the session time zone, NULL), so only
+ * generated values go in here, never user input.
+ */
+final class MultiRowInsert {
+
+    private static final DateTimeFormatter DATETIME = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+
+    private final Statement statement;
+    private final String head;
+    private final int maxRows;
+    private final StringBuilder sql = new StringBuilder(64 * 1024);
+    private int rows;
+    private long total;
+
+    MultiRowInsert(Statement statement, String table, String columns, int maxRows) {
+        this.statement = statement;
+        this.head = "INSERT INTO " + table + " (" + columns + ") VALUES ";
+        this.maxRows = maxRows;
+    }
+
+    /** Append one row; values are Number, BigDecimal, String, LocalDateTime or null. */
+    MultiRowInsert row(Object... values) throws SQLException {
+        sql.append(rows == 0 ? head : ",").append('(');
+        for (int i = 0; i < values.length; i++) {
+            if (i > 0) sql.append(',');
+            literal(values[i]);
+        }
+        sql.append(')');
+        rows++;
+        total++;
+        if (rows >= maxRows) flush();
+        return this;
+    }
+
+    void flush() throws SQLException {
+        if (rows == 0) return;
+        statement.execute(sql.toString());
+        sql.setLength(0);
+        rows = 0;
+    }
+
+    long total() {
+        return total;
+    }
+
+    /** Cents as a DECIMAL(10,2) value */
+    static BigDecimal money(long cents) {
+        return BigDecimal.valueOf(cents, 2);
+    }
+
+    // =========================
+    // Helpers
+    // =========================
+
+    private void literal(Object v) {
+        if (v == null) {
+            sql.append("NULL");
+        } else if (v instanceof BigDecimal d) {
+            sql.append(d.toPlainString());
+        } else if (v instanceof Number) {
+            sql.append(v);
+        } else if (v instanceof LocalDateTime t) {
+            sql.append('\'').append(DATETIME.format(t)).append('\'');
+        } else {
+            String s = v.toString();
+            sql.append('\'');
+            for (int i = 0; i < s.length(); i++) {
+                char c = s.charAt(i);
+                if (c == '\'' || c == '\\') sql.append(c);
+                sql.append(c);
+            }
+            sql.append('\'');
+        }
+    }
+}
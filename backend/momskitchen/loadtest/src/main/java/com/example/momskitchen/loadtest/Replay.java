@@ -0,0 +1,137 @@
+package com.example.momskitchen.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Replays a traffic recording (the backend's TrafficRecordingFilter NDJSON) with the recorded
+ * spacing divided by speed: speed 1 is real time, 4 is a 4x busier rush.
+ *
+ * Recorded orders don't exist in the target database, so the replay maps them: each replayed
+ * order creation maps the recorded order code and id to the new ones, and later requests for
+ * /api/orders/{orderCode} and /api/admin/orders/{id} use the mapped value. Requests for orders
+ * created before the recording started keep their recorded value (and usually get a 404).
+ * Recorded Idempotency-Keys get a per-run prefix, so replaying a file twice creates new orders
+ * while retries inside the recording still replay.
+ *
+ * Lines are read lazily; the file is in completion order, so a request may be sent slightly
+ * after a later-started one (at most its recorded latency, divided by speed).
+ */
+final class Replay implements Iterator<Arrival>, AutoCloseable {
+
+    private final ObjectMapper mapper = new ObjectMapper();
+    private final BufferedReader reader;
+    private final double speed;
+    private final String runId;
+    private final String adminKey;
+
+    private final Map<String, String> codes = new ConcurrentHashMap<>();
+    private final Map<Long, Long> ids = new ConcurrentHashMap<>();
+
+    private long firstTs = -1;
+    private JsonNode next;
+
+    Replay(Path file, double speed, String runId, String adminKey) throws IOException {
+        if (speed <= 0) throw new IllegalArgumentException("speed must be > 0");
+        this.reader = Files.newBufferedReader(file, StandardCharsets.UTF_8);
+        this.speed = speed;
+        this.runId = runId;
+        this.adminKey = adminKey;
+        this.next = readLine();
+    }
+
+    @Override
+    public boolean hasNext() {
+        return next != null;
+    }
+
+    @Override
+    public Arrival next() {
+        if (next == null) throw new NoSuchElementException();
+        JsonNode line = next;
+        next = readLine();
+        long ts = line.path("ts").asLong();
+        if (firstTs < 0) firstTs = ts;
+        long offset = (long) (Math.max(0, ts - firstTs) * 1_000_000L / speed);
+        return new Arrival(offset, () -> call(line));
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+
+    // =========================
+    // Helpers
+    // =========================
+
+    private Call call(JsonNode line) {
+        String method = line.path("method").asText();
+        String path = line.path("path").asText();
+        String route = line.path("route").asText(null);
+        String query = line.path("query").asText(null);
+        String label = method + " " + (route != null ? route : path);
+
+        Map<String, String> headers = new HashMap<>();
+        if (path.startsWith("/api/admin/")) headers.put("X-Admin-Key", adminKey);
+        if (line.hasNonNull("idempotencyKey")) {
+            headers.put("Idempotency-Key", runId + "-" + line.get("idempotencyKey").asText());
+        }
+        String body = line.hasNonNull("body") ? line.get("body").toString() : null;
+
+        String recordedCode = line.path("orderCode").asText(null);
+        long recordedId = line.path("orderId").asLong(-1);
+        boolean create = recordedCode != null || recordedId >= 0;
+        return new Call(label, method, remap(path, route) + (query != null ? "?" + query : ""), body, headers,
+                create ? res -> {
+                    if (recordedCode != null && res.hasNonNull("orderCode")) codes.put(recordedCode, res.get("orderCode").asText());
+                    if (recordedId >= 0 && res.hasNonNull("id")) ids.put(recordedId, res.get("id").asLong());
+                } : null);
+    }
+
+    /** Replace recorded order codes/ids in the path with the ones this replay created */
+    private String remap(String path, String route) {
+        if (route == null) return path;
+        String[] p = path.split("/", -1);
+        String[] r = route.split("/", -1);
+        if (p.length != r.length) return path;
+        boolean admin = route.startsWith("/api/admin/orders/");
+        for (int i = 0; i < r.length; i++) {
+            if (r[i].equals("{orderCode}")) {
+                p[i] = codes.getOrDefault(p[i], p[i]);
+            } else if (admin && r[i].equals("{id}")) {
+                try {
+                    Long mapped = ids.get(Long.parseLong(p[i]));
+                    if (mapped != null) p[i] = mapped.toString();
+                } catch (NumberFormatException ignored) {
+                    // not an order id; send as recorded
+                }
+            }
+        }
+        return String.join("/", p);
+    }
+
+    private JsonNode readLine() {
+        try {
+            String s;
+            while ((s = reader.readLine()) != null) {
+                if (!s.isBlank()) return mapper.readTree(s);
+            }
+            return null;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,206 @@
+package com.example.momskitchen.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Synthetic dinner-rush traffic: independent Poisson arrivals per endpoint, at the given rates
+ * (requests per second), merged into one stream.
+ *
+ *   menu    GET  /api/menu/{menuId}/tree
+ *   quote   POST /api/orders/quote        random cart of 1-4 lines from the menu
+ *   create  POST /api/orders              random cart, Idempotency-Key, synthetic customer
+ *   lookup  GET  /api/orders/{orderCode}  an order created earlier in this run (skipped until one exists)
+ *   admin   GET  /api/admin/orders?cursor= first page of the admin list (polling)
+ *
+ * Carts use the items and add-ons of the menu loaded at start. Orders pick a pickup day from
+ * pickupDays and count against the slots' limits, so long runs against a small database will
+ * start seeing "slot is full" 400s; use a scratch database with generous limits.
+ */
+final class Scenario implements Iterator<Arrival> {
+
+    enum Endpoint {
+        MENU("menu", "GET /api/menu/{menuId}/tree"),
+        QUOTE("quote", "POST /api/orders/quote"),
+        CREATE("create", "POST /api/orders"),
+        LOOKUP("lookup", "GET /api/orders/{orderCode}"),
+        ADMIN("admin", "GET /api/admin/orders");
+
+        final String key;
+        final String label;
+
+        Endpoint(String key, String label) {
+            this.key = key;
+            this.label = label;
+        }
+
+        static Endpoint of(String key) {
+            for (Endpoint e : values()) if (e.key.equals(key)) return e;
+            throw new IllegalArgumentException("Unknown endpoint '" + key + "' (menu, quote, create, lookup, admin)");
+        }
+    }
+
+    /** Orders created in this run, for lookups */
+    private static final int RECENT_ORDERS = 1024;
+
+    private record MenuItem(long id, List<Long> addonIds) {}
+
+    private record Created(String code, String phone) {}
+
+    private final ObjectMapper mapper = new ObjectMapper();
+    private final Random rnd;
+    private final long menuId;
+    private final int[] pickupDays;
+    private final String adminKey;
+    private final List<MenuItem> items;
+
+    private final Endpoint[] endpoints;
+    private final double[] cumulative;   // cumulative rate share per endpoint
+    private final double totalRate;
+    private final long durationNanos;
+    private long nextOffset;
+
+    private final AtomicReferenceArray<Created> recent = new AtomicReferenceArray<>(RECENT_ORDERS);
+    private final AtomicLong created = new AtomicLong();
+
+    /**
+     * @param rates     requests per second per endpoint; endpoints left out are not called
+     * @param menuTree  GET /api/menu/{menuId}/tree response, source of the carts
+     */
+    Scenario(Map<Endpoint, Double> rates, long durationNanos, long seed, long menuId, int[] pickupDays,
+             String adminKey, JsonNode menuTree) {
+        this.rnd = new Random(seed);
+        this.menuId = menuId;
+        this.pickupDays = pickupDays;
+        this.adminKey = adminKey;
+        this.durationNanos = durationNanos;
+        this.items = orderableItems(menuTree);
+
+        List<Endpoint> active = new ArrayList<>();
+        List<Double> shares = new ArrayList<>();
+        double total = 0;
+        for (Map.Entry<Endpoint, Double> e : rates.entrySet()) {
+            if (e.getValue() <= 0) continue;
+            active.add(e.getKey());
+            total += e.getValue();
+            shares.add(total);
+        }
+        if (total <= 0) throw new IllegalArgumentException("At least one rate must be positive");
+        this.endpoints = active.toArray(new Endpoint[0]);
+        this.cumulative = shares.stream().mapToDouble(d -> d).toArray();
+        this.totalRate = total;
+        this.nextOffset = interArrival();
+    }
+
+    @Override
+    public boolean hasNext() {
+        return nextOffset < durationNanos;
+    }
+
+    @Override
+    public Arrival next() {
+        if (!hasNext()) throw new NoSuchElementException();
+        long at = nextOffset;
+        nextOffset += interArrival();
+        Endpoint e = pick();
+        return new Arrival(at, () -> call(e));
+    }
+
+    // =========================
+    // Helpers
+    // =========================
+
+    /** Merged Poisson process: exponential gaps at the total rate, endpoint chosen by its share. */
+    private long interArrival() {
+        return (long) (-Math.log(1 - rnd.nextDouble()) / totalRate * 1e9);
+    }
+
+    private Endpoint pick() {
+        double x = rnd.nextDouble() * totalRate;
+        for (int i = 0; i < cumulative.length; i++) {
+            if (x < cumulative[i]) return endpoints[i];
+        }
+        return endpoints[endpoints.length - 1];
+    }
+
+    private Call call(Endpoint e) {
+        return switch (e) {
+            case MENU -> new Call(e.label, "GET", "/api/menu/" + menuId + "/tree", null, Map.of(), null);
+            case QUOTE -> new Call(e.label, "POST", "/api/orders/quote", order(null).toString(), Map.of(), null);
+            case CREATE -> {
+                String phone = String.format("555%07d", rnd.nextInt(10_000_000));
+                yield new Call(e.label, "POST", "/api/orders", order(phone).toString(),
+                        Map.of("Idempotency-Key", UUID.randomUUID().toString()),
+                        res -> remember(res.path("orderCode").asText(null), phone));
+            }
+            case LOOKUP -> {
+                long n = created.get();
+                if (n == 0) yield null;
+                Created c = recent.get((int) (rnd.nextLong(Math.min(n, RECENT_ORDERS))));
+                yield c == null ? null
+                        : new Call(e.label, "GET", "/api/orders/" + c.code() + "?phone=" + c.phone(), null, Map.of(), null);
+            }
+            case ADMIN -> new Call(e.label, "GET", "/api/admin/orders?cursor=&size=50", null,
+                    Map.of("X-Admin-Key", adminKey), null);
+        };
+    }
+
+    /** Cart (and, with a phone, customer) for quote/create */
+    private ObjectNode order(String phone) {
+        ObjectNode o = mapper.createObjectNode();
+        if (phone != null) {
+            o.put("customerName", "Load Test " + phone.substring(3));
+            o.put("customerEmail", "loadtest+" + phone + "@example.test");
+            o.put("customerPhone", phone);
+        }
+        o.put("pickupDay", pickupDays[rnd.nextInt(pickupDays.length)]);
+        ArrayNode lines = o.putArray("items");
+        int n = 1 + rnd.nextInt(4);
+        for (int i = 0; i < n; i++) {
+            MenuItem item = items.get(rnd.nextInt(items.size()));
+            ObjectNode line = lines.addObject();
+            line.put("menuItemId", item.id());
+            line.put("quantity", 1 + rnd.nextInt(3));
+            ArrayNode addons = line.putArray("addons");
+            int k = Math.min(item.addonIds().size(), rnd.nextInt(3));
+            for (int j = 0; j < k; j++) {
+                addons.addObject().put("addonId", item.addonIds().get(j));
+            }
+        }
+        return o;
+    }
+
+    private void remember(String code, String phone) {
+        if (code == null) return;
+        long n = created.getAndIncrement();
+        recent.set((int) (n % RECENT_ORDERS), new Created(code, phone));
+    }
+
+    private static List<MenuItem> orderableItems(JsonNode tree) {
+        List<MenuItem> out = new ArrayList<>();
+        for (JsonNode category : tree.path("categories")) {
+            for (JsonNode item : category.path("items")) {
+                if (!item.path("available").asBoolean(true)) continue;
+                List<Long> addonIds = new ArrayList<>();
+                for (JsonNode addon : item.path("allowedAddons")) {
+                    if (addon.path("active").asBoolean(true)) addonIds.add(addon.path("id").asLong());
+                }
+                out.add(new MenuItem(item.path("id").asLong(), addonIds));
+            }
+        }
+        if (out.isEmpty()) throw new IllegalStateException("The menu has no available items to order");
+        return out;
+    }
+}
@@ -0,0 +1,332 @@
+package com.example.momskitchen.loadtest;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.SplittableRandom;
+
+/**
+ * Order history shaped like the real thing, for filling the order tables at scale:
+ *
+ *   when      created over the last `days` days, weekends busier than weekdays, peaks at lunch
+ *             (11-13) and dinner (17-19), almost nothing overnight
+ *   pickup    the next pickup slot at least 30 minutes after checkout (a quarter of customers
+ *             take the one after), on a 15-minute step inside the slot window
+ *   what      1-8 lines, mostly 1-3; items Zipf-popular within their menu (a few dishes sell
+ *             most portions); about a third of lines with add-ons
+ *   who       a customer pool with power-law repeat business: a small set of regulars places a
+ *             large share of the orders (same phone, name and email each time)
+ *   outcome   past pickups mostly COMPLETED/PAID with some CANCELED (refunded or never paid);
+ *             pickups still ahead are PENDING or CONFIRMED
+ *
+ * Totals follow PricingService ((price + add-on deltas) * quantity, tax rounded half up) and
+ * prep_minutes follows KitchenQueue (longest line). Each chunk draws from its own seeded random,
+ * so a run is reproducible for a given seed and chunk size whatever the thread count.
+ */
+final class SyntheticOrders {
+
+    record Addon(long id, String name, long deltaCents) {}
+
+    record Item(long id, String name, long priceCents, Integer prepMinutes, Addon[] addons) {}
+
+    /** Items of one menu with their cumulative popularity (Zipf over a shuffled order) */
+    record Menu(Item[] items, double[] cumulative) {}
+
+    record Slot(long id, int dayOfWeek, LocalTime start, LocalTime end) {}
+
+    /** Orders of one chunk, generated but not yet numbered past the order id */
+    static final class Chunk {
+        private final List<Order> orders;
+        private final int lines;
+        private final int addons;
+
+        private Chunk(List<Order> orders, int lines, int addons) {
+            this.orders = orders;
+            this.lines = lines;
+            this.addons = addons;
+        }
+
+        int orderCount() {
+            return orders.size();
+        }
+
+        int lineCount() {
+            return lines;
+        }
+
+        int addonCount() {
+            return addons;
+        }
+
+        /** Write the rows, numbering order lines from firstLineId and line add-ons from firstAddonId. */
+        void write(long firstLineId, long firstAddonId, MultiRowInsert orderRows, MultiRowInsert lineRows,
+                   MultiRowInsert addonRows) throws SQLException {
+            long lineId = firstLineId;
+            long addonId = firstAddonId;
+            for (Order o : orders) {
+                orderRows.row(o.id, o.code, o.status, o.pickupAt, o.prepMinutes, o.slotId,
+                        o.customerName, o.customerEmail, o.customerPhone, o.notes,
+                        MultiRowInsert.money(o.subtotalCents), MultiRowInsert.money(o.taxCents),
+                        MultiRowInsert.money(o.subtotalCents + o.taxCents), o.paymentStatus, o.createdAtUtc);
+                for (Line l : o.lines) {
+                    long unit = l.item.priceCents();
+                    long deltas = 0;
+                    for (Addon a : l.addons) deltas += a.deltaCents();
+                    lineRows.row(lineId, o.id, l.item.id(), l.item.name(), MultiRowInsert.money(unit), l.quantity,
+                            MultiRowInsert.money((unit + deltas) * l.quantity));
+                    for (Addon a : l.addons) {
+                        addonRows.row(addonId++, lineId, a.id(), a.name(), MultiRowInsert.money(a.deltaCents()));
+                    }
+                    lineId++;
+                }
+            }
+        }
+    }
+
+    private record SlotDate(Slot slot, LocalDate date) {}
+
+    private record Line(Item item, int quantity, Addon[] addons) {}
+
+    private record Order(long id, String code, String status, String paymentStatus, LocalDateTime pickupAt,
+                         Long slotId, int prepMinutes, String customerName, String customerEmail,
+                         String customerPhone, String notes, long subtotalCents, long taxCents,
+                         LocalDateTime createdAtUtc, List<Line> lines) {}
+
+    /** Same alphabet as the backend's OrderCodeGenerator; the MG prefix keeps clear of its MK codes. */
+    private static final char[] ALPHABET = "ABCDEFGHJKLMNPQRSTUVWXYZ23456789".toCharArray();
+    private static final String CODE_PREFIX = "MG";
+    private static final int CODE_CHARS = 10;
+
+    private static final int LEAD_MINUTES = 30;
+    private static final int DEFAULT_PREP_MINUTES = 15;
+
+    /** Relative order volume by day of week, 0=Sun..6=Sat */
+    private static final double[] DAY_WEIGHT = {1.3, 0.6, 0.6, 0.7, 0.9, 1.6, 1.5};
+    /** Relative order volume by hour of day (local) */
+    private static final double[] HOUR_WEIGHT = {
+            0.02, 0.01, 0.01, 0.01, 0.01, 0.02, 0.05, 0.15, 0.3, 0.4, 0.8, 2.0,
+            2.2, 1.2, 0.7, 0.7, 1.0, 2.5, 2.4, 1.2, 0.6, 0.5, 0.2, 0.08};
+
+    private static final String[] FIRST = {"Maria", "James", "Aisha", "Wei", "Carlos", "Priya", "John", "Fatima",
+            "Luis", "Emily", "Kwame", "Sofia", "David", "Mei", "Ahmed", "Grace", "Mateo", "Olivia", "Ivan", "Zoe",
+            "Daniel", "Nia", "Omar", "Hannah"};
+    private static final String[] LAST = {"Garcia", "Smith", "Johnson", "Nguyen", "Okafor", "Patel", "Brown",
+            "Rossi", "Kim", "Lopez", "Haddad", "Mensah", "Cohen", "Silva", "Murphy", "Chen", "Williams", "Diaz",
+            "Novak", "Ali", "Jones", "Martin", "Tanaka", "Walker"};
+    private static final String[] NOTES = {"No onions please", "Extra napkins", "Call when ready",
+            "Mild, not spicy", "Sauce on the side", "It's a birthday!", "Running 10 min late", "Allergic to nuts"};
+
+    private final List<Menu> menus;
+    private final Slot[][] slotsByDay = new Slot[7][];
+    private final long customers;
+    private final double repeatSkew;
+    private final BigDecimal taxRate;
+    private final ZoneId zone;
+    private final LocalDateTime nowLocal;
+
+    private final LocalDateTime firstHour;
+    private final double[] hourCumulative;   // cumulative weight per hour since firstHour
+
+    /**
+     * @param customers   size of the customer pool
+     * @param repeatSkew  >= 1; customer = pool * u^skew, so larger means more orders from regulars
+     * @param now         end of the history (orders are created before it)
+     */
+    SyntheticOrders(List<Menu> menus, List<Slot> slots, long customers, double repeatSkew, BigDecimal taxRate,
+                    ZoneId zone, LocalDateTime now, int days) {
+        if (menus.isEmpty()) throw new IllegalArgumentException("At least one menu with items is needed");
+        if (customers < 1 || customers > 8_000_000_000L) throw new IllegalArgumentException("customers must be 1..8e9");
+        if (days < 1) throw new IllegalArgumentException("days must be >= 1");
+        this.menus = menus;
+        this.customers = customers;
+        this.repeatSkew = Math.max(1, repeatSkew);
+        this.taxRate = taxRate;
+        this.zone = zone;
+        this.nowLocal = now;
+        for (int d = 0; d < 7; d++) {
+            int day = d;
+            slotsByDay[d] = slots.stream().filter(s -> s.dayOfWeek() == day)
+                    .sorted((a, b) -> a.start().compareTo(b.start())).toArray(Slot[]::new);
+        }
+
+        // one cell per hour of the history (up to the current hour), weighted by day and hour
+        this.firstHour = now.toLocalDate().minusDays(days).atStartOfDay();
+        int hours = (int) Duration.between(firstHour, now.withMinute(0).withSecond(0).withNano(0)).toHours();
+        this.hourCumulative = new double[hours];
+        double total = 0;
+        for (int h = 0; h < hours; h++) {
+            LocalDateTime t = firstHour.plusHours(h);
+            total += DAY_WEIGHT[t.getDayOfWeek().getValue() % 7] * HOUR_WEIGHT[t.getHour()];
+            hourCumulative[h] = total;
+        }
+    }
+
+    /** Menu popularity: weight 1/rank^skew over a random ranking of the items. */
+    static Menu menu(List<Item> items, double skew, SplittableRandom rnd) {
+        Item[] ranked = items.toArray(new Item[0]);
+        for (int i = ranked.length - 1; i > 0; i--) {
+            int j = rnd.nextInt(i + 1);
+            Item t = ranked[i];
+            ranked[i] = ranked[j];
+            ranked[j] = t;
+        }
+        double[] cumulative = new double[ranked.length];
+        double total = 0;
+        for (int i = 0; i < ranked.length; i++) {
+            total += 1 / Math.pow(i + 1, skew);
+            cumulative[i] = total;
+        }
+        return new Menu(ranked, cumulative);
+    }
+
+    /** Generate orders firstId .. firstId + count - 1 from the given seed. */
+    Chunk generate(long seed, long firstId, int count) {
+        SplittableRandom rnd = new SplittableRandom(seed);
+        List<Order> out = new ArrayList<>(count);
+        int lines = 0;
+        int addons = 0;
+        for (int i = 0; i < count; i++) {
+            Order o = order(rnd, firstId + i);
+            out.add(o);
+            lines += o.lines().size();
+            for (Line l : o.lines()) addons += l.addons().length;
+        }
+        return new Chunk(out, lines, addons);
+    }
+
+    /** "MG" + the id in base 32, fixed width: unique per id and at most 12 characters. */
+    static String code(long id) {
+        char[] out = new char[CODE_PREFIX.length() + CODE_CHARS];
+        CODE_PREFIX.getChars(0, CODE_PREFIX.length(), out, 0);
+        long x = id;
+        for (int i = out.length - 1; i >= CODE_PREFIX.length(); i--) {
+            out[i] = ALPHABET[(int) (x & 31)];
+            x >>>= 5;
+        }
+        return new String(out);
+    }
+
+    // =========================
+    // Helpers
+    // =========================
+
+    private Order order(SplittableRandom rnd, long id) {
+        LocalDateTime created = createdAt(rnd);
+
+        Menu menu = menus.get(rnd.nextInt(menus.size()));
+        int lineCount = 1;
+        while (lineCount < 8 && rnd.nextDouble() < 0.45) lineCount++;
+        List<Line> lines = new ArrayList<>(lineCount);
+        long subtotal = 0;
+        int prep = 0;
+        for (int i = 0; i < lineCount; i++) {
+            Item item = pick(menu, rnd);
+            double q = rnd.nextDouble();
+            int quantity = q < 0.72 ? 1 : q < 0.93 ? 2 : q < 0.98 ? 3 : 4;
+            Addon[] addons = addons(item, rnd);
+            long unit = item.priceCents();
+            for (Addon a : addons) unit += a.deltaCents();
+            subtotal += unit * quantity;
+            prep = Math.max(prep, item.prepMinutes() != null ? item.prepMinutes() : DEFAULT_PREP_MINUTES);
+            lines.add(new Line(item, quantity, addons));
+        }
+        long tax = BigDecimal.valueOf(subtotal).multiply(taxRate).setScale(0, RoundingMode.HALF_UP).longValueExact();
+
+        LocalDateTime pickupAt;
+        Long slotId;
+        LocalDateTime earliest = ceilQuarter(created.plusMinutes(LEAD_MINUTES));
+        SlotDate pick = slot(earliest, rnd);
+        if (pick != null) {
+            Slot slot = pick.slot();
+            LocalDate date = pick.date();
+            LocalDateTime from = date.atTime(slot.start()).isAfter(earliest) ? date.atTime(slot.start()) : earliest;
+            LocalDateTime to = date.atTime(slot.end()).minusMinutes(15);
+            long steps = Math.max(0, Duration.between(from, to).toMinutes() / 15);
+            pickupAt = from.plusMinutes(15 * rnd.nextLong(steps + 1));
+            slotId = slot.id();
+        } else {
+            pickupAt = earliest.plusMinutes(15 * rnd.nextInt(8));
+            slotId = null;
+        }
+
+        String status;
+        String payment;
+        double s = rnd.nextDouble();
+        if (pickupAt.isBefore(nowLocal)) {
+            status = s < 0.94 ? "COMPLETED" : "CANCELED";
+            double p = rnd.nextDouble();
+            payment = status.equals("COMPLETED") ? (p < 0.97 ? "PAID" : "UNPAID") : (p < 0.4 ? "REFUNDED" : "UNPAID");
+        } else {
+            status = s < 0.75 ? "CONFIRMED" : "PENDING";
+            payment = status.equals("CONFIRMED") && rnd.nextDouble() < 0.5 ? "PAID" : "UNPAID";
+        }
+
+        long customer = (long) (customers * Math.pow(rnd.nextDouble(), repeatSkew));
+        String first = FIRST[(int) (customer % FIRST.length)];
+        String last = LAST[(int) ((customer / FIRST.length) % LAST.length)];
+        // distinct 10-digit phone per customer (7919 is coprime with 8e9, so this is a bijection)
+        String phone = Long.toString(2_000_000_000L + Math.floorMod(customer * 7919, 8_000_000_000L));
+        String notes = rnd.nextDouble() < 0.08 ? NOTES[rnd.nextInt(NOTES.length)] : null;
+
+        return new Order(id, code(id), status, payment, pickupAt, slotId, prep, first + " " + last,
+                (first + "." + last + "." + customer + "@example.test").toLowerCase(Locale.ROOT), phone,
+                notes, subtotal, tax, created.atZone(zone).withZoneSameInstant(ZoneOffset.UTC).toLocalDateTime(), lines);
+    }
+
+    private LocalDateTime createdAt(SplittableRandom rnd) {
+        double x = rnd.nextDouble() * hourCumulative[hourCumulative.length - 1];
+        int h = Arrays.binarySearch(hourCumulative, x);
+        if (h < 0) h = -h - 1;
+        return firstHour.plusHours(h).plusSeconds(rnd.nextInt(3600));
+    }
+
+    private static Item pick(Menu menu, SplittableRandom rnd) {
+        double[] c = menu.cumulative();
+        int i = Arrays.binarySearch(c, rnd.nextDouble() * c[c.length - 1]);
+        if (i < 0) i = -i - 1;
+        return menu.items()[Math.min(i, c.length - 1)];
+    }
+
+    private static final Addon[] NO_ADDONS = new Addon[0];
+
+    private static Addon[] addons(Item item, SplittableRandom rnd) {
+        Addon[] allowed = item.addons();
+        if (allowed.length == 0) return NO_ADDONS;
+        double a = rnd.nextDouble();
+        int n = a < 0.25 ? 1 : a < 0.33 ? 2 : 0;
+        n = Math.min(n, allowed.length);
+        if (n == 0) return NO_ADDONS;
+        int first = rnd.nextInt(allowed.length);
+        Addon[] out = new Addon[n];
+        for (int i = 0; i < n; i++) out[i] = allowed[(first + i) % allowed.length];
+        return out;
+    }
+
+    /** First slot occurrence (or, for a quarter of the customers, the one after) with a pickup time at or after earliest */
+    private SlotDate slot(LocalDateTime earliest, SplittableRandom rnd) {
+        int skip = rnd.nextDouble() < 0.25 ? 1 : 0;
+        for (int d = 0; d <= 7; d++) {
+            LocalDate date = earliest.toLocalDate().plusDays(d);
+            for (Slot s : slotsByDay[date.getDayOfWeek().getValue() % 7]) {
+                if (date.atTime(s.end()).minusMinutes(15).isBefore(earliest)) continue;
+                if (skip-- == 0) return new SlotDate(s, date);
+            }
+        }
+        return null;
+    }
+
+    private static LocalDateTime ceilQuarter(LocalDateTime t) {
+        LocalDateTime floor = t.withSecond(0).withNano(0).withMinute(t.getMinute() / 15 * 15);
+        return floor.equals(t) ? t : floor.plusMinutes(15);
+    }
+}
@@ -0,0 +1,54 @@
+#!/usr/bin/env bash
+# Compare throughput and p99 latency of platform vs virtual request threads.
+#
+# Starts the backend jar once per mode (VIRTUAL_THREADS=false, then true) against the local
+# MySQL (docker compose up -d), drives each endpoint with `hey` (https://github.com/rakyll/hey)
+# and prints one line per mode/endpoint. Needs a Java 21+ runtime; the jar must be built
+# (./mvnw -DskipTests package).
+#
+# Env: CONCURRENCY (default 200), DURATION (default 30s), WARMUP (default 10s),
+#      PORT (default 8091), MENU_ID (default 1), JAR (default target/momskitchen-0.0.1-SNAPSHOT-exec.jar)
+set -euo pipefail
+
+cd "$(dirname "$0")/.."
+CONCURRENCY=${CONCURRENCY:-200}
+DURATION=${DURATION:-30s}
+WARMUP=${WARMUP:-10s}
+PORT=${PORT:-8091}
+MENU_ID=${MENU_ID:-1}
+JAR=${JAR:-target/momskitchen-0.0.1-SNAPSHOT-exec.jar}
+BASE="http://localhost:${PORT}"
+
+command -v hey >/dev/null || { echo "hey not found (go install github.com/rakyll/hey@latest)" >&2; exit 1; }
+[ -f "$JAR" ] || { echo "$JAR not found; run ./mvnw -DskipTests package" >&2; exit 1; }
+JAVA_MAJOR=$(java -XshowSettings:properties -version 2>&1 | awk -F'= ' '/java.specification.version/ {print $2}')
+[ "${JAVA_MAJOR%%.*}" -ge 21 ] || { echo "Java 21+ required (found $JAVA_MAJOR)" >&2; exit 1; }
+
+QUOTE_BODY='{"customerName":"Load","customerEmail":"load@example.com","customerPhone":"3025550123","pickupSlotId":1,"pickupDay":5,"items":[{"menuItemId":1,"quantity":2,"addons":[{"addonId":1}]}]}'
+
+# run <label> <hey args...> -> "label  req/s  p99"
+run() {
+  local label=$1; shift
+  hey -z "$WARMUP" -c "$CONCURRENCY" "$@" >/dev/null
+  local out rps p99
+  out=$(hey -z "$DURATION" -c "$CONCURRENCY" "$@")
+  rps=$(awk '/Requests\/sec/ {print $2}' <<<"$out")
+  p99=$(awk '$1 == "99%" {print $3}' <<<"$out")
+  printf '%-10s %-28s %12s %12s\n' "$MODE" "$label" "$rps" "${p99}s"
+}
+
+printf '%-10s %-28s %12s %12s\n' "virtual" "endpoint" "req/s" "p99"
+for MODE in false true; do
+  VIRTUAL_THREADS=$MODE SERVER_PORT=$PORT SPRING_PROFILES_ACTIVE=prod java -jar "$JAR" >"target/threads-$MODE.log" 2>&1 &
+  APP=$!
+  trap 'kill $APP 2>/dev/null || true' EXIT
+  until curl -sf "$BASE/api/menu/menus" >/dev/null; do
+    kill -0 $APP 2>/dev/null || { echo "backend exited; see target/threads-$MODE.log" >&2; exit 1; }
+    sleep 1
+  done
+
+  run "GET /api/menu/$MENU_ID/tree" "$BASE/api/menu/$MENU_ID/tree"
+  run "POST /api/orders/quote" -m POST -T application/json -d "$QUOTE_BODY" "$BASE/api/orders/quote"
+
+  kill $APP; wait $APP 2>/dev/null || true
+done
@@ -15,4 +15,23 @@ public class FilterConfig {
         reg.setOrder(1);
         return reg;
     }
+
+    @Bean
+    public FilterRegistrationBean<RequestMetricsFilter> requestMetricsFilterRegistration(RequestMetricsFilter filter) {
+        FilterRegistrationBean<RequestMetricsFilter> reg = new FilterRegistrationBean<>();
+        reg.setFilter(filter);
+        reg.addUrlPatterns("/api/*");
+        reg.setOrder(0);
+        return reg;
+    }
+
+    @Bean
+    public FilterRegistrationBean<TrafficRecordingFilter> trafficRecordingFilterRegistration(TrafficRecordingFilter filter) {
+        FilterRegistrationBean<TrafficRecordingFilter> reg = new FilterRegistrationBean<>();
+        reg.setFilter(filter);
+        reg.addUrlPatterns("/api/*");
+        // after the admin key check: rejected requests are not recorded
+        reg.setOrder(2);
+        return reg;
+    }
 }
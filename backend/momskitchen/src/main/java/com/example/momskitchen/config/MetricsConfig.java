@@ -0,0 +1,52 @@
+package com.example.momskitchen.config;
+
+import com.example.momskitchen.service.OrderIdempotencyService;
+import com.example.momskitchen.service.PricingService;
+import com.example.momskitchen.util.BoundedLruCache;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.hibernate.cfg.StatisticsSettings;
+import org.hibernate.stat.spi.StatisticsFactory;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.function.Supplier;
+
+/**
+ * Metrics wiring (Prometheus scrape: GET /actuator/prometheus on management.server.port).
+ *  - Hot-path timers come from @Timed (momskitchen.* names) via the observation annotation aspect.
+ *  - Per-request SQL counts: RequestSqlStatistics installed as Hibernate's statistics, recorded
+ *    by RequestMetricsFilter.
+ *  - In-memory caches (quote totals, idempotency keys) as gauges and function counters.
+ */
+@Configuration
+public class MetricsConfig {
+
+    @Bean
+    public HibernatePropertiesCustomizer requestSqlStatistics() {
+        StatisticsFactory factory = RequestSqlStatistics::new;
+        return props -> props.put(StatisticsSettings.STATS_BUILDER, factory);
+    }
+
+    @Bean
+    public MeterBinder cacheMetrics(PricingService pricingService, OrderIdempotencyService idempotencyService) {
+        return registry -> {
+            bindCache(registry, "quote", pricingService::quoteCacheStats);
+            bindCache(registry, "idempotency", idempotencyService::cacheStats);
+        };
+    }
+
+    private static void bindCache(MeterRegistry registry, String name, Supplier<BoundedLruCache.Stats> stats) {
+        Gauge.builder("momskitchen.cache.size", stats, s -> s.get().size())
+                .tag("cache", name).register(registry);
+        FunctionCounter.builder("momskitchen.cache.hits", stats, s -> s.get().hits())
+                .tag("cache", name).register(registry);
+        FunctionCounter.builder("momskitchen.cache.misses", stats, s -> s.get().misses())
+                .tag("cache", name).register(registry);
+        FunctionCounter.builder("momskitchen.cache.evictions", stats, s -> s.get().evictions())
+                .tag("cache", name).register(registry);
+    }
+}
@@ -0,0 +1,71 @@
+package com.example.momskitchen.config;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.Filter;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletRequest;
+import jakarta.servlet.ServletResponse;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+
+/**
+ * Records the SQL work of each /api request (see RequestSqlStatistics) as distribution summaries,
+ * tagged by method and URI pattern (bounded cardinality; unmatched requests are "UNKNOWN"):
+ *   momskitchen.request.sql.statements  statements prepared
+ *   momskitchen.request.sql.rows        rows returned by queries
+ *   momskitchen.request.sql.entities    entities loaded
+ * Async requests (SSE stream, export) are skipped: their work happens on other threads.
+ * Nothing is recorded while Hibernate statistics are off (the counters would all read zero).
+ *
+ * Config: spring.jpa.properties.hibernate.generate_statistics (default false; on in dev and test)
+ */
+@Component
+public class RequestMetricsFilter implements Filter {
+
+    private final MeterRegistry registry;
+    private final boolean sqlStatistics;
+
+    public RequestMetricsFilter(MeterRegistry registry,
+                                @Value("${spring.jpa.properties.hibernate.generate_statistics:false}") boolean sqlStatistics) {
+        this.registry = registry;
+        this.sqlStatistics = sqlStatistics;
+    }
+
+    @Override
+    public void doFilter(ServletRequest req, ServletResponse res, FilterChain chain)
+            throws IOException, ServletException {
+        if (!sqlStatistics) {
+            chain.doFilter(req, res);
+            return;
+        }
+        HttpServletRequest r = (HttpServletRequest) req;
+        RequestSqlStatistics.begin();
+        RequestSqlStatistics.Counts counts = null;
+        try {
+            chain.doFilter(req, res);
+        } finally {
+            counts = RequestSqlStatistics.end();
+        }
+        if (counts == null || r.isAsyncStarted()) return;
+
+        Object pattern = r.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        String uri = pattern != null ? pattern.toString() : "UNKNOWN";
+        summary("momskitchen.request.sql.statements", "statements", r.getMethod(), uri).record(counts.statements());
+        summary("momskitchen.request.sql.rows", "rows", r.getMethod(), uri).record(counts.rows());
+        summary("momskitchen.request.sql.entities", "entities", r.getMethod(), uri).record(counts.entities());
+    }
+
+    private DistributionSummary summary(String name, String unit, String method, String uri) {
+        return DistributionSummary.builder(name)
+                .baseUnit(unit)
+                .tag("method", method)
+                .tag("uri", uri)
+                .register(registry);
+    }
+}
@@ -0,0 +1,79 @@
+package com.example.momskitchen.config;
+
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.stat.internal.StatisticsImpl;
+
+/**
+ * Hibernate statistics that also count, per request thread, the SQL statements prepared, rows
+ * returned by queries and entities loaded (installed via hibernate.stats.factory, see MetricsConfig;
+ * only active with hibernate.generate_statistics, off by default and on in dev and test).
+ * RequestMetricsFilter brackets each request with begin()/end(); work on threads outside a request
+ * (schedulers, async senders) is not counted.
+ *
+ * Hibernate calls these hooks on the thread doing the JDBC work, so a ThreadLocal is enough
+ * (also with virtual threads) and costs one lookup per statement.
+ */
+public class RequestSqlStatistics extends StatisticsImpl {
+
+    private static final ThreadLocal<Counts> CURRENT = new ThreadLocal<>();
+
+    /** Counts of one request; written by one thread only */
+    public static final class Counts {
+        private long statements;
+        private long rows;
+        private long entities;
+
+        public long statements() { return statements; }
+        public long rows() { return rows; }
+        public long entities() { return entities; }
+    }
+
+    public RequestSqlStatistics(SessionFactoryImplementor sessionFactory) {
+        super(sessionFactory);
+    }
+
+    /** Start counting for the current thread. */
+    public static void begin() {
+        CURRENT.set(new Counts());
+    }
+
+    /** Stop counting for the current thread and return what was counted (null if begin() was not called). */
+    public static Counts end() {
+        Counts counts = CURRENT.get();
+        CURRENT.remove();
+        return counts;
+    }
+
+    @Override
+    public void prepareStatement() {
+        super.prepareStatement();
+        count(1, 0, 0);
+    }
+
+    @Override
+    public void queryExecuted(String hql, int rows, long time) {
+        super.queryExecuted(hql, rows, time);
+        count(0, rows, 0);
+    }
+
+    @Override
+    public void loadEntity(String entityName) {
+        super.loadEntity(entityName);
+        count(0, 0, 1);
+    }
+
+    @Override
+    public void fetchEntity(String entityName) {
+        super.fetchEntity(entityName);
+        count(0, 0, 1);
+    }
+
+    /** Add to the current thread's counts, if it is inside begin()/end() */
+    static void count(long statements, long rows, long entities) {
+        Counts c = CURRENT.get();
+        if (c == null) return;
+        c.statements += statements;
+        c.rows += rows;
+        c.entities += entities;
+    }
+}
@@ -0,0 +1,252 @@
+package com.example.momskitchen.config;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import jakarta.annotation.PreDestroy;
+import jakarta.servlet.Filter;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletRequest;
+import jakarta.servlet.ServletResponse;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.HandlerMapping;
+import org.springframework.web.util.ContentCachingRequestWrapper;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.util.HexFormat;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Records /api requests as NDJSON, for the load tool's replay mode (backend/momskitchen/loadtest).
+ * Off by default; when off the filter only checks a flag.
+ *
+ * One line per completed request:
+ *   {"ts":epochMs,"method":"POST","route":"/api/orders","path":"/api/orders","query":null,
+ *    "body":{...},"idempotencyKey":"…","status":200,"ms":12,"orderCode":"MK…","orderId":123}
+ * route is the matched URI pattern, so requests group by endpoint; orderCode/orderId are only
+ * captured for order creation (the replay maps recorded codes and ids to the ones it creates).
+ *
+ * Customer name, email and phone (in bodies and the lookup's phone parameter) and Idempotency-Key
+ * values are replaced by salted hashes, consistently within one run of the backend, so a recorded
+ * lookup still matches its recorded order. Header values are not recorded.
+ *
+ * Lines go through a bounded queue to one writer thread; when the queue is full, lines are dropped
+ * (counted, logged at shutdown) rather than slowing requests. Async requests (order stream,
+ * export) are not recorded.
+ *
+ * Config:
+ *   traffic.record.enabled (default false)
+ *   traffic.record.file (default traffic.ndjson; appended to)
+ *   traffic.record.maxRequests (default 1000000; recording stops after this many lines)
+ *   traffic.record.queueSize (default 10000)
+ */
+@Component
+public class TrafficRecordingFilter implements Filter {
+
+    private static final Logger log = LoggerFactory.getLogger(TrafficRecordingFilter.class);
+
+    /** Request bodies larger than this are recorded without a body */
+    private static final int MAX_BODY_BYTES = 64 * 1024;
+    private static final String CREATE_ROUTE = "/api/orders";
+
+    private final boolean enabled;
+    private final Path file;
+    private final long maxRequests;
+    private final ObjectMapper objectMapper;
+    private final BlockingQueue<String> queue;
+    private final AtomicLong recorded = new AtomicLong();
+    private final LongAdder dropped = new LongAdder();
+    private final byte[] salt = new byte[16];
+    private final Thread writer;
+    private volatile boolean running = true;
+
+    public TrafficRecordingFilter(ObjectMapper objectMapper,
+                                  @Value("${traffic.record.enabled:false}") boolean enabled,
+                                  @Value("${traffic.record.file:traffic.ndjson}") String file,
+                                  @Value("${traffic.record.maxRequests:1000000}") long maxRequests,
+                                  @Value("${traffic.record.queueSize:10000}") int queueSize) {
+        this.objectMapper = objectMapper;
+        this.enabled = enabled;
+        this.file = Path.of(file);
+        this.maxRequests = Math.max(0, maxRequests);
+        this.queue = new ArrayBlockingQueue<>(Math.max(1, queueSize));
+        new SecureRandom().nextBytes(salt);
+        if (enabled) {
+            writer = new Thread(this::writeLoop, "traffic-recorder");
+            writer.setDaemon(true);
+            writer.start();
+            log.info("Recording /api traffic to {}", this.file.toAbsolutePath());
+        } else {
+            writer = null;
+        }
+    }
+
+    @Override
+    public void doFilter(ServletRequest req, ServletResponse res, FilterChain chain)
+            throws IOException, ServletException {
+        if (!enabled || recorded.get() >= maxRequests) {
+            chain.doFilter(req, res);
+            return;
+        }
+        HttpServletRequest r = (HttpServletRequest) req;
+        HttpServletResponse w = (HttpServletResponse) res;
+        boolean create = "POST".equals(r.getMethod()) && CREATE_ROUTE.equals(r.getRequestURI());
+        ContentCachingRequestWrapper cachedReq = new ContentCachingRequestWrapper(r, MAX_BODY_BYTES);
+        // only order creation needs the response body (for the code and id); don't buffer the rest
+        ContentCachingResponseWrapper cachedRes = create ? new ContentCachingResponseWrapper(w) : null;
+
+        long ts = System.currentTimeMillis();
+        long t0 = System.nanoTime();
+        try {
+            chain.doFilter(cachedReq, cachedRes != null ? cachedRes : w);
+        } finally {
+            long ms = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - t0);
+            if (!cachedReq.isAsyncStarted()) {
+                record(cachedReq, ts, ms, w.getStatus(), cachedRes != null ? cachedRes.getContentAsByteArray() : null);
+            }
+            if (cachedRes != null) cachedRes.copyBodyToResponse();
+        }
+    }
+
+    @PreDestroy
+    public void close() {
+        if (writer == null) return;
+        // no interrupt: the file channel would close mid-write; the writer polls with a timeout
+        running = false;
+        try {
+            writer.join(5_000);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        long lost = dropped.sum();
+        if (lost > 0) log.warn("Traffic recording dropped {} requests (queue full)", lost);
+    }
+
+    // =========================
+    // Helpers
+    // =========================
+
+    private void record(ContentCachingRequestWrapper r, long ts, long ms, int status, byte[] responseBody) {
+        Object pattern = r.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        ObjectNode line = objectMapper.createObjectNode();
+        line.put("ts", ts);
+        line.put("method", r.getMethod());
+        line.put("route", pattern != null ? pattern.toString() : null);
+        line.put("path", r.getRequestURI());
+        line.put("query", scrubQuery(r.getQueryString()));
+        byte[] body = r.getContentAsByteArray();
+        if (body.length > 0 && body.length < MAX_BODY_BYTES) line.set("body", scrubBody(body));
+        String key = r.getHeader("Idempotency-Key");
+        if (key != null) line.put("idempotencyKey", hash(key, 16));
+        line.put("status", status);
+        line.put("ms", ms);
+        if (responseBody != null && responseBody.length > 0 && status == 200) {
+            JsonNode order = readOrNull(responseBody);
+            if (order != null) {
+                line.put("orderCode", order.path("orderCode").asText(null));
+                if (order.hasNonNull("id")) line.put("orderId", order.get("id").asLong());
+            }
+        }
+        // a line may exceed maxRequests by the number of requests in flight; that's fine
+        if (!queue.offer(line.toString())) {
+            dropped.increment();
+        } else {
+            recorded.incrementAndGet();
+        }
+    }
+
+    private JsonNode scrubBody(byte[] body) {
+        JsonNode json = readOrNull(body);
+        if (json instanceof ObjectNode o) {
+            if (o.hasNonNull("customerName")) o.put("customerName", "Customer " + hash(o.get("customerName").asText(), 8));
+            if (o.hasNonNull("customerEmail")) o.put("customerEmail", "c" + hash(o.get("customerEmail").asText(), 12) + "@example.test");
+            if (o.hasNonNull("customerPhone")) o.put("customerPhone", fakePhone(o.get("customerPhone").asText()));
+        }
+        return json;
+    }
+
+    private String scrubQuery(String query) {
+        if (query == null) return null;
+        StringBuilder out = new StringBuilder();
+        for (String param : query.split("&")) {
+            if (!out.isEmpty()) out.append('&');
+            int eq = param.indexOf('=');
+            if (eq > 0 && param.substring(0, eq).equals("phone")) {
+                out.append("phone=").append(fakePhone(URLDecoder.decode(param.substring(eq + 1), StandardCharsets.UTF_8)));
+            } else {
+                out.append(param);
+            }
+        }
+        return out.toString();
+    }
+
+    /** 555 plus 7 digits derived from the normalized number, so the body and lookups agree */
+    private String fakePhone(String phone) {
+        String digits = phone.replaceAll("\\D", "");
+        long n = Long.parseUnsignedLong(hash(digits, 12), 16) % 10_000_000L;
+        return String.format("555%07d", n);
+    }
+
+    private String hash(String value, int hexChars) {
+        try {
+            MessageDigest sha = MessageDigest.getInstance("SHA-256");
+            sha.update(salt);
+            return HexFormat.of().formatHex(sha.digest(value.getBytes(StandardCharsets.UTF_8))).substring(0, hexChars);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private JsonNode readOrNull(byte[] json) {
+        try {
+            return objectMapper.readTree(json);
+        } catch (IOException e) {
+            return null;
+        }
+    }
+
+    private void writeLoop() {
+        try (BufferedWriter out = Files.newBufferedWriter(file, StandardCharsets.UTF_8,
+                StandardOpenOption.CREATE, StandardOpenOption.APPEND)) {
+            while (running || !queue.isEmpty()) {
+                String line;
+                try {
+                    line = queue.poll(1, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    break;
+                }
+                if (line == null) {
+                    out.flush();
+                    continue;
+                }
+                out.write(line);
+                out.newLine();
+                if (queue.isEmpty()) out.flush();
+            }
+            out.flush();
+        } catch (IOException e) {
+            log.error("Traffic recording to {} stopped: {}", file, e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,82 @@
+package com.example.momskitchen.controller;
+
+import com.example.momskitchen.service.CatalogService;
+import com.example.momskitchen.service.CatalogSnapshot;
+import com.example.momskitchen.service.PricingService;
+import com.example.momskitchen.util.BoundedLruCache;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.Instant;
+
+/**
+ * Admin endpoints for the in-memory catalog snapshot (secured by AdminApiKeyFilter via X-Admin-Key).
+ * Base path: /api/admin/catalog
+ */
+@RestController
+@RequestMapping("/api/admin/catalog")
+public class AdminCatalogController {
+
+    private final CatalogService catalogService;
+    private final PricingService pricingService;
+
+    public AdminCatalogController(CatalogService catalogService, PricingService pricingService) {
+        this.catalogService = catalogService;
+        this.pricingService = pricingService;
+    }
+
+    // ---------------------------------------------
+    // GET /api/admin/catalog  -> current snapshot version and sizes
+    // ---------------------------------------------
+    @GetMapping
+    public ResponseEntity<CatalogStatusDTO> status() {
+        return ResponseEntity.ok(toStatusDTO(catalogService.snapshot()));
+    }
+
+    // ---------------------------------------------
+    // POST /api/admin/catalog/refresh  -> rebuild now (e.g. after editing the catalog via SQL)
+    // ---------------------------------------------
+    @PostMapping("/refresh")
+    public ResponseEntity<CatalogStatusDTO> refresh() {
+        return ResponseEntity.ok(toStatusDTO(catalogService.refresh()));
+    }
+
+    // ---------------------------------------------
+    // GET /api/admin/catalog/quote-cache  -> quote cache size and hit/miss/eviction counters
+    // ---------------------------------------------
+    @GetMapping("/quote-cache")
+    public ResponseEntity<QuoteCacheStatsDTO> quoteCache() {
+        BoundedLruCache.Stats s = pricingService.quoteCacheStats();
+        return ResponseEntity.ok(new QuoteCacheStatsDTO(
+                s.size(), s.maxEntries(), s.hits(), s.misses(), s.evictions(), s.hitRatio()));
+    }
+
+    private CatalogStatusDTO toStatusDTO(CatalogSnapshot s) {
+        return new CatalogStatusDTO(
+                s.getVersion(),
+                s.getBuiltAt(),
+                s.menuCount(),
+                s.categoryCount(),
+                s.itemCount(),
+                s.addonCount()
+        );
+    }
+
+    public record CatalogStatusDTO(
+            long version,
+            Instant builtAt,
+            int menus,
+            int categories,
+            int items,
+            int addons
+    ) {}
+
+    public record QuoteCacheStatsDTO(
+            int size,
+            int maxEntries,
+            long hits,
+            long misses,
+            long evictions,
+            double hitRatio
+    ) {}
+}
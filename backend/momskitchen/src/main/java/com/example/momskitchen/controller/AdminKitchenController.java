@@ -0,0 +1,62 @@
+package com.example.momskitchen.controller;
+
+import com.example.momskitchen.service.KitchenQueue;
+import com.example.momskitchen.service.KitchenQueue.Ticket;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Kitchen display endpoints (secured by AdminApiKeyFilter via X-Admin-Key).
+ * Base path: /api/admin/kitchen
+ */
+@RestController
+@RequestMapping("/api/admin/kitchen")
+public class AdminKitchenController {
+
+    private static final int MAX_TICKETS = 500;
+
+    private final KitchenQueue kitchenQueue;
+
+    public AdminKitchenController(KitchenQueue kitchenQueue) {
+        this.kitchenQueue = kitchenQueue;
+    }
+
+    // ---------------------------------------------
+    // GET /api/admin/kitchen/queue?limit=50
+    //   Confirmed orders, earliest "start by" (pickupAt - prep time) first.
+    //   Served from memory; no queries.
+    // ---------------------------------------------
+    @GetMapping("/queue")
+    public ResponseEntity<KitchenQueueDTO> queue(@RequestParam(value = "limit", defaultValue = "50") int limit) {
+        LocalDateTime now = kitchenQueue.now();
+        List<TicketDTO> tickets = kitchenQueue.head(Math.min(Math.max(limit, 1), MAX_TICKETS)).stream()
+                .map(t -> toDTO(t, now))
+                .toList();
+        return ResponseEntity.ok(new KitchenQueueDTO(now, kitchenQueue.size(), tickets));
+    }
+
+    // =========================
+    // Mapping -> DTO
+    // =========================
+
+    /** open = tickets on the queue in total (tickets may be fewer when limited) */
+    public record KitchenQueueDTO(LocalDateTime now, int open, List<TicketDTO> tickets) {}
+
+    /** late = should already have been started */
+    public record TicketDTO(Long orderId, String orderCode, String customerName, String notes,
+                            LocalDateTime pickupAt, LocalDateTime startBy, int prepMinutes,
+                            int portions, boolean late, List<LineDTO> lines) {}
+
+    public record LineDTO(String itemName, int quantity, List<String> addons) {}
+
+    private TicketDTO toDTO(Ticket t, LocalDateTime now) {
+        List<LineDTO> lines = t.lines().stream()
+                .map(l -> new LineDTO(l.itemName(), l.quantity(), l.addons()))
+                .toList();
+        return new TicketDTO(t.orderId(), t.orderCode(), t.customerName(), t.notes(),
+                t.pickupAt(), t.startBy(), t.prepMinutes(), t.portions(), t.startBy().isBefore(now), lines);
+    }
+}
@@ -6,10 +6,26 @@ import com.example.momskitchen.model.OrderItemAddon;
 import com.example.momskitchen.repository.OrderRepository;
 import com.example.momskitchen.dto.OrderListItemDTO;
 import com.example.momskitchen.dto.OrderSummaryDTO;
+import com.example.momskitchen.service.OrderEventBus;
+import com.example.momskitchen.service.OrderEventBus.Subscription;
+import com.example.momskitchen.service.OrderExportService;
+import com.example.momskitchen.service.OrderService;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.*;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Base64;
 import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
@@ -23,10 +39,22 @@ import java.util.stream.Collectors;
 @RequestMapping("/api/admin/orders")
 public class AdminOrderController {
 
+    private static final int MAX_CURSOR_PAGE_SIZE = 200;
+
     private final OrderRepository orderRepository;
+    private final OrderService orderService;
+    private final OrderEventBus orderEvents;
+    private final OrderExportService orderExportService;
+    private final long streamTimeoutMs;
 
-    public AdminOrderController(OrderRepository orderRepository) {
+    public AdminOrderController(OrderRepository orderRepository, OrderService orderService,
+                                OrderEventBus orderEvents, OrderExportService orderExportService,
+                                @Value("${admin.stream.timeoutMs:1800000}") long streamTimeoutMs) {
         this.orderRepository = orderRepository;
+        this.orderService = orderService;
+        this.orderEvents = orderEvents;
+        this.orderExportService = orderExportService;
+        this.streamTimeoutMs = streamTimeoutMs;
     }
 
     // ---------------------------------------------
@@ -42,18 +70,110 @@ public class AdminOrderController {
     ) {
         Pageable pageable = resolvePageable(page, size, sortParam);
 
-        Page<Order> pageResult = findOrders(status, paymentStatus, pageable);
-
-        Page<OrderListItemDTO> dtoPage = pageResult.map(this::toListItemDTO);
+        // projection query: reads only the list columns, no Order entity graph
+        Page<OrderListItemDTO> dtoPage = orderRepository.findListItems(
+                emptyToNull(status), emptyToNull(paymentStatus), pageable);
         return ResponseEntity.ok(dtoPage);
     }
 
+    // ---------------------------------------------
+    // GET /api/admin/orders?cursor=&status=&paymentStatus=&size=50
+    //   Keyset mode (newest first): pass an empty cursor for the first page, then the
+    //   returned nextCursor. Seeks on (createdAt, id) and skips the COUNT query, so deep
+    //   pages cost the same as the first one.
+    // ---------------------------------------------
+    @GetMapping(params = "cursor")
+    public ResponseEntity<OrderCursorPageDTO> listByCursor(
+            @RequestParam("cursor") String cursor,
+            @RequestParam(value = "status", required = false) String status,
+            @RequestParam(value = "paymentStatus", required = false) String paymentStatus,
+            @RequestParam(value = "size", defaultValue = "50") int size
+    ) {
+        int limit = Math.min(Math.max(size, 1), MAX_CURSOR_PAGE_SIZE);
+        OrderCursor after = OrderCursor.decode(cursor);
+
+        // fetch one extra row to know whether another page exists
+        List<OrderListItemDTO> rows = orderRepository.findListItemsAfter(
+                emptyToNull(status), emptyToNull(paymentStatus),
+                after != null ? after.createdAt() : null,
+                after != null ? after.id() : null,
+                Limit.of(limit + 1));
+
+        boolean hasMore = rows.size() > limit;
+        List<OrderListItemDTO> items = hasMore ? rows.subList(0, limit) : rows;
+        String next = null;
+        if (hasMore) {
+            OrderListItemDTO last = items.get(items.size() - 1);
+            next = new OrderCursor(last.getCreatedAt(), last.getOrderId()).encode();
+        }
+        return ResponseEntity.ok(new OrderCursorPageDTO(List.copyOf(items), next));
+    }
+
+    // ---------------------------------------------
+    // GET /api/admin/orders/stream  (text/event-stream)
+    //   Live feed of order changes: events "order-created", "order-status", "order-payment"
+    //   carry the order's list row; "resync" means events were dropped for this client
+    //   (it fell behind) and the list should be reloaded. Idle streams get a comment
+    //   heartbeat. 503 when admin.stream.maxSubscribers clients are already connected.
+    // ---------------------------------------------
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<SseEmitter> stream() {
+        SseEmitter emitter = new SseEmitter(streamTimeoutMs);
+        Subscription subscription = orderEvents.subscribe(event -> {
+            if (OrderEventBus.HEARTBEAT.equals(event.type())) {
+                emitter.send(SseEmitter.event().comment(OrderEventBus.HEARTBEAT));
+            } else {
+                SseEmitter.SseEventBuilder sse = SseEmitter.event()
+                        .id(Long.toString(event.id()))
+                        .name(event.type());
+                emitter.send(event.order() != null ? sse.data(event.order(), MediaType.APPLICATION_JSON) : sse.data(""));
+            }
+        });
+        if (subscription == null) return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build();
+
+        emitter.onCompletion(subscription::close);
+        emitter.onTimeout(subscription::close);
+        emitter.onError(ex -> subscription.close());
+        return ResponseEntity.ok()
+                .header("X-Accel-Buffering", "no")   // let nginx pass events through unbuffered
+                .header("Cache-Control", "no-cache")
+                .body(emitter);
+    }
+
+    // ---------------------------------------------
+    // GET /api/admin/orders/export?from=2025-01-01&to=2025-12-31&format=csv|ndjson
+    //   Orders created on [from, to] (pickup-zone days) with lines and add-ons, streamed
+    //   from a JDBC cursor (see OrderExportService). 503 while too many exports run.
+    // ---------------------------------------------
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> export(
+            @RequestParam("from") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam("to") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(value = "format", defaultValue = "csv") String format,
+            HttpServletResponse response
+    ) {
+        OrderExportService.Format f = OrderExportService.Format.parse(format);
+        // busy: nothing is written or flushed yet, so drop the headers below and answer an empty 503
+        StreamingResponseBody body = orderExportService.stream(from, to, f, () -> {
+            response.reset();
+            response.setStatus(HttpStatus.SERVICE_UNAVAILABLE.value());
+        });
+
+        String filename = "orders-" + from + "-to-" + to + "." + f.extension();
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(f.contentType()))
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + filename + "\"")
+                .header("X-Accel-Buffering", "no")
+                .body(body);
+    }
+
     // ---------------------------------------------
     // GET /api/admin/orders/{id}
     // ---------------------------------------------
     @GetMapping("/{id}")
     public ResponseEntity<OrderSummaryDTO> details(@PathVariable Long id) {
-        Optional<Order> opt = orderRepository.findById(id);
+        // lines + add-ons are fetched explicitly (associations are lazy, open-in-view is off)
+        Optional<Order> opt = orderService.findDetailedById(id);
         if (opt.isEmpty()) return ResponseEntity.notFound().build();
 
         OrderSummaryDTO dto = toSummaryDTO(opt.get());
@@ -68,14 +188,10 @@ public class AdminOrderController {
             @PathVariable Long id,
             @PathVariable String newStatus
     ) {
-        Optional<Order> opt = orderRepository.findById(id);
-        if (opt.isEmpty()) return ResponseEntity.notFound().build();
-
-        Order order = opt.get();
-        order.setStatus(normalize(newStatus));
-        orderRepository.save(order);
-
-        return ResponseEntity.ok(toListItemDTO(order));
+        // via OrderService: canceling releases the order's pickup slot capacity
+        return orderService.updateStatus(id, normalize(newStatus))
+                .map(o -> ResponseEntity.ok(toListItemDTO(o)))
+                .orElseGet(() -> ResponseEntity.notFound().build());
     }
 
     // ---------------------------------------------
@@ -86,14 +202,10 @@ public class AdminOrderController {
             @PathVariable Long id,
             @PathVariable String newPaymentStatus
     ) {
-        Optional<Order> opt = orderRepository.findById(id);
-        if (opt.isEmpty()) return ResponseEntity.notFound().build();
-
-        Order order = opt.get();
-        order.setPaymentStatus(normalize(newPaymentStatus));
-        orderRepository.save(order);
-
-        return ResponseEntity.ok(toListItemDTO(order));
+        // via OrderService: the change is published to the live order stream after commit
+        return orderService.updatePayment(id, normalize(newPaymentStatus))
+                .map(o -> ResponseEntity.ok(toListItemDTO(o)))
+                .orElseGet(() -> ResponseEntity.notFound().build());
     }
 
     // =========================
@@ -109,27 +221,26 @@ public class AdminOrderController {
         }
 
     /**
-     * Finds orders with optional status/paymentStatus filters.
-     *
-     * NOTE: For best performance, declare these Spring Data methods in OrderRepository:
-     *   Page<Order> findByStatusAndPaymentStatus(String status, String paymentStatus, Pageable p);
-     *   Page<Order> findByStatus(String status, Pageable p);
-     *   Page<Order> findByPaymentStatus(String paymentStatus, Pageable p);
-     *   Page<Order> findAll(Pageable p);
+     * Position of the last row of a keyset page. Opaque to clients:
+     * base64url("createdAt|id"), e.g. "2025-09-12T18:30|42".
      */
-    private Page<Order> findOrders(String status, String paymentStatus, Pageable pageable) {
-        String s = emptyToNull(status);
-        String p = emptyToNull(paymentStatus);
-
-        // If your OrderRepository has these methods declared, Spring Data will implement them automatically.
-        if (s != null && p != null) {
-            return orderRepository.findByStatusAndPaymentStatus(s, p, pageable);
-        } else if (s != null) {
-            return orderRepository.findByStatus(s, pageable);
-        } else if (p != null) {
-            return orderRepository.findByPaymentStatus(p, pageable);
-        } else {
-            return orderRepository.findAll(pageable);
+    private record OrderCursor(LocalDateTime createdAt, Long id) {
+
+        String encode() {
+            String raw = createdAt + "|" + id;
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+        }
+
+        /** null/blank -> first page; anything unreadable -> IllegalArgumentException (400) */
+        static OrderCursor decode(String cursor) {
+            if (cursor == null || cursor.isBlank()) return null;
+            try {
+                String raw = new String(Base64.getUrlDecoder().decode(cursor.trim()), StandardCharsets.UTF_8);
+                int sep = raw.indexOf('|');
+                return new OrderCursor(LocalDateTime.parse(raw.substring(0, sep)), Long.parseLong(raw.substring(sep + 1)));
+            } catch (RuntimeException ex) {
+                throw new IllegalArgumentException("Invalid cursor");
+            }
         }
     }
 
@@ -145,7 +256,8 @@ public class AdminOrderController {
     // Mapping to DTOs
     // =========================
 
-    private OrderListItemDTO toListItemDTO(Order o) {
+    // list and summary mappers are package-private for DtoMappingBenchmark
+    OrderListItemDTO toListItemDTO(Order o) {
         OrderListItemDTO dto = new OrderListItemDTO();
         dto.setOrderId(o.getId());
         dto.setOrderCode(o.getOrderCode());
@@ -159,7 +271,10 @@ public class AdminOrderController {
         return dto;
     }
 
-    private OrderSummaryDTO toSummaryDTO(Order o) {
+    /** One keyset page; nextCursor is null on the last page. */
+    public record OrderCursorPageDTO(List<OrderListItemDTO> items, String nextCursor) {}
+
+    OrderSummaryDTO toSummaryDTO(Order o) {
         OrderSummaryDTO dto = new OrderSummaryDTO();
         dto.setId(o.getId());
         dto.setOrderCode(o.getOrderCode());
@@ -0,0 +1,152 @@
+package com.example.momskitchen.controller;
+
+import com.example.momskitchen.dto.SalesTotalDTO;
+import com.example.momskitchen.model.SalesRollup;
+import com.example.momskitchen.service.CatalogService;
+import com.example.momskitchen.service.CatalogSnapshot;
+import com.example.momskitchen.service.CatalogSnapshot.AddonView;
+import com.example.momskitchen.service.CatalogSnapshot.ItemView;
+import com.example.momskitchen.service.PickupCalendar.SlotView;
+import com.example.momskitchen.service.PickupService;
+import com.example.momskitchen.service.SalesReportService;
+import com.example.momskitchen.service.SalesReportService.RebuildResult;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.math.BigDecimal;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.format.TextStyle;
+import java.util.List;
+import java.util.Locale;
+import java.util.function.Function;
+
+/**
+ * Sales report endpoints (secured by AdminApiKeyFilter via X-Admin-Key).
+ * Base path: /api/admin/reports
+ *
+ * Reads only the sales_rollup table (see SalesRollup). Days are the day the order was placed,
+ * in the pickup zone; from/to are inclusive and default to the last 30 days.
+ */
+@RestController
+@RequestMapping("/api/admin/reports")
+public class AdminReportController {
+
+    private static final int DEFAULT_DAYS = 30;
+
+    private final SalesReportService salesReportService;
+    private final CatalogService catalogService;
+    private final PickupService pickupService;
+
+    public AdminReportController(SalesReportService salesReportService, CatalogService catalogService,
+                                 PickupService pickupService) {
+        this.salesReportService = salesReportService;
+        this.catalogService = catalogService;
+        this.pickupService = pickupService;
+    }
+
+    // ---------------------------------------------
+    // GET /api/admin/reports/daily?from=2025-09-01&to=2025-09-30
+    // ---------------------------------------------
+    @GetMapping("/daily")
+    public ResponseEntity<List<DailySalesDTO>> daily(
+            @RequestParam(value = "from", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(value = "to", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to
+    ) {
+        LocalDate end = to != null ? to : pickupService.today();
+        LocalDate start = from != null ? from : end.minusDays(DEFAULT_DAYS - 1);
+        List<DailySalesDTO> out = salesReportService.daily(start, end).stream()
+                .map(r -> new DailySalesDTO(r.getSalesDay(), r.getUnits(), r.getAmount(), r.getPaidUnits(),
+                        r.getPaidAmount(), r.getRefundedUnits(), r.getRefundedAmount()))
+                .toList();
+        return ResponseEntity.ok(out);
+    }
+
+    // ---------------------------------------------
+    // GET /api/admin/reports/items?from=&to=   (units = portions)
+    // ---------------------------------------------
+    @GetMapping("/items")
+    public ResponseEntity<List<KeyedSalesDTO>> items(
+            @RequestParam(value = "from", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(value = "to", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to
+    ) {
+        CatalogSnapshot catalog = catalogService.snapshot();
+        return keyed(SalesRollup.ITEM, from, to, id -> catalog.item(id).map(ItemView::name).orElse(null));
+    }
+
+    // ---------------------------------------------
+    // GET /api/admin/reports/addons?from=&to=   (units = portions the add-on was on)
+    // ---------------------------------------------
+    @GetMapping("/addons")
+    public ResponseEntity<List<KeyedSalesDTO>> addons(
+            @RequestParam(value = "from", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(value = "to", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to
+    ) {
+        CatalogSnapshot catalog = catalogService.snapshot();
+        return keyed(SalesRollup.ADDON, from, to, id -> catalog.addon(id).map(AddonView::name).orElse(null));
+    }
+
+    // ---------------------------------------------
+    // GET /api/admin/reports/slots?from=&to=   (units = orders)
+    // ---------------------------------------------
+    @GetMapping("/slots")
+    public ResponseEntity<List<KeyedSalesDTO>> slots(
+            @RequestParam(value = "from", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(value = "to", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to
+    ) {
+        return keyed(SalesRollup.SLOT, from, to, id -> pickupService.getSlot(id).map(this::slotLabel).orElse(null));
+    }
+
+    // ---------------------------------------------
+    // POST /api/admin/reports/rebuild?from=2025-01-01&to=2025-09-30
+    //   Recompute rollups from the order tables (backfill / repair).
+    // ---------------------------------------------
+    @PostMapping("/rebuild")
+    public ResponseEntity<RebuildResult> rebuild(
+            @RequestParam("from") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam("to") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to
+    ) {
+        return ResponseEntity.ok(salesReportService.rebuild(from, to));
+    }
+
+    // =========================
+    // Mapping -> DTO
+    // =========================
+
+    /** One day; orders/amount count every order placed, paid/refunded those with that payment status */
+    public record DailySalesDTO(LocalDate day, long orders, BigDecimal amount,
+                                long paidOrders, BigDecimal paidAmount,
+                                long refundedOrders, BigDecimal refundedAmount) {}
+
+    /** Totals of one slot, item or add-on; id 0 (name null) collects deleted ones / orders without a slot */
+    public record KeyedSalesDTO(Long id, String name, long units, BigDecimal amount,
+                                long paidUnits, BigDecimal paidAmount,
+                                long refundedUnits, BigDecimal refundedAmount) {}
+
+    private ResponseEntity<List<KeyedSalesDTO>> keyed(String dimension, LocalDate from, LocalDate to,
+                                                      Function<Long, String> names) {
+        LocalDate end = to != null ? to : pickupService.today();
+        LocalDate start = from != null ? from : end.minusDays(DEFAULT_DAYS - 1);
+        List<KeyedSalesDTO> out = salesReportService.totals(dimension, start, end).stream()
+                .map(t -> toDTO(t, names))
+                .toList();
+        return ResponseEntity.ok(out);
+    }
+
+    private KeyedSalesDTO toDTO(SalesTotalDTO t, Function<Long, String> names) {
+        return new KeyedSalesDTO(t.keyId(), t.keyId() != 0 ? names.apply(t.keyId()) : null,
+                orZero(t.units()), t.amount(), orZero(t.paidUnits()), t.paidAmount(),
+                orZero(t.refundedUnits()), t.refundedAmount());
+    }
+
+    private String slotLabel(SlotView s) {
+        // dayOfWeek 0=Sun ... 6=Sat
+        String day = DayOfWeek.of(s.dayOfWeek() == 0 ? 7 : s.dayOfWeek()).getDisplayName(TextStyle.SHORT, Locale.ENGLISH);
+        return day + " " + s.startTime() + "-" + s.endTime();
+    }
+
+    private static long orZero(Long v) {
+        return v != null ? v : 0L;
+    }
+}
@@ -1,35 +1,74 @@
 package com.example.momskitchen.controller;
 
-import com.example.momskitchen.model.Addon;
-import com.example.momskitchen.model.Menu;
-import com.example.momskitchen.model.MenuCategory;
-import com.example.momskitchen.model.MenuItem;
+import com.example.momskitchen.service.CatalogSnapshot;
+import com.example.momskitchen.service.CatalogSnapshot.AddonView;
+import com.example.momskitchen.service.CatalogSnapshot.CategoryView;
+import com.example.momskitchen.service.CatalogSnapshot.ItemView;
+import com.example.momskitchen.service.CatalogSnapshot.MenuView;
 import com.example.momskitchen.service.MenuService;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.annotation.Timed;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.math.BigDecimal;
-import java.util.Comparator;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.HexFormat;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReference;
 import java.util.stream.Collectors;
+import java.util.zip.Deflater;
+import java.util.zip.GZIPOutputStream;
 
 /**
  * Public menu endpoints for the customer app.
  * Base path: /api/menu
  *
  * Notes:
- * - We map entities -> DTOs to avoid circular JSON from bidirectional relationships.
- * - Your entities are EAGER, so Menu -> Categories -> Items -> Addons come preloaded.
+ * - We map catalog views -> DTOs; menus, items and add-ons are served from the
+ *   in-memory CatalogSnapshot (no database round-trip).
+ * - A whole tree is mapped from a single snapshot so it is always one consistent version.
+ * - The tree endpoint serves pre-serialized JSON (plain + gzip) cached per catalog version,
+ *   with a strong ETag (content hash) and 304 Not Modified on If-None-Match.
+ *
+ * Config (application.yml):
+ *   menu:
+ *     cacheMaxAgeSeconds: 60   # Cache-Control max-age for the menu tree
  */
 @RestController
 @RequestMapping("/api/menu")
 public class MenuController {
 
     private final MenuService menuService;
+    private final ObjectMapper objectMapper;
+    private final CacheControl treeCacheControl;
+
+    /** Serialized trees for one catalog version; replaced wholesale when the version changes. */
+    private final AtomicReference<RenderedTrees> renderedTrees =
+            new AtomicReference<>(new RenderedTrees(-1L, new ConcurrentHashMap<>()));
 
-    public MenuController(MenuService menuService) {
+    public MenuController(MenuService menuService,
+                          ObjectMapper objectMapper,
+                          @Value("${menu.cacheMaxAgeSeconds:60}") long cacheMaxAgeSeconds) {
         this.menuService = menuService;
+        this.objectMapper = objectMapper;
+        this.treeCacheControl = CacheControl.maxAge(Duration.ofSeconds(Math.max(0, cacheMaxAgeSeconds)))
+                .cachePublic()
+                .mustRevalidate();
     }
 
     // ---------------------------------------------------------
@@ -37,10 +76,9 @@ public class MenuController {
     // ---------------------------------------------------------
     @GetMapping("/menus")
     public ResponseEntity<List<MenuSummaryDTO>> listMenus() {
-        List<Menu> menus = menuService.getMenus();
+        List<MenuView> menus = menuService.getMenus();
         List<MenuSummaryDTO> dtos = menus.stream()
-                .sorted(Comparator.comparing(Menu::getId))
-                .map(m -> new MenuSummaryDTO(m.getId(), m.getName(), m.getDescription(), Boolean.TRUE.equals(m.getActive())))
+                .map(m -> new MenuSummaryDTO(m.id(), m.name(), m.description(), m.active()))
                 .toList();
         return ResponseEntity.ok(dtos);
     }
@@ -48,14 +86,40 @@ public class MenuController {
     // ---------------------------------------------------------
     // GET /api/menu/{menuId}/tree  -> menu with categories/items/addons
     // Useful for your MenuPage to render everything in one request.
+    // Body is a cached byte copy; 304 when If-None-Match matches the ETag.
     // ---------------------------------------------------------
     @GetMapping("/{menuId}/tree")
-    public ResponseEntity<MenuTreeDTO> getMenuTree(@PathVariable Long menuId) {
-        Optional<Menu> opt = menuService.getMenu(menuId);
+    @Timed("momskitchen.api.menu.tree")
+    public ResponseEntity<byte[]> getMenuTree(
+            @PathVariable Long menuId,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding
+    ) {
+        CatalogSnapshot catalog = menuService.catalog();
+        Optional<MenuView> opt = catalog.menu(menuId);
         if (opt.isEmpty()) return ResponseEntity.notFound().build();
 
-        MenuTreeDTO dto = toMenuTreeDTO(opt.get());
-        return ResponseEntity.ok(dto);
+        RenderedTree tree = renderedTree(catalog, opt.get());
+        boolean gzip = acceptsGzip(acceptEncoding);
+        String etag = gzip ? tree.gzipEtag() : tree.etag();
+
+        if (tree.matches(ifNoneMatch)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                    .eTag(etag)
+                    .cacheControl(treeCacheControl)
+                    .varyBy(HttpHeaders.ACCEPT_ENCODING)
+                    .build();
+        }
+
+        ResponseEntity.BodyBuilder ok = ResponseEntity.ok()
+                .eTag(etag)
+                .cacheControl(treeCacheControl)
+                .varyBy(HttpHeaders.ACCEPT_ENCODING)
+                .contentType(MediaType.APPLICATION_JSON);
+        if (gzip) {
+            return ok.header(HttpHeaders.CONTENT_ENCODING, "gzip").body(tree.gzip());
+        }
+        return ok.body(tree.json());
     }
 
     // ---------------------------------------------------------
@@ -63,8 +127,10 @@ public class MenuController {
     // ---------------------------------------------------------
     @GetMapping("/categories/{categoryId}/items")
     public ResponseEntity<List<ItemDTO>> itemsByCategory(@PathVariable Long categoryId) {
-        List<MenuItem> items = menuService.getItemsByCategory(categoryId);
-        List<ItemDTO> dtos = items.stream().map(this::toItemDTO).toList();
+        List<ItemView> items = menuService.getItemsByCategory(categoryId);
+        List<ItemDTO> dtos = items.stream()
+                .map(item -> toItemDTO(item, menuService.getAddonsOf(item)))
+                .toList();
         return ResponseEntity.ok(dtos);
     }
 
@@ -74,79 +140,143 @@ public class MenuController {
     // ---------------------------------------------------------
     @GetMapping("/items/{itemId}")
     public ResponseEntity<ItemDTO> getItem(@PathVariable Long itemId) {
-        Optional<MenuItem> opt = menuService.getItem(itemId);
-        return opt.map(item -> ResponseEntity.ok(toItemDTO(item)))
+        Optional<ItemView> opt = menuService.getItem(itemId);
+        return opt.map(item -> ResponseEntity.ok(toItemDTO(item, menuService.getAddonsForItem(itemId))))
                   .orElseGet(() -> ResponseEntity.notFound().build());
     }
 
     @GetMapping("/items/{itemId}/addons")
     public ResponseEntity<List<AddonDTO>> getItemAddons(@PathVariable Long itemId) {
-        List<Addon> addons = menuService.getAddonsForItem(itemId);
+        List<AddonView> addons = menuService.getAddonsForItem(itemId);
         List<AddonDTO> dtos = addons.stream().map(this::toAddonDTO).toList();
         return ResponseEntity.ok(dtos);
     }
 
+    // =========================
+    // Menu tree byte cache
+    // =========================
+
+    private RenderedTree renderedTree(CatalogSnapshot catalog, MenuView menu) {
+        RenderedTrees trees = renderedTrees.get();
+        if (trees.version() != catalog.getVersion()) {
+            RenderedTrees fresh = new RenderedTrees(catalog.getVersion(), new ConcurrentHashMap<>());
+            trees = renderedTrees.compareAndSet(trees, fresh) ? fresh : renderedTrees.get();
+        }
+        if (trees.version() != catalog.getVersion()) {
+            // another request published a different version meanwhile; render without caching
+            return render(catalog, menu);
+        }
+        return trees.byMenu().computeIfAbsent(menu.id(), id -> render(catalog, menu));
+    }
+
+    private RenderedTree render(CatalogSnapshot catalog, MenuView menu) {
+        try {
+            byte[] json = objectMapper.writeValueAsBytes(toMenuTreeDTO(catalog, menu));
+            String hash = HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(json), 0, 16);
+            return new RenderedTree(json, gzip(json), "\"" + hash + "\"", "\"" + hash + "-gzip\"");
+        } catch (JsonProcessingException | NoSuchAlgorithmException e) {
+            throw new IllegalStateException("Could not serialize menu tree " + menu.id(), e);
+        }
+    }
+
+    private static byte[] gzip(byte[] raw) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(Math.max(64, raw.length / 4));
+        try (GZIPOutputStream gz = new GZIPOutputStream(out) {{ def.setLevel(Deflater.BEST_COMPRESSION); }}) {
+            gz.write(raw);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return out.toByteArray();
+    }
+
+    /** true if Accept-Encoding lists gzip without disabling it via q=0 */
+    private static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null) return false;
+        for (String part : acceptEncoding.split(",")) {
+            String[] tokens = part.trim().split(";");
+            if (!tokens[0].trim().equalsIgnoreCase("gzip")) continue;
+            for (int i = 1; i < tokens.length; i++) {
+                String param = tokens[i].trim().replace(" ", "");
+                if (param.matches("q=0(\\.0*)?")) return false;
+            }
+            return true;
+        }
+        return false;
+    }
+
+    /** Serialized trees (menuId -> bytes) for one catalog version */
+    private record RenderedTrees(long version, Map<Long, RenderedTree> byMenu) {}
+
+    /** One menu tree as JSON bytes, gzip bytes and their strong ETags */
+    private record RenderedTree(byte[] json, byte[] gzip, String etag, String gzipEtag) {
+
+        /** If-None-Match uses weak comparison, so W/ prefixes are ignored */
+        boolean matches(String ifNoneMatch) {
+            if (ifNoneMatch == null || ifNoneMatch.isBlank()) return false;
+            for (String candidate : ifNoneMatch.split(",")) {
+                String tag = candidate.trim();
+                if (tag.equals("*")) return true;
+                if (tag.startsWith("W/")) tag = tag.substring(2);
+                if (tag.equals(etag) || tag.equals(gzipEtag)) return true;
+            }
+            return false;
+        }
+    }
+
     // =========================
     // Mapping helpers (Entity -> DTO)
     // =========================
 
-    private MenuTreeDTO toMenuTreeDTO(Menu menu) {
-        List<CategoryDTO> categories = menu.getCategories().stream()
-                .sorted(Comparator.comparing(MenuCategory::getDisplayOrder))
+    // DtoMappingBenchmark renders this directly
+    MenuTreeDTO toMenuTreeDTO(CatalogSnapshot catalog, MenuView menu) {
+        // snapshot indexes are already ordered by displayOrder
+        List<CategoryDTO> categories = catalog.categoriesOf(menu.id()).stream()
                 .map(cat -> {
-                    List<ItemDTO> items = cat.getItems().stream()
-                            .sorted(Comparator.comparing(MenuItem::getDisplayOrder))
-                            .map(this::toItemDTO)
+                    List<ItemDTO> items = catalog.itemsOf(cat.id()).stream()
+                            .map(item -> toItemDTO(item, catalog.addonsOf(item)))
                             .collect(Collectors.toList());
-                    return new CategoryDTO(
-                            cat.getId(),
-                            cat.getName(),
-                            cat.getDescription(),
-                            cat.getDisplayOrder(),
-                            Boolean.TRUE.equals(cat.getActive()),
-                            items
-                    );
+                    return toCategoryDTO(cat, items);
                 })
                 .collect(Collectors.toList());
 
         return new MenuTreeDTO(
-                menu.getId(),
-                menu.getName(),
-                menu.getDescription(),
-                Boolean.TRUE.equals(menu.getActive()),
+                menu.id(),
+                menu.name(),
+                menu.description(),
+                menu.active(),
                 categories
         );
     }
 
-    private ItemDTO toItemDTO(MenuItem item) {
-        List<AddonDTO> addons = item.getAllowedAddons().stream()
-                .sorted(Comparator.comparing(Addon::getId))
-                .map(this::toAddonDTO)
-                .toList();
-
-        Long categoryId = (item.getCategory() != null) ? item.getCategory().getId() : null;
+    private CategoryDTO toCategoryDTO(CategoryView cat, List<ItemDTO> items) {
+        return new CategoryDTO(
+                cat.id(),
+                cat.name(),
+                cat.description(),
+                cat.displayOrder(),
+                cat.active(),
+                items
+        );
+    }
 
+    private ItemDTO toItemDTO(ItemView item, List<AddonView> allowedAddons) {
+        // allowedAddons are ordered by id
+        List<AddonDTO> addons = allowedAddons.stream().map(this::toAddonDTO).toList();
         return new ItemDTO(
-                item.getId(),
-                categoryId,
-                item.getName(),
-                item.getDescription(),
-                item.getPrice(),
-                Boolean.TRUE.equals(item.getAvailable()),
-                item.getImageUrl(),
-                item.getDisplayOrder(),
+                item.id(),
+                item.categoryId(),
+                item.name(),
+                item.description(),
+                item.price(),
+                item.available(),
+                item.imageUrl(),
+                item.displayOrder(),
                 addons
         );
     }
 
-    private AddonDTO toAddonDTO(Addon a) {
-        return new AddonDTO(
-                a.getId(),
-                a.getName(),
-                a.getDescription(),
-                a.getPriceDelta(),
-                Boolean.TRUE.equals(a.getActive())
-        );
+    private AddonDTO toAddonDTO(AddonView a) {
+        return new AddonDTO(a.id(), a.name(), a.description(), a.priceDelta(), a.active());
     }
 
     // =========================
@@ -6,10 +6,14 @@ import com.example.momskitchen.dto.QuoteResponse;
 import com.example.momskitchen.model.Order;
 import com.example.momskitchen.model.OrderItem;
 import com.example.momskitchen.model.OrderItemAddon;
+import com.example.momskitchen.service.OrderIdempotencyService;
+import com.example.momskitchen.service.OrderIdempotencyService.Replay;
 import com.example.momskitchen.service.OrderService;
 import com.example.momskitchen.service.PricingService;
 import com.example.momskitchen.service.PickupService;
+import io.micrometer.core.annotation.Timed;
 import jakarta.validation.Valid;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
@@ -24,7 +28,8 @@ import java.util.stream.Collectors;
  *
  * Endpoints:
  *  - POST /api/orders/quote        : price a cart
- *  - POST /api/orders              : place order (returns summary with code)
+ *  - POST /api/orders              : place order (returns summary with code); an optional
+ *                                    Idempotency-Key header makes retries return the same order
  *  - GET  /api/orders/{orderCode}  : lookup by orderCode + phone
  */
 @RestController
@@ -34,22 +39,26 @@ public class OrderController {
     private final PricingService pricingService;
     private final PickupService pickupService;
     private final OrderService orderService;
+    private final OrderIdempotencyService idempotency;
 
     public OrderController(PricingService pricingService,
                            PickupService pickupService,
-                           OrderService orderService) {
+                           OrderService orderService,
+                           OrderIdempotencyService idempotency) {
         this.pricingService = pricingService;
         this.pickupService = pickupService;
         this.orderService = orderService;
+        this.idempotency = idempotency;
     }
 
     // ---------------------------------------------------------
     // POST /api/orders/quote
     // ---------------------------------------------------------
     @PostMapping("/quote")
+    @Timed("momskitchen.api.orders.quote")
     public ResponseEntity<QuoteResponse> quote(@Valid @RequestBody CreateOrderRequest req) {
-        // Validate pickup timing (e.g., within configured slots)
-        pickupService.validatePickup(req.getPickupDay(), req.getPickupSlotId(), req.getPickupAt());
+        // Validate pickup timing (e.g., within configured slots, slot not full)
+        pickupService.validatePickup(req.getPickupDay(), req.getPickupSlotId(), req.getPickupAt(), req.totalQuantity());
 
         // Compute subtotal/tax/total based on items + addons
         QuoteResponse quote = pricingService.quote(req);
@@ -58,23 +67,43 @@ public class OrderController {
 
     // ---------------------------------------------------------
     // POST /api/orders
+    //   Idempotency-Key: <uuid>   (optional; same key + same body -> original order,
+    //                              marked Idempotent-Replayed: true; different body -> 409)
     // ---------------------------------------------------------
     @PostMapping
-    public ResponseEntity<OrderSummaryDTO> create(@Valid @RequestBody CreateOrderRequest req) {
-        // Validate pickup first
-        pickupService.validatePickup(req.getPickupDay(), req.getPickupSlotId(), req.getPickupAt());
-
-        // Create order (persists header + items + addons and assigns order code)
-        Order order = orderService.createOrder(req);
-
-        // Return a clean summary for confirmation page
-        return ResponseEntity.ok(toSummaryDTO(order));
+    @Timed("momskitchen.api.orders.create")
+    public ResponseEntity<OrderSummaryDTO> create(
+            @Valid @RequestBody CreateOrderRequest req,
+            @RequestHeader(value = "Idempotency-Key", required = false) String idempotencyKey
+    ) {
+        if (idempotencyKey == null) {
+            // Create order (validates pickup, persists header + items + addons and assigns order code)
+            return ResponseEntity.ok(toSummaryDTO(orderService.createOrder(req)));
+        }
+
+        // Replays skip validation, pricing and inserts entirely
+        OrderIdempotencyService.Key key = idempotency.key(idempotencyKey, req);
+        Optional<Replay> earlier = idempotency.find(key);
+        if (earlier.isPresent()) return replay(key, earlier.get());
+
+        Order order;
+        try {
+            order = orderService.createOrder(req, key);
+        } catch (DataIntegrityViolationException ex) {
+            // a concurrent request with the same key committed first
+            Replay winner = idempotency.find(key).orElseThrow(() -> ex);
+            return replay(key, winner);
+        }
+        OrderSummaryDTO dto = toSummaryDTO(order);
+        idempotency.remember(key, order.getId(), dto);
+        return ResponseEntity.ok(dto);
     }
 
     // ---------------------------------------------------------
     // GET /api/orders/{orderCode}?phone=3025550123
     // ---------------------------------------------------------
     @GetMapping("/{orderCode}")
+    @Timed("momskitchen.api.orders.lookup")
     public ResponseEntity<OrderSummaryDTO> lookup(
             @PathVariable String orderCode,
             @RequestParam("phone") String phone
@@ -87,7 +116,19 @@ public class OrderController {
     // =========================
     // Mapping: Entity -> DTO
     // =========================
-    private OrderSummaryDTO toSummaryDTO(Order o) {
+    private ResponseEntity<OrderSummaryDTO> replay(OrderIdempotencyService.Key key, Replay earlier) {
+        OrderSummaryDTO dto = earlier.summary();
+        if (dto == null) {
+            // key found in the database only (restart, other instance): map the stored order once
+            dto = orderService.findDetailedById(earlier.orderId()).map(this::toSummaryDTO).orElse(null);
+            if (dto == null) return ResponseEntity.notFound().build();
+            idempotency.remember(key, earlier.orderId(), dto);
+        }
+        return ResponseEntity.ok().header("Idempotent-Replayed", "true").body(dto);
+    }
+
+    // not private: DtoMappingBenchmark (benchmarks module, same package) calls it
+    OrderSummaryDTO toSummaryDTO(Order o) {
         OrderSummaryDTO dto = new OrderSummaryDTO();
         dto.setId(o.getId());
         dto.setOrderCode(o.getOrderCode());
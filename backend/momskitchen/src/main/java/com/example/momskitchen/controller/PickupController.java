@@ -0,0 +1,67 @@
+package com.example.momskitchen.controller;
+
+import com.example.momskitchen.service.PickupCalendar.SlotView;
+import com.example.momskitchen.service.PickupService;
+import com.example.momskitchen.service.PickupService.SlotAvailability;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+
+/**
+ * Public pickup APIs.
+ * Base path: /api/pickup
+ *
+ * Endpoints:
+ *  - GET /api/pickup/slots?from=2025-09-12&days=7 : active slots per date with remaining capacity
+ */
+@RestController
+@RequestMapping("/api/pickup")
+public class PickupController {
+
+    private final PickupService pickupService;
+
+    public PickupController(PickupService pickupService) {
+        this.pickupService = pickupService;
+    }
+
+    // ---------------------------------------------------------
+    // GET /api/pickup/slots?from=yyyy-MM-dd&days=7
+    // ---------------------------------------------------------
+    @GetMapping("/slots")
+    public ResponseEntity<List<SlotAvailabilityDTO>> slots(
+            @RequestParam(value = "from", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(value = "days", defaultValue = "7") int days
+    ) {
+        LocalDate start = from != null ? from : pickupService.today();
+        List<SlotAvailabilityDTO> out = pickupService.getAvailability(start, days).stream()
+                .map(this::toDTO)
+                .toList();
+        return ResponseEntity.ok(out);
+    }
+
+    // =========================
+    // Mapping -> DTO
+    // =========================
+
+    /**
+     * One slot on one date. maxOrders/maxItems and the *Remaining fields are null when unlimited;
+     * full is true when either limit is used up.
+     */
+    public record SlotAvailabilityDTO(Long slotId, LocalDate date, Integer dayOfWeek,
+                                      LocalTime startTime, LocalTime endTime,
+                                      Integer maxOrders, Integer maxItems,
+                                      Integer ordersRemaining, Integer itemsRemaining, boolean full) {}
+
+    private SlotAvailabilityDTO toDTO(SlotAvailability a) {
+        SlotView s = a.slot();
+        Integer ordersLeft = a.usage().ordersLeft();
+        Integer itemsLeft = a.usage().itemsLeft();
+        boolean full = (ordersLeft != null && ordersLeft == 0) || (itemsLeft != null && itemsLeft == 0);
+        return new SlotAvailabilityDTO(s.id(), a.date(), s.dayOfWeek(), s.startTime(), s.endTime(),
+                s.maxOrders(), s.maxItems(), ordersLeft, itemsLeft, full);
+    }
+}
@@ -115,6 +115,18 @@ public class CreateOrderRequest {
     public Integer getPickupDay() { return pickupDay; }
     public void setPickupDay(Integer pickupDay) { this.pickupDay = pickupDay; }
 
+    /** Total item quantity (missing/non-positive quantities count as 1, like pricing); used for slot capacity */
+    public int totalQuantity() {
+        if (items == null) return 0;
+        int total = 0;
+        for (CartItemDTO line : items) {
+            if (line == null) continue;
+            Integer q = line.getQuantity();
+            total += (q != null && q > 0) ? q : 1;
+        }
+        return total;
+    }
+
     // Alias for compatibility with code expecting getPickupAt()
     public java.time.LocalDateTime getPickupAt() {
         return getPickupTime();
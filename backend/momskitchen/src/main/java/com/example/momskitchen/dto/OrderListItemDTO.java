@@ -1,5 +1,6 @@
 package com.example.momskitchen.dto;
 
+import java.math.BigDecimal;
 import java.time.LocalDateTime;
 
 /**
@@ -36,6 +37,14 @@ public class OrderListItemDTO {
         this.orderCode = orderCode;
     }
 
+    // Projection constructor (JPQL "select new ..." in OrderRepository; total comes from a DECIMAL column)
+    public OrderListItemDTO(Long orderId, String customerName, String customerPhone,
+                            LocalDateTime pickupTime, String pickupStatus,
+                            String paymentStatus, BigDecimal total, LocalDateTime createdAt, String orderCode) {
+        this(orderId, customerName, customerPhone, pickupTime, pickupStatus, paymentStatus,
+                total != null ? total.doubleValue() : 0.0, createdAt, orderCode);
+    }
+
     // Getters and setters
     public Long getOrderId() {
         return orderId;
@@ -0,0 +1,17 @@
+package com.example.momskitchen.dto;
+
+import java.math.BigDecimal;
+
+/**
+ * Sales totals of one rollup key (slot, menu item or add-on id) over a day range.
+ * Projection target of SalesRollupRepository.totalsByKey (JPQL sums: Long / BigDecimal).
+ */
+public record SalesTotalDTO(
+        Long keyId,
+        Long units,
+        BigDecimal amount,
+        Long paidUnits,
+        BigDecimal paidAmount,
+        Long refundedUnits,
+        BigDecimal refundedAmount
+) {}
@@ -31,8 +31,8 @@ public class Addon {
     @Builder.Default
     private Boolean active = Boolean.TRUE;
 
-    /** EAGER inverse side: items that allow this add-on */
-    @ManyToMany(mappedBy = "allowedAddons", fetch = FetchType.EAGER)
+    /** LAZY inverse side: items that allow this add-on */
+    @ManyToMany(mappedBy = "allowedAddons", fetch = FetchType.LAZY)
     @Builder.Default
     private Set<MenuItem> items = new HashSet<>();
 }
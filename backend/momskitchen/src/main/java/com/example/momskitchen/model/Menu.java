@@ -29,8 +29,8 @@ public class Menu {
     @Column(name = "created_at", insertable = false, updatable = false)
     private LocalDateTime createdAt;
 
-    /** EAGER: load all categories when loading a Menu */
-    @OneToMany(mappedBy = "menu", fetch = FetchType.EAGER,
+    /** LAZY: categories of this menu (catalog reads go through CatalogSnapshot) */
+    @OneToMany(mappedBy = "menu", fetch = FetchType.LAZY,
                cascade = CascadeType.ALL, orphanRemoval = true)
     @OrderBy("displayOrder ASC")
     @Builder.Default
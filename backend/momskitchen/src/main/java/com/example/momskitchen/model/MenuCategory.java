@@ -17,8 +17,8 @@ public class MenuCategory {
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
 
-    /** EAGER: parent menu */
-    @ManyToOne(optional = false, fetch = FetchType.EAGER)
+    /** LAZY: parent menu (getId() does not hit the database) */
+    @ManyToOne(optional = false, fetch = FetchType.LAZY)
     @JoinColumn(name = "menu_id", nullable = false)
     private Menu menu;
 
@@ -36,8 +36,8 @@ public class MenuCategory {
     @Builder.Default
     private Boolean active = Boolean.TRUE;
 
-    /** EAGER: items inside this category */
-    @OneToMany(mappedBy = "category", fetch = FetchType.EAGER,
+    /** LAZY: items inside this category */
+    @OneToMany(mappedBy = "category", fetch = FetchType.LAZY,
                cascade = CascadeType.ALL, orphanRemoval = true)
     @OrderBy("displayOrder ASC")
     @Builder.Default
@@ -18,8 +18,8 @@ public class MenuItem {
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
 
-    /** EAGER: owning category */
-    @ManyToOne(optional = false, fetch = FetchType.EAGER)
+    /** LAZY: owning category (getId() does not hit the database) */
+    @ManyToOne(optional = false, fetch = FetchType.LAZY)
     @JoinColumn(name = "category_id", nullable = false)
     private MenuCategory category;
 
@@ -43,8 +43,12 @@ public class MenuItem {
     @Builder.Default
     private Integer displayOrder = 0;
 
-    /** EAGER: allowed add-ons for this item */
-    @ManyToMany(fetch = FetchType.EAGER)
+    /** Minutes the kitchen needs for one portion; null = kitchen.defaultPrepMinutes */
+    @Column(name = "prep_minutes")
+    private Integer prepMinutes;
+
+    /** LAZY: allowed add-ons; fetch-joined by the MenuItemRepository catalog queries */
+    @ManyToMany(fetch = FetchType.LAZY)
     @JoinTable(
         name = "menu_item_addon",
         joinColumns = @JoinColumn(name = "menu_item_id"),
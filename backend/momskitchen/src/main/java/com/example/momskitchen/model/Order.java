@@ -14,12 +14,18 @@ import java.util.List;
 @Table(name = "`order`",
        indexes = {
            @Index(name = "ix_order_lookup", columnList = "customer_phone, order_code"),
-           @Index(name = "ix_order_created", columnList = "created_at")
+           @Index(name = "ix_order_created", columnList = "created_at"),
+           @Index(name = "ix_order_status_pay_created", columnList = "status, payment_status, created_at"),
+           @Index(name = "ix_order_status_pickup", columnList = "status, pickup_at")
        })
 public class Order {
 
+    /** Pooled ids from id_alloc (not IDENTITY), so inserts can be JDBC-batched */
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "order_id")
+    @TableGenerator(name = "order_id", table = "id_alloc",
+                    pkColumnName = "sequence_name", valueColumnName = "next_val",
+                    pkColumnValue = "order", allocationSize = 50)
     private Long id;
 
     @Column(name = "order_code", nullable = false, unique = true, length = 12)
@@ -32,8 +38,12 @@ public class Order {
     @Column(name = "pickup_at", nullable = false)
     private LocalDateTime pickupAt;
 
-    /** EAGER: the slot used/validated for this order (nullable) */
-    @ManyToOne(fetch = FetchType.EAGER)
+    /** Kitchen prep estimate, snapshotted at checkout (KitchenQueue schedules start = pickupAt - this) */
+    @Column(name = "prep_minutes")
+    private Integer prepMinutes;
+
+    /** LAZY: the slot used/validated for this order (nullable) */
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "pickup_slot_id")
     private PickupSlot pickupSlot;
 
@@ -65,11 +75,12 @@ public class Order {
     @Builder.Default
     private String paymentStatus = "UNPAID";
 
-    @Column(name = "created_at", insertable = false, updatable = false)
+    /** UTC; set by OrderService when the order is placed (the column default covers raw SQL inserts) */
+    @Column(name = "created_at", updatable = false)
     private LocalDateTime createdAt;
 
-    /** EAGER: load all order items with the order */
-    @OneToMany(mappedBy = "order", fetch = FetchType.EAGER,
+    /** LAZY: order lines; OrderService.findDetailed* fetch them with their add-ons */
+    @OneToMany(mappedBy = "order", fetch = FetchType.LAZY,
                cascade = CascadeType.ALL, orphanRemoval = true)
     @Builder.Default
     private List<OrderItem> items = new ArrayList<>();
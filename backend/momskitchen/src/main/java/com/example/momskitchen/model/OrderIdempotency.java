@@ -0,0 +1,34 @@
+package com.example.momskitchen.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * Idempotency-Key of an order submission (POST /api/orders) and the order it created.
+ * Inserted in the order's transaction, so a key exists exactly when its order does;
+ * requestHash is a SHA-256 of the request body (a reused key with another body is rejected).
+ * Pruned after orders.idempotency.ttlHours (see OrderIdempotencyService).
+ */
+@Getter @Setter @NoArgsConstructor @AllArgsConstructor @Builder
+@EqualsAndHashCode(of = "idemKey")
+@Entity
+@Table(name = "order_idempotency",
+       indexes = @Index(name = "ix_order_idempotency_created", columnList = "created_at"))
+public class OrderIdempotency {
+
+    @Id
+    @Column(name = "idem_key", nullable = false, length = 64)
+    private String idemKey;
+
+    @Column(name = "request_hash", nullable = false, length = 64)
+    private String requestHash;
+
+    @Column(name = "order_id", nullable = false)
+    private Long orderId;
+
+    /** UTC */
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+}
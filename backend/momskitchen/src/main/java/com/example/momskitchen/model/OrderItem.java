@@ -14,17 +14,21 @@ import java.util.List;
        indexes = @Index(name = "ix_oi_order", columnList = "order_id"))
 public class OrderItem {
 
+    /** Pooled ids from id_alloc (see Order) */
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "order_item_id")
+    @TableGenerator(name = "order_item_id", table = "id_alloc",
+                    pkColumnName = "sequence_name", valueColumnName = "next_val",
+                    pkColumnValue = "order_item", allocationSize = 50)
     private Long id;
 
-    /** EAGER: parent order */
-    @ManyToOne(optional = false, fetch = FetchType.EAGER)
+    /** LAZY: parent order */
+    @ManyToOne(optional = false, fetch = FetchType.LAZY)
     @JoinColumn(name = "order_id", nullable = false)
     private Order order;
 
-    /** EAGER: optional reference to the catalog item used */
-    @ManyToOne(fetch = FetchType.EAGER)
+    /** LAZY: optional reference to the catalog item used */
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "menu_item_id")
     private MenuItem menuItem;
 
@@ -40,8 +44,8 @@ public class OrderItem {
     @Column(name = "line_subtotal", nullable = false, precision = 10, scale = 2)
     private BigDecimal lineSubtotal;
 
-    /** EAGER: add-ons chosen for this line */
-    @OneToMany(mappedBy = "orderItem", fetch = FetchType.EAGER,
+    /** LAZY: add-ons chosen for this line */
+    @OneToMany(mappedBy = "orderItem", fetch = FetchType.LAZY,
                cascade = CascadeType.ALL, orphanRemoval = true)
     @Builder.Default
     private List<OrderItemAddon> addons = new ArrayList<>();
@@ -12,17 +12,21 @@ import java.math.BigDecimal;
        indexes = @Index(name = "ix_oia_oi", columnList = "order_item_id"))
 public class OrderItemAddon {
 
+    /** Pooled ids from id_alloc (see Order) */
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "order_item_addon_id")
+    @TableGenerator(name = "order_item_addon_id", table = "id_alloc",
+                    pkColumnName = "sequence_name", valueColumnName = "next_val",
+                    pkColumnValue = "order_item_addon", allocationSize = 50)
     private Long id;
 
-    /** EAGER: owning line item */
-    @ManyToOne(optional = false, fetch = FetchType.EAGER)
+    /** LAZY: owning line item */
+    @ManyToOne(optional = false, fetch = FetchType.LAZY)
     @JoinColumn(name = "order_item_id", nullable = false)
     private OrderItem orderItem;
 
-    /** EAGER: optional link back to catalog Addon */
-    @ManyToOne(fetch = FetchType.EAGER)
+    /** LAZY: optional link back to catalog Addon */
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "addon_id")
     private Addon addon;
 
@@ -29,4 +29,12 @@ public class PickupSlot {
     @Column(name = "is_active", nullable = false)
     @Builder.Default
     private Boolean active = Boolean.TRUE;
+
+    /** Max orders per pickup date in this slot (null = unlimited) */
+    @Column(name = "max_orders")
+    private Integer maxOrders;
+
+    /** Max item quantity (sum of line quantities) per pickup date in this slot (null = unlimited) */
+    @Column(name = "max_items")
+    private Integer maxItems;
 }
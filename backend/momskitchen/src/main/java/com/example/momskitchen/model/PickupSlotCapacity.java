@@ -0,0 +1,40 @@
+package com.example.momskitchen.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.io.Serializable;
+import java.time.LocalDate;
+
+/**
+ * Persisted reservation totals for one pickup slot on one date.
+ * Written behind by SlotCapacityLedger (additive upserts), read when a (slot, date) is first needed.
+ */
+@Getter @Setter @NoArgsConstructor @AllArgsConstructor @Builder
+@EqualsAndHashCode(of = {"slotId", "pickupDate"})
+@Entity
+@Table(name = "pickup_slot_capacity")
+@IdClass(PickupSlotCapacity.Key.class)
+public class PickupSlotCapacity {
+
+    @Id
+    @Column(name = "slot_id", nullable = false)
+    private Long slotId;
+
+    @Id
+    @Column(name = "pickup_date", nullable = false)
+    private LocalDate pickupDate;
+
+    @Column(name = "orders_reserved", nullable = false)
+    private int ordersReserved;
+
+    @Column(name = "items_reserved", nullable = false)
+    private int itemsReserved;
+
+    @Getter @Setter @NoArgsConstructor @AllArgsConstructor
+    @EqualsAndHashCode
+    public static class Key implements Serializable {
+        private Long slotId;
+        private LocalDate pickupDate;
+    }
+}
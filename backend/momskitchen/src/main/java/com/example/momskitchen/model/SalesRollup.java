@@ -0,0 +1,72 @@
+package com.example.momskitchen.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Sales totals for one key of one dimension on one day (the order's created day, pickup zone).
+ *
+ * dimension / keyId / units:
+ *   DAY   / 0             / orders
+ *   SLOT  / pickup_slot_id / orders   (0 = no slot)
+ *   ITEM  / menu_item_id   / portions (0 = item deleted)
+ *   ADDON / addon_id       / portions (0 = add-on deleted)
+ * amount is what was ordered (order total, line subtotal, or add-on delta x portions);
+ * paid* and refunded* count the same for orders whose payment status is PAID / REFUNDED.
+ *
+ * Written behind by SalesRollupLedger (additive upserts) and rebuilt by SalesReportService.
+ */
+@Getter @Setter @NoArgsConstructor @AllArgsConstructor @Builder
+@EqualsAndHashCode(of = {"dimension", "salesDay", "keyId"})
+@Entity
+@Table(name = "sales_rollup")
+@IdClass(SalesRollup.Key.class)
+public class SalesRollup {
+
+    public static final String DAY = "DAY";
+    public static final String SLOT = "SLOT";
+    public static final String ITEM = "ITEM";
+    public static final String ADDON = "ADDON";
+
+    @Id
+    @Column(nullable = false, length = 8)
+    private String dimension;
+
+    @Id
+    @Column(name = "sales_day", nullable = false)
+    private LocalDate salesDay;
+
+    @Id
+    @Column(name = "key_id", nullable = false)
+    private Long keyId;
+
+    @Column(nullable = false)
+    private long units;
+
+    @Column(nullable = false, precision = 14, scale = 2)
+    private BigDecimal amount;
+
+    @Column(name = "paid_units", nullable = false)
+    private long paidUnits;
+
+    @Column(name = "paid_amount", nullable = false, precision = 14, scale = 2)
+    private BigDecimal paidAmount;
+
+    @Column(name = "refunded_units", nullable = false)
+    private long refundedUnits;
+
+    @Column(name = "refunded_amount", nullable = false, precision = 14, scale = 2)
+    private BigDecimal refundedAmount;
+
+    @Getter @Setter @NoArgsConstructor @AllArgsConstructor
+    @EqualsAndHashCode
+    public static class Key implements Serializable {
+        private String dimension;
+        private LocalDate salesDay;
+        private Long keyId;
+    }
+}
@@ -1,15 +1,19 @@
 package com.example.momskitchen.repository;
 
 import com.example.momskitchen.model.MenuItem;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 
 @Repository
 public interface MenuItemRepository extends JpaRepository<MenuItem, Long> {
 
-    /** All items for a given category, ordered by display_order */
+    /** All items for a given category, ordered by display_order (allowed add-ons fetched in the same query) */
+    @EntityGraph(attributePaths = "allowedAddons")
     List<MenuItem> findByCategoryIdOrderByDisplayOrderAsc(Long categoryId);
 
     /** Only available items for a given category (active menu display) */
@@ -20,4 +24,12 @@ public interface MenuItemRepository extends JpaRepository<MenuItem, Long> {
 
     /** Existence check (for admin validation) */
     boolean existsByCategoryIdAndNameIgnoreCase(Long categoryId, String name);
+
+    /** Batch load by id with allowed add-ons in the same query (catalog misses) */
+    @EntityGraph(attributePaths = "allowedAddons")
+    List<MenuItem> findByIdIn(Collection<Long> ids);
+
+    /** Every item with its allowed add-ons, in one query (catalog snapshot build) */
+    @Query("select distinct i from MenuItem i left join fetch i.allowedAddons")
+    List<MenuItem> findAllWithAllowedAddons();
 }
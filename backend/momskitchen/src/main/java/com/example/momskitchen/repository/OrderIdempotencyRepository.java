@@ -0,0 +1,32 @@
+package com.example.momskitchen.repository;
+
+import com.example.momskitchen.model.OrderIdempotency;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+
+@Repository
+public interface OrderIdempotencyRepository extends JpaRepository<OrderIdempotency, String> {
+
+    /**
+     * Plain insert in the caller's (order) transaction. A duplicate key fails with
+     * DataIntegrityViolationException, after waiting for a concurrent holder of the key to commit.
+     */
+    @Modifying
+    @Query(value = """
+            insert into order_idempotency (idem_key, request_hash, order_id, created_at)
+            values (:key, :requestHash, :orderId, :createdAt)
+            """, nativeQuery = true)
+    int insert(@Param("key") String key, @Param("requestHash") String requestHash,
+               @Param("orderId") Long orderId, @Param("createdAt") LocalDateTime createdAt);
+
+    @Modifying
+    @Transactional
+    @Query(value = "delete from order_idempotency where created_at < :cutoff", nativeQuery = true)
+    int deleteCreatedBefore(@Param("cutoff") LocalDateTime cutoff);
+}
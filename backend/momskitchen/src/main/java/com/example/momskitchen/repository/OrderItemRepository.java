@@ -2,8 +2,11 @@ package com.example.momskitchen.repository;
 
 import com.example.momskitchen.model.OrderItem;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 @Repository
@@ -17,4 +20,26 @@ public interface OrderItemRepository extends JpaRepository<OrderItem, Long> {
 
     /** Count items for an order (handy for quick summaries) */
     long countByOrderId(Long orderId);
+
+    /**
+     * Lines of an order with their add-ons fetched in the same query.
+     * Run in the transaction that loaded the order: it fills the add-on
+     * collections of the already-loaded lines (a second join on the same
+     * query would be a MultipleBagFetchException).
+     */
+    @Query("select distinct oi from OrderItem oi left join fetch oi.addons where oi.order.id = :orderId")
+    List<OrderItem> fetchWithAddonsByOrderId(@Param("orderId") Long orderId);
+
+    /**
+     * Lines of all orders in a status picking up at or after `from`, with their order and add-ons,
+     * in one query (KitchenQueue startup load; seeks via ix_order_status_pickup).
+     */
+    @Query("""
+            select distinct oi from OrderItem oi
+              join fetch oi.order o
+              left join fetch oi.addons
+            where o.status = :status and o.pickupAt >= :from
+            order by o.id, oi.id
+            """)
+    List<OrderItem> fetchQueuedLines(@Param("status") String status, @Param("from") LocalDateTime from);
 }
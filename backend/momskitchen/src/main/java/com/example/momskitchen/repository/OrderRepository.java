@@ -1,16 +1,72 @@
 package com.example.momskitchen.repository;
 
+import com.example.momskitchen.dto.OrderListItemDTO;
 import com.example.momskitchen.model.Order;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Optional;
 
 public interface OrderRepository extends JpaRepository<Order, Long> {
     Page<Order> findAll(Pageable pageable);
-    Page<Order> findByStatus(String status, Pageable pageable);
-    Page<Order> findByPaymentStatus(String paymentStatus, Pageable pageable);
-    Page<Order> findByStatusAndPaymentStatus(String status, String paymentStatus, Pageable pageable);
+
+    /** Customer lookup; order lines fetched in the same query (add-ons: OrderItemRepository) */
+    @EntityGraph(attributePaths = "items")
     Optional<Order> findByOrderCodeAndCustomerPhone(String orderCode, String customerPhone);
-    boolean existsByOrderCode(String orderCode);
+
+    /** Order by id with its lines fetched in the same query (add-ons: OrderItemRepository) */
+    @EntityGraph(attributePaths = "items")
+    Optional<Order> findWithItemsById(Long id);
+
+    /**
+     * Admin list page as OrderListItemDTO rows (only the list columns; no entity graph).
+     * Null filters match everything. Sorting comes from the Pageable.
+     */
+    @Query(value = """
+            select new com.example.momskitchen.dto.OrderListItemDTO(
+                o.id, o.customerName, o.customerPhone, o.pickupAt, o.status,
+                o.paymentStatus, o.totalAmount, o.createdAt, o.orderCode)
+            from Order o
+            where (:status is null or o.status = :status)
+              and (:paymentStatus is null or o.paymentStatus = :paymentStatus)
+            """,
+            countQuery = """
+            select count(o) from Order o
+            where (:status is null or o.status = :status)
+              and (:paymentStatus is null or o.paymentStatus = :paymentStatus)
+            """)
+    Page<OrderListItemDTO> findListItems(@Param("status") String status,
+                                         @Param("paymentStatus") String paymentStatus,
+                                         Pageable pageable);
+
+    /**
+     * Keyset page of list rows: newest first, strictly after the (createdAt, id) position of the
+     * previous page. Pass null afterCreatedAt/afterId for the first page. No count query; seeks via
+     * ix_order_created, or ix_order_status_pay_created when both filters are set (InnoDB secondary
+     * indexes carry the primary key, so (created_at, id) order is index order).
+     */
+    @Query("""
+            select new com.example.momskitchen.dto.OrderListItemDTO(
+                o.id, o.customerName, o.customerPhone, o.pickupAt, o.status,
+                o.paymentStatus, o.totalAmount, o.createdAt, o.orderCode)
+            from Order o
+            where (:status is null or o.status = :status)
+              and (:paymentStatus is null or o.paymentStatus = :paymentStatus)
+              and (:afterCreatedAt is null
+                   or (o.createdAt <= :afterCreatedAt
+                       and (o.createdAt < :afterCreatedAt or o.id < :afterId)))
+            order by o.createdAt desc, o.id desc
+            """)
+    List<OrderListItemDTO> findListItemsAfter(@Param("status") String status,
+                                              @Param("paymentStatus") String paymentStatus,
+                                              @Param("afterCreatedAt") LocalDateTime afterCreatedAt,
+                                              @Param("afterId") Long afterId,
+                                              Limit limit);
 }
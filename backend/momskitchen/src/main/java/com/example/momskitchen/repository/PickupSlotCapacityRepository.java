@@ -0,0 +1,35 @@
+package com.example.momskitchen.repository;
+
+import com.example.momskitchen.model.PickupSlotCapacity;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Repository
+public interface PickupSlotCapacityRepository extends JpaRepository<PickupSlotCapacity, PickupSlotCapacity.Key> {
+
+    /** Reservation rows for a date range (availability listing preload) */
+    List<PickupSlotCapacity> findByPickupDateBetween(LocalDate from, LocalDate to);
+
+    /**
+     * Add deltas to a (slot, date) row, creating it if missing. Additive, so concurrent
+     * writers (other instances, a retried flush) never overwrite each other's counts.
+     */
+    @Modifying
+    @Transactional
+    @Query(value = """
+            insert into pickup_slot_capacity (slot_id, pickup_date, orders_reserved, items_reserved)
+            values (:slotId, :pickupDate, greatest(:orders, 0), greatest(:items, 0))
+            on duplicate key update
+              orders_reserved = greatest(orders_reserved + :orders, 0),
+              items_reserved  = greatest(items_reserved + :items, 0)
+            """, nativeQuery = true)
+    int addReserved(@Param("slotId") Long slotId, @Param("pickupDate") LocalDate pickupDate,
+                    @Param("orders") int orders, @Param("items") int items);
+}
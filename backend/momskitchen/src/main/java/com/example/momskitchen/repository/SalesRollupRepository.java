@@ -0,0 +1,135 @@
+package com.example.momskitchen.repository;
+
+import com.example.momskitchen.dto.SalesTotalDTO;
+import com.example.momskitchen.model.SalesRollup;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface SalesRollupRepository extends JpaRepository<SalesRollup, SalesRollup.Key> {
+
+    /** Rows of one dimension for a day range (primary key range scan) */
+    List<SalesRollup> findByDimensionAndSalesDayBetweenOrderBySalesDayAscKeyIdAsc(String dimension,
+                                                                                   LocalDate from, LocalDate to);
+
+    /** Per-key totals of one dimension over a day range, largest amount first */
+    @Query("""
+            select new com.example.momskitchen.dto.SalesTotalDTO(
+                r.keyId, sum(r.units), sum(r.amount), sum(r.paidUnits), sum(r.paidAmount),
+                sum(r.refundedUnits), sum(r.refundedAmount))
+            from SalesRollup r
+            where r.dimension = :dimension and r.salesDay between :from and :to
+            group by r.keyId
+            order by sum(r.amount) desc, r.keyId
+            """)
+    List<SalesTotalDTO> totalsByKey(@Param("dimension") String dimension,
+                                    @Param("from") LocalDate from, @Param("to") LocalDate to);
+
+    /**
+     * Add deltas to a row, creating it if missing. Additive, so concurrent writers (other
+     * instances, a retried flush) never overwrite each other's totals.
+     */
+    @Modifying
+    @Transactional
+    @Query(value = """
+            insert into sales_rollup (dimension, sales_day, key_id, units, amount,
+                                      paid_units, paid_amount, refunded_units, refunded_amount)
+            values (:dimension, :day, :keyId, :units, :amount, :paidUnits, :paidAmount, :refundedUnits, :refundedAmount)
+            on duplicate key update
+              units           = units + :units,
+              amount          = amount + :amount,
+              paid_units      = paid_units + :paidUnits,
+              paid_amount     = paid_amount + :paidAmount,
+              refunded_units  = refunded_units + :refundedUnits,
+              refunded_amount = refunded_amount + :refundedAmount
+            """, nativeQuery = true)
+    int add(@Param("dimension") String dimension, @Param("day") LocalDate day, @Param("keyId") long keyId,
+            @Param("units") long units, @Param("amount") BigDecimal amount,
+            @Param("paidUnits") long paidUnits, @Param("paidAmount") BigDecimal paidAmount,
+            @Param("refundedUnits") long refundedUnits, @Param("refundedAmount") BigDecimal refundedAmount);
+
+    // ---------------------------------------------------------
+    // Rebuild of one day from the order tables (SalesReportService.rebuild).
+    // [fromUtc, toUtc) is the day in the pickup zone; created_at is stored in UTC.
+    // ---------------------------------------------------------
+
+    @Modifying
+    @Query(value = "delete from sales_rollup where sales_day = :day", nativeQuery = true)
+    int deleteDay(@Param("day") LocalDate day);
+
+    @Modifying
+    @Query(value = """
+            insert into sales_rollup (dimension, sales_day, key_id, units, amount,
+                                      paid_units, paid_amount, refunded_units, refunded_amount)
+            select 'DAY', :day, 0, count(*), sum(o.total_amount),
+                   sum(o.payment_status = 'PAID'),
+                   sum(case when o.payment_status = 'PAID' then o.total_amount else 0 end),
+                   sum(o.payment_status = 'REFUNDED'),
+                   sum(case when o.payment_status = 'REFUNDED' then o.total_amount else 0 end)
+            from `order` o
+            where o.created_at >= :fromUtc and o.created_at < :toUtc
+            having count(*) > 0
+            """, nativeQuery = true)
+    int rebuildDay(@Param("day") LocalDate day,
+                   @Param("fromUtc") LocalDateTime fromUtc, @Param("toUtc") LocalDateTime toUtc);
+
+    @Modifying
+    @Query(value = """
+            insert into sales_rollup (dimension, sales_day, key_id, units, amount,
+                                      paid_units, paid_amount, refunded_units, refunded_amount)
+            select 'SLOT', :day, coalesce(o.pickup_slot_id, 0), count(*), sum(o.total_amount),
+                   sum(o.payment_status = 'PAID'),
+                   sum(case when o.payment_status = 'PAID' then o.total_amount else 0 end),
+                   sum(o.payment_status = 'REFUNDED'),
+                   sum(case when o.payment_status = 'REFUNDED' then o.total_amount else 0 end)
+            from `order` o
+            where o.created_at >= :fromUtc and o.created_at < :toUtc
+            group by coalesce(o.pickup_slot_id, 0)
+            """, nativeQuery = true)
+    int rebuildSlots(@Param("day") LocalDate day,
+                     @Param("fromUtc") LocalDateTime fromUtc, @Param("toUtc") LocalDateTime toUtc);
+
+    @Modifying
+    @Query(value = """
+            insert into sales_rollup (dimension, sales_day, key_id, units, amount,
+                                      paid_units, paid_amount, refunded_units, refunded_amount)
+            select 'ITEM', :day, coalesce(oi.menu_item_id, 0), sum(oi.quantity), sum(oi.line_subtotal),
+                   sum(case when o.payment_status = 'PAID' then oi.quantity else 0 end),
+                   sum(case when o.payment_status = 'PAID' then oi.line_subtotal else 0 end),
+                   sum(case when o.payment_status = 'REFUNDED' then oi.quantity else 0 end),
+                   sum(case when o.payment_status = 'REFUNDED' then oi.line_subtotal else 0 end)
+            from `order` o
+            join order_item oi on oi.order_id = o.id
+            where o.created_at >= :fromUtc and o.created_at < :toUtc
+            group by coalesce(oi.menu_item_id, 0)
+            """, nativeQuery = true)
+    int rebuildItems(@Param("day") LocalDate day,
+                     @Param("fromUtc") LocalDateTime fromUtc, @Param("toUtc") LocalDateTime toUtc);
+
+    @Modifying
+    @Query(value = """
+            insert into sales_rollup (dimension, sales_day, key_id, units, amount,
+                                      paid_units, paid_amount, refunded_units, refunded_amount)
+            select 'ADDON', :day, coalesce(a.addon_id, 0), sum(oi.quantity), sum(a.price_delta * oi.quantity),
+                   sum(case when o.payment_status = 'PAID' then oi.quantity else 0 end),
+                   sum(case when o.payment_status = 'PAID' then a.price_delta * oi.quantity else 0 end),
+                   sum(case when o.payment_status = 'REFUNDED' then oi.quantity else 0 end),
+                   sum(case when o.payment_status = 'REFUNDED' then a.price_delta * oi.quantity else 0 end)
+            from `order` o
+            join order_item oi on oi.order_id = o.id
+            join order_item_addon a on a.order_item_id = oi.id
+            where o.created_at >= :fromUtc and o.created_at < :toUtc
+            group by coalesce(a.addon_id, 0)
+            """, nativeQuery = true)
+    int rebuildAddons(@Param("day") LocalDate day,
+                      @Param("fromUtc") LocalDateTime fromUtc, @Param("toUtc") LocalDateTime toUtc);
+}
@@ -0,0 +1,127 @@
+package com.example.momskitchen.service;
+
+import com.example.momskitchen.model.Addon;
+import com.example.momskitchen.model.Menu;
+import com.example.momskitchen.model.MenuCategory;
+import com.example.momskitchen.model.MenuItem;
+import com.example.momskitchen.util.AfterCommit;
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.*;
+import org.hibernate.persister.entity.EntityPersister;
+import org.springframework.stereotype.Component;
+
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Tells CatalogService about catalog changes once they are committed.
+ *
+ * Hooks Hibernate's insert/update/delete events for Menu, MenuCategory, MenuItem and Addon, plus
+ * the collection events of their associations (an edit of only MenuItem.allowedAddons touches just
+ * the join table, which fires no entity event), and registers one after-commit callback per transaction, so a bulk edit causes a single
+ * snapshot update and rolled-back changes cause none. Item/category edits are patched into
+ * the snapshot incrementally; menu/add-on edits trigger a full rebuild.
+ * Changes made outside JPA are picked up by the periodic refresh instead.
+ */
+@Component
+public class CatalogChangeListener implements PostInsertEventListener,
+        PostUpdateEventListener, PostDeleteEventListener, PostCollectionRecreateEventListener,
+        PostCollectionUpdateEventListener, PostCollectionRemoveEventListener {
+
+    private final EntityManagerFactory entityManagerFactory;
+    private final CatalogService catalogService;
+
+    public CatalogChangeListener(EntityManagerFactory entityManagerFactory, CatalogService catalogService) {
+        this.entityManagerFactory = entityManagerFactory;
+        this.catalogService = catalogService;
+    }
+
+    @PostConstruct
+    void register() {
+        EventListenerRegistry registry = entityManagerFactory.unwrap(SessionFactoryImplementor.class)
+                .getServiceRegistry()
+                .getService(EventListenerRegistry.class);
+        registry.appendListeners(EventType.POST_INSERT, this);
+        registry.appendListeners(EventType.POST_UPDATE, this);
+        registry.appendListeners(EventType.POST_DELETE, this);
+        registry.appendListeners(EventType.POST_COLLECTION_RECREATE, this);
+        registry.appendListeners(EventType.POST_COLLECTION_UPDATE, this);
+        registry.appendListeners(EventType.POST_COLLECTION_REMOVE, this);
+    }
+
+    @Override
+    public void onPostInsert(PostInsertEvent event) {
+        changed(event.getEntity(), event.getId());
+    }
+
+    @Override
+    public void onPostUpdate(PostUpdateEvent event) {
+        changed(event.getEntity(), event.getId());
+    }
+
+    @Override
+    public void onPostDelete(PostDeleteEvent event) {
+        changed(event.getEntity(), event.getId());
+    }
+
+    @Override
+    public void onPostRecreateCollection(PostCollectionRecreateEvent event) {
+        changed(event.getAffectedOwnerOrNull(), event.getAffectedOwnerIdOrNull());
+    }
+
+    @Override
+    public void onPostUpdateCollection(PostCollectionUpdateEvent event) {
+        changed(event.getAffectedOwnerOrNull(), event.getAffectedOwnerIdOrNull());
+    }
+
+    @Override
+    public void onPostRemoveCollection(PostCollectionRemoveEvent event) {
+        changed(event.getAffectedOwnerOrNull(), event.getAffectedOwnerIdOrNull());
+    }
+
+    @Override
+    public boolean requiresPostCommitHandling(EntityPersister persister) {
+        return false;
+    }
+
+    private void changed(Object entity, Object id) {
+        if (entity == null || !isCatalogType(entity.getClass())) return;
+
+        PendingChanges pending = AfterCommit.pending(PendingChanges.class, PendingChanges::new,
+                changes -> catalogService.onCatalogChanged(changes.toChange()));
+        if (pending == null) {
+            // no Spring transaction to hook into; rebuild lazily on next read
+            catalogService.markStale();
+            return;
+        }
+
+        if (entity instanceof MenuItem && id instanceof Long itemId) {
+            pending.itemIds.add(itemId);
+        } else if (entity instanceof MenuCategory && id instanceof Long categoryId) {
+            pending.categoryIds.add(categoryId);
+        } else {
+            pending.fullRebuild = true;
+        }
+    }
+
+    /** Catalog ids touched by the current transaction (bound as a transaction resource). */
+    private static final class PendingChanges {
+        private final Set<Long> categoryIds = new HashSet<>();
+        private final Set<Long> itemIds = new HashSet<>();
+        private boolean fullRebuild;
+
+        CatalogService.CatalogChange toChange() {
+            return new CatalogService.CatalogChange(fullRebuild, Set.copyOf(categoryIds), Set.copyOf(itemIds));
+        }
+    }
+
+    private static boolean isCatalogType(Class<?> type) {
+        return Menu.class.isAssignableFrom(type)
+                || MenuCategory.class.isAssignableFrom(type)
+                || MenuItem.class.isAssignableFrom(type)
+                || Addon.class.isAssignableFrom(type);
+    }
+}
@@ -0,0 +1,265 @@
+package com.example.momskitchen.service;
+
+import com.example.momskitchen.repository.AddonRepository;
+import com.example.momskitchen.repository.MenuCategoryRepository;
+import com.example.momskitchen.repository.MenuItemRepository;
+import com.example.momskitchen.repository.MenuRepository;
+import com.example.momskitchen.service.CatalogSnapshot.AddonView;
+import com.example.momskitchen.service.CatalogSnapshot.CategoryView;
+import com.example.momskitchen.service.CatalogSnapshot.ItemView;
+import com.example.momskitchen.service.CatalogSnapshot.MenuView;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Holds the in-memory catalog snapshot that menu, pricing and order code read from.
+ *
+ * The snapshot is rebuilt from the database and swapped in atomically:
+ *  - once at startup,
+ *  - after any committed change to Menu/MenuCategory/MenuItem/Addon (see CatalogChangeListener),
+ *  - on a fixed refresh interval, to pick up changes made outside the app (e.g. SQL scripts).
+ *
+ * Config (application.yml):
+ *   catalog:
+ *     refreshMs: 300000   # periodic full rebuild interval (ms)
+ */
+@Service
+public class CatalogService {
+
+    private static final Logger log = LoggerFactory.getLogger(CatalogService.class);
+
+    private final MenuRepository menuRepository;
+    private final MenuCategoryRepository categoryRepository;
+    private final MenuItemRepository itemRepository;
+    private final AddonRepository addonRepository;
+    private final TransactionTemplate readTx;
+
+    private final AtomicReference<CatalogSnapshot> current = new AtomicReference<>();
+    private final AtomicLong versions = new AtomicLong();
+    private volatile boolean stale;
+
+    /** Serializes rebuilds; readers never take it. */
+    private final ReentrantLock rebuildLock = new ReentrantLock();
+
+    public CatalogService(MenuRepository menuRepository,
+                          MenuCategoryRepository categoryRepository,
+                          MenuItemRepository itemRepository,
+                          AddonRepository addonRepository,
+                          PlatformTransactionManager transactionManager) {
+        this.menuRepository = menuRepository;
+        this.categoryRepository = categoryRepository;
+        this.itemRepository = itemRepository;
+        this.addonRepository = addonRepository;
+        this.readTx = new TransactionTemplate(transactionManager);
+        this.readTx.setReadOnly(true);
+        // rebuilds may run from an after-commit callback; never join the finished transaction
+        this.readTx.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    /**
+     * The current snapshot. Loads it on first use if startup loading has not happened yet.
+     */
+    public CatalogSnapshot snapshot() {
+        CatalogSnapshot s = current.get();
+        if (s != null && !stale) return s;
+
+        rebuildLock.lock();
+        try {
+            // another caller may have rebuilt while we waited
+            s = current.get();
+            return (s != null && !stale) ? s : refresh();
+        } finally {
+            rebuildLock.unlock();
+        }
+    }
+
+    /** Current catalog version (0 before the first load). */
+    public long version() {
+        CatalogSnapshot s = current.get();
+        return s != null ? s.getVersion() : 0L;
+    }
+
+    /**
+     * Item by id from the snapshot, falling back to the database for items
+     * created since the last rebuild.
+     */
+    public Optional<ItemView> findItem(Long itemId) {
+        if (itemId == null) return Optional.empty();
+        Optional<ItemView> hit = snapshot().item(itemId);
+        if (hit.isPresent()) return hit;
+        return itemRepository.findByIdIn(List.of(itemId)).stream().findFirst().map(ItemView::from);
+    }
+
+    /**
+     * Add-on by id from the snapshot, falling back to the database for add-ons
+     * created since the last rebuild.
+     */
+    public Optional<AddonView> findAddon(Long addonId) {
+        if (addonId == null) return Optional.empty();
+        Optional<AddonView> hit = snapshot().addon(addonId);
+        if (hit.isPresent()) return hit;
+        return addonRepository.findById(addonId).map(AddonView::from);
+    }
+
+    /**
+     * Resolve many items and add-ons at once (e.g. every line of a cart).
+     * Snapshot hits cost nothing; misses are loaded with one query per entity type.
+     * Ids that exist nowhere are simply absent from the result.
+     */
+    public CatalogLookup resolve(Collection<Long> itemIds, Collection<Long> addonIds) {
+        CatalogSnapshot s = snapshot();
+
+        Map<Long, ItemView> items = new HashMap<>();
+        List<Long> missingItems = new ArrayList<>();
+        for (Long id : itemIds) {
+            if (id == null || items.containsKey(id)) continue;
+            ItemView hit = s.item(id).orElse(null);
+            if (hit != null) items.put(id, hit); else missingItems.add(id);
+        }
+        if (!missingItems.isEmpty()) {
+            itemRepository.findByIdIn(missingItems).forEach(i -> items.put(i.getId(), ItemView.from(i)));
+        }
+
+        Map<Long, AddonView> addons = new HashMap<>();
+        List<Long> missingAddons = new ArrayList<>();
+        for (Long id : addonIds) {
+            if (id == null || addons.containsKey(id)) continue;
+            AddonView hit = s.addon(id).orElse(null);
+            if (hit != null) addons.put(id, hit); else missingAddons.add(id);
+        }
+        if (!missingAddons.isEmpty()) {
+            addonRepository.findAllById(missingAddons).forEach(a -> addons.put(a.getId(), AddonView.from(a)));
+        }
+
+        return new CatalogLookup(s.getVersion(), items, addons);
+    }
+
+    /**
+     * Rebuild the snapshot from the database and publish it.
+     */
+    public CatalogSnapshot refresh() {
+        rebuildLock.lock();
+        try {
+            stale = false;
+            CatalogSnapshot next = readTx.execute(status -> CatalogSnapshot.of(
+                    versions.incrementAndGet(),
+                    menuRepository.findAll().stream().map(MenuView::from).toList(),
+                    categoryRepository.findAll().stream().map(CategoryView::from).toList(),
+                    itemRepository.findAllWithAllowedAddons().stream().map(ItemView::from).toList(),
+                    addonRepository.findAll().stream().map(AddonView::from).toList()));
+            current.set(next);
+            log.info("Catalog snapshot v{} loaded: {} menus, {} categories, {} items, {} add-ons",
+                    next.getVersion(), next.menuCount(), next.categoryCount(), next.itemCount(), next.addonCount());
+            return next;
+        } finally {
+            rebuildLock.unlock();
+        }
+    }
+
+    /** Force a rebuild on the next read. */
+    public void markStale() {
+        stale = true;
+    }
+
+    /**
+     * Called after a transaction that changed catalog entities has committed.
+     * Category/item edits are patched into the current snapshot; anything else rebuilds it.
+     */
+    public void onCatalogChanged(CatalogChange change) {
+        if (change.fullRebuild()) {
+            refresh();
+        } else {
+            applyChanges(change.categoryIds(), change.itemIds());
+        }
+    }
+
+    /**
+     * Reload just the given categories/items and publish a patched snapshot.
+     * Ids that no longer exist are removed from the snapshot.
+     */
+    public CatalogSnapshot applyChanges(Set<Long> categoryIds, Set<Long> itemIds) {
+        rebuildLock.lock();
+        try {
+            CatalogSnapshot base = current.get();
+            if (base == null || stale) return refresh();
+
+            List<CategoryView> categories = new ArrayList<>();
+            List<ItemView> items = new ArrayList<>();
+            readTx.executeWithoutResult(status -> {
+                categoryRepository.findAllById(categoryIds).forEach(c -> categories.add(CategoryView.from(c)));
+                itemRepository.findByIdIn(itemIds).forEach(i -> items.add(ItemView.from(i)));
+            });
+
+            Set<Long> removedCategories = new HashSet<>(categoryIds);
+            categories.forEach(c -> removedCategories.remove(c.id()));
+            Set<Long> removedItems = new HashSet<>(itemIds);
+            items.forEach(i -> removedItems.remove(i.id()));
+
+            CatalogSnapshot next = base.withChanges(versions.incrementAndGet(),
+                    categories, removedCategories, items, removedItems);
+            current.set(next);
+            log.info("Catalog snapshot v{} patched: {} categories, {} items changed",
+                    next.getVersion(), categoryIds.size(), itemIds.size());
+            return next;
+        } finally {
+            rebuildLock.unlock();
+        }
+    }
+
+    /**
+     * What a committed transaction changed in the catalog.
+     *
+     * @param fullRebuild  true when menus or add-ons changed (they fan out to many items)
+     * @param categoryIds  ids of inserted/updated/deleted categories
+     * @param itemIds      ids of inserted/updated/deleted items
+     */
+    public record CatalogChange(boolean fullRebuild, Set<Long> categoryIds, Set<Long> itemIds) {}
+
+    /**
+     * Items and add-ons resolved by {@link #resolve}, keyed by id.
+     *
+     * @param version  snapshot version the lookup started from
+     */
+    public record CatalogLookup(long version, Map<Long, ItemView> items, Map<Long, AddonView> addons) {
+        public Optional<ItemView> item(Long id) { return Optional.ofNullable(items.get(id)); }
+        public Optional<AddonView> addon(Long id) { return Optional.ofNullable(addons.get(id)); }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadOnStartup() {
+        try {
+            refresh();
+        } catch (RuntimeException ex) {
+            // keep booting; the first read (or the next scheduled refresh) retries
+            log.warn("Catalog snapshot could not be loaded at startup: {}", ex.getMessage());
+        }
+    }
+
+    @Scheduled(initialDelayString = "${catalog.refreshMs:300000}", fixedDelayString = "${catalog.refreshMs:300000}")
+    public void scheduledRefresh() {
+        try {
+            refresh();
+        } catch (RuntimeException ex) {
+            log.warn("Scheduled catalog refresh failed; keeping v{}: {}", version(), ex.getMessage());
+        }
+    }
+}
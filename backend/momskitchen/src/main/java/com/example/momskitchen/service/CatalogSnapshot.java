@@ -0,0 +1,327 @@
+package com.example.momskitchen.service;
+
+import com.example.momskitchen.model.Addon;
+import com.example.momskitchen.model.Menu;
+import com.example.momskitchen.model.MenuCategory;
+import com.example.momskitchen.model.MenuItem;
+import com.example.momskitchen.util.Money;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.*;
+
+/**
+ * Immutable, versioned copy of the whole catalog (menus, categories, items, add-ons).
+ *
+ * Built by CatalogService from the database and swapped in atomically, so readers
+ * always see one consistent version and never touch the database.
+ *
+ * Indexes:
+ *  - categoriesByMenu: categories of a menu, ordered by displayOrder (then id)
+ *  - itemsByCategory:  items of a category, ordered by displayOrder (then id)
+ */
+public final class CatalogSnapshot {
+
+    private static final Comparator<CategoryView> CATEGORY_ORDER =
+            Comparator.comparing(CategoryView::displayOrder).thenComparing(CategoryView::id);
+    private static final Comparator<ItemView> ITEM_ORDER =
+            Comparator.comparing(ItemView::displayOrder).thenComparing(ItemView::id);
+
+    private final long version;
+    private final Instant builtAt;
+
+    private final Map<Long, MenuView> menus;
+    private final Map<Long, CategoryView> categories;
+    private final Map<Long, ItemView> items;
+    private final Map<Long, AddonView> addons;
+
+    private final List<MenuView> menuList;
+    private final Map<Long, List<CategoryView>> categoriesByMenu;
+    private final Map<Long, List<ItemView>> itemsByCategory;
+
+    private CatalogSnapshot(long version, Instant builtAt,
+                            Map<Long, MenuView> menus,
+                            Map<Long, CategoryView> categories,
+                            Map<Long, ItemView> items,
+                            Map<Long, AddonView> addons,
+                            Map<Long, List<CategoryView>> categoriesByMenu,
+                            Map<Long, List<ItemView>> itemsByCategory) {
+        this.version = version;
+        this.builtAt = builtAt;
+        this.menus = menus;
+        this.categories = categories;
+        this.items = items;
+        this.addons = addons;
+        this.menuList = menus.values().stream().sorted(Comparator.comparing(MenuView::id)).toList();
+        this.categoriesByMenu = categoriesByMenu;
+        this.itemsByCategory = itemsByCategory;
+    }
+
+    /**
+     * Build a snapshot from plain views (no JPA involved).
+     */
+    public static CatalogSnapshot of(long version,
+                                     Collection<MenuView> menus,
+                                     Collection<CategoryView> categories,
+                                     Collection<ItemView> items,
+                                     Collection<AddonView> addons) {
+        Map<Long, List<CategoryView>> byMenu = new HashMap<>();
+        for (CategoryView c : categories) {
+            byMenu.computeIfAbsent(c.menuId(), k -> new ArrayList<>()).add(c);
+        }
+        Map<Long, List<ItemView>> byCategory = new HashMap<>();
+        for (ItemView i : items) {
+            byCategory.computeIfAbsent(i.categoryId(), k -> new ArrayList<>()).add(i);
+        }
+        return new CatalogSnapshot(version, Instant.now(),
+                index(menus, MenuView::id),
+                index(categories, CategoryView::id),
+                index(items, ItemView::id),
+                index(addons, AddonView::id),
+                sortedCopy(byMenu, CATEGORY_ORDER),
+                sortedCopy(byCategory, ITEM_ORDER));
+    }
+
+    /**
+     * Copy of this snapshot with some categories/items replaced or removed.
+     *
+     * Only the index buckets that were touched are re-sorted; everything else is shared.
+     * Removing a category also drops its items (the database cascades the same way).
+     */
+    public CatalogSnapshot withChanges(long newVersion,
+                                       Collection<CategoryView> upsertCategories,
+                                       Collection<Long> removedCategoryIds,
+                                       Collection<ItemView> upsertItems,
+                                       Collection<Long> removedItemIds) {
+        Map<Long, CategoryView> cats = new HashMap<>(categories);
+        Map<Long, ItemView> its = new HashMap<>(items);
+        Map<Long, List<CategoryView>> byMenu = new HashMap<>(categoriesByMenu);
+        Map<Long, List<ItemView>> byCategory = new HashMap<>(itemsByCategory);
+        Set<Long> dirtyMenus = new HashSet<>();
+        Set<Long> dirtyCategories = new HashSet<>();
+
+        for (Long id : removedCategoryIds) {
+            CategoryView old = cats.remove(id);
+            if (old == null) continue;
+            dirtyMenus.add(old.menuId());
+            List<ItemView> orphans = byCategory.remove(id);
+            if (orphans != null) orphans.forEach(i -> its.remove(i.id()));
+        }
+        for (CategoryView c : upsertCategories) {
+            CategoryView old = cats.put(c.id(), c);
+            if (old != null) dirtyMenus.add(old.menuId());
+            dirtyMenus.add(c.menuId());
+        }
+        for (Long id : removedItemIds) {
+            ItemView old = its.remove(id);
+            if (old != null) dirtyCategories.add(old.categoryId());
+        }
+        for (ItemView i : upsertItems) {
+            ItemView old = its.put(i.id(), i);
+            if (old != null) dirtyCategories.add(old.categoryId());
+            dirtyCategories.add(i.categoryId());
+        }
+
+        // rebuild only the touched buckets
+        for (Long menuId : dirtyMenus) {
+            List<CategoryView> bucket = new ArrayList<>();
+            for (CategoryView c : cats.values()) {
+                if (Objects.equals(c.menuId(), menuId)) bucket.add(c);
+            }
+            putSorted(byMenu, menuId, bucket, CATEGORY_ORDER);
+        }
+        for (Long categoryId : dirtyCategories) {
+            List<ItemView> bucket = new ArrayList<>(byCategory.getOrDefault(categoryId, List.of()));
+            // drop removed items and stale versions of replaced ones
+            bucket.removeIf(i -> its.get(i.id()) != i);
+            for (ItemView i : upsertItems) {
+                if (Objects.equals(i.categoryId(), categoryId)) bucket.add(i);
+            }
+            putSorted(byCategory, categoryId, bucket, ITEM_ORDER);
+        }
+
+        return new CatalogSnapshot(newVersion, Instant.now(),
+                menus,
+                Collections.unmodifiableMap(cats),
+                Collections.unmodifiableMap(its),
+                addons,
+                Collections.unmodifiableMap(byMenu),
+                Collections.unmodifiableMap(byCategory));
+    }
+
+    /** An empty catalog (used before the first load). */
+    public static CatalogSnapshot empty() {
+        return of(0L, List.of(), List.of(), List.of(), List.of());
+    }
+
+    // =========================
+    // Reads
+    // =========================
+
+    public long getVersion() { return version; }
+    public Instant getBuiltAt() { return builtAt; }
+
+    /** All menus ordered by id. */
+    public List<MenuView> menus() { return menuList; }
+
+    public Optional<MenuView> menu(Long menuId) { return Optional.ofNullable(menus.get(menuId)); }
+
+    public Optional<CategoryView> category(Long categoryId) { return Optional.ofNullable(categories.get(categoryId)); }
+
+    public Optional<ItemView> item(Long itemId) { return Optional.ofNullable(items.get(itemId)); }
+
+    public Optional<AddonView> addon(Long addonId) { return Optional.ofNullable(addons.get(addonId)); }
+
+    /** Categories of a menu, ordered by displayOrder. */
+    public List<CategoryView> categoriesOf(Long menuId) {
+        return categoriesByMenu.getOrDefault(menuId, List.of());
+    }
+
+    /** Items of a category, ordered by displayOrder. */
+    public List<ItemView> itemsOf(Long categoryId) {
+        return itemsByCategory.getOrDefault(categoryId, List.of());
+    }
+
+    /** Allowed add-ons of an item, ordered by id (unknown ids are skipped). */
+    public List<AddonView> addonsOf(ItemView item) {
+        List<AddonView> out = new ArrayList<>(item.allowedAddonIds().size());
+        for (Long id : item.allowedAddonIds()) {
+            AddonView a = addons.get(id);
+            if (a != null) out.add(a);
+        }
+        return out;
+    }
+
+    public int menuCount() { return menus.size(); }
+    public int categoryCount() { return categories.size(); }
+    public int itemCount() { return items.size(); }
+    public int addonCount() { return addons.size(); }
+
+    // =========================
+    // Helpers
+    // =========================
+
+    private static <V> Map<Long, V> index(Collection<V> values, java.util.function.Function<V, Long> id) {
+        Map<Long, V> out = new HashMap<>(Math.max(16, values.size() * 2));
+        for (V v : values) out.put(id.apply(v), v);
+        return Collections.unmodifiableMap(out);
+    }
+
+    private static <V> void putSorted(Map<Long, List<V>> index, Long key, List<V> bucket, Comparator<V> order) {
+        if (bucket.isEmpty()) {
+            index.remove(key);
+        } else {
+            bucket.sort(order);
+            index.put(key, List.copyOf(bucket));
+        }
+    }
+
+    private static <V> Map<Long, List<V>> sortedCopy(Map<Long, List<V>> grouped, Comparator<V> order) {
+        Map<Long, List<V>> out = new HashMap<>(Math.max(16, grouped.size() * 2));
+        grouped.forEach((k, list) -> {
+            list.sort(order);
+            out.put(k, List.copyOf(list));
+        });
+        return Collections.unmodifiableMap(out);
+    }
+
+    // =========================
+    // Views (immutable, detached from JPA)
+    // =========================
+
+    public record MenuView(
+            Long id,
+            String name,
+            String description,
+            boolean active
+    ) {
+        public static MenuView from(Menu m) {
+            return new MenuView(m.getId(), m.getName(), m.getDescription(), Boolean.TRUE.equals(m.getActive()));
+        }
+    }
+
+    public record CategoryView(
+            Long id,
+            Long menuId,
+            String name,
+            String description,
+            Integer displayOrder,
+            boolean active
+    ) {
+        public static CategoryView from(MenuCategory c) {
+            Long menuId = c.getMenu() != null ? c.getMenu().getId() : null;
+            return new CategoryView(c.getId(), menuId, c.getName(), c.getDescription(),
+                    c.getDisplayOrder() != null ? c.getDisplayOrder() : 0,
+                    Boolean.TRUE.equals(c.getActive()));
+        }
+    }
+
+    public record ItemView(
+            Long id,
+            Long categoryId,
+            String name,
+            String description,
+            BigDecimal price,
+            boolean available,
+            String imageUrl,
+            Integer displayOrder,
+            List<Long> allowedAddonIds,     // sorted ascending
+            Integer prepMinutes,            // kitchen prep estimate; null = kitchen.defaultPrepMinutes
+            long priceCents                 // price as Money cents, for pricing math
+    ) {
+        public ItemView {
+            allowedAddonIds = allowedAddonIds.stream().sorted().toList();
+        }
+
+        public ItemView(Long id, Long categoryId, String name, String description, BigDecimal price,
+                        boolean available, String imageUrl, Integer displayOrder, List<Long> allowedAddonIds,
+                        Integer prepMinutes) {
+            this(id, categoryId, name, description, price, available, imageUrl, displayOrder, allowedAddonIds,
+                    prepMinutes, Money.of(price).cents());
+        }
+
+        public ItemView(Long id, Long categoryId, String name, String description, BigDecimal price,
+                        boolean available, String imageUrl, Integer displayOrder, List<Long> allowedAddonIds) {
+            this(id, categoryId, name, description, price, available, imageUrl, displayOrder, allowedAddonIds, null);
+        }
+
+        public Money unitPrice() {
+            return Money.ofCents(priceCents);
+        }
+
+        public boolean allowsAddon(Long addonId) {
+            return Collections.binarySearch(allowedAddonIds, addonId) >= 0;
+        }
+
+        public static ItemView from(MenuItem i) {
+            Long categoryId = i.getCategory() != null ? i.getCategory().getId() : null;
+            List<Long> addonIds = i.getAllowedAddons().stream().map(Addon::getId).toList();
+            return new ItemView(i.getId(), categoryId, i.getName(), i.getDescription(), i.getPrice(),
+                    Boolean.TRUE.equals(i.getAvailable()), i.getImageUrl(),
+                    i.getDisplayOrder() != null ? i.getDisplayOrder() : 0,
+                    addonIds, i.getPrepMinutes());
+        }
+    }
+
+    public record AddonView(
+            Long id,
+            String name,
+            String description,
+            BigDecimal priceDelta,
+            boolean active,
+            long priceDeltaCents            // priceDelta as Money cents, for pricing math
+    ) {
+        public AddonView(Long id, String name, String description, BigDecimal priceDelta, boolean active) {
+            this(id, name, description, priceDelta, active, Money.of(priceDelta).cents());
+        }
+
+        public Money delta() {
+            return Money.ofCents(priceDeltaCents);
+        }
+
+        public static AddonView from(Addon a) {
+            return new AddonView(a.getId(), a.getName(), a.getDescription(), a.getPriceDelta(),
+                    Boolean.TRUE.equals(a.getActive()));
+        }
+    }
+}
@@ -0,0 +1,9 @@
+package com.example.momskitchen.service;
+
+/** An Idempotency-Key was reused with a different request body (mapped to 409 Conflict). */
+public class IdempotencyConflictException extends RuntimeException {
+
+    public IdempotencyConflictException(String message) {
+        super(message);
+    }
+}
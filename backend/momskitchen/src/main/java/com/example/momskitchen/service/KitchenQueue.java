@@ -0,0 +1,230 @@
+package com.example.momskitchen.service;
+
+import com.example.momskitchen.model.Order;
+import com.example.momskitchen.model.OrderItem;
+import com.example.momskitchen.model.OrderItemAddon;
+import com.example.momskitchen.repository.OrderItemRepository;
+import com.example.momskitchen.service.PricingService.PricedLine;
+import com.example.momskitchen.util.AfterCommit;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+/**
+ * Kitchen work queue: confirmed orders, earliest "start by" first (startBy = pickupAt - prep time).
+ *
+ * Kept in memory as a ConcurrentSkipListMap keyed by (startBy, orderId), plus a hash index
+ * orderId -> ticket. OrderService reports status changes (entering CONFIRMED enqueues, leaving
+ * it dequeues) after commit; each is one hash lookup and one skip-list insert/remove, so the
+ * queue never rescans the order table. Tickets carry the lines and add-on names, so reading the
+ * queue runs no queries. Loaded once at startup from the confirmed orders picking up today or
+ * later (ix_order_status_pickup); tickets for past days are pruned hourly.
+ *
+ * Prep time of an order (snapshotted on the order at checkout):
+ *   longest line (MenuItem.prepMinutes, else kitchen.defaultPrepMinutes)
+ *   + kitchen.extraPortionMinutes for every portion after the first.
+ *
+ * Config:
+ *   kitchen.defaultPrepMinutes  (default 15)
+ *   kitchen.extraPortionMinutes (default 2)
+ */
+@Service
+public class KitchenQueue {
+
+    private static final Logger log = LoggerFactory.getLogger(KitchenQueue.class);
+
+    /** Orders in this status are on the queue */
+    public static final String QUEUED_STATUS = "CONFIRMED";
+
+    private final OrderItemRepository orderItemRepository;
+    private final PickupService pickupService;
+    private final TransactionTemplate readTx;
+    private final int defaultPrepMinutes;
+    private final int extraPortionMinutes;
+
+    private final ConcurrentSkipListMap<Key, Ticket> queue = new ConcurrentSkipListMap<>();
+    private final Map<Long, Ticket> byOrder = new ConcurrentHashMap<>();
+
+    public KitchenQueue(OrderItemRepository orderItemRepository,
+                        PickupService pickupService,
+                        PlatformTransactionManager transactionManager,
+                        @Value("${kitchen.defaultPrepMinutes:15}") int defaultPrepMinutes,
+                        @Value("${kitchen.extraPortionMinutes:2}") int extraPortionMinutes) {
+        this.orderItemRepository = orderItemRepository;
+        this.pickupService = pickupService;
+        this.readTx = new TransactionTemplate(transactionManager);
+        this.readTx.setReadOnly(true);
+        this.defaultPrepMinutes = Math.max(0, defaultPrepMinutes);
+        this.extraPortionMinutes = Math.max(0, extraPortionMinutes);
+    }
+
+    // ---------------------------------------------------------
+    // Model
+    // ---------------------------------------------------------
+
+    /** One order on the queue. */
+    public record Ticket(Long orderId, String orderCode, String customerName, String notes,
+                         LocalDateTime pickupAt, int prepMinutes, LocalDateTime startBy,
+                         int portions, List<Line> lines) {
+        Key key() {
+            return new Key(startBy, orderId);
+        }
+    }
+
+    public record Line(String itemName, int quantity, List<String> addons) {}
+
+    /** Queue order: startBy, then orderId (older orders first on ties) */
+    private record Key(LocalDateTime startBy, long orderId) implements Comparable<Key> {
+        @Override
+        public int compareTo(Key o) {
+            int c = startBy.compareTo(o.startBy);
+            return c != 0 ? c : Long.compare(orderId, o.orderId);
+        }
+    }
+
+    // ---------------------------------------------------------
+    // Prep estimate
+    // ---------------------------------------------------------
+
+    /** Prep minutes for a priced cart (see class doc); OrderService stores it on the order. */
+    public int estimatePrepMinutes(List<PricedLine> lines) {
+        int longest = 0;
+        int portions = 0;
+        for (PricedLine line : lines) {
+            Integer prep = line.item().prepMinutes();
+            longest = Math.max(longest, prep != null ? prep : defaultPrepMinutes);
+            portions += line.quantity();
+        }
+        return longest + extraPortionMinutes * Math.max(0, portions - 1);
+    }
+
+    /**
+     * Ticket for an order whose lines (with add-ons) are loaded; call inside the transaction.
+     * Orders from before prep estimates existed get the default.
+     */
+    public Ticket ticket(Order order, List<OrderItem> lines) {
+        int prep = order.getPrepMinutes() != null ? order.getPrepMinutes() : defaultPrepMinutes;
+        List<Line> out = new ArrayList<>(lines.size());
+        int portions = 0;
+        for (OrderItem oi : lines) {
+            List<String> addons = oi.getAddons().stream().map(OrderItemAddon::getAddonName).toList();
+            int qty = oi.getQuantity() != null ? oi.getQuantity() : 0;
+            out.add(new Line(oi.getItemName(), qty, addons));
+            portions += qty;
+        }
+        return new Ticket(order.getId(), order.getOrderCode(), order.getCustomerName(), order.getNotes(),
+                order.getPickupAt(), prep, order.getPickupAt().minusMinutes(prep), portions, List.copyOf(out));
+    }
+
+    // ---------------------------------------------------------
+    // Updates
+    // ---------------------------------------------------------
+
+    /** Add or replace the order's ticket. */
+    public void put(Ticket ticket) {
+        // compute() serializes changes per order, so the index and the queue stay in step
+        byOrder.compute(ticket.orderId(), (id, old) -> {
+            if (old != null) queue.remove(old.key());
+            queue.put(ticket.key(), ticket);
+            return ticket;
+        });
+    }
+
+    /** Take the order off the queue (no-op if it is not on it). */
+    public void remove(Long orderId) {
+        byOrder.computeIfPresent(orderId, (id, old) -> {
+            queue.remove(old.key());
+            return null;
+        });
+    }
+
+    /** put() once the surrounding transaction commits (immediately outside one). */
+    public void putAfterCommit(Ticket ticket) {
+        AfterCommit.run(() -> put(ticket));
+    }
+
+    /** remove() once the surrounding transaction commits (immediately outside one). */
+    public void removeAfterCommit(Long orderId) {
+        AfterCommit.run(() -> remove(orderId));
+    }
+
+    // ---------------------------------------------------------
+    // Reads
+    // ---------------------------------------------------------
+
+    /** The first `limit` tickets, earliest start first */
+    public List<Ticket> head(int limit) {
+        List<Ticket> out = new ArrayList<>(Math.min(limit, 64));
+        for (Ticket t : queue.values()) {
+            if (out.size() >= limit) break;
+            out.add(t);
+        }
+        return out;
+    }
+
+    public Optional<Ticket> get(Long orderId) {
+        return Optional.ofNullable(byOrder.get(orderId));
+    }
+
+    public int size() {
+        return byOrder.size();
+    }
+
+    /** Current time in the pickup zone (pickupAt/startBy are local to it) */
+    public LocalDateTime now() {
+        return pickupService.now();
+    }
+
+    // ---------------------------------------------------------
+    // Lifecycle
+    // ---------------------------------------------------------
+
+    /** Fill the queue from confirmed orders picking up today or later (one query). */
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadOnStartup() {
+        try {
+            LocalDateTime from = pickupService.today().atStartOfDay();
+            List<Ticket> tickets = readTx.execute(status -> {
+                Map<Order, List<OrderItem>> byOrderLines = new LinkedHashMap<>();
+                for (OrderItem oi : orderItemRepository.fetchQueuedLines(QUEUED_STATUS, from)) {
+                    byOrderLines.computeIfAbsent(oi.getOrder(), o -> new ArrayList<>()).add(oi);
+                }
+                List<Ticket> out = new ArrayList<>(byOrderLines.size());
+                byOrderLines.forEach((order, lines) -> out.add(ticket(order, lines)));
+                return out;
+            });
+            tickets.forEach(this::put);
+            log.info("Kitchen queue loaded: {} confirmed orders", tickets.size());
+        } catch (RuntimeException ex) {
+            log.warn("Kitchen queue could not be loaded at startup: {}", ex.getMessage());
+        }
+    }
+
+    /**
+     * Drop tickets whose pickup day has passed (confirmed but never marked ready). Only the
+     * tickets that start before today are visited.
+     */
+    @Scheduled(initialDelay = 3_600_000L, fixedDelay = 3_600_000L)
+    public void prune() {
+        pruneBefore(pickupService.today().atStartOfDay());
+    }
+
+    void pruneBefore(LocalDateTime cutoff) {
+        ConcurrentNavigableMap<Key, Ticket> early = queue.headMap(new Key(cutoff, Long.MIN_VALUE));
+        for (Ticket t : early.values()) {
+            if (t.pickupAt().isBefore(cutoff)) remove(t.orderId());
+        }
+    }
+}
@@ -1,57 +1,68 @@
 package com.example.momskitchen.service;
 
-import com.example.momskitchen.model.Addon;
-import com.example.momskitchen.model.Menu;
-import com.example.momskitchen.model.MenuCategory;
-import com.example.momskitchen.model.MenuItem;
 import com.example.momskitchen.repository.MenuCategoryRepository;
 import com.example.momskitchen.repository.MenuItemRepository;
-import com.example.momskitchen.repository.MenuRepository;
+import com.example.momskitchen.service.CatalogSnapshot.AddonView;
+import com.example.momskitchen.service.CatalogSnapshot.CategoryView;
+import com.example.momskitchen.service.CatalogSnapshot.ItemView;
+import com.example.momskitchen.service.CatalogSnapshot.MenuView;
 import org.springframework.stereotype.Service;
 
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
 
 @Service
 public class MenuService {
 
-    private final MenuRepository menuRepository;
+    private final CatalogService catalogService;
     private final MenuCategoryRepository categoryRepository;
     private final MenuItemRepository itemRepository;
 
-    public MenuService(MenuRepository menuRepository,
+    public MenuService(CatalogService catalogService,
                        MenuCategoryRepository categoryRepository,
                        MenuItemRepository itemRepository) {
-        this.menuRepository = menuRepository;
+        this.catalogService = catalogService;
         this.categoryRepository = categoryRepository;
         this.itemRepository = itemRepository;
     }
 
+    /** The current catalog snapshot (use one instance per request for a consistent view). */
+    public CatalogSnapshot catalog() {
+        return catalogService.snapshot();
+    }
+
     /* ---------------------------
        MENUS
        --------------------------- */
 
     /** Return all menus (usually just one active menu). */
-    public List<Menu> getMenus() {
-        return menuRepository.findAll();
+    public List<MenuView> getMenus() {
+        return catalog().menus();
     }
 
-    /** Get one menu by id with its categories/items (your entities are EAGER so tree is populated). */
-    public Optional<Menu> getMenu(Long menuId) {
-        return menuRepository.findById(menuId);
+    /** Get one menu by id; categories/items come from the same snapshot. */
+    public Optional<MenuView> getMenu(Long menuId) {
+        return catalog().menu(menuId);
     }
 
     /* ---------------------------
        CATEGORIES
        --------------------------- */
 
-    /** Categories for a given menu, ordered by display_order. */
-    public List<MenuCategory> getCategoriesByMenu(Long menuId) {
-        // If you have a custom finder: categoryRepository.findByMenuIdOrderByDisplayOrderAsc(menuId)
-        return categoryRepository.findAll()
+    /**
+     * Categories for a given menu, ordered by display_order.
+     * Served from the snapshot's per-menu index; menus newer than the snapshot go to the database.
+     */
+    public List<CategoryView> getCategoriesByMenu(Long menuId) {
+        CatalogSnapshot catalog = catalog();
+        if (catalog.menu(menuId).isPresent()) {
+            return catalog.categoriesOf(menuId);
+        }
+        return categoryRepository.findByMenuIdOrderByDisplayOrderAsc(menuId)
                 .stream()
-                .filter(c -> c.getMenu() != null && c.getMenu().getId().equals(menuId))
-                .sorted((a, b) -> Integer.compare(a.getDisplayOrder(), b.getDisplayOrder()))
+                .map(CategoryView::from)
                 .toList();
     }
 
@@ -59,19 +70,24 @@ public class MenuService {
        ITEMS
        --------------------------- */
 
-    /** Items for a given category, ordered by display_order. */
-    public List<MenuItem> getItemsByCategory(Long categoryId) {
-        // If you have a custom finder: itemRepository.findByCategoryIdOrderByDisplayOrderAsc(categoryId)
-        return itemRepository.findAll()
+    /**
+     * Items for a given category, ordered by display_order.
+     * Served from the snapshot's per-category index; categories newer than the snapshot go to the database.
+     */
+    public List<ItemView> getItemsByCategory(Long categoryId) {
+        CatalogSnapshot catalog = catalog();
+        if (catalog.category(categoryId).isPresent()) {
+            return catalog.itemsOf(categoryId);
+        }
+        return itemRepository.findByCategoryIdOrderByDisplayOrderAsc(categoryId)
                 .stream()
-                .filter(i -> i.getCategory() != null && i.getCategory().getId().equals(categoryId))
-                .sorted((a, b) -> Integer.compare(a.getDisplayOrder(), b.getDisplayOrder()))
+                .map(ItemView::from)
                 .toList();
     }
 
-    /** One item by id (includes allowedAddons due to EAGER mapping). */
-    public Optional<MenuItem> getItem(Long itemId) {
-        return itemRepository.findById(itemId);
+    /** One item by id (snapshot first, database for items newer than the snapshot). */
+    public Optional<ItemView> getItem(Long itemId) {
+        return catalogService.findItem(itemId);
     }
 
     /* ---------------------------
@@ -79,9 +95,18 @@ public class MenuService {
        --------------------------- */
 
     /** Allowed add-ons for a given item. */
-    public List<Addon> getAddonsForItem(Long itemId) {
-        return getItem(itemId)
-                .map(item -> item.getAllowedAddons().stream().toList())
+    public List<AddonView> getAddonsForItem(Long itemId) {
+        return catalogService.findItem(itemId)
+                .map(this::getAddonsOf)
                 .orElseGet(List::of);
     }
+
+    /** Allowed add-ons of an item view, ordered by id (snapshot misses resolved in one query). */
+    public List<AddonView> getAddonsOf(ItemView item) {
+        Map<Long, AddonView> addons = catalogService.resolve(List.of(), item.allowedAddonIds()).addons();
+        return item.allowedAddonIds().stream()
+                .map(addons::get)
+                .filter(Objects::nonNull)
+                .toList();
+    }
 }
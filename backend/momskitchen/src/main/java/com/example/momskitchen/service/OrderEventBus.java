@@ -0,0 +1,193 @@
+package com.example.momskitchen.service;
+
+import com.example.momskitchen.dto.OrderListItemDTO;
+import com.example.momskitchen.util.AfterCommit;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.Set;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * In-process fan-out of order changes to live admin clients (the SSE order stream).
+ *
+ * Publishing never blocks and never does I/O: an event is offered to each subscriber's bounded
+ * queue, and each subscriber is drained by its own sender task on a shared pool (one task at a
+ * time per subscriber, so its sink never sees concurrent calls).
+ * Backpressure policy: when a subscriber's queue is full it is cleared and replaced by a single
+ * RESYNC event, telling that client to reload its list once instead of replaying what it missed.
+ * Events from a transaction are published after it commits (none on rollback).
+ *
+ * Config:
+ *   admin.stream.queueSize      (default 256)   events buffered per subscriber
+ *   admin.stream.maxSubscribers (default 20)
+ *   admin.stream.heartbeatMs    (default 15000) keeps proxies from closing idle streams
+ */
+@Component
+public class OrderEventBus {
+
+    private static final Logger log = LoggerFactory.getLogger(OrderEventBus.class);
+
+    public static final String ORDER_CREATED = "order-created";
+    public static final String ORDER_STATUS = "order-status";
+    public static final String ORDER_PAYMENT = "order-payment";
+    public static final String RESYNC = "resync";
+    public static final String HEARTBEAT = "heartbeat";
+
+    private final int queueSize;
+    private final int maxSubscribers;
+    private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+    private final ReentrantLock subscribeLock = new ReentrantLock();
+    private final AtomicLong ids = new AtomicLong();
+    private final LongAdder dropped = new LongAdder();
+    private final ExecutorService senders;
+
+    public OrderEventBus(@Value("${admin.stream.queueSize:256}") int queueSize,
+                         @Value("${admin.stream.maxSubscribers:20}") int maxSubscribers) {
+        this.queueSize = Math.max(2, queueSize);
+        this.maxSubscribers = Math.max(1, maxSubscribers);
+        AtomicInteger threadIds = new AtomicInteger();
+        this.senders = Executors.newCachedThreadPool(r -> {
+            Thread t = new Thread(r, "order-stream-" + threadIds.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        });
+    }
+
+    /** id increases per published event; order is null for RESYNC and HEARTBEAT. */
+    public record OrderEvent(long id, String type, OrderListItemDTO order) {}
+
+    /** Where a subscriber's events go (e.g. an SseEmitter). Throwing ends the subscription. */
+    @FunctionalInterface
+    public interface Sink {
+        void send(OrderEvent event) throws Exception;
+    }
+
+    /**
+     * Register a sink, or return null when maxSubscribers are already connected.
+     * Call {@link Subscription#close()} when the client goes away.
+     */
+    public Subscription subscribe(Sink sink) {
+        Subscriber s = new Subscriber(sink, queueSize);
+        subscribeLock.lock();
+        try {
+            if (subscribers.size() >= maxSubscribers) return null;
+            subscribers.add(s);
+        } finally {
+            subscribeLock.unlock();
+        }
+        return s;
+    }
+
+    public interface Subscription extends AutoCloseable {
+        @Override
+        void close();
+    }
+
+    /** Publish after the current transaction commits, or now when there is none. */
+    public void publishAfterCommit(String type, OrderListItemDTO order) {
+        AfterCommit.run(() -> publish(type, order));
+    }
+
+    public void publish(String type, OrderListItemDTO order) {
+        if (subscribers.isEmpty()) return;
+        OrderEvent event = new OrderEvent(ids.incrementAndGet(), type, order);
+        for (Subscriber s : subscribers) s.offer(event);
+    }
+
+    @Scheduled(initialDelayString = "${admin.stream.heartbeatMs:15000}", fixedRateString = "${admin.stream.heartbeatMs:15000}")
+    public void heartbeat() {
+        OrderEvent beat = new OrderEvent(ids.get(), HEARTBEAT, null);
+        // a full queue already has something to send; no need to force a resync for a heartbeat
+        for (Subscriber s : subscribers) s.offerIfRoom(beat);
+    }
+
+    public int subscriberCount() {
+        return subscribers.size();
+    }
+
+    /** Events dropped by the backpressure policy (cumulative since startup) */
+    public long droppedCount() {
+        return dropped.sum();
+    }
+
+    @PreDestroy
+    void shutdown() {
+        subscribers.clear();
+        senders.shutdownNow();
+    }
+
+    // =========================
+    // Subscriber
+    // =========================
+
+    private final class Subscriber implements Subscription, Runnable {
+        private final Sink sink;
+        private final BlockingQueue<OrderEvent> queue;
+        private final AtomicBoolean scheduled = new AtomicBoolean();
+        private volatile boolean closed;
+
+        Subscriber(Sink sink, int capacity) {
+            this.sink = sink;
+            this.queue = new ArrayBlockingQueue<>(capacity);
+        }
+
+        void offer(OrderEvent event) {
+            if (closed) return;
+            if (!queue.offer(event)) {
+                // too slow: drop the backlog and ask the client to reload once
+                dropped.add(queue.size() + 1L);
+                queue.clear();
+                queue.offer(new OrderEvent(event.id(), RESYNC, null));
+            }
+            schedule();
+        }
+
+        void offerIfRoom(OrderEvent event) {
+            if (!closed && queue.offer(event)) schedule();
+        }
+
+        private void schedule() {
+            if (scheduled.compareAndSet(false, true)) {
+                try {
+                    senders.execute(this);
+                } catch (RejectedExecutionException ex) {
+                    close();
+                }
+            }
+        }
+
+        @Override
+        public void run() {
+            try {
+                OrderEvent event;
+                while (!closed && (event = queue.poll()) != null) {
+                    sink.send(event);
+                }
+            } catch (Exception ex) {
+                log.debug("Order stream subscriber dropped: {}", ex.getMessage());
+                close();
+            } finally {
+                scheduled.set(false);
+            }
+            // an event may have arrived after the last poll but before the flag was cleared
+            if (!closed && !queue.isEmpty()) schedule();
+        }
+
+        @Override
+        public void close() {
+            closed = true;
+            queue.clear();
+            subscribers.remove(this);
+        }
+    }
+}
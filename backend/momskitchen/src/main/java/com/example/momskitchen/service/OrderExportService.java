@@ -0,0 +1,399 @@
+package com.example.momskitchen.service;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import javax.sql.DataSource;
+import java.io.*;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.Semaphore;
+
+/**
+ * Streams orders with their lines and add-ons for a date range as CSV or NDJSON.
+ *
+ * One query joins order -> order_item -> order_item_addon, sorted so each order's rows are
+ * contiguous. It runs on a forward-only, read-only statement with fetch size Integer.MIN_VALUE,
+ * which makes MySQL Connector/J stream rows one at a time instead of buffering the result set.
+ * Rows are grouped into one order at a time and written straight to the response, so heap use is
+ * one order plus the output buffer whatever the range.
+ *
+ * Each running export holds one pooled connection, so at most admin.export.maxConcurrent run at once.
+ * A client that disconnects mid-export stops the writes; the driver still reads (and discards) the
+ * rest of the result set before the connection goes back to the pool.
+ *
+ * Config:
+ *   admin.export.maxConcurrent (default 2)
+ */
+@Service
+public class OrderExportService {
+
+    private static final Logger log = LoggerFactory.getLogger(OrderExportService.class);
+
+    private static final int BUFFER_BYTES = 64 * 1024;
+    /** Push a chunk to the client every this many orders */
+    private static final int FLUSH_EVERY = 200;
+
+    private static final String EXPORT_SQL = """
+            SELECT o.id, o.order_code, o.status, o.payment_status, o.created_at, o.pickup_at,
+                   o.customer_name, o.customer_email, o.customer_phone, o.notes,
+                   o.subtotal, o.tax_amount, o.total_amount,
+                   oi.id AS line_id, oi.item_name, oi.unit_price, oi.quantity, oi.line_subtotal,
+                   a.addon_name, a.price_delta
+            FROM `order` o
+            LEFT JOIN order_item oi ON oi.order_id = o.id
+            LEFT JOIN order_item_addon a ON a.order_item_id = oi.id
+            WHERE o.created_at >= ? AND o.created_at < ?
+            ORDER BY o.created_at, o.id, oi.id, a.id
+            """;
+
+    private final JdbcTemplate streamingJdbc;
+    private final ObjectMapper objectMapper;
+    private final PickupService pickupService;
+    private final Semaphore permits;
+
+    public OrderExportService(DataSource dataSource,
+                              ObjectMapper objectMapper,
+                              PickupService pickupService,
+                              @Value("${admin.export.maxConcurrent:2}") int maxConcurrent) {
+        this.streamingJdbc = new JdbcTemplate(dataSource);
+        this.streamingJdbc.setFetchSize(Integer.MIN_VALUE);   // Connector/J: stream row by row
+        this.objectMapper = objectMapper;
+        this.pickupService = pickupService;
+        this.permits = new Semaphore(Math.max(1, maxConcurrent));
+    }
+
+    public enum Format {
+        CSV("text/csv;charset=UTF-8", "csv"),
+        NDJSON("application/x-ndjson", "ndjson");
+
+        private final String contentType;
+        private final String extension;
+
+        Format(String contentType, String extension) {
+            this.contentType = contentType;
+            this.extension = extension;
+        }
+
+        public String contentType() { return contentType; }
+
+        public String extension() { return extension; }
+
+        public static Format parse(String v) {
+            try {
+                return valueOf(v.trim().toUpperCase(Locale.ROOT));
+            } catch (RuntimeException ex) {
+                throw new IllegalArgumentException("format must be csv or ndjson");
+            }
+        }
+    }
+
+    /** One exported order. createdAtUtc is as stored (UTC); pickupAt is local to the pickup zone. */
+    public record ExportedOrder(Long id, String orderCode, String status, String paymentStatus,
+                                LocalDateTime createdAtUtc, LocalDateTime pickupAt,
+                                String customerName, String customerEmail, String customerPhone, String notes,
+                                BigDecimal subtotal, BigDecimal taxAmount, BigDecimal totalAmount,
+                                List<ExportedLine> lines) {}
+
+    public record ExportedLine(String itemName, BigDecimal unitPrice, int quantity, BigDecimal lineSubtotal,
+                               List<ExportedAddon> addons) {}
+
+    public record ExportedAddon(String name, BigDecimal priceDelta) {}
+
+    /**
+     * Response body exporting orders created on [from, to] (days in the pickup zone).
+     * The permit is taken when the body runs and released when it returns, so a body that never
+     * runs (request aborted or timed out before the async task started) holds none. If
+     * admin.export.maxConcurrent exports are already running, the body writes nothing and calls onBusy.
+     */
+    public StreamingResponseBody stream(LocalDate from, LocalDate to, Format format, Runnable onBusy) {
+        if (to.isBefore(from)) throw new IllegalArgumentException("to must not be before from");
+        LocalDateTime fromUtc = startOfDayUtc(from);
+        LocalDateTime toUtc = startOfDayUtc(to.plusDays(1));
+        return out -> {
+            if (!permits.tryAcquire()) {
+                onBusy.run();
+                return;
+            }
+            try {
+                long n = export(fromUtc, toUtc, sink(format, out));
+                log.info("Exported {} orders created {}..{} as {}", n, from, to, format);
+            } finally {
+                permits.release();
+            }
+        };
+    }
+
+    /** Run the export query and write each order to the sink; returns the number of orders. */
+    long export(LocalDateTime fromUtc, LocalDateTime toUtc, Sink sink) throws IOException {
+        Grouper grouper = new Grouper(sink);
+        try {
+            streamingJdbc.query(con -> {
+                PreparedStatement ps = con.prepareStatement(EXPORT_SQL,
+                        ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+                ps.setObject(1, fromUtc);
+                ps.setObject(2, toUtc);
+                return ps;
+            }, (ResultSet rs) -> grouper.accept(readRow(rs)));
+        } catch (UncheckedIOException ex) {
+            throw ex.getCause();
+        }
+        return grouper.finish();
+    }
+
+    // =========================
+    // Rows -> orders
+    // =========================
+
+    /** One result row: an order, optionally one of its lines, optionally one of that line's add-ons. */
+    record Row(ExportedOrder order, Long lineId, ExportedLine line, ExportedAddon addon) {}
+
+    /**
+     * Folds contiguous rows into orders and hands each finished order to the sink.
+     * Holds at most one order.
+     */
+    static final class Grouper {
+        private final Sink sink;
+        private ExportedOrder current;
+        private Long currentLineId;
+        private ExportedLine currentLine;
+        private long count;
+
+        Grouper(Sink sink) {
+            this.sink = sink;
+        }
+
+        void accept(Row row) {
+            if (current == null || !current.id().equals(row.order().id())) {
+                emit();
+                current = row.order();
+                currentLineId = null;
+                currentLine = null;
+            }
+            if (row.lineId() == null) return;
+            if (!row.lineId().equals(currentLineId)) {
+                currentLineId = row.lineId();
+                currentLine = row.line();
+                current.lines().add(currentLine);
+            }
+            if (row.addon() != null) currentLine.addons().add(row.addon());
+        }
+
+        long finish() throws IOException {
+            try {
+                emit();
+            } catch (UncheckedIOException ex) {
+                throw ex.getCause();
+            }
+            sink.finish();
+            return count;
+        }
+
+        private void emit() {
+            if (current == null) return;
+            try {
+                sink.write(current);
+            } catch (IOException ex) {
+                // e.g. the client went away; abort the row loop
+                throw new UncheckedIOException(ex);
+            }
+            current = null;
+            count++;
+        }
+    }
+
+    private static Row readRow(ResultSet rs) throws SQLException {
+        ExportedOrder order = new ExportedOrder(
+                rs.getLong("id"), rs.getString("order_code"), rs.getString("status"), rs.getString("payment_status"),
+                rs.getObject("created_at", LocalDateTime.class), rs.getObject("pickup_at", LocalDateTime.class),
+                rs.getString("customer_name"), rs.getString("customer_email"), rs.getString("customer_phone"),
+                rs.getString("notes"),
+                rs.getBigDecimal("subtotal"), rs.getBigDecimal("tax_amount"), rs.getBigDecimal("total_amount"),
+                new ArrayList<>());
+        long lineId = rs.getLong("line_id");
+        if (rs.wasNull()) return new Row(order, null, null, null);
+        ExportedLine line = new ExportedLine(rs.getString("item_name"), rs.getBigDecimal("unit_price"),
+                rs.getInt("quantity"), rs.getBigDecimal("line_subtotal"), new ArrayList<>());
+        String addonName = rs.getString("addon_name");
+        ExportedAddon addon = addonName != null ? new ExportedAddon(addonName, rs.getBigDecimal("price_delta")) : null;
+        return new Row(order, lineId, line, addon);
+    }
+
+    // =========================
+    // Output formats
+    // =========================
+
+    interface Sink {
+        void write(ExportedOrder order) throws IOException;
+
+        /** Called once after the last order */
+        void finish() throws IOException;
+    }
+
+    Sink sink(Format format, OutputStream out) throws IOException {
+        return format == Format.CSV ? new CsvSink(out) : new NdjsonSink(objectMapper, out);
+    }
+
+    /** One JSON object per order per line, lines and add-ons nested */
+    static final class NdjsonSink implements Sink {
+        private final JsonGenerator json;
+        private final ObjectWriter writer;
+        private int pending;
+
+        NdjsonSink(ObjectMapper mapper, OutputStream out) throws IOException {
+            this.json = mapper.getFactory().createGenerator(new BufferedOutputStream(out, BUFFER_BYTES));
+            this.json.setRootValueSeparator(null);
+            this.writer = mapper.writer().without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        }
+
+        @Override
+        public void write(ExportedOrder order) throws IOException {
+            writer.writeValue(json, order);
+            json.writeRaw('\n');
+            if (++pending >= FLUSH_EVERY) {
+                json.flush();
+                pending = 0;
+            }
+        }
+
+        @Override
+        public void finish() throws IOException {
+            json.flush();
+        }
+    }
+
+    /**
+     * One row per order line (order columns repeated; an order without lines gets one row).
+     * Add-ons go in one cell as "name (+delta); ...". Text cells that a spreadsheet would read as
+     * a formula are prefixed with an apostrophe.
+     */
+    static final class CsvSink implements Sink {
+        static final String HEADER = "order_id,order_code,created_at_utc,pickup_at,status,payment_status,"
+                + "customer_name,customer_email,customer_phone,notes,subtotal,tax_amount,total_amount,"
+                + "item_name,unit_price,quantity,line_subtotal,addons";
+
+        private final Writer out;
+        private int pending;
+
+        CsvSink(OutputStream out) throws IOException {
+            this.out = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), BUFFER_BYTES);
+            this.out.write(HEADER);
+            this.out.write("\r\n");
+        }
+
+        @Override
+        public void write(ExportedOrder o) throws IOException {
+            if (o.lines().isEmpty()) {
+                row(o, null);
+            } else {
+                for (ExportedLine line : o.lines()) row(o, line);
+            }
+            if (++pending >= FLUSH_EVERY) {
+                out.flush();
+                pending = 0;
+            }
+        }
+
+        @Override
+        public void finish() throws IOException {
+            out.flush();
+        }
+
+        private void row(ExportedOrder o, ExportedLine line) throws IOException {
+            out.write(String.valueOf(o.id()));
+            cell(o.orderCode());
+            cell(o.createdAtUtc() != null ? o.createdAtUtc().toString() : null);
+            cell(o.pickupAt() != null ? o.pickupAt().toString() : null);
+            cell(o.status());
+            cell(o.paymentStatus());
+            cell(o.customerName());
+            cell(o.customerEmail());
+            cell(o.customerPhone());
+            cell(o.notes());
+            cell(plain(o.subtotal()));
+            cell(plain(o.taxAmount()));
+            cell(plain(o.totalAmount()));
+            if (line != null) {
+                cell(line.itemName());
+                cell(plain(line.unitPrice()));
+                cell(String.valueOf(line.quantity()));
+                cell(plain(line.lineSubtotal()));
+                cell(addons(line.addons()));
+            } else {
+                out.write(",,,,,");
+            }
+            out.write("\r\n");
+        }
+
+        private void cell(String v) throws IOException {
+            out.write(',');
+            if (v == null || v.isEmpty()) return;
+            if (isFormulaLike(v)) v = "'" + v;
+            if (v.indexOf(',') >= 0 || v.indexOf('"') >= 0 || v.indexOf('\n') >= 0 || v.indexOf('\r') >= 0) {
+                out.write('"');
+                out.write(v.replace("\"", "\"\""));
+                out.write('"');
+            } else {
+                out.write(v);
+            }
+        }
+
+        private static boolean isFormulaLike(String v) {
+            char c = v.charAt(0);
+            // numbers like -1.50 are fine; free text starting with these is not
+            return (c == '=' || c == '+' || c == '@' || c == '\t' || (c == '-' && !isNumber(v)));
+        }
+
+        private static boolean isNumber(String v) {
+            try {
+                new BigDecimal(v);
+                return true;
+            } catch (NumberFormatException ex) {
+                return false;
+            }
+        }
+
+        private static String plain(BigDecimal v) {
+            return v != null ? v.toPlainString() : null;
+        }
+
+        private static String addons(List<ExportedAddon> addons) {
+            if (addons.isEmpty()) return null;
+            StringBuilder sb = new StringBuilder();
+            for (ExportedAddon a : addons) {
+                if (!sb.isEmpty()) sb.append("; ");
+                sb.append(a.name());
+                if (a.priceDelta() != null && a.priceDelta().signum() != 0) {
+                    sb.append(a.priceDelta().signum() > 0 ? " (+" : " (").append(a.priceDelta().toPlainString()).append(')');
+                }
+            }
+            return sb.toString();
+        }
+    }
+
+    // =========================
+    // Helpers
+    // =========================
+
+    /** created_at is stored in UTC; the requested days are in the pickup zone */
+    private LocalDateTime startOfDayUtc(LocalDate day) {
+        return day.atStartOfDay(pickupService.zone()).withZoneSameInstant(ZoneOffset.UTC).toLocalDateTime();
+    }
+}
@@ -0,0 +1,126 @@
+package com.example.momskitchen.service;
+
+import com.example.momskitchen.dto.CreateOrderRequest;
+import com.example.momskitchen.dto.OrderSummaryDTO;
+import com.example.momskitchen.model.OrderIdempotency;
+import com.example.momskitchen.repository.OrderIdempotencyRepository;
+import com.example.momskitchen.util.BoundedLruCache;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.HexFormat;
+import java.util.Optional;
+import java.util.regex.Pattern;
+
+/**
+ * Idempotency-Key handling for order submission (POST /api/orders), so a client retrying
+ * after a lost response gets the original order back instead of a duplicate.
+ *
+ * Flow (OrderController):
+ *  1) key(header, req): validate the key and hash the request body.
+ *  2) find(key): the order an earlier request with this key created, if any. Served from a
+ *     bounded LRU (which also holds the summary returned the first time), else order_idempotency.
+ *     Same key with a different body -> IdempotencyConflictException (409).
+ *  3) Otherwise OrderService.createOrder inserts the key row in the order's transaction (record).
+ *     A concurrent request with the same key blocks on that insert until the first one commits,
+ *     then fails with a duplicate key; the controller replays the winner.
+ *
+ * Config:
+ *   orders.idempotency.cacheSize (default 10000; 0 = database only)
+ *   orders.idempotency.ttlHours (default 24; rows older than this are pruned hourly)
+ */
+@Service
+public class OrderIdempotencyService {
+
+    private static final Logger log = LoggerFactory.getLogger(OrderIdempotencyService.class);
+
+    /** UUIDs and similar opaque tokens */
+    private static final Pattern KEY_PATTERN = Pattern.compile("[A-Za-z0-9._:-]{1,64}");
+
+    private final OrderIdempotencyRepository repository;
+    private final ObjectMapper objectMapper;
+    private final BoundedLruCache<String, Entry> cache;
+    private final int ttlHours;
+
+    public OrderIdempotencyService(OrderIdempotencyRepository repository,
+                                   ObjectMapper objectMapper,
+                                   @Value("${orders.idempotency.cacheSize:10000}") int cacheSize,
+                                   @Value("${orders.idempotency.ttlHours:24}") int ttlHours) {
+        this.repository = repository;
+        this.objectMapper = objectMapper;
+        this.cache = new BoundedLruCache<>(Math.max(0, cacheSize));
+        this.ttlHours = Math.max(1, ttlHours);
+    }
+
+    /** A client key plus the SHA-256 (hex) of the request it came with */
+    public record Key(String value, String requestHash) {}
+
+    /** An earlier submission: its order id, and the summary returned then (null if only the row was found) */
+    public record Replay(long orderId, OrderSummaryDTO summary) {}
+
+    private record Entry(String requestHash, long orderId, OrderSummaryDTO summary) {}
+
+    /** Validate the Idempotency-Key header and fingerprint the request body. */
+    public Key key(String header, CreateOrderRequest req) {
+        if (header == null || !KEY_PATTERN.matcher(header).matches()) {
+            throw new IllegalArgumentException("Idempotency-Key must be 1-64 characters of A-Z a-z 0-9 . _ : -");
+        }
+        return new Key(header, requestHash(req));
+    }
+
+    /** The earlier submission with this key, if any; throws IdempotencyConflictException if its body differed. */
+    public Optional<Replay> find(Key key) {
+        Entry e = cache.get(key.value(), k -> repository.findById(k)
+                .map(row -> new Entry(row.getRequestHash(), row.getOrderId(), null))
+                .orElse(null));
+        if (e == null) return Optional.empty();
+        if (!e.requestHash().equals(key.requestHash())) {
+            throw new IdempotencyConflictException("Idempotency-Key was already used for a different order request");
+        }
+        return Optional.of(new Replay(e.orderId(), e.summary()));
+    }
+
+    /** Store the key for a new order; must run in the order's transaction (duplicate key -> DataIntegrityViolationException). */
+    public void record(Key key, Long orderId) {
+        repository.insert(key.value(), key.requestHash(), orderId, LocalDateTime.now(ZoneOffset.UTC));
+    }
+
+    /** Cache the summary returned for a key (after the order committed), so replays need no queries. */
+    public void remember(Key key, long orderId, OrderSummaryDTO summary) {
+        cache.put(key.value(), new Entry(key.requestHash(), orderId, summary));
+    }
+
+    public BoundedLruCache.Stats cacheStats() {
+        return cache.stats();
+    }
+
+    @Scheduled(initialDelay = 3_600_000L, fixedDelay = 3_600_000L)
+    public void prune() {
+        int removed = repository.deleteCreatedBefore(LocalDateTime.now(ZoneOffset.UTC).minusHours(ttlHours));
+        // cached entries may outlive their rows; drop them so expired keys can be used again
+        cache.clear();
+        if (removed > 0) log.info("Pruned {} expired order idempotency keys", removed);
+    }
+
+    // =========================
+    // Helpers
+    // =========================
+
+    private String requestHash(CreateOrderRequest req) {
+        try {
+            byte[] json = objectMapper.writeValueAsBytes(req);
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(json));
+        } catch (JsonProcessingException | NoSuchAlgorithmException e) {
+            throw new IllegalStateException("Cannot fingerprint order request", e);
+        }
+    }
+}
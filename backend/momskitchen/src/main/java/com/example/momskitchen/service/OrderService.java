@@ -1,84 +1,128 @@
 package com.example.momskitchen.service;
 
-import com.example.momskitchen.dto.CartAddonDTO;
-import com.example.momskitchen.dto.CartItemDTO;
 import com.example.momskitchen.dto.CreateOrderRequest;
-import com.example.momskitchen.model.Addon;
-import com.example.momskitchen.model.MenuItem;
+import com.example.momskitchen.dto.OrderListItemDTO;
 import com.example.momskitchen.model.Order;
 import com.example.momskitchen.model.OrderItem;
 import com.example.momskitchen.model.OrderItemAddon;
-import com.example.momskitchen.model.PickupSlot;
 import com.example.momskitchen.repository.AddonRepository;
 import com.example.momskitchen.repository.MenuItemRepository;
+import com.example.momskitchen.repository.OrderItemRepository;
 import com.example.momskitchen.repository.OrderRepository;
 import com.example.momskitchen.repository.PickupSlotRepository;
+import com.example.momskitchen.service.CatalogSnapshot.AddonView;
+import com.example.momskitchen.service.CatalogSnapshot.ItemView;
+import com.example.momskitchen.service.PickupService.PickupChoice;
+import com.example.momskitchen.service.PricingService.PricedCart;
+import com.example.momskitchen.service.PricingService.PricedLine;
 import com.example.momskitchen.util.OrderCodeGenerator;
+import io.micrometer.core.annotation.Timed;
 import jakarta.transaction.Transactional;
 import org.springframework.stereotype.Service;
 
 import java.math.BigDecimal;
-import java.time.*;
-import java.time.temporal.TemporalAdjusters;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
 import java.util.*;
 
 /**
  * Handles creating and fetching Orders.
  * Notes:
  *  - Snapshots item/add-on names & prices to keep history stable even if catalog changes later.
- *  - Uses repositories to fetch MenuItem/Addons and validate references.
- *  - Defensive pickup validation (controller already calls PickupService; we double-check here).
+ *  - Lines and totals come from one PricingService.price() pass over the catalog snapshot;
+ *    entity links are set via id references (getReferenceById), so no catalog rows are loaded.
+ *  - Pickup is validated once here (the controller does not repeat it), and the order reserves
+ *    capacity in its pickup slot (SlotCapacityLedger; released again if the transaction rolls back).
+ *  - New orders and status/payment changes go to OrderEventBus once committed (admin live stream).
+ *  - Confirmed orders are on the KitchenQueue; the prep estimate is snapshotted at checkout.
+ *  - Placed orders and payment changes feed the sales rollups (SalesRollupLedger) after commit.
+ *  - An Idempotency-Key, when given, is stored in the order's transaction (OrderIdempotencyService).
  */
 @Service
 public class OrderService {
 
+    private static final String CANCELED = "CANCELED";
+
     private final OrderRepository orderRepository;
+    private final OrderItemRepository orderItemRepository;
     private final MenuItemRepository menuItemRepository;
     private final AddonRepository addonRepository;
     private final PickupSlotRepository pickupSlotRepository;
     private final PricingService pricingService;
     private final PickupService pickupService;
+    private final SlotCapacityLedger capacityLedger;
+    private final OrderCodeGenerator orderCodeGenerator;
+    private final OrderEventBus orderEvents;
+    private final KitchenQueue kitchenQueue;
+    private final SalesRollupLedger rollupLedger;
+    private final OrderIdempotencyService idempotency;
 
     public OrderService(OrderRepository orderRepository,
+                        OrderItemRepository orderItemRepository,
                         MenuItemRepository menuItemRepository,
                         AddonRepository addonRepository,
                         PickupSlotRepository pickupSlotRepository,
                         PricingService pricingService,
-                        PickupService pickupService) {
+                        PickupService pickupService,
+                        SlotCapacityLedger capacityLedger,
+                        OrderCodeGenerator orderCodeGenerator,
+                        OrderEventBus orderEvents,
+                        KitchenQueue kitchenQueue,
+                        SalesRollupLedger rollupLedger,
+                        OrderIdempotencyService idempotency) {
         this.orderRepository = orderRepository;
+        this.orderItemRepository = orderItemRepository;
         this.menuItemRepository = menuItemRepository;
         this.addonRepository = addonRepository;
         this.pickupSlotRepository = pickupSlotRepository;
         this.pricingService = pricingService;
         this.pickupService = pickupService;
+        this.capacityLedger = capacityLedger;
+        this.orderCodeGenerator = orderCodeGenerator;
+        this.orderEvents = orderEvents;
+        this.kitchenQueue = kitchenQueue;
+        this.rollupLedger = rollupLedger;
+        this.idempotency = idempotency;
     }
 
     /**
      * Create and persist an Order from a cart request.
      * Steps:
-     *  1) Validate pickup (day/slot/dateTime).
-     *  2) Build Order + OrderItems + OrderItemAddons (snapshot names/prices).
-     *  3) Compute totals via PricingService.
-     *  4) Assign human-friendly order code and save.
+     *  1) Validate pickup (day/slot/dateTime) and resolve the effective slot and pickup time.
+     *  2) Price the cart once via PricingService (resolves all items/add-ons in one batch).
+     *  3) Build Order + OrderItems + OrderItemAddons from the priced lines (snapshot names/prices).
+     *  4) Reserve slot capacity, assign human-friendly order code (unique by construction,
+     *     no DB probe) and save.
      */
     @Transactional
+    @Timed("momskitchen.orders.create")
     public Order createOrder(CreateOrderRequest req) {
-        // ---- 1) Validate pickup defensively (controller already does this)
-        pickupService.validatePickup(req.getPickupDay(), req.getPickupSlotId(), req.getPickupAt());
-
-        // Optional: resolve the selected pickup slot (nullable)
-        PickupSlot slot = null;
-        if (req.getPickupSlotId() != null) {
-            slot = pickupSlotRepository.findById(req.getPickupSlotId())
-                    .orElse(null); // keep null if not found; validation above should have caught errors
-        }
+        return createOrder(req, null);
+    }
+
+    /**
+     * createOrder, also storing the client's idempotency key (nullable) with the order.
+     * A key already stored fails with DataIntegrityViolationException and nothing is created.
+     */
+    @Transactional
+    @Timed("momskitchen.orders.create")
+    public Order createOrder(CreateOrderRequest req, OrderIdempotencyService.Key idempotencyKey) {
+        // ---- 1) Validate pickup (the only place it is checked for order creation)
+        int itemCount = req.totalQuantity();
+        PickupChoice pickup = pickupService.validatePickup(req.getPickupDay(), req.getPickupSlotId(), req.getPickupAt(),
+                itemCount);
 
-        // ---- 2) Build the Order skeleton
+        // ---- 2) Price the cart; lines and totals come from the same resolved catalog data
+        PricedCart cart = pricingService.price(req);
+
+        // ---- 3) Build the Order skeleton
         Order order = new Order();
         order.setStatus("PENDING");
         order.setPaymentStatus("UNPAID");
-        order.setPickupAt(resolvePickupAt(req));
-        order.setPickupSlot(slot);
+        // set here rather than by the column default, so rollups see the same day a rebuild will
+        order.setCreatedAt(LocalDateTime.now(ZoneOffset.UTC));
+        order.setPickupAt(pickup.pickupAt());
+        order.setPickupSlot(pickupSlotRepository.getReferenceById(pickup.slot().id()));
         order.setCustomerName(req.getCustomerName());
         order.setCustomerEmail(req.getCustomerEmail());
         // normalize phone before persisting so lookups match stored format
@@ -86,35 +130,96 @@ public class OrderService {
         // notes optional; request may not supply it
 
         // Build line items with snapshots
-        List<OrderItem> orderItems = new ArrayList<>();
-        if (req.getItems() != null) {
-            for (CartItemDTO cartLine : req.getItems()) {
-                OrderItem oi = buildOrderItem(cartLine);
-                oi.setOrder(order);           // back-reference
-                orderItems.add(oi);
-            }
+        List<OrderItem> orderItems = new ArrayList<>(cart.lines().size());
+        for (PricedLine line : cart.lines()) {
+            OrderItem oi = buildOrderItem(line);
+            oi.setOrder(order);           // back-reference
+            orderItems.add(oi);
         }
         order.setItems(orderItems);
 
-        // ---- 3) Compute totals with PricingService (keeps one source of truth)
-        var quote = pricingService.quote(req);
-        order.setSubtotal(quote.getSubtotal());
-        order.setTaxAmount(quote.getTax());
-        order.setTotalAmount(quote.getTotal());
+        order.setSubtotal(cart.subtotal().toBigDecimal());
+        order.setTaxAmount(cart.tax().toBigDecimal());
+        order.setTotalAmount(cart.total().toBigDecimal());
+        order.setPrepMinutes(kitchenQueue.estimatePrepMinutes(cart.lines()));
 
-        // ---- 4) Assign human-friendly order code & persist
-        order.setOrderCode(generateUniqueOrderCode());
-        return orderRepository.save(order);
+        // ---- 4) Reserve capacity (CAS on the in-memory ledger; throws if the slot filled up meanwhile),
+        //         assign human-friendly order code & persist
+        capacityLedger.reserve(pickup.slot(), pickup.pickupAt().toLocalDate(), itemCount);
+        order.setOrderCode(orderCodeGenerator.generate());
+        Order saved = orderRepository.save(order);
+        if (idempotencyKey != null) idempotency.record(idempotencyKey, saved.getId());
+        rollupLedger.orderPlaced(saved);
+        orderEvents.publishAfterCommit(OrderEventBus.ORDER_CREATED, toListItem(saved));
+        return saved;
     }
 
     /**
      * Lookup an order by orderCode + phone (for customer self-serve).
+     * Lines and their add-ons are loaded (2 queries), ready for mapping outside the transaction.
      */
+    @Transactional
     public Optional<Order> findByCodeAndPhone(String code, String phone) {
         if (code == null || phone == null) return Optional.empty();
         String normalizedCode = code.trim();
         String normalizedPhone = normalizePhone(phone);
-        return orderRepository.findByOrderCodeAndCustomerPhone(normalizedCode, normalizedPhone);
+        return withLineAddons(orderRepository.findByOrderCodeAndCustomerPhone(normalizedCode, normalizedPhone));
+    }
+
+    /**
+     * Order by id with lines and their add-ons loaded (2 queries), for the admin detail view.
+     */
+    @Transactional
+    public Optional<Order> findDetailedById(Long id) {
+        return withLineAddons(orderRepository.findWithItemsById(id));
+    }
+
+    /**
+     * Change an order's status. Canceling gives its slot capacity back; un-canceling takes it
+     * again (an admin decision, so limits are not checked). Confirming puts the order on the
+     * kitchen queue; any other status takes it off.
+     */
+    @Transactional
+    public Optional<Order> updateStatus(Long id, String newStatus) {
+        Optional<Order> opt = orderRepository.findById(id);
+        opt.ifPresent(order -> {
+            boolean wasCanceled = CANCELED.equals(order.getStatus());
+            boolean canceled = CANCELED.equals(newStatus);
+            boolean wasQueued = KitchenQueue.QUEUED_STATUS.equals(order.getStatus());
+            boolean queued = KitchenQueue.QUEUED_STATUS.equals(newStatus);
+            order.setStatus(newStatus);
+            if (queued && !wasQueued) {
+                // lines with add-ons in one query; the ticket is built now, queued after commit
+                List<OrderItem> lines = orderItemRepository.fetchWithAddonsByOrderId(id);
+                kitchenQueue.putAfterCommit(kitchenQueue.ticket(order, lines));
+            } else if (wasQueued && !queued) {
+                kitchenQueue.removeAfterCommit(id);
+            }
+            if (wasCanceled != canceled && order.getPickupSlot() != null && order.getPickupAt() != null) {
+                int items = order.getItems().stream().mapToInt(OrderItem::getQuantity).sum();
+                int sign = canceled ? -1 : 1;
+                capacityLedger.adjust(order.getPickupSlot().getId(), order.getPickupAt().toLocalDate(),
+                        sign, sign * items);
+            }
+            orderEvents.publishAfterCommit(OrderEventBus.ORDER_STATUS, toListItem(order));
+        });
+        return opt;
+    }
+
+    /** Change an order's payment status. Becoming or leaving PAID/REFUNDED updates the sales rollups. */
+    @Transactional
+    public Optional<Order> updatePayment(Long id, String newPaymentStatus) {
+        Optional<Order> opt = orderRepository.findById(id);
+        opt.ifPresent(order -> {
+            String oldPaymentStatus = order.getPaymentStatus();
+            order.setPaymentStatus(newPaymentStatus);
+            if (SalesRollupLedger.affectsRollups(oldPaymentStatus, newPaymentStatus)) {
+                List<OrderItem> lines = orderItemRepository.fetchWithAddonsByOrderId(id);
+                rollupLedger.paymentChanged(order, lines, oldPaymentStatus);
+            }
+            orderEvents.publishAfterCommit(OrderEventBus.ORDER_PAYMENT, toListItem(order));
+        });
+        return opt;
     }
 
     // =========================
@@ -122,65 +227,48 @@ public class OrderService {
     // =========================
 
     /**
-     * Build an OrderItem from a cart line, snapshotting name & price and mapping addons.
+     * Fill the add-on collections of an order's (already fetched) lines with one query.
+     * Must run inside the transaction that loaded the order.
      */
-    private OrderItem buildOrderItem(CartItemDTO cartLine) {
-        if (cartLine == null || cartLine.getItemId() == null) {
-            throw new IllegalArgumentException("Invalid cart line: missing itemId");
-        }
-
-        MenuItem item = menuItemRepository.findById(cartLine.getItemId())
-                .orElseThrow(() -> new IllegalArgumentException("Menu item not found: " + cartLine.getItemId()));
+    private Optional<Order> withLineAddons(Optional<Order> order) {
+        order.filter(o -> !o.getItems().isEmpty())
+             .ifPresent(o -> orderItemRepository.fetchWithAddonsByOrderId(o.getId()));
+        return order;
+    }
 
-        int qty = (cartLine.getQuantity() != null && cartLine.getQuantity() > 0) ? cartLine.getQuantity() : 1;
+    /**
+     * Build an OrderItem from a priced line, snapshotting names & prices.
+     * Entity links are id references only; nothing is loaded.
+     */
+    private OrderItem buildOrderItem(PricedLine line) {
+        ItemView item = line.item();
 
         OrderItem oi = new OrderItem();
-        oi.setMenuItem(item);                          // keep reference (nullable in schema, but we set it)
-        oi.setItemName(item.getName());                // snapshot
-        oi.setUnitPrice(item.getPrice());              // snapshot
-        oi.setQuantity(qty);
-
-        // Add-ons: map ids to entities, snapshot name + priceDelta
-        List<OrderItemAddon> chosen = new ArrayList<>();
-        if (cartLine.getAddons() != null && !cartLine.getAddons().isEmpty()) {
-            // create a Set of allowed IDs for validation (optional, since your PricingService likely validates)
-            Set<Long> allowed = new HashSet<>();
-            item.getAllowedAddons().forEach(a -> allowed.add(a.getId()));
-
-            for (CartAddonDTO a : cartLine.getAddons()) {
-                if (a == null || a.getAddonId() == null) continue;
-                Long addonId = a.getAddonId();
-                // Optional validation: ensure addon belongs to allowed set
-                if (!allowed.isEmpty() && !allowed.contains(addonId)) {
-                    throw new IllegalArgumentException("Addon " + addonId + " is not allowed for item " + item.getId());
-                }
-
-                Addon addon = addonRepository.findById(addonId)
-                        .orElseThrow(() -> new IllegalArgumentException("Addon not found: " + addonId));
-
-                OrderItemAddon oia = new OrderItemAddon();
-                oia.setOrderItem(oi);
-                oia.setAddon(addon);                   // keep reference
-                oia.setAddonName(addon.getName());     // snapshot
-                oia.setPriceDelta(safe(addon.getPriceDelta())); // snapshot
-                chosen.add(oia);
-            }
+        oi.setMenuItem(menuItemRepository.getReferenceById(item.id())); // keep reference (nullable in schema, but we set it)
+        oi.setItemName(item.name());                   // snapshot
+        oi.setUnitPrice(item.price());                 // snapshot
+        oi.setQuantity(line.quantity());
+        oi.setLineSubtotal(line.lineSubtotal().toBigDecimal()); // same value the order totals were summed from
+
+        List<OrderItemAddon> chosen = new ArrayList<>(line.addons().size());
+        for (AddonView addon : line.addons()) {
+            OrderItemAddon oia = new OrderItemAddon();
+            oia.setOrderItem(oi);
+            oia.setAddon(addonRepository.getReferenceById(addon.id())); // keep reference
+            oia.setAddonName(addon.name());        // snapshot
+            oia.setPriceDelta(safe(addon.priceDelta())); // snapshot
+            chosen.add(oia);
         }
         oi.setAddons(chosen);
-
-        // Calculate line subtotal = unitPrice * qty + sum(addon deltas * qty or per-item?)
-        // For simplicity, treat addon delta as per unit:
-        BigDecimal base = safe(item.getPrice()).multiply(BigDecimal.valueOf(qty));
-        BigDecimal addonSumPerUnit = chosen.stream()
-                .map(OrderItemAddon::getPriceDelta)
-                .map(this::safe)
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
-        BigDecimal addonsTotal = addonSumPerUnit.multiply(BigDecimal.valueOf(qty));
-        oi.setLineSubtotal(base.add(addonsTotal));
-
         return oi;
     }
 
+    /** List row for the event stream */
+    private static OrderListItemDTO toListItem(Order o) {
+        return new OrderListItemDTO(o.getId(), o.getCustomerName(), o.getCustomerPhone(), o.getPickupAt(),
+                o.getStatus(), o.getPaymentStatus(), o.getTotalAmount(), o.getCreatedAt(), o.getOrderCode());
+    }
+
     private String normalizePhone(String raw) {
         if (raw == null) return null;
         // keep only digits; your frontend has phone.ts but we normalize defensively on the backend too
@@ -190,59 +278,4 @@ public class OrderService {
     private BigDecimal safe(BigDecimal v) {
         return v == null ? BigDecimal.ZERO : v;
     }
-
-    private String generateUniqueOrderCode() {
-        // Try a few times to avoid rare collisions
-        for (int i = 0; i < 5; i++) {
-            String code = OrderCodeGenerator.generate();
-            if (!orderRepository.existsByOrderCode(code)) {
-                return code;
-            }
-        }
-        // Extremely unlikely fallback
-        return OrderCodeGenerator.generate() + System.currentTimeMillis() % 1000;
-    }
-
-    /**
-     * Determine a concrete pickup timestamp to persist.
-     *
-     * Rules:
-     * - If the request provides pickupAt, use it as-is.
-     * - Else, if a pickupDay (0..6) is provided, choose the next occurrence of that day.
-     *   Use the earliest active slot's start_time as the time-of-day, falling back to 12:00 if none.
-     * - Else, fall back to now (dev-friendly default).
-     */
-    private LocalDateTime resolvePickupAt(CreateOrderRequest req) {
-        if (req.getPickupAt() != null) return req.getPickupAt();
-
-        Integer day = req.getPickupDay();
-        if (day == null || day < 0 || day > 6) {
-            return LocalDateTime.now();
-        }
-
-        // Prefer earliest active slot start time
-        var slots = pickupSlotRepository.findByDayOfWeekAndActiveTrueOrderByStartTimeAsc(day);
-        LocalTime time = slots != null && !slots.isEmpty() ? slots.get(0).getStartTime() : LocalTime.NOON;
-
-        DayOfWeek targetDow = switch (day) {
-            case 0 -> DayOfWeek.SUNDAY;
-            case 1 -> DayOfWeek.MONDAY;
-            case 2 -> DayOfWeek.TUESDAY;
-            case 3 -> DayOfWeek.WEDNESDAY;
-            case 4 -> DayOfWeek.THURSDAY;
-            case 5 -> DayOfWeek.FRIDAY;
-            case 6 -> DayOfWeek.SATURDAY;
-            default -> DayOfWeek.FRIDAY; // unreachable due to bounds check
-        };
-
-        LocalDate today = LocalDate.now();
-        LocalDate candidateDate = today.with(TemporalAdjusters.nextOrSame(targetDow));
-        LocalDateTime candidate = LocalDateTime.of(candidateDate, time);
-        if (candidate.isBefore(LocalDateTime.now())) {
-            // If the time today has already passed, use next week
-            candidateDate = today.with(TemporalAdjusters.next(targetDow));
-            candidate = LocalDateTime.of(candidateDate, time);
-        }
-        return candidate;
-    }
 }
@@ -0,0 +1,171 @@
+package com.example.momskitchen.service;
+
+import com.example.momskitchen.model.PickupSlot;
+
+import java.time.LocalTime;
+import java.util.*;
+
+/**
+ * Immutable weekly view of the pickup slots, rebuilt by PickupService when slots change.
+ *
+ * Per day (0=Sun ... 6=Sat) the active slots are kept as parallel arrays of [start, end)
+ * minute-of-day intervals sorted by start, plus a running max of the ends. That makes
+ * "first slot containing minute m" two binary searches (slots may overlap), with no
+ * LocalTime or zone math per request. firstSlot[day] is the slot a day-only pickup
+ * resolves to (the earliest one).
+ */
+public final class PickupCalendar {
+
+    private static final SlotView[] NO_SLOTS = new SlotView[0];
+
+    private final long version;
+    private final Map<Long, SlotView> byId;        // all slots, active or not
+    private final SlotView[][] slots = new SlotView[7][];
+    private final int[][] starts = new int[7][];
+    private final int[][] maxEnds = new int[7][];  // maxEnds[d][i] = max(end of slots[d][0..i])
+    private final SlotView[] firstSlot = new SlotView[7];
+
+    private PickupCalendar(long version, Map<Long, SlotView> byId, List<List<SlotView>> activeByDay) {
+        this.version = version;
+        this.byId = byId;
+        for (int d = 0; d < 7; d++) {
+            SlotView[] day = activeByDay.get(d).toArray(NO_SLOTS);
+            int[] s = new int[day.length];
+            int[] e = new int[day.length];
+            int max = Integer.MIN_VALUE;
+            for (int i = 0; i < day.length; i++) {
+                s[i] = day[i].startMinute();
+                max = Math.max(max, day[i].endMinute());
+                e[i] = max;
+            }
+            slots[d] = day;
+            starts[d] = s;
+            maxEnds[d] = e;
+            firstSlot[d] = day.length > 0 ? day[0] : null;
+        }
+    }
+
+    public static PickupCalendar of(long version, Collection<PickupSlot> allSlots) {
+        Map<Long, SlotView> byId = new HashMap<>();
+        List<List<SlotView>> activeByDay = new ArrayList<>(7);
+        for (int d = 0; d < 7; d++) activeByDay.add(new ArrayList<>());
+
+        for (PickupSlot slot : allSlots) {
+            SlotView view = SlotView.from(slot);
+            byId.put(view.id(), view);
+            if (view.active() && view.dayOfWeek() >= 0 && view.dayOfWeek() <= 6) {
+                activeByDay.get(view.dayOfWeek()).add(view);
+            }
+        }
+        Comparator<SlotView> order = Comparator.comparingInt(SlotView::startMinute)
+                .thenComparingInt(SlotView::endMinute)
+                .thenComparing(SlotView::id);
+        for (List<SlotView> day : activeByDay) day.sort(order);
+        return new PickupCalendar(version, Map.copyOf(byId), activeByDay);
+    }
+
+    public static PickupCalendar empty() {
+        return of(0L, List.of());
+    }
+
+    public long getVersion() { return version; }
+
+    /** Any slot by id (inactive ones included, so callers can tell "inactive" from "not found") */
+    public Optional<SlotView> slot(Long id) {
+        return Optional.ofNullable(byId.get(id));
+    }
+
+    /** Active slots of a day, sorted by start time */
+    public List<SlotView> slotsOn(int day) {
+        return List.of(slots[day]);
+    }
+
+    /** Active slots of all days, sorted by day then start time */
+    public List<SlotView> activeSlots() {
+        List<SlotView> out = new ArrayList<>();
+        for (SlotView[] day : slots) out.addAll(Arrays.asList(day));
+        return out;
+    }
+
+    /** Earliest active slot of a day, or null if the day has none */
+    public SlotView firstSlot(int day) {
+        return firstSlot[day];
+    }
+
+    public boolean hasSlots(int day) {
+        return firstSlot[day] != null;
+    }
+
+    /** First active slot (by start) of the day whose [start, end) contains the minute, or null. O(log n). */
+    public SlotView slotAt(int day, int minuteOfDay) {
+        int[] s = starts[day];
+        // slots that start at or before the minute: indexes [0, upTo)
+        int upTo = upperBound(s, minuteOfDay);
+        if (upTo == 0 || maxEnds[day][upTo - 1] <= minuteOfDay) return null;
+        // the first index whose running max end passes the minute is the first slot containing it
+        int lo = 0, hi = upTo - 1;
+        int[] e = maxEnds[day];
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (e[mid] > minuteOfDay) hi = mid; else lo = mid + 1;
+        }
+        return slots[day][lo];
+    }
+
+    public int activeSlotCount() {
+        int n = 0;
+        for (SlotView[] day : slots) n += day.length;
+        return n;
+    }
+
+    // =========================
+    // Helpers
+    // =========================
+
+    /** Number of values <= key in a sorted array */
+    private static int upperBound(int[] a, int key) {
+        int lo = 0, hi = a.length;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (a[mid] <= key) lo = mid + 1; else hi = mid;
+        }
+        return lo;
+    }
+
+    static int minuteOfDay(LocalTime t) {
+        return t.getHour() * 60 + t.getMinute();
+    }
+
+    // =========================
+    // Views
+    // =========================
+
+    /**
+     * Read-only copy of a PickupSlot. startMinute/endMinute are minutes since midnight;
+     * an end of 00:00 means midnight at the end of the day (1440).
+     */
+    public record SlotView(
+            Long id,
+            int dayOfWeek,
+            LocalTime startTime,
+            LocalTime endTime,
+            boolean active,
+            Integer maxOrders,
+            Integer maxItems,
+            int startMinute,
+            int endMinute
+    ) {
+        public boolean contains(int minuteOfDay) {
+            return minuteOfDay >= startMinute && minuteOfDay < endMinute;
+        }
+
+        public static SlotView from(PickupSlot s) {
+            int start = minuteOfDay(s.getStartTime());
+            int end = minuteOfDay(s.getEndTime());
+            if (end == 0) end = 24 * 60;
+            return new SlotView(s.getId(), s.getDayOfWeek() != null ? s.getDayOfWeek() : -1,
+                    s.getStartTime(), s.getEndTime(), Boolean.TRUE.equals(s.getActive()),
+                    s.getMaxOrders(), s.getMaxItems(), start, end);
+        }
+    }
+}
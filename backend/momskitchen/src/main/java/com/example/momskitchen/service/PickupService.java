@@ -1,14 +1,29 @@
 package com.example.momskitchen.service;
 
-import com.example.momskitchen.model.PickupSlot;
 import com.example.momskitchen.repository.PickupSlotRepository;
+import com.example.momskitchen.service.PickupCalendar.SlotView;
+import com.example.momskitchen.service.SlotCapacityLedger.Usage;
+import io.micrometer.core.annotation.Timed;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.time.*;
+import java.time.temporal.TemporalAdjusters;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.ReentrantLock;
 
 /**
  * Validates customer pickup selections against configured pickup slots.
@@ -18,14 +33,33 @@ import java.util.Optional;
  *     requireFutureMinutes: 30   # pickup time must be at least N minutes in the future
  *     strictDayMatch: true       # if true, pickupAt's day-of-week must equal selected pickupDay
  *     zoneId: UTC                # interpret pickupAt in this zone when computing day/time
+ *     calendarRefreshMs: 300000  # reload slots (edits made directly in the DB) and preload capacity
  *
  * Conventions:
  *   - dayOfWeek: 0=Sun ... 6=Sat (matches DB and your entity)
+ *   - capacity: PickupSlot.maxOrders/maxItems per pickup date, tracked by SlotCapacityLedger.
+ *     validatePickup only checks for room; OrderService.createOrder reserves it.
+ *   - slots are read from an in-memory PickupCalendar, so validation runs no queries. It is
+ *     reloaded after committed PickupSlot changes (PickupSlotChangeListener) and periodically.
  */
 @Service
 public class PickupService {
 
+    private static final Logger log = LoggerFactory.getLogger(PickupService.class);
+
+    /** Days of capacity counters kept loaded ahead (day-only pickups resolve within a week) */
+    private static final int PRELOAD_DAYS = 14;
+
     private final PickupSlotRepository pickupSlotRepository;
+    private final SlotCapacityLedger capacityLedger;
+    private final TransactionTemplate readTx;
+
+    private final AtomicReference<PickupCalendar> calendar = new AtomicReference<>();
+    private final AtomicLong versions = new AtomicLong();
+    private volatile boolean stale;
+
+    /** Serializes reloads; readers never take it. */
+    private final ReentrantLock reloadLock = new ReentrantLock();
 
     /** pickup must be at least this many minutes in the future (0 = allow now) */
     private final long requireFutureMinutes;
@@ -37,10 +71,17 @@ public class PickupService {
     private final ZoneId zoneId;
 
     public PickupService(PickupSlotRepository pickupSlotRepository,
+                         SlotCapacityLedger capacityLedger,
+                         PlatformTransactionManager transactionManager,
                          @Value("${pickup.requireFutureMinutes:30}") long requireFutureMinutes,
                          @Value("${pickup.strictDayMatch:true}") boolean strictDayMatch,
                          @Value("${pickup.zoneId:UTC}") String zoneIdStr) {
         this.pickupSlotRepository = pickupSlotRepository;
+        this.capacityLedger = capacityLedger;
+        this.readTx = new TransactionTemplate(transactionManager);
+        this.readTx.setReadOnly(true);
+        // reloads may run from an after-commit callback; never join the finished transaction
+        this.readTx.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
         this.requireFutureMinutes = Math.max(0, requireFutureMinutes);
         this.strictDayMatch = strictDayMatch;
         this.zoneId = ZoneId.of(Objects.requireNonNullElse(zoneIdStr, "UTC"));
@@ -52,16 +93,22 @@ public class PickupService {
      * @param pickupDay     0=Sun ... 6=Sat (nullable if slotId or pickupAt is provided)
      * @param pickupSlotId  optional chosen slot id (should be active)
      * @param pickupAt      chosen local date-time (nullable to allow "slot only" selection)
+     * @param itemCount     total item quantity of the cart (checked against the slot's max items)
+     *
+     * @return the effective slot and pickup time (see resolve), after checking the slot has room
      *
      * Throws IllegalArgumentException with a clear message on validation failure.
      */
-    public void validatePickup(Integer pickupDay, Long pickupSlotId, LocalDateTime pickupAt) {
-        // 1) Load and validate the chosen slot (if any)
-        PickupSlot chosenSlot = null;
+    @Timed("momskitchen.pickup.validate")
+    public PickupChoice validatePickup(Integer pickupDay, Long pickupSlotId, LocalDateTime pickupAt, int itemCount) {
+        PickupCalendar cal = calendar();
+
+        // 1) Look up and validate the chosen slot (if any)
+        SlotView chosenSlot = null;
         if (pickupSlotId != null) {
-            chosenSlot = pickupSlotRepository.findById(pickupSlotId)
+            chosenSlot = cal.slot(pickupSlotId)
                     .orElseThrow(() -> new IllegalArgumentException("Pickup slot not found: " + pickupSlotId));
-            if (!Boolean.TRUE.equals(chosenSlot.getActive())) {
+            if (!chosenSlot.active()) {
                 throw new IllegalArgumentException("Pickup slot is not active");
             }
         }
@@ -74,30 +121,27 @@ public class PickupService {
             }
         }
 
-        // 3) Determine effective day-of-week (0..6)
-        Integer effectiveDay = pickupDay;
-        if (effectiveDay == null && pickupAt != null) {
-            effectiveDay = toZeroBasedDay(pickupAt.atZone(zoneId).getDayOfWeek());
-        }
+        // 3) Determine effective day-of-week (0..6); pickupAt is a local time in the pickup zone
+        Integer actualDay = pickupAt != null ? toZeroBasedDay(pickupAt.getDayOfWeek()) : null;
+        Integer effectiveDay = pickupDay != null ? pickupDay : actualDay;
         if (effectiveDay != null && (effectiveDay < 0 || effectiveDay > 6)) {
             throw new IllegalArgumentException("pickupDay must be between 0 (Sun) and 6 (Sat)");
         }
 
         // 4) If strict day match, ensure pickupAt (if provided) matches pickupDay
-        if (strictDayMatch && pickupAt != null && effectiveDay != null) {
-            int actual = toZeroBasedDay(pickupAt.atZone(zoneId).getDayOfWeek());
-            if (actual != effectiveDay) {
-                throw new IllegalArgumentException("Pickup date does not match selected pickup day");
-            }
+        if (strictDayMatch && actualDay != null && effectiveDay != null && !actualDay.equals(effectiveDay)) {
+            throw new IllegalArgumentException("Pickup date does not match selected pickup day");
         }
 
         // 5) Validate against slots
+        int minute = pickupAt != null ? PickupCalendar.minuteOfDay(pickupAt.toLocalTime()) : -1;
+        SlotView slotAtTime = null;
         if (chosenSlot != null) {
             // slot provided: optionally ensure day match and always ensure time window
-            if (strictDayMatch && effectiveDay != null && !effectiveDay.equals(chosenSlot.getDayOfWeek())) {
+            if (strictDayMatch && effectiveDay != null && effectiveDay != chosenSlot.dayOfWeek()) {
                 throw new IllegalArgumentException("Chosen slot is not available on the selected day");
             }
-            if (pickupAt != null && !isWithinSlot(chosenSlot, pickupAt)) {
+            if (pickupAt != null && !isWithinSlot(chosenSlot, actualDay, minute)) {
                 throw new IllegalArgumentException("Pickup time is outside the chosen slot window");
             }
         } else {
@@ -106,51 +150,177 @@ public class PickupService {
                 // Allow a minimal flow where only pickupAt is provided; day derived above already
                 throw new IllegalArgumentException("Either pickupDay or pickupSlotId must be provided");
             }
-            var activeSlots = pickupSlotRepository.findByDayOfWeekAndActiveTrueOrderByStartTimeAsc(effectiveDay);
-            if (activeSlots.isEmpty()) {
+            if (!cal.hasSlots(effectiveDay)) {
                 throw new IllegalArgumentException("No active pickup slots for the selected day");
             }
             if (pickupAt != null) {
-                boolean fitsAny = activeSlots.stream().anyMatch(s -> isWithinSlot(s, pickupAt));
-                if (!fitsAny) {
+                // When strictDayMatch is disabled (dev friendliness), only the time of day has to fit
+                slotAtTime = cal.slotAt(effectiveDay, minute);
+                if (slotAtTime == null) {
                     throw new IllegalArgumentException("Pickup time does not fit any active slot on the selected day");
                 }
             }
         }
+
+        // 6) Resolve the effective slot/time and check it has room
+        PickupChoice choice;
+        if (pickupAt != null) {
+            choice = new PickupChoice(chosenSlot != null ? chosenSlot : slotAtTime, pickupAt);
+        } else {
+            SlotView slot = chosenSlot != null ? chosenSlot : cal.firstSlot(effectiveDay);
+            choice = new PickupChoice(slot, nextOccurrence(slot.dayOfWeek(), slot.startTime()));
+        }
+        if (!capacityLedger.hasRoom(choice.slot(), choice.pickupAt().toLocalDate(), itemCount)) {
+            throw new IllegalArgumentException("Pickup slot is full on " + choice.pickupAt().toLocalDate()
+                    + "; please choose another time");
+        }
+        return choice;
+    }
+
+    /**
+     * Validated pickup: the slot the order counts against and the concrete time to persist.
+     * - pickupAt given: used as-is; slot = the chosen slot, else the first active slot containing it.
+     * - otherwise: the next occurrence of the slot's day and start (the chosen slot, else the
+     *   day's earliest slot), today if that start is still ahead.
+     */
+    public record PickupChoice(SlotView slot, LocalDateTime pickupAt) {}
+
+    /** Active slots with reserved/remaining capacity for each of their dates in [from, from + days) */
+    public List<SlotAvailability> getAvailability(LocalDate from, int days) {
+        if (days < 1 || days > 31) {
+            throw new IllegalArgumentException("days must be between 1 and 31");
+        }
+        LocalDate to = from.plusDays(days - 1);
+        PickupCalendar cal = calendar();
+        capacityLedger.preload(from, to, cal.activeSlots());
+
+        List<SlotAvailability> out = new ArrayList<>();
+        for (LocalDate date = from; !date.isAfter(to); date = date.plusDays(1)) {
+            for (SlotView slot : cal.slotsOn(toZeroBasedDay(date.getDayOfWeek()))) {
+                out.add(new SlotAvailability(slot, date, capacityLedger.usage(slot, date)));
+            }
+        }
+        return out;
+    }
+
+    public record SlotAvailability(SlotView slot, LocalDate date, Usage usage) {}
+
+    /** Today in the pickup zone (default start of the availability listing) */
+    public LocalDate today() {
+        return LocalDate.now(zoneId);
+    }
+
+    /** Zone pickupAt values are local to */
+    public ZoneId zone() {
+        return zoneId;
+    }
+
+    /** Current time in the pickup zone (the zone pickupAt values are local to) */
+    public LocalDateTime now() {
+        return LocalDateTime.now(zoneId);
     }
 
     /** List all active slots (sorted by day then start time) */
-    public List<PickupSlot> getActiveSlots() {
-        return pickupSlotRepository.findByActiveTrueOrderByDayOfWeekAscStartTimeAsc();
+    public List<SlotView> getActiveSlots() {
+        return calendar().activeSlots();
     }
 
     /** List active slots for a specific day (0..6) */
-    public List<PickupSlot> getActiveSlotsForDay(int dayOfWeek) {
+    public List<SlotView> getActiveSlotsForDay(int dayOfWeek) {
         if (dayOfWeek < 0 || dayOfWeek > 6) {
             throw new IllegalArgumentException("dayOfWeek must be between 0 (Sun) and 6 (Sat)");
         }
-        return pickupSlotRepository.findByDayOfWeekAndActiveTrueOrderByStartTimeAsc(dayOfWeek);
+        return calendar().slotsOn(dayOfWeek);
     }
 
     /** Fetch a single slot */
-    public Optional<PickupSlot> getSlot(Long id) {
-        return pickupSlotRepository.findById(id);
+    public Optional<SlotView> getSlot(Long id) {
+        return calendar().slot(id);
+    }
+
+    // ---------------------------------------------------------
+    // Calendar lifecycle
+    // ---------------------------------------------------------
+
+    /** The current calendar. Loads it on first use if startup loading has not happened yet. */
+    public PickupCalendar calendar() {
+        PickupCalendar c = calendar.get();
+        if (c != null && !stale) return c;
+
+        reloadLock.lock();
+        try {
+            // another caller may have reloaded while we waited
+            c = calendar.get();
+            return (c != null && !stale) ? c : reloadCalendar();
+        } finally {
+            reloadLock.unlock();
+        }
+    }
+
+    /** Rebuild the calendar from the database and publish it. */
+    public PickupCalendar reloadCalendar() {
+        reloadLock.lock();
+        try {
+            stale = false;
+            PickupCalendar next = readTx.execute(status ->
+                    PickupCalendar.of(versions.incrementAndGet(), pickupSlotRepository.findAll()));
+            calendar.set(next);
+            log.info("Pickup calendar v{} loaded: {} active slots", next.getVersion(), next.activeSlotCount());
+            return next;
+        } finally {
+            reloadLock.unlock();
+        }
+    }
+
+    /** Force a reload on the next read. */
+    public void markStale() {
+        stale = true;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadOnStartup() {
+        try {
+            preloadCapacity(reloadCalendar());
+        } catch (RuntimeException ex) {
+            // keep booting; the first read (or the next scheduled reload) retries
+            log.warn("Pickup calendar could not be loaded at startup: {}", ex.getMessage());
+        }
+    }
+
+    @Scheduled(initialDelayString = "${pickup.calendarRefreshMs:300000}", fixedDelayString = "${pickup.calendarRefreshMs:300000}")
+    public void scheduledReload() {
+        try {
+            preloadCapacity(reloadCalendar());
+        } catch (RuntimeException ex) {
+            log.warn("Scheduled pickup calendar reload failed; keeping the current one: {}", ex.getMessage());
+        }
     }
 
     // =========================
     // Helpers
     // =========================
 
-    private boolean isWithinSlot(PickupSlot slot, LocalDateTime pickupAt) {
-        // Interpret pickupAt in the configured zone
-        var zdt = pickupAt.atZone(zoneId);
-        int actualDay = toZeroBasedDay(zdt.getDayOfWeek());
-        // When strictDayMatch is disabled (dev friendliness), ignore day-of-week mismatches
-        if (strictDayMatch && actualDay != slot.getDayOfWeek()) return false;
+    /** Load capacity counters for the upcoming weeks, so validation and checkout run no queries. */
+    private void preloadCapacity(PickupCalendar cal) {
+        LocalDate today = today();
+        capacityLedger.preload(today, today.plusDays(PRELOAD_DAYS - 1), cal.activeSlots());
+    }
+
+    /** Next date-time on the given day (0..6) at the given time, today if still ahead */
+    private LocalDateTime nextOccurrence(int day, LocalTime time) {
+        LocalDateTime now = LocalDateTime.now(zoneId);
+        LocalDate date = now.toLocalDate().with(TemporalAdjusters.nextOrSame(toDayOfWeek(day)));
+        LocalDateTime candidate = LocalDateTime.of(date, time);
+        // if the time today has already passed, use next week
+        return candidate.isBefore(now) ? candidate.plusWeeks(1) : candidate;
+    }
 
-        LocalTime t = zdt.toLocalTime();
-        // inclusive start, exclusive end is a common choice; adjust if you want inclusive end
-        return !t.isBefore(slot.getStartTime()) && t.isBefore(slot.getEndTime());
+    // package-private for PickupValidationBenchmark
+    boolean isWithinSlot(SlotView slot, int actualDay, int minuteOfDay) {
+        // When strictDayMatch is disabled (dev friendliness), ignore day-of-week mismatches
+        if (strictDayMatch && actualDay != slot.dayOfWeek()) return false;
+        // inclusive start, exclusive end
+        return slot.contains(minuteOfDay);
     }
 
     private int toZeroBasedDay(DayOfWeek dow) {
@@ -165,4 +335,9 @@ public class PickupService {
             case SATURDAY -> 6;
         };
     }
+
+    private DayOfWeek toDayOfWeek(int zeroBasedDay) {
+        // 0(Sun)..6(Sat) → Java DayOfWeek
+        return zeroBasedDay == 0 ? DayOfWeek.SUNDAY : DayOfWeek.of(zeroBasedDay);
+    }
 }
@@ -0,0 +1,71 @@
+package com.example.momskitchen.service;
+
+import com.example.momskitchen.model.PickupSlot;
+import com.example.momskitchen.util.AfterCommit;
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.*;
+import org.hibernate.persister.entity.EntityPersister;
+import org.springframework.stereotype.Component;
+
+/**
+ * Reloads the PickupService calendar once a transaction that changed PickupSlot rows commits
+ * (one reload per transaction; none on rollback). Same mechanism as CatalogChangeListener;
+ * changes made outside JPA are picked up by the periodic reload.
+ */
+@Component
+public class PickupSlotChangeListener implements PostInsertEventListener,
+        PostUpdateEventListener, PostDeleteEventListener {
+
+    private final EntityManagerFactory entityManagerFactory;
+    private final PickupService pickupService;
+
+    public PickupSlotChangeListener(EntityManagerFactory entityManagerFactory, PickupService pickupService) {
+        this.entityManagerFactory = entityManagerFactory;
+        this.pickupService = pickupService;
+    }
+
+    @PostConstruct
+    void register() {
+        EventListenerRegistry registry = entityManagerFactory.unwrap(SessionFactoryImplementor.class)
+                .getServiceRegistry()
+                .getService(EventListenerRegistry.class);
+        registry.appendListeners(EventType.POST_INSERT, this);
+        registry.appendListeners(EventType.POST_UPDATE, this);
+        registry.appendListeners(EventType.POST_DELETE, this);
+    }
+
+    @Override
+    public void onPostInsert(PostInsertEvent event) {
+        changed(event.getEntity());
+    }
+
+    @Override
+    public void onPostUpdate(PostUpdateEvent event) {
+        changed(event.getEntity());
+    }
+
+    @Override
+    public void onPostDelete(PostDeleteEvent event) {
+        changed(event.getEntity());
+    }
+
+    @Override
+    public boolean requiresPostCommitHandling(EntityPersister persister) {
+        return false;
+    }
+
+    private void changed(Object entity) {
+        if (!(entity instanceof PickupSlot)) return;
+
+        // one reload per transaction, however many slots it touched
+        Object reload = AfterCommit.pending(PickupSlotChangeListener.class, () -> Boolean.TRUE,
+                ignored -> pickupService.reloadCalendar());
+        if (reload == null) {
+            // no Spring transaction to hook into; reload lazily on next read
+            pickupService.markStale();
+        }
+    }
+}
@@ -4,17 +4,21 @@ import com.example.momskitchen.dto.CartAddonDTO;
 import com.example.momskitchen.dto.CartItemDTO;
 import com.example.momskitchen.dto.CreateOrderRequest;
 import com.example.momskitchen.dto.QuoteResponse;
-import com.example.momskitchen.model.Addon;
-import com.example.momskitchen.model.MenuItem;
-import com.example.momskitchen.repository.AddonRepository;
-import com.example.momskitchen.repository.MenuItemRepository;
+import com.example.momskitchen.service.CatalogService.CatalogLookup;
+import com.example.momskitchen.service.CatalogSnapshot.AddonView;
+import com.example.momskitchen.service.CatalogSnapshot.ItemView;
+import com.example.momskitchen.util.BoundedLruCache;
+import com.example.momskitchen.util.Money;
+import io.micrometer.core.annotation.Timed;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
 import java.math.BigDecimal;
-import java.math.RoundingMode;
-import java.util.HashSet;
-import java.util.Set;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * Computes pricing for a cart request.
@@ -22,13 +26,25 @@ import java.util.Set;
  * Rules:
  *  - Line subtotal = (menu item base price + sum(selected addon priceDelta)) * quantity
  *  - Subtotal = sum(line subtotals)
- *  - Tax = subtotal * taxRate
+ *  - Tax = subtotal * taxRate, rounded HALF_UP to cents
  *  - Total = subtotal + tax
  *
+ * Math is done in whole cents (util.Money, overflow-checked); BigDecimal is only used
+ * at the edges (config, catalog prices, QuoteResponse).
+ *
  * Configuration (application.yml):
  *   pricing:
  *     taxRate: 0.06           # 6% (example) — default 0.00 if not provided
  *     validateAddons: true    # ensure selected addons are allowed for the item
+ *     quoteCacheSize: 10000   # max cached quote totals (0 = off)
+ *
+ * Quote cache: totals are cached by a canonical cart fingerprint (lines sorted by item,
+ * add-ons sorted per line, plus catalog version and tax rate), so the same cart posted
+ * again, in any line order, is not re-priced. A new catalog version clears the cache.
+ *
+ * Catalog data (prices, allowed add-ons) is read from the in-memory CatalogSnapshot.
+ * All ids of a cart are resolved in one batch before pricing; items/add-ons newer than
+ * the snapshot cost one query per entity type, not one per line.
  *
  * DTO expectations:
  *  - QuoteResponse provides setters: setSubtotal, setTax, setTotal
@@ -37,103 +53,240 @@ import java.util.Set;
 @Service
 public class PricingService {
 
-    private final MenuItemRepository menuItemRepository;
-    private final AddonRepository addonRepository;
+    private final CatalogService catalogService;
 
     /** Example: set in application.yml as pricing.taxRate: 0.06 (6%) */
-    private final BigDecimal taxRate;
+    private final Money.Rate taxRate;
 
     /** If true (default), ensure each selected addon is allowed for that MenuItem */
     private final boolean validateAddons;
 
-    public PricingService(MenuItemRepository menuItemRepository,
-                          AddonRepository addonRepository,
+    /** Quote totals by cart fingerprint */
+    private final BoundedLruCache<CartKey, QuoteTotals> quoteCache;
+
+    /** Catalog version the cached quotes were computed against */
+    private final AtomicLong quoteCacheVersion = new AtomicLong(-1);
+
+    public PricingService(CatalogService catalogService,
                           @Value("${pricing.taxRate:0.00}") BigDecimal taxRate,
-                          @Value("${pricing.validateAddons:true}") boolean validateAddons) {
-        this.menuItemRepository = menuItemRepository;
-        this.addonRepository = addonRepository;
-        this.taxRate = taxRate == null ? BigDecimal.ZERO : taxRate;
+                          @Value("${pricing.validateAddons:true}") boolean validateAddons,
+                          @Value("${pricing.quoteCacheSize:10000}") int quoteCacheSize) {
+        this.catalogService = catalogService;
+        this.taxRate = Money.Rate.of(taxRate);
         this.validateAddons = validateAddons;
+        this.quoteCache = new BoundedLruCache<>(Math.max(0, quoteCacheSize));
     }
 
     /**
-     * Price the given cart request.
+     * Price the given cart request (served from the quote cache when the same cart was priced before).
      */
+    @Timed("momskitchen.pricing.quote")
     public QuoteResponse quote(CreateOrderRequest req) {
-        BigDecimal subtotal = BigDecimal.ZERO;
-
-        if (req != null && req.getItems() != null) {
-            for (CartItemDTO line : req.getItems()) {
-                subtotal = subtotal.add(lineSubtotal(line));
-            }
+        long version = catalogService.version();
+        long cachedVersion = quoteCacheVersion.get();
+        if (cachedVersion != version && quoteCacheVersion.compareAndSet(cachedVersion, version)) {
+            quoteCache.clear();
         }
 
-        BigDecimal tax = money(subtotal.multiply(taxRate));
-        BigDecimal total = money(subtotal.add(tax));
+        CartKey key = quoteCache.isEnabled() ? fingerprint(req, version) : null;
+        QuoteTotals totals = (key == null)
+                ? QuoteTotals.of(price(req))                       // cache off, or malformed cart (price() reports it)
+                : quoteCache.get(key, k -> QuoteTotals.of(price(req)));
 
         QuoteResponse out = new QuoteResponse();
-        out.setSubtotal(subtotal);
-        out.setTax(tax);
-        out.setTotal(total);
+        out.setSubtotal(totals.subtotal().toBigDecimal());
+        out.setTax(totals.tax().toBigDecimal());
+        out.setTotal(totals.total().toBigDecimal());
         return out;
     }
 
+    /** Quote cache counters (for admin/metrics). */
+    public BoundedLruCache.Stats quoteCacheStats() {
+        return quoteCache.stats();
+    }
+
+    /**
+     * Resolve and price the cart in one pass.
+     * The result carries the resolved items/add-ons per line, so order creation can
+     * snapshot names and prices from the same data the totals were computed from.
+     */
+    public PricedCart price(CreateOrderRequest req) {
+        if (req == null || req.getItems() == null || req.getItems().isEmpty()) {
+            return new PricedCart(List.of(), Money.ZERO, Money.ZERO, Money.ZERO);
+        }
+
+        // resolve every item/add-on of the cart up front; pricing below does no I/O
+        CatalogLookup catalog = resolveCart(req.getItems());
+        List<PricedLine> lines = new ArrayList<>(req.getItems().size());
+        long subtotalCents = 0L;
+        for (CartItemDTO line : req.getItems()) {
+            PricedLine priced = priceLine(line, catalog);
+            lines.add(priced);
+            subtotalCents = Math.addExact(subtotalCents, priced.lineSubtotal().cents());
+        }
+
+        Money subtotal = Money.ofCents(subtotalCents);
+        Money tax = subtotal.times(taxRate);
+        Money total = subtotal.plus(tax);
+        return new PricedCart(Collections.unmodifiableList(lines), subtotal, tax, total);
+    }
+
+    /**
+     * A priced cart: resolved lines plus order totals.
+     */
+    public record PricedCart(List<PricedLine> lines, Money subtotal, Money tax, Money total) {}
+
+    /**
+     * One priced cart line.
+     *
+     * @param item          resolved catalog item
+     * @param quantity      normalized quantity (at least 1)
+     * @param addons        resolved add-ons selected for this line, in request order
+     * @param lineSubtotal  (item price + sum(addon deltas)) * quantity
+     */
+    public record PricedLine(ItemView item, int quantity, List<AddonView> addons, Money lineSubtotal) {}
+
+    /** Immutable cached quote result. */
+    private record QuoteTotals(Money subtotal, Money tax, Money total) {
+        static QuoteTotals of(PricedCart cart) {
+            return new QuoteTotals(cart.subtotal(), cart.tax(), cart.total());
+        }
+    }
+
+    /**
+     * Canonical cart fingerprint: [catalogVersion, taxUnscaled, taxScale, then per line
+     * (sorted) itemId, qty, addonCount, addonIds (sorted)]. Compared exactly, not by hash.
+     */
+    private static final class CartKey {
+        private final long[] parts;
+        private final int hash;
+
+        CartKey(long[] parts) {
+            this.parts = parts;
+            this.hash = Arrays.hashCode(parts);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof CartKey k && k.hash == hash && Arrays.equals(k.parts, parts);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+
     // =========================
     // Internal helpers
     // =========================
 
     /**
-     * Compute a line subtotal for one cart line:
+     * Build the cart fingerprint, normalizing exactly like priceLine does (qty < 1 -> 1,
+     * null add-ons skipped). Returns null for carts that cannot be priced (not cached).
+     */
+    private CartKey fingerprint(CreateOrderRequest req, long catalogVersion) {
+        List<CartItemDTO> items = (req == null) ? null : req.getItems();
+        int lineCount = (items == null) ? 0 : items.size();
+
+        long[][] lines = new long[lineCount][];
+        int size = 3;
+        for (int i = 0; i < lineCount; i++) {
+            CartItemDTO line = items.get(i);
+            if (line == null || line.getItemId() == null) return null;
+
+            int qty = (line.getQuantity() != null && line.getQuantity() > 0) ? line.getQuantity() : 1;
+            List<CartAddonDTO> addons = (line.getAddons() == null) ? List.of() : line.getAddons();
+            long[] addonIds = new long[addons.size()];
+            int n = 0;
+            for (CartAddonDTO a : addons) {
+                if (a != null && a.getAddonId() != null) addonIds[n++] = a.getAddonId();
+            }
+            Arrays.sort(addonIds, 0, n);
+
+            long[] encoded = new long[3 + n];
+            encoded[0] = line.getItemId();
+            encoded[1] = qty;
+            encoded[2] = n;
+            System.arraycopy(addonIds, 0, encoded, 3, n);
+            lines[i] = encoded;
+            size += encoded.length;
+        }
+        Arrays.sort(lines, Arrays::compare);
+
+        long[] parts = new long[size];
+        parts[0] = catalogVersion;
+        parts[1] = taxRate.unscaled();
+        parts[2] = taxRate.scale();
+        int pos = 3;
+        for (long[] line : lines) {
+            System.arraycopy(line, 0, parts, pos, line.length);
+            pos += line.length;
+        }
+        return new CartKey(parts);
+    }
+
+    /**
+     * Collect the item and add-on ids of all cart lines and resolve them in one batch.
+     */
+    private CatalogLookup resolveCart(List<CartItemDTO> lines) {
+        // duplicates are fine; resolve() skips ids it has already seen
+        List<Long> itemIds = new ArrayList<>(lines.size());
+        List<Long> addonIds = new ArrayList<>();
+        for (CartItemDTO line : lines) {
+            if (line == null) continue;
+            if (line.getItemId() != null) itemIds.add(line.getItemId());
+            if (line.getAddons() == null) continue;
+            for (CartAddonDTO a : line.getAddons()) {
+                if (a != null && a.getAddonId() != null) addonIds.add(a.getAddonId());
+            }
+        }
+        return catalogService.resolve(itemIds, addonIds);
+    }
+
+    /**
+     * Price one cart line:
      *  (item price + sum(addon deltas)) * quantity
      */
-    private BigDecimal lineSubtotal(CartItemDTO line) {
+    private PricedLine priceLine(CartItemDTO line, CatalogLookup catalog) {
         if (line == null || line.getItemId() == null) {
             throw new IllegalArgumentException("Cart line is missing itemId");
         }
 
-        // Load the catalog item (throws if not found)
-        MenuItem item = menuItemRepository.findById(line.getItemId())
-                .orElseThrow(() -> new IllegalArgumentException("Menu item not found: " + line.getItemId()));
+        // Look up the resolved catalog item (throws if not found)
+        ItemView item = catalog.items().get(line.getItemId());
+        if (item == null) {
+            throw new IllegalArgumentException("Menu item not found: " + line.getItemId());
+        }
 
         int qty = (line.getQuantity() != null && line.getQuantity() > 0) ? line.getQuantity() : 1;
 
-        // Sum of addon price deltas (per unit)
-        BigDecimal addonSum = BigDecimal.ZERO;
+        // Sum of addon price deltas (per unit), in cents
+        long unitCents = item.priceCents();
+        List<AddonView> chosen = List.of();
 
         if (line.getAddons() != null && !line.getAddons().isEmpty()) {
-            // Optional validation: check selected addons are allowed for this item
-            Set<Long> allowed = new HashSet<>();
-            if (validateAddons) {
-                item.getAllowedAddons().forEach(a -> allowed.add(a.getId()));
-            }
-
+            chosen = new ArrayList<>(line.getAddons().size());
             for (CartAddonDTO a : line.getAddons()) {
                 if (a == null || a.getAddonId() == null) continue;
 
                 Long addonId = a.getAddonId();
 
-                if (validateAddons && !allowed.isEmpty() && !allowed.contains(addonId)) {
-                    throw new IllegalArgumentException("Addon " + addonId + " is not allowed for item " + item.getId());
+                // Optional validation: check selected addons are allowed for this item
+                if (validateAddons && !item.allowedAddonIds().isEmpty() && !item.allowsAddon(addonId)) {
+                    throw new IllegalArgumentException("Addon " + addonId + " is not allowed for item " + item.id());
                 }
 
-                Addon addon = addonRepository.findById(addonId)
-                        .orElseThrow(() -> new IllegalArgumentException("Addon not found: " + addonId));
+                AddonView addon = catalog.addons().get(addonId);
+                if (addon == null) {
+                    throw new IllegalArgumentException("Addon not found: " + addonId);
+                }
 
-                addonSum = addonSum.add(safe(addon.getPriceDelta()));
+                chosen.add(addon);
+                unitCents = Math.addExact(unitCents, addon.priceDeltaCents());
             }
         }
 
-        BigDecimal unit = safe(item.getPrice()).add(addonSum);
-        BigDecimal lineTotal = unit.multiply(BigDecimal.valueOf(qty));
-        return money(lineTotal);
-    }
-
-    /** Normalize nulls and enforce 2-decimal currency rounding */
-    private BigDecimal money(BigDecimal v) {
-        return safe(v).setScale(2, RoundingMode.HALF_UP);
-    }
-
-    private BigDecimal safe(BigDecimal v) {
-        return v == null ? BigDecimal.ZERO : v;
+        return new PricedLine(item, qty, chosen, Money.ofCents(unitCents).times(qty));
     }
 }
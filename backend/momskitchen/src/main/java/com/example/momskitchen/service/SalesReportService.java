@@ -0,0 +1,109 @@
+package com.example.momskitchen.service;
+
+import com.example.momskitchen.dto.SalesTotalDTO;
+import com.example.momskitchen.model.SalesRollup;
+import com.example.momskitchen.repository.SalesRollupRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+
+/**
+ * Sales reports, read only from sales_rollup (see SalesRollup), so their cost depends on the
+ * range asked for, not on how many orders exist. Also rebuilds rollup days from the order tables
+ * (backfill, or repair after deltas were lost in a crash).
+ */
+@Service
+public class SalesReportService {
+
+    private static final Logger log = LoggerFactory.getLogger(SalesReportService.class);
+
+    /** Longest day range a report or rebuild may cover */
+    static final int MAX_DAYS = 731;
+
+    private final SalesRollupRepository rollupRepository;
+    private final SalesRollupLedger rollupLedger;
+    private final PickupService pickupService;
+    private final TransactionTemplate tx;
+
+    public SalesReportService(SalesRollupRepository rollupRepository,
+                              SalesRollupLedger rollupLedger,
+                              PickupService pickupService,
+                              PlatformTransactionManager transactionManager) {
+        this.rollupRepository = rollupRepository;
+        this.rollupLedger = rollupLedger;
+        this.pickupService = pickupService;
+        this.tx = new TransactionTemplate(transactionManager);
+    }
+
+    /** Per-day totals (days without orders are absent) */
+    public List<SalesRollup> daily(LocalDate from, LocalDate to) {
+        checkRange(from, to);
+        return rollupRepository.findByDimensionAndSalesDayBetweenOrderBySalesDayAscKeyIdAsc(SalesRollup.DAY, from, to);
+    }
+
+    /** Totals per key of a dimension (SLOT, ITEM or ADDON) over the range, largest amount first */
+    public List<SalesTotalDTO> totals(String dimension, LocalDate from, LocalDate to) {
+        checkRange(from, to);
+        return rollupRepository.totalsByKey(dimension, from, to);
+    }
+
+    public record RebuildResult(int days, int rows) {}
+
+    /**
+     * Recompute the rollups of each day in [from, to] with INSERT ... SELECT over that day's
+     * orders (one transaction per day; uses ix_order_created). Buffered deltas are flushed first
+     * and flushing pauses meanwhile. Orders that commit on a day while it is being rebuilt can
+     * be counted twice, so rebuild the current day at a quiet time.
+     */
+    public RebuildResult rebuild(LocalDate from, LocalDate to) {
+        checkRange(from, to);
+        RebuildResult result = rollupLedger.flushedAndPaused(() -> {
+            int rows = 0;
+            int days = 0;
+            for (LocalDate day = from; !day.isAfter(to); day = day.plusDays(1)) {
+                rows += rebuildDay(day);
+                days++;
+            }
+            return new RebuildResult(days, rows);
+        });
+        log.info("Sales rollups rebuilt for {}..{}: {} rows", from, to, result.rows());
+        return result;
+    }
+
+    // =========================
+    // Helpers
+    // =========================
+
+    private int rebuildDay(LocalDate day) {
+        LocalDateTime fromUtc = startOfDayUtc(day);
+        LocalDateTime toUtc = startOfDayUtc(day.plusDays(1));
+        Integer rows = tx.execute(status -> {
+            rollupRepository.deleteDay(day);
+            return rollupRepository.rebuildDay(day, fromUtc, toUtc)
+                    + rollupRepository.rebuildSlots(day, fromUtc, toUtc)
+                    + rollupRepository.rebuildItems(day, fromUtc, toUtc)
+                    + rollupRepository.rebuildAddons(day, fromUtc, toUtc);
+        });
+        return rows != null ? rows : 0;
+    }
+
+    private static void checkRange(LocalDate from, LocalDate to) {
+        if (to.isBefore(from)) throw new IllegalArgumentException("to must not be before from");
+        if (ChronoUnit.DAYS.between(from, to) >= MAX_DAYS) {
+            throw new IllegalArgumentException("Range must be at most " + MAX_DAYS + " days");
+        }
+    }
+
+    /** created_at is stored in UTC; rollup days are in the pickup zone */
+    private LocalDateTime startOfDayUtc(LocalDate day) {
+        return day.atStartOfDay(pickupService.zone()).withZoneSameInstant(ZoneOffset.UTC).toLocalDateTime();
+    }
+}
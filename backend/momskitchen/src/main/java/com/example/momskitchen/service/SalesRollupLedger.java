@@ -0,0 +1,203 @@
+package com.example.momskitchen.service;
+
+import com.example.momskitchen.model.Order;
+import com.example.momskitchen.model.OrderItem;
+import com.example.momskitchen.model.OrderItemAddon;
+import com.example.momskitchen.model.SalesRollup;
+import com.example.momskitchen.repository.SalesRollupRepository;
+import com.example.momskitchen.util.AfterCommit;
+import com.example.momskitchen.util.Money;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+/**
+ * Keeps the sales_rollup table (see SalesRollup) up to date as orders are placed and paid.
+ *
+ * OrderService reports a placed order, or a payment status change, inside its transaction; the
+ * resulting per-(dimension, day, key) deltas are merged into an in-memory buffer after commit
+ * (nothing on rollback). flush() writes the buffer every reports.flushMs with additive upserts,
+ * so checkouts never wait on (or lock) the shared per-day rollup rows.
+ *
+ * Deltas still buffered when the process dies are lost; SalesReportService.rebuild recomputes
+ * any day from the order tables.
+ *
+ * Config:
+ *   reports.flushMs (default 2000)
+ */
+@Component
+public class SalesRollupLedger {
+
+    private static final Logger log = LoggerFactory.getLogger(SalesRollupLedger.class);
+
+    private static final String PAID = "PAID";
+    private static final String REFUNDED = "REFUNDED";
+
+    private final SalesRollupRepository rollupRepository;
+    private final PickupService pickupService;
+    private final Map<Key, Delta> pending = new ConcurrentHashMap<>();
+
+    /** Serializes flushes with each other and with rebuilds */
+    private final ReentrantLock flushLock = new ReentrantLock();
+
+    public SalesRollupLedger(SalesRollupRepository rollupRepository, PickupService pickupService) {
+        this.rollupRepository = rollupRepository;
+        this.pickupService = pickupService;
+    }
+
+    record Key(String dimension, LocalDate day, long keyId) {}
+
+    /** Changes to one rollup row; amounts in cents so merging is exact */
+    record Delta(long units, long amountCents, long paidUnits, long paidCents,
+                 long refundedUnits, long refundedCents) {
+
+        /** units/amount counted as placed, paid and refunded with the given signs (-1, 0, 1) */
+        static Delta of(long units, long cents, int placed, int paid, int refunded) {
+            return new Delta(units * placed, cents * placed, units * paid, cents * paid,
+                    units * refunded, cents * refunded);
+        }
+
+        Delta plus(Delta o) {
+            return new Delta(units + o.units, amountCents + o.amountCents, paidUnits + o.paidUnits,
+                    paidCents + o.paidCents, refundedUnits + o.refundedUnits, refundedCents + o.refundedCents);
+        }
+
+        boolean isZero() {
+            return units == 0 && amountCents == 0 && paidUnits == 0 && paidCents == 0
+                    && refundedUnits == 0 && refundedCents == 0;
+        }
+    }
+
+    /**
+     * A new order with its lines in memory; counted on the day it was created (as a rebuild counts
+     * it, even if the transaction commits after midnight) once the transaction commits.
+     */
+    public void orderPlaced(Order order) {
+        record(salesDay(order), order, order.getItems(), 1,
+                paid(order.getPaymentStatus()), refunded(order.getPaymentStatus()));
+    }
+
+    /**
+     * The order's payment status changed from oldStatus to its current one; lines must be loaded
+     * with their add-ons. Adjusts the rollups of the day the order was placed.
+     */
+    public void paymentChanged(Order order, List<OrderItem> lines, String oldStatus) {
+        String newStatus = order.getPaymentStatus();
+        int paid = paid(newStatus) - paid(oldStatus);
+        int refunded = refunded(newStatus) - refunded(oldStatus);
+        if (paid == 0 && refunded == 0) return;
+        record(salesDay(order), order, lines, 0, paid, refunded);
+    }
+
+    /** Whether a payment change between these statuses touches the rollups (callers can skip loading lines) */
+    public static boolean affectsRollups(String oldStatus, String newStatus) {
+        return paid(oldStatus) != paid(newStatus) || refunded(oldStatus) != refunded(newStatus);
+    }
+
+    /** Write buffered deltas; a failed row stays buffered for the next flush. */
+    @Scheduled(initialDelayString = "${reports.flushMs:2000}", fixedDelayString = "${reports.flushMs:2000}")
+    public void flush() {
+        flushLock.lock();
+        try {
+            for (Key key : pending.keySet()) {
+                Delta d = pending.remove(key);
+                if (d == null || d.isZero()) continue;
+                try {
+                    rollupRepository.add(key.dimension(), key.day(), key.keyId(),
+                            d.units(), money(d.amountCents()), d.paidUnits(), money(d.paidCents()),
+                            d.refundedUnits(), money(d.refundedCents()));
+                } catch (RuntimeException ex) {
+                    pending.merge(key, d, Delta::plus);
+                    log.warn("Sales rollup flush failed for {} {} {}: {}", key.dimension(), key.day(), key.keyId(),
+                            ex.getMessage());
+                }
+            }
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    /** Flush, then run the action with flushing paused (rebuilds replace rows the flush adds to). */
+    public <T> T flushedAndPaused(Supplier<T> action) {
+        flushLock.lock();
+        try {
+            flush();
+            return action.get();
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    @PreDestroy
+    void flushOnShutdown() {
+        flush();
+    }
+
+    /** Buffered delta for a key (tests) */
+    Delta pendingDelta(String dimension, LocalDate day, long keyId) {
+        return pending.get(new Key(dimension, day, keyId));
+    }
+
+    // =========================
+    // Helpers
+    // =========================
+
+    private void record(LocalDate day, Order order, List<OrderItem> lines, int placed, int paid, int refunded) {
+        Map<Key, Delta> deltas = new HashMap<>();
+        long total = cents(order.getTotalAmount());
+        Delta orderDelta = Delta.of(1, total, placed, paid, refunded);
+        deltas.merge(new Key(SalesRollup.DAY, day, 0L), orderDelta, Delta::plus);
+        long slotId = order.getPickupSlot() != null ? order.getPickupSlot().getId() : 0L;
+        deltas.merge(new Key(SalesRollup.SLOT, day, slotId), orderDelta, Delta::plus);
+
+        for (OrderItem line : lines) {
+            int qty = line.getQuantity() != null ? line.getQuantity() : 0;
+            long itemId = line.getMenuItem() != null ? line.getMenuItem().getId() : 0L;
+            deltas.merge(new Key(SalesRollup.ITEM, day, itemId),
+                    Delta.of(qty, cents(line.getLineSubtotal()), placed, paid, refunded), Delta::plus);
+            for (OrderItemAddon a : line.getAddons()) {
+                long addonId = a.getAddon() != null ? a.getAddon().getId() : 0L;
+                deltas.merge(new Key(SalesRollup.ADDON, day, addonId),
+                        Delta.of(qty, cents(a.getPriceDelta()) * qty, placed, paid, refunded), Delta::plus);
+            }
+        }
+
+        AfterCommit.run(() -> deltas.forEach((k, d) -> pending.merge(k, d, Delta::plus)));
+    }
+
+    /** The day an order counts on: its created_at (stored in UTC) in the pickup zone */
+    private LocalDate salesDay(Order order) {
+        LocalDateTime createdUtc = order.getCreatedAt();
+        if (createdUtc == null) return pickupService.today();
+        return createdUtc.atOffset(ZoneOffset.UTC).atZoneSameInstant(pickupService.zone()).toLocalDate();
+    }
+
+    private static int paid(String paymentStatus) {
+        return PAID.equals(paymentStatus) ? 1 : 0;
+    }
+
+    private static int refunded(String paymentStatus) {
+        return REFUNDED.equals(paymentStatus) ? 1 : 0;
+    }
+
+    private static long cents(BigDecimal v) {
+        return v == null ? 0L : Money.of(v).cents();
+    }
+
+    private static BigDecimal money(long cents) {
+        return Money.ofCents(cents).toBigDecimal();
+    }
+}
@@ -0,0 +1,212 @@
+package com.example.momskitchen.service;
+
+import com.example.momskitchen.model.PickupSlotCapacity;
+import com.example.momskitchen.repository.PickupSlotCapacityRepository;
+import com.example.momskitchen.service.PickupCalendar.SlotView;
+import com.example.momskitchen.util.AfterCommit;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * In-memory reservation ledger per (pickup slot, pickup date), enforcing the slots' maxOrders/maxItems.
+ *
+ * Each (slot, date) has one AtomicLong packing reserved orders (high 32 bits) and items (low 32 bits).
+ * reserve() is a compare-and-set loop on it: checkouts for different slots never touch the same
+ * counter, and checkouts for the same slot only retry on a lost CAS. No DB row lock is taken in
+ * the order transaction.
+ *
+ * A reservation made inside a transaction:
+ *  - counts immediately, so concurrent checkouts see it;
+ *  - is released if the transaction rolls back;
+ *  - is queued after commit. flush() writes queued deltas to pickup_slot_capacity every
+ *    pickup.capacityFlushMs (and on shutdown) with additive upserts.
+ * A (slot, date) is loaded from pickup_slot_capacity the first time it is needed, or ahead of
+ * time by preload() (PickupService preloads the upcoming weeks, so checkouts run no queries).
+ *
+ * Limits are enforced per instance: with several backend instances, each sees other instances'
+ * reservations only as far as they were flushed when it loaded the (slot, date).
+ *
+ * Config:
+ *   pickup.capacityFlushMs (default 1000)
+ *   pickup.zoneId (default UTC; pickup dates are days in this zone, as in PickupService)
+ */
+@Component
+public class SlotCapacityLedger {
+
+    private static final Logger log = LoggerFactory.getLogger(SlotCapacityLedger.class);
+
+    private final PickupSlotCapacityRepository capacityRepository;
+    private final ZoneId zoneId;
+    private final Map<Key, Counter> counters = new ConcurrentHashMap<>();
+
+    public SlotCapacityLedger(PickupSlotCapacityRepository capacityRepository,
+                              @Value("${pickup.zoneId:UTC}") String zoneIdStr) {
+        this.capacityRepository = capacityRepository;
+        this.zoneId = ZoneId.of(Objects.requireNonNullElse(zoneIdStr, "UTC"));
+    }
+
+    /**
+     * Reserved and remaining capacity of one slot on one date.
+     * ordersLeft/itemsLeft are null when the slot has no limit.
+     */
+    public record Usage(int ordersReserved, int itemsReserved, Integer ordersLeft, Integer itemsLeft) {}
+
+    public Usage usage(SlotView slot, LocalDate date) {
+        long packed = counter(slot.id(), date).reserved.get();
+        int orders = orders(packed);
+        int items = items(packed);
+        return new Usage(orders, items,
+                slot.maxOrders() == null ? null : Math.max(0, slot.maxOrders() - orders),
+                slot.maxItems() == null ? null : Math.max(0, slot.maxItems() - items));
+    }
+
+    /** True if one more order with this many items fits right now (advisory; reserve() decides). */
+    public boolean hasRoom(SlotView slot, LocalDate date, int items) {
+        long packed = counter(slot.id(), date).reserved.get();
+        return fits(slot, packed, items);
+    }
+
+    /**
+     * Reserve one order with this many items, or throw IllegalArgumentException if the slot is full.
+     * Inside a transaction the reservation is released on rollback and persisted after commit.
+     */
+    public void reserve(SlotView slot, LocalDate date, int items) {
+        Counter c = counter(slot.id(), date);
+        long delta = pack(1, items);
+        while (true) {
+            long cur = c.reserved.get();
+            if (!fits(slot, cur, items)) {
+                throw new IllegalArgumentException("Pickup slot is full on " + date + "; please choose another time");
+            }
+            if (c.reserved.compareAndSet(cur, cur + delta)) break;
+        }
+        AfterCommit.run(() -> c.queue(1, items), () -> c.reserved.addAndGet(-delta));
+    }
+
+    /**
+     * Unconditional change (e.g. -1 order when an order is canceled), applied after the
+     * surrounding transaction commits, or immediately outside a transaction.
+     */
+    public void adjust(Long slotId, LocalDate date, int orders, int items) {
+        AfterCommit.run(() -> {
+            Counter c = counter(slotId, date);
+            c.reserved.addAndGet(pack(orders, items));
+            c.queue(orders, items);
+        });
+    }
+
+    /**
+     * Load every (slot, date) in [from, to] not yet in memory with one query: persisted rows,
+     * plus empty counters for the given slots on their days, so later checks need no query.
+     */
+    public void preload(LocalDate from, LocalDate to, List<SlotView> slots) {
+        for (PickupSlotCapacity row : capacityRepository.findByPickupDateBetween(from, to)) {
+            counters.putIfAbsent(new Key(row.getSlotId(), row.getPickupDate()),
+                    new Counter(pack(row.getOrdersReserved(), row.getItemsReserved())));
+        }
+        for (LocalDate date = from; !date.isAfter(to); date = date.plusDays(1)) {
+            int day = date.getDayOfWeek().getValue() % 7;   // 0=Sun ... 6=Sat
+            for (SlotView slot : slots) {
+                if (slot.dayOfWeek() == day) counters.putIfAbsent(new Key(slot.id(), date), new Counter(0L));
+            }
+        }
+    }
+
+    /** Write queued deltas to pickup_slot_capacity and drop past dates with nothing queued. */
+    @Scheduled(initialDelayString = "${pickup.capacityFlushMs:1000}", fixedDelayString = "${pickup.capacityFlushMs:1000}")
+    public void flush() {
+        LocalDate stale = today().minusDays(1);
+        for (Map.Entry<Key, Counter> e : counters.entrySet()) {
+            Key key = e.getKey();
+            Counter c = e.getValue();
+            int orders = (int) c.pendingOrders.getAndSet(0);
+            int items = (int) c.pendingItems.getAndSet(0);
+            if (orders != 0 || items != 0) {
+                try {
+                    capacityRepository.addReserved(key.slotId(), key.date(), orders, items);
+                } catch (RuntimeException ex) {
+                    // put them back; the next flush retries
+                    c.queue(orders, items);
+                    log.warn("Slot capacity flush failed for slot {} on {}: {}", key.slotId(), key.date(), ex.getMessage());
+                }
+            } else if (key.date().isBefore(stale)) {
+                counters.remove(key, c);
+            }
+        }
+    }
+
+    @PreDestroy
+    void flushOnShutdown() {
+        flush();
+    }
+
+    /** Today in the pickup zone; overridable for tests. */
+    protected LocalDate today() {
+        return LocalDate.now(zoneId);
+    }
+
+    // =========================
+    // Helpers
+    // =========================
+
+    /** Counter for (slot, date), loading the persisted row on first use (outside any map lock). */
+    private Counter counter(Long slotId, LocalDate date) {
+        Key key = new Key(slotId, date);
+        Counter c = counters.get(key);
+        if (c != null) return c;
+        long persisted = capacityRepository.findById(new PickupSlotCapacity.Key(slotId, date))
+                .map(row -> pack(row.getOrdersReserved(), row.getItemsReserved()))
+                .orElse(0L);
+        Counter loaded = new Counter(persisted);
+        c = counters.putIfAbsent(key, loaded);
+        return c != null ? c : loaded;
+    }
+
+    private static boolean fits(SlotView slot, long packed, int items) {
+        if (slot.maxOrders() != null && orders(packed) + 1 > slot.maxOrders()) return false;
+        return slot.maxItems() == null || (long) items(packed) + items <= slot.maxItems();
+    }
+
+    private static long pack(int orders, int items) {
+        return ((long) orders << 32) + items;
+    }
+
+    private static int orders(long packed) {
+        return (int) (packed >>> 32);
+    }
+
+    private static int items(long packed) {
+        return (int) packed;
+    }
+
+    private record Key(Long slotId, LocalDate date) {}
+
+    private static final class Counter {
+        /** orders << 32 | items, as seen by this instance (persisted + reserved here) */
+        final AtomicLong reserved;
+        /** committed deltas not yet written to pickup_slot_capacity */
+        final AtomicLong pendingOrders = new AtomicLong();
+        final AtomicLong pendingItems = new AtomicLong();
+
+        Counter(long reserved) {
+            this.reserved = new AtomicLong(reserved);
+        }
+
+        void queue(int orders, int items) {
+            pendingOrders.addAndGet(orders);
+            pendingItems.addAndGet(items);
+        }
+    }
+}
@@ -0,0 +1,82 @@
+package com.example.momskitchen.util;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * Defer in-memory side effects (caches, counters, events) until the surrounding Spring
+ * transaction commits, so a rollback leaves them untouched. Outside a transaction there is
+ * nothing to wait for and the work runs immediately (except pending(), see there).
+ */
+public final class AfterCommit {
+
+    private AfterCommit() {
+    }
+
+    /** Run after the current transaction commits, or now when there is none. */
+    public static void run(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+
+    /**
+     * Run action once the current transaction has committed, or onRollback if it did not
+     * (rolled back or unknown outcome); run action now when there is no transaction.
+     */
+    public static void run(Runnable action, Runnable onRollback) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    if (status == STATUS_COMMITTED) {
+                        action.run();
+                    } else {
+                        onRollback.run();
+                    }
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+
+    /**
+     * State collected over the current transaction under key: created (and its commit hook
+     * registered) on the first call, the same instance on later calls, handed to onCommit after
+     * commit and discarded when the transaction completes. Null when there is no transaction:
+     * the caller decides what to do instead.
+     */
+    public static <T> T pending(Object key, Supplier<T> create, Consumer<T> onCommit) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) return null;
+
+        @SuppressWarnings("unchecked")
+        T state = (T) TransactionSynchronizationManager.getResource(key);
+        if (state != null) return state;
+
+        T created = create.get();
+        TransactionSynchronizationManager.bindResource(key, created);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                onCommit.accept(created);
+            }
+
+            @Override
+            public void afterCompletion(int status) {
+                TransactionSynchronizationManager.unbindResourceIfPossible(key);
+            }
+        });
+        return created;
+    }
+}
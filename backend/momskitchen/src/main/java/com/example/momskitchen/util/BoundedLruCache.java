@@ -0,0 +1,115 @@
+package com.example.momskitchen.util;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+
+/**
+ * Small thread-safe LRU cache with a fixed maximum number of entries.
+ *
+ * Backed by an access-ordered LinkedHashMap behind a ReentrantLock (not synchronized,
+ * so virtual threads are not pinned while holding it). Values are computed outside the
+ * lock; two callers missing the same key at once may both compute it, last one wins.
+ *
+ * A maxEntries of 0 disables caching (every get is a miss and nothing is stored).
+ */
+public final class BoundedLruCache<K, V> {
+
+    private final int maxEntries;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final LinkedHashMap<K, V> map;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    public BoundedLruCache(int maxEntries) {
+        if (maxEntries < 0) throw new IllegalArgumentException("maxEntries must be >= 0");
+        this.maxEntries = maxEntries;
+        this.map = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<K, V> eldest) {
+                if (size() > BoundedLruCache.this.maxEntries) {
+                    evictions.increment();
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    /** Cached value for key, or compute, store and return it. Exceptions from compute are not cached. */
+    public V get(K key, Function<? super K, ? extends V> compute) {
+        if (maxEntries > 0) {
+            V hit;
+            lock.lock();
+            try {
+                hit = map.get(key);
+            } finally {
+                lock.unlock();
+            }
+            if (hit != null) {
+                hits.increment();
+                return hit;
+            }
+        }
+        misses.increment();
+        V value = compute.apply(key);
+        if (maxEntries > 0 && value != null) {
+            lock.lock();
+            try {
+                map.put(key, value);
+            } finally {
+                lock.unlock();
+            }
+        }
+        return value;
+    }
+
+    /** Store a value computed elsewhere (no-op when disabled). */
+    public void put(K key, V value) {
+        if (maxEntries == 0 || value == null) return;
+        lock.lock();
+        try {
+            map.put(key, value);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public boolean isEnabled() {
+        return maxEntries > 0;
+    }
+
+    public void clear() {
+        lock.lock();
+        try {
+            map.clear();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int size() {
+        lock.lock();
+        try {
+            return map.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public Stats stats() {
+        return new Stats(size(), maxEntries, hits.sum(), misses.sum(), evictions.sum());
+    }
+
+    /** Point-in-time counters (cumulative since startup). */
+    public record Stats(int size, int maxEntries, long hits, long misses, long evictions) {
+        public double hitRatio() {
+            long total = hits + misses;
+            return total == 0 ? 0.0 : (double) hits / total;
+        }
+    }
+}
@@ -0,0 +1,121 @@
+package com.example.momskitchen.util;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+/**
+ * Money as a whole number of cents (fixed-point, 2 decimals).
+ *
+ * Used for internal pricing math so a quote does not allocate a BigDecimal per step.
+ * Convert at the edges only: {@link #of(BigDecimal)} when reading catalog prices,
+ * {@link #toBigDecimal()} when writing DTOs/entities.
+ *
+ * All arithmetic is overflow-checked (ArithmeticException), and {@link #times(Rate)}
+ * rounds HALF_UP to cents, i.e. the same result as
+ * {@code amount.multiply(rate).setScale(2, RoundingMode.HALF_UP)}.
+ */
+public final class Money implements Comparable<Money> {
+
+    public static final Money ZERO = new Money(0L);
+
+    private final long cents;
+
+    private Money(long cents) {
+        this.cents = cents;
+    }
+
+    public static Money ofCents(long cents) {
+        return cents == 0L ? ZERO : new Money(cents);
+    }
+
+    /**
+     * From a BigDecimal amount; null counts as zero.
+     * Catalog prices are DECIMAL(10,2), so this is exact for them; anything finer is rounded HALF_UP.
+     */
+    public static Money of(BigDecimal amount) {
+        if (amount == null) return ZERO;
+        return ofCents(amount.setScale(2, RoundingMode.HALF_UP).unscaledValue().longValueExact());
+    }
+
+    public long cents() {
+        return cents;
+    }
+
+    public Money plus(Money other) {
+        return ofCents(Math.addExact(cents, other.cents));
+    }
+
+    public Money times(int quantity) {
+        return ofCents(Math.multiplyExact(cents, (long) quantity));
+    }
+
+    /** this * rate, rounded HALF_UP to cents. */
+    public Money times(Rate rate) {
+        long n = Math.multiplyExact(cents, rate.unscaled());
+        long d = rate.divisor();
+        long q = n / d;
+        long r = Math.abs(n % d);
+        // HALF_UP: ties round away from zero
+        if (r * 2 >= d) q += Long.signum(n);
+        return ofCents(q);
+    }
+
+    public BigDecimal toBigDecimal() {
+        return BigDecimal.valueOf(cents, 2);
+    }
+
+    @Override
+    public int compareTo(Money o) {
+        return Long.compare(cents, o.cents);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        return o instanceof Money m && m.cents == cents;
+    }
+
+    @Override
+    public int hashCode() {
+        return Long.hashCode(cents);
+    }
+
+    @Override
+    public String toString() {
+        return toBigDecimal().toPlainString();
+    }
+
+    /**
+     * A multiplier such as a tax rate, held as unscaled / 10^scale.
+     * Example: 0.06 -> (6, 2).
+     */
+    public record Rate(long unscaled, int scale) {
+
+        private static final long[] POW10 = {
+                1L, 10L, 100L, 1_000L, 10_000L, 100_000L, 1_000_000L, 10_000_000L, 100_000_000L,
+                1_000_000_000L, 10_000_000_000L, 100_000_000_000L, 1_000_000_000_000L,
+                10_000_000_000_000L, 100_000_000_000_000L, 1_000_000_000_000_000L,
+                10_000_000_000_000_000L, 100_000_000_000_000_000L, 1_000_000_000_000_000_000L
+        };
+
+        // declared after POW10: the compact constructor reads it
+        public static final Rate ZERO = new Rate(0L, 0);
+
+        public Rate {
+            if (scale < 0 || scale >= POW10.length) {
+                throw new ArithmeticException("Rate scale out of range: " + scale);
+            }
+        }
+
+        /** From a BigDecimal rate; null counts as zero. Throws ArithmeticException if it cannot be held exactly. */
+        public static Rate of(BigDecimal rate) {
+            if (rate == null || rate.signum() == 0) return ZERO;
+            BigDecimal r = rate.stripTrailingZeros();
+            if (r.scale() < 0) r = r.setScale(0);
+            return new Rate(r.unscaledValue().longValueExact(), r.scale());
+        }
+
+        long divisor() {
+            return POW10[scale];
+        }
+    }
+}
@@ -1,54 +1,162 @@
 package com.example.momskitchen.util;
 
-import java.time.LocalDateTime;
-import java.time.format.DateTimeFormatter;
-import java.util.concurrent.ThreadLocalRandom;
-import java.util.concurrent.atomic.AtomicInteger;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
 
 /**
- * OrderCodeGenerator generates unique, human-readable order codes.
- * Format example: MK-20250912-0001
+ * OrderCodeGenerator generates unique, human-readable order codes without asking the database.
+ * Format: MK + 9 base32 chars (no ambiguous chars), e.g. "MK7QD2XH9KA" (11 chars, fits VARCHAR(12)).
+ *
+ * The 45 bits behind the 9 chars are:
+ *   node id (6 bits) | seconds since 2025-01-01 UTC (31 bits, good until 2093) | sequence (8 bits)
+ * run through a fixed bijection so consecutive orders don't get look-alike codes.
+ * Distinct inputs always give distinct codes, so uniqueness holds as long as:
+ *  - every backend instance sharing a database has its own orders.codeNodeId (0..63), and
+ *  - an instance issues at most 256 codes per second (more wait for the next second).
+ * A freshly started instance waits out its startup second before its first code, so a restart
+ * can't repeat codes from the previous run. A caller that needs a later second reserves it under
+ * the lock and sleeps until it arrives without the lock, so other callers are not held up.
+ * If the clock steps back, the last issued second keeps being used; once its 256 codes are gone,
+ * generate() fails fast with OrderCodeUnavailableException (retryable) rather than sleep until the
+ * clock catches up. The order_code UNIQUE constraint stays as a backstop.
+ *
+ * Config:
+ *   orders.codeNodeId (default 0)
  */
+@Component
 public class OrderCodeGenerator {
 
     // Prefix for all orders (customize if needed)
     private static final String PREFIX = "MK";
+    private static final char[] ALPHABET = "ABCDEFGHJKLMNPQRSTUVWXYZ23456789".toCharArray();
 
-    // Thread-safe counter for generating daily sequence numbers
-    private static final AtomicInteger counter = new AtomicInteger(0);
+    private static final int NODE_BITS = 6;
+    private static final int SECOND_BITS = 31;
+    private static final int SEQUENCE_BITS = 8;
+    private static final int CODE_BITS = NODE_BITS + SECOND_BITS + SEQUENCE_BITS; // 45 = 9 base32 chars
+    private static final int CODE_CHARS = CODE_BITS / 5;
 
-    // Date format for embedding into the order code (yyyyMMdd)
-    private static final DateTimeFormatter DATE_FORMAT = DateTimeFormatter.ofPattern("yyyyMMdd");
+    public static final int MAX_NODE_ID = (1 << NODE_BITS) - 1;
+    private static final long MAX_SECOND = (1L << SECOND_BITS) - 1;
+    private static final int MAX_SEQUENCE = (1 << SEQUENCE_BITS) - 1;
+    private static final long MASK = (1L << CODE_BITS) - 1;
 
-    /**
-     * Generates a unique order code.
-     * @return a string like "MK-20250912-0001"
-     */
-    public static String generateOrderCode() {
-        String datePart = LocalDateTime.now().format(DATE_FORMAT); // Current date
-        int sequence = counter.incrementAndGet();                  // Daily sequence number
-        return String.format("%s-%s-%04d", PREFIX, datePart, sequence);
+    private static final long EPOCH_MS = Instant.parse("2025-01-01T00:00:00Z").toEpochMilli();
+    // odd, so multiplication mod 2^45 is invertible
+    private static final long MULTIPLIER = 0x9E3779B97F4A7C15L & MASK;
+    /** How far past the clock a second may be reserved (a burst's wait; more means the clock stepped back) */
+    private static final long MAX_SECONDS_AHEAD = 2;
+
+    private final long nodeId;
+    private final ReentrantLock lock = new ReentrantLock();
+    private long lastSecond;
+    private int sequence;
+    /** Latest second the clock has shown; codes for later (reserved) seconds wait for it */
+    private long clockSecond;
+
+    public OrderCodeGenerator(@Value("${orders.codeNodeId:0}") int nodeId) {
+        if (nodeId < 0 || nodeId > MAX_NODE_ID) {
+            throw new IllegalArgumentException("orders.codeNodeId must be between 0 and " + MAX_NODE_ID);
+        }
+        this.nodeId = nodeId;
+        // treat the startup second as used up: a previous run may have issued codes in it
+        this.lastSecond = currentSecond();
+        this.sequence = MAX_SEQUENCE;
+        this.clockSecond = lastSecond;
     }
 
     /**
-     * Resets the counter (optional — e.g., if you want to reset daily).
+     * Next order code for this node. Never returns the same code twice (see class notes).
+     * Blocks for up to MAX_SECONDS_AHEAD seconds when this second's 256 codes are used up.
+     *
+     * @throws OrderCodeUnavailableException if the clock stepped back and the last second is used up
      */
-    public static void resetCounter() {
-        counter.set(0);
+    public String generate() {
+        long second;
+        int seq;
+        boolean early;
+        lock.lock();
+        try {
+            long now = currentSecond();
+            clockSecond = Math.max(clockSecond, now);
+            if (now > lastSecond) {
+                lastSecond = now;
+                sequence = 0;
+            } else if (sequence < MAX_SEQUENCE) {
+                sequence++;                      // same (or reserved) second, or clock stepped back
+            } else if (lastSecond + 1 - now <= MAX_SECONDS_AHEAD) {
+                lastSecond++;                    // reserve it; waited for below
+                sequence = 0;
+            } else {
+                throw new OrderCodeUnavailableException("Order codes unavailable until the clock catches up");
+            }
+            second = lastSecond;
+            seq = sequence;
+            early = second > clockSecond;
+        } finally {
+            lock.unlock();
+        }
+        if (second > MAX_SECOND) {
+            throw new IllegalStateException("Order code time range exhausted");
+        }
+        if (early) awaitSecond(second);
+        long raw = (nodeId << (SECOND_BITS + SEQUENCE_BITS)) | (second << SEQUENCE_BITS) | seq;
+        return encode(scramble(raw));
     }
 
-    /**
-     * Compact code generator (<= 12 chars) suitable for DB column length.
-     * Format: MK + 6 random base32 chars (no ambiguous chars).
-     */
-    public static String generate() {
-        final char[] alphabet = "ABCDEFGHJKLMNPQRSTUVWXYZ23456789".toCharArray();
-        StringBuilder sb = new StringBuilder(8);
-        sb.append(PREFIX); // e.g., "MK"
-        for (int i = 0; i < 6; i++) {
-            int idx = ThreadLocalRandom.current().nextInt(alphabet.length);
-            sb.append(alphabet[idx]);
+    /** Wall clock in epoch millis; overridable for tests (with sleep). */
+    protected long currentTimeMillis() {
+        return System.currentTimeMillis();
+    }
+
+    protected void sleep(long millis) throws InterruptedException {
+        TimeUnit.MILLISECONDS.sleep(millis);
+    }
+
+    // =========================
+    // Helpers
+    // =========================
+
+    private long currentSecond() {
+        return Math.max(0, (currentTimeMillis() - EPOCH_MS) / 1000);
+    }
+
+    /** Sleep (without the lock) until the clock reaches the reserved second */
+    private void awaitSecond(long second) {
+        while (currentSecond() < second) {
+            long waitMs = EPOCH_MS + second * 1000 - currentTimeMillis();
+            if (waitMs > MAX_SECONDS_AHEAD * 1000) {
+                // the clock stepped back while waiting
+                throw new OrderCodeUnavailableException("Order codes unavailable until the clock catches up");
+            }
+            try {
+                sleep(Math.max(1, waitMs));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrupted while waiting for an order code", e);
+            }
+        }
+    }
+
+    /** Bijection on 45-bit values: xorshift, odd multiply, xorshift (each step is invertible mod 2^45). */
+    static long scramble(long x) {
+        x ^= x >>> 23;
+        x = (x * MULTIPLIER) & MASK;
+        x ^= x >>> 19;
+        return x;
+    }
+
+    private static String encode(long x) {
+        char[] out = new char[PREFIX.length() + CODE_CHARS];
+        PREFIX.getChars(0, PREFIX.length(), out, 0);
+        for (int i = out.length - 1; i >= PREFIX.length(); i--) {
+            out[i] = ALPHABET[(int) (x & 31)];
+            x >>>= 5;
         }
-        return sb.toString();
+        return new String(out);
     }
 }
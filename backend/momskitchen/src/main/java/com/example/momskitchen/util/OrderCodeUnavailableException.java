@@ -0,0 +1,9 @@
+package com.example.momskitchen.util;
+
+/** No order code can be issued right now, e.g. the clock stepped back; retry later (mapped to 503). */
+public class OrderCodeUnavailableException extends RuntimeException {
+
+    public OrderCodeUnavailableException(String message) {
+        super(message);
+    }
+}
@@ -1,19 +1,14 @@
 -- =========================================================
 -- Mom's Kitchen — Database Schema (MySQL 8 / InnoDB / utf8mb4)
+-- V1: baseline, the schema the released schema.sql created (without its DROP TABLEs).
+-- Databases created by schema.sql are baselined at V1 instead of running it
+-- (spring.flyway.baseline-on-migrate) and then get V2 onwards.
+-- Never edit an applied migration; add V<n+1>__<what>.sql. Index changes on the order tables use
+-- online DDL (ADD INDEX ..., ALGORITHM=INPLACE, LOCK=NONE) and new columns there ALGORITHM=INSTANT:
+-- either fails rather than blocking writes.
 -- =========================================================
 SET NAMES utf8mb4;
 
--- ---------- Drop in dependency order (safe for local dev) ----------
-DROP TABLE IF EXISTS order_item_addon;
-DROP TABLE IF EXISTS order_item;
-DROP TABLE IF EXISTS `order`;
-DROP TABLE IF EXISTS menu_item_addon;
-DROP TABLE IF EXISTS menu_item;
-DROP TABLE IF EXISTS menu_category;
-DROP TABLE IF EXISTS addon;
-DROP TABLE IF EXISTS pickup_slot;
-DROP TABLE IF EXISTS menu;
-
 -- =========================
 -- Core Catalog
 -- =========================
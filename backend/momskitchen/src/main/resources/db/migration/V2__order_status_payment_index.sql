@@ -0,0 +1,4 @@
+-- Admin order list: filter by status + payment status, newest first
+ALTER TABLE `order`
+  ADD INDEX ix_order_status_pay_created (status, payment_status, created_at),
+  ALGORITHM=INPLACE, LOCK=NONE;
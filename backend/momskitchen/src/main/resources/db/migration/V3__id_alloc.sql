@@ -0,0 +1,15 @@
+-- Id allocation for order tables (Hibernate pooled @TableGenerator, 50 ids per round-trip)
+-- next_val is the top of the next block, so start each at MAX(id) + 50.
+-- Anything inserting rows outside JPA must bump next_val past its ids.
+
+CREATE TABLE id_alloc (
+  sequence_name  VARCHAR(64) PRIMARY KEY,
+  next_val       BIGINT NOT NULL
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4;
+
+INSERT INTO id_alloc (sequence_name, next_val)
+  SELECT 'order', COALESCE(MAX(id), 0) + 50 FROM `order`;
+INSERT INTO id_alloc (sequence_name, next_val)
+  SELECT 'order_item', COALESCE(MAX(id), 0) + 50 FROM order_item;
+INSERT INTO id_alloc (sequence_name, next_val)
+  SELECT 'order_item_addon', COALESCE(MAX(id), 0) + 50 FROM order_item_addon;
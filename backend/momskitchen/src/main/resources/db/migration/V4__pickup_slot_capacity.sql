@@ -0,0 +1,16 @@
+-- Pickup slot limits (NULL = unlimited)
+ALTER TABLE pickup_slot
+  ADD COLUMN max_orders INT NULL,                -- per pickup date
+  ADD COLUMN max_items  INT NULL;                -- sum of line quantities per pickup date
+
+-- Reserved capacity per slot and pickup date (written behind by SlotCapacityLedger)
+CREATE TABLE pickup_slot_capacity (
+  slot_id          BIGINT NOT NULL,
+  pickup_date      DATE NOT NULL,
+  orders_reserved  INT NOT NULL DEFAULT 0,
+  items_reserved   INT NOT NULL DEFAULT 0,
+  PRIMARY KEY (slot_id, pickup_date),
+  CONSTRAINT fk_slot_capacity_slot
+    FOREIGN KEY (slot_id) REFERENCES pickup_slot(id)
+    ON DELETE CASCADE
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4;
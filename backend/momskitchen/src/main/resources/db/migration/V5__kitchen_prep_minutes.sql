@@ -0,0 +1,13 @@
+-- Kitchen prep per portion; NULL = kitchen.defaultPrepMinutes
+ALTER TABLE menu_item
+  ADD COLUMN prep_minutes INT NULL;
+
+-- Kitchen prep estimate at checkout
+ALTER TABLE `order`
+  ADD COLUMN prep_minutes INT NULL,
+  ALGORITHM=INSTANT;
+
+-- Kitchen queue startup load: confirmed orders from today on
+ALTER TABLE `order`
+  ADD INDEX ix_order_status_pickup (status, pickup_at),
+  ALGORITHM=INPLACE, LOCK=NONE;
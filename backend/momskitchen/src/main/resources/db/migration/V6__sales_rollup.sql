@@ -0,0 +1,16 @@
+-- Sales rollups (written behind by SalesRollupLedger; rebuild: POST /api/admin/reports/rebuild)
+-- dimension DAY (key 0) / SLOT / ITEM / ADDON; sales_day is the order's created day in the pickup zone.
+-- No foreign keys: totals outlive deleted slots/items/add-ons.
+
+CREATE TABLE sales_rollup (
+  dimension        VARCHAR(8) NOT NULL,
+  sales_day        DATE NOT NULL,
+  key_id           BIGINT NOT NULL,
+  units            BIGINT NOT NULL DEFAULT 0,         -- orders (DAY/SLOT) or portions (ITEM/ADDON)
+  amount           DECIMAL(14,2) NOT NULL DEFAULT 0.00,
+  paid_units       BIGINT NOT NULL DEFAULT 0,
+  paid_amount      DECIMAL(14,2) NOT NULL DEFAULT 0.00,
+  refunded_units   BIGINT NOT NULL DEFAULT 0,
+  refunded_amount  DECIMAL(14,2) NOT NULL DEFAULT 0.00,
+  PRIMARY KEY (dimension, sales_day, key_id)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4;
@@ -0,0 +1,13 @@
+-- Order idempotency keys (Idempotency-Key of POST /api/orders -> the order it created;
+-- see OrderIdempotencyService). Pruned after orders.idempotency.ttlHours.
+
+CREATE TABLE order_idempotency (
+  idem_key      VARCHAR(64) NOT NULL PRIMARY KEY,
+  request_hash  CHAR(64) NOT NULL,                 -- SHA-256 (hex) of the request body
+  order_id      BIGINT NOT NULL,
+  created_at    DATETIME NOT NULL,                 -- UTC
+  INDEX ix_order_idempotency_created (created_at),
+  CONSTRAINT fk_idempotency_order
+    FOREIGN KEY (order_id) REFERENCES `order`(id)
+    ON DELETE CASCADE
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4;
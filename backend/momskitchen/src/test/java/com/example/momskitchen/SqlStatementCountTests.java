@@ -0,0 +1,134 @@
+package com.example.momskitchen;
+
+import com.example.momskitchen.service.CatalogService;
+import com.jayway.jsonpath.JsonPath;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.RequestBuilder;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Exact SQL statement counts per endpoint (Hibernate statistics), so a lazy association
+ * touched outside its fetch plan, or an N+1, fails the build instead of slowing prod.
+ *
+ * Counts assume the dev seed data (db/seed/R__dev_seed.sql) and a loaded catalog snapshot.
+ */
+@Import(TestcontainersConfiguration.class)
+// statistics are global: keep the write-behind flushes (their own statements) out of the measured requests
+@SpringBootTest(properties = {
+		"spring.jpa.properties.hibernate.generate_statistics=true",
+		"pickup.capacityFlushMs=3600000",
+		"reports.flushMs=3600000"
+})
+@ActiveProfiles("dev")
+@AutoConfigureMockMvc
+class SqlStatementCountTests {
+
+	private static final String ADMIN_KEY = "changeme";
+
+	private static final String CART = """
+			{
+			  "customerName": "Ama",
+			  "customerEmail": "ama@example.com",
+			  "customerPhone": "302-555-0123",
+			  "pickupDay": 5,
+			  "items": [
+			    { "menuItemId": 1, "quantity": 2, "addons": [ { "addonId": 1 }, { "addonId": 2 } ] },
+			    { "menuItemId": 3, "quantity": 1, "addons": [ { "addonId": 4 } ] },
+			    { "menuItemId": 6, "quantity": 3 }
+			  ]
+			}
+			""";
+
+	@Autowired
+	private MockMvc mvc;
+
+	@Autowired
+	private EntityManagerFactory entityManagerFactory;
+
+	@Autowired
+	private CatalogService catalogService;
+
+	private Statistics statistics;
+
+	@BeforeEach
+	void setUp() {
+		statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+		catalogService.refresh();
+	}
+
+	@Test
+	void menuTreeIsServedFromTheSnapshot() throws Exception {
+		assertEquals(0, statementsFor(get("/api/menu/1/tree")));
+	}
+
+	@Test
+	void categoryItemsAreServedFromTheSnapshot() throws Exception {
+		assertEquals(0, statementsFor(get("/api/menu/categories/1/items")));
+	}
+
+	@Test
+	void quoteTouchesNoDatabase() throws Exception {
+		// pickup calendar + preloaded slot capacity, catalog snapshot
+		assertEquals(0, statementsFor(post("/api/orders/quote")
+				.contentType(MediaType.APPLICATION_JSON).content(CART)));
+	}
+
+	@Test
+	void customerLookupLoadsOrderLinesAndAddonsInTwoQueries() throws Exception {
+		String code = JsonPath.read(createOrder(), "$.orderCode");
+		assertEquals(2, statementsFor(get("/api/orders/{code}", code).param("phone", "3025550123")));
+	}
+
+	@Test
+	void adminDetailsLoadOrderLinesAndAddonsInTwoQueries() throws Exception {
+		Integer id = JsonPath.read(createOrder(), "$.id");
+		assertEquals(2, statementsFor(get("/api/admin/orders/{id}", id).header("X-Admin-Key", ADMIN_KEY)));
+	}
+
+	@Test
+	void adminPageIsOneProjectionQueryPlusCount() throws Exception {
+		createOrder();
+		createOrder();
+		// size=1 with more rows than that forces the count query
+		assertEquals(2, statementsFor(get("/api/admin/orders").param("page", "0").param("size", "1")
+				.header("X-Admin-Key", ADMIN_KEY)));
+	}
+
+	@Test
+	void adminCursorPageIsOneQuery() throws Exception {
+		createOrder();
+		assertEquals(1, statementsFor(get("/api/admin/orders").param("cursor", "").param("size", "20")
+				.header("X-Admin-Key", ADMIN_KEY)));
+	}
+
+	// =========================
+	// Helpers
+	// =========================
+
+	private long statementsFor(RequestBuilder request) throws Exception {
+		statistics.clear();
+		mvc.perform(request).andExpect(status().isOk());
+		return statistics.getPrepareStatementCount();
+	}
+
+	private String createOrder() throws Exception {
+		return mvc.perform(post("/api/orders").contentType(MediaType.APPLICATION_JSON).content(CART))
+				.andExpect(status().isOk())
+				.andReturn().getResponse().getContentAsString();
+	}
+}
@@ -5,7 +5,8 @@ import org.springframework.boot.SpringApplication;
 public class TestMomskitchenApplication {
 
 	public static void main(String[] args) {
-		SpringApplication.from(MomskitchenApplication::main).with(TestcontainersConfiguration.class).run(args);
+		SpringApplication.from(MomskitchenApplication::main).with(TestcontainersConfiguration.class)
+				.withAdditionalProfiles("dev").run(args);
 	}
 
 }
@@ -0,0 +1,51 @@
+package com.example.momskitchen.config;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.servlet.HandlerMapping;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class RequestMetricsFilterTest {
+
+	private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+	private final RequestMetricsFilter filter = new RequestMetricsFilter(registry, true);
+
+	@Test
+	void recordsSqlWorkOfTheRequestByUriPattern() throws Exception {
+		RequestSqlStatistics.count(1, 10, 1);  // outside a request: not counted
+
+		MockHttpServletRequest req = new MockHttpServletRequest("GET", "/api/orders/K7QX2M");
+		filter.doFilter(req, new MockHttpServletResponse(), (rq, rs) -> {
+			// what Hibernate reports for: find order (1 row, 1 entity), then its 3 lines
+			RequestSqlStatistics.count(1, 1, 1);
+			RequestSqlStatistics.count(1, 3, 3);
+			rq.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, "/api/orders/{orderCode}");
+		});
+
+		assertEquals(2.0, summary("momskitchen.request.sql.statements").totalAmount());
+		assertEquals(4.0, summary("momskitchen.request.sql.rows").totalAmount());
+		assertEquals(4.0, summary("momskitchen.request.sql.entities").totalAmount());
+		assertEquals(1, summary("momskitchen.request.sql.statements").count());
+		assertNull(RequestSqlStatistics.end());
+	}
+
+	@Test
+	void recordsNothingWhileHibernateStatisticsAreOff() throws Exception {
+		RequestMetricsFilter off = new RequestMetricsFilter(registry, false);
+
+		off.doFilter(new MockHttpServletRequest("GET", "/api/orders/K7QX2M"), new MockHttpServletResponse(), (rq, rs) ->
+				rq.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, "/api/orders/{orderCode}"));
+
+		assertTrue(registry.find("momskitchen.request.sql.statements").meters().isEmpty());
+	}
+
+	private DistributionSummary summary(String name) {
+		return registry.get(name).tag("uri", "/api/orders/{orderCode}").tag("method", "GET").summary();
+	}
+}
@@ -0,0 +1,78 @@
+package com.example.momskitchen.config;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TrafficRecordingFilterTest {
+
+	private final ObjectMapper mapper = new ObjectMapper();
+
+	@Test
+	void recordsScrubbedRequestsAndTheCreatedOrder(@TempDir Path dir) throws Exception {
+		Path file = dir.resolve("traffic.ndjson");
+		TrafficRecordingFilter filter = new TrafficRecordingFilter(mapper, true, file.toString(), 100, 100);
+
+		MockHttpServletRequest create = new MockHttpServletRequest("POST", "/api/orders");
+		create.setContentType("application/json");
+		create.setContent("""
+				{"customerName":"Jane Doe","customerEmail":"jane@example.com","customerPhone":"(302) 555-0123",
+				 "pickupDay":5,"items":[{"menuItemId":3,"quantity":2}]}""".getBytes(StandardCharsets.UTF_8));
+		create.addHeader("Idempotency-Key", "3f1c2a9e-0000-4000-8000-000000000001");
+		MockHttpServletResponse createRes = new MockHttpServletResponse();
+		filter.doFilter(create, createRes, (rq, rs) -> {
+			rq.getInputStream().readAllBytes();   // what @RequestBody does
+			rq.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, "/api/orders");
+			rs.getOutputStream().write("{\"id\":41,\"orderCode\":\"MKABCDEFGHJ\"}".getBytes(StandardCharsets.UTF_8));
+		});
+		// the client still gets the body
+		assertEquals("{\"id\":41,\"orderCode\":\"MKABCDEFGHJ\"}", createRes.getContentAsString());
+
+		MockHttpServletRequest lookup = new MockHttpServletRequest("GET", "/api/orders/MKABCDEFGHJ");
+		lookup.setQueryString("phone=3025550123");
+		filter.doFilter(lookup, new MockHttpServletResponse(), (rq, rs) ->
+				rq.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, "/api/orders/{orderCode}"));
+		filter.close();
+
+		List<String> lines = Files.readAllLines(file);
+		assertEquals(2, lines.size());
+		assertFalse(lines.get(0).contains("Jane") || lines.get(0).contains("jane@") || lines.get(0).contains("0123"));
+		assertFalse(lines.get(0).contains("3f1c2a9e"));
+
+		JsonNode created = mapper.readTree(lines.get(0));
+		assertEquals("/api/orders", created.get("route").asText());
+		assertEquals("MKABCDEFGHJ", created.get("orderCode").asText());
+		assertEquals(41, created.get("orderId").asLong());
+		assertEquals(2, created.at("/body/items/0/quantity").asInt());
+		assertEquals(16, created.get("idempotencyKey").asText().length());
+
+		// the same phone, formatted differently, scrubs to the same value
+		JsonNode looked = mapper.readTree(lines.get(1));
+		String phone = created.at("/body/customerPhone").asText();
+		assertTrue(phone.matches("555\\d{7}"), phone);
+		assertEquals("phone=" + phone, looked.get("query").asText());
+		assertEquals("/api/orders/{orderCode}", looked.get("route").asText());
+	}
+
+	@Test
+	void disabledFilterWritesNothing(@TempDir Path dir) throws Exception {
+		Path file = dir.resolve("traffic.ndjson");
+		TrafficRecordingFilter filter = new TrafficRecordingFilter(mapper, false, file.toString(), 100, 100);
+		filter.doFilter(new MockHttpServletRequest("GET", "/api/menu/1/tree"), new MockHttpServletResponse(), (rq, rs) -> {});
+		filter.close();
+		assertFalse(Files.exists(file));
+	}
+}
@@ -0,0 +1,69 @@
+package com.example.momskitchen.service;
+
+import com.example.momskitchen.model.MenuItem;
+import com.example.momskitchen.service.CatalogService.CatalogChange;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.event.spi.PostCollectionUpdateEvent;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Set;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+class CatalogChangeListenerTest {
+
+	private final CatalogService catalogService = mock(CatalogService.class);
+	private final CatalogChangeListener listener =
+			new CatalogChangeListener(mock(EntityManagerFactory.class), catalogService);
+
+	@BeforeEach
+	void beginTransaction() {
+		TransactionSynchronizationManager.initSynchronization();
+	}
+
+	@AfterEach
+	void endTransaction() {
+		TransactionSynchronizationManager.clearSynchronization();
+	}
+
+	@Test
+	void addonSetChangeRefreshesTheItemAfterCommit() {
+		// only the item's allowed add-ons changed: a collection event, no entity event
+		listener.onPostUpdateCollection(addonsChanged(7L));
+		verifyNoInteractions(catalogService);
+
+		complete(TransactionSynchronization.STATUS_COMMITTED);
+		verify(catalogService).onCatalogChanged(new CatalogChange(false, Set.of(), Set.of(7L)));
+	}
+
+	@Test
+	void rolledBackAddonSetChangeRefreshesNothing() {
+		listener.onPostUpdateCollection(addonsChanged(7L));
+
+		complete(TransactionSynchronization.STATUS_ROLLED_BACK);
+		verifyNoInteractions(catalogService);
+	}
+
+	private static PostCollectionUpdateEvent addonsChanged(Long itemId) {
+		MenuItem item = new MenuItem();
+		item.setId(itemId);
+		PostCollectionUpdateEvent event = mock(PostCollectionUpdateEvent.class);
+		when(event.getAffectedOwnerOrNull()).thenReturn(item);
+		when(event.getAffectedOwnerIdOrNull()).thenReturn(itemId);
+		return event;
+	}
+
+	private static void complete(int status) {
+		for (TransactionSynchronization sync : TransactionSynchronizationManager.getSynchronizations()) {
+			if (status == TransactionSynchronization.STATUS_COMMITTED) sync.afterCommit();
+			sync.afterCompletion(status);
+		}
+	}
+}
@@ -0,0 +1,116 @@
+package com.example.momskitchen.service;
+
+import com.example.momskitchen.model.Order;
+import com.example.momskitchen.model.OrderItem;
+import com.example.momskitchen.model.OrderItemAddon;
+import com.example.momskitchen.repository.OrderItemRepository;
+import com.example.momskitchen.service.CatalogSnapshot.ItemView;
+import com.example.momskitchen.service.KitchenQueue.Ticket;
+import com.example.momskitchen.service.PricingService.PricedLine;
+import com.example.momskitchen.util.Money;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+
+class KitchenQueueTest {
+
+	private static final LocalDateTime NOON = LocalDateTime.of(2025, 9, 12, 12, 0);
+
+	private final KitchenQueue queue = new KitchenQueue(mock(OrderItemRepository.class), mock(PickupService.class),
+			mock(PlatformTransactionManager.class), 15, 2);
+
+	@Test
+	void ordersByStartTimeNotPickupTime() {
+		queue.put(ticket(1L, NOON, 10));                 // start 11:50
+		queue.put(ticket(2L, NOON.plusMinutes(15), 45)); // start 11:30
+		queue.put(ticket(3L, NOON.minusHours(1), 5));    // start 10:55
+
+		assertEquals(List.of(3L, 2L, 1L), ids(queue.head(10)));
+		assertEquals(List.of(3L, 2L), ids(queue.head(2)));
+		assertEquals(3, queue.size());
+	}
+
+	@Test
+	void putReplacesAndRemoveDequeues() {
+		queue.put(ticket(1L, NOON, 10));
+		queue.put(ticket(2L, NOON, 20));
+		queue.put(ticket(1L, NOON, 30));   // same order again: moves, no duplicate
+
+		assertEquals(List.of(1L, 2L), ids(queue.head(10)));
+		assertEquals(2, queue.size());
+
+		queue.remove(1L);
+		queue.remove(99L);
+		assertEquals(List.of(2L), ids(queue.head(10)));
+		assertEquals(1, queue.size());
+	}
+
+	@Test
+	void pruneDropsOnlyPastPickups() {
+		LocalDateTime today = NOON.toLocalDate().atStartOfDay();
+		queue.put(ticket(1L, today.minusHours(2), 10));   // yesterday
+		queue.put(ticket(2L, today.plusMinutes(10), 30)); // starts yesterday, picks up today
+		queue.put(ticket(3L, NOON, 10));
+
+		queue.pruneBefore(today);
+
+		assertEquals(List.of(2L, 3L), ids(queue.head(10)));
+	}
+
+	@Test
+	void estimateIsLongestLinePlusExtraPortions() {
+		PricedLine stew = line(30, 1);
+		PricedLine rice = line(null, 2);   // default 15
+
+		// longest 30 + 2 min for each of the 2 extra portions
+		assertEquals(34, queue.estimatePrepMinutes(List.of(stew, rice)));
+		assertEquals(15, queue.estimatePrepMinutes(List.of(line(null, 1))));
+	}
+
+	@Test
+	void ticketSnapshotsLinesAndStartTime() {
+		Order order = new Order();
+		order.setId(7L);
+		order.setOrderCode("MKTEST");
+		order.setPickupAt(NOON);
+		order.setPrepMinutes(25);
+
+		OrderItem oi = new OrderItem();
+		oi.setItemName("Jollof Rice Plate");
+		oi.setQuantity(2);
+		OrderItemAddon addon = new OrderItemAddon();
+		addon.setAddonName("Extra chicken");
+		oi.getAddons().add(addon);
+
+		Ticket t = queue.ticket(order, List.of(oi));
+
+		assertEquals(NOON.minusMinutes(25), t.startBy());
+		assertEquals(2, t.portions());
+		assertEquals(List.of("Extra chicken"), t.lines().get(0).addons());
+
+		order.setPrepMinutes(null);
+		assertEquals(NOON.minusMinutes(15), queue.ticket(order, List.of(oi)).startBy());
+		assertTrue(queue.head(10).isEmpty());
+	}
+
+	private static Ticket ticket(Long id, LocalDateTime pickupAt, int prep) {
+		return new Ticket(id, "MK" + id, "Customer " + id, null, pickupAt, prep,
+				pickupAt.minusMinutes(prep), 1, List.of());
+	}
+
+	private static PricedLine line(Integer prepMinutes, int quantity) {
+		ItemView item = new ItemView(1L, 1L, "Item", null, BigDecimal.TEN, true, null, 0, List.of(), prepMinutes);
+		return new PricedLine(item, quantity, List.of(), Money.ofCents(1000L * quantity));
+	}
+
+	private static List<Long> ids(List<Ticket> tickets) {
+		return tickets.stream().map(Ticket::orderId).toList();
+	}
+}
@@ -0,0 +1,120 @@
+package com.example.momskitchen.service;
+
+import com.example.momskitchen.dto.OrderListItemDTO;
+import com.example.momskitchen.service.OrderEventBus.OrderEvent;
+import com.example.momskitchen.service.OrderEventBus.Subscription;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class OrderEventBusTest {
+
+	private final OrderEventBus bus = new OrderEventBus(4, 2);
+
+	@AfterEach
+	void tearDown() {
+		bus.shutdown();
+	}
+
+	@Test
+	void deliversEventsInOrder() throws Exception {
+		List<OrderEvent> received = new CopyOnWriteArrayList<>();
+		CountDownLatch done = new CountDownLatch(3);
+		bus.subscribe(e -> {
+			received.add(e);
+			done.countDown();
+		});
+
+		bus.publish(OrderEventBus.ORDER_CREATED, order(1L));
+		bus.publish(OrderEventBus.ORDER_STATUS, order(1L));
+		bus.publish(OrderEventBus.ORDER_PAYMENT, order(1L));
+
+		assertTrue(done.await(5, TimeUnit.SECONDS));
+		assertEquals(List.of(OrderEventBus.ORDER_CREATED, OrderEventBus.ORDER_STATUS, OrderEventBus.ORDER_PAYMENT),
+				received.stream().map(OrderEvent::type).toList());
+		assertTrue(received.get(0).id() < received.get(2).id());
+	}
+
+	@Test
+	void slowSubscriberGetsResyncWithoutHoldingUpOthers() throws Exception {
+		CountDownLatch release = new CountDownLatch(1);
+		CountDownLatch slowStarted = new CountDownLatch(1);
+		List<OrderEvent> slow = new CopyOnWriteArrayList<>();
+		bus.subscribe(e -> {
+			slowStarted.countDown();
+			release.await();
+			slow.add(e);
+		});
+		List<OrderEvent> fast = new CopyOnWriteArrayList<>();
+		CountDownLatch fastDone = new CountDownLatch(11);
+		bus.subscribe(e -> {
+			fast.add(e);
+			fastDone.countDown();
+		});
+
+		bus.publish(OrderEventBus.ORDER_CREATED, order(0L));
+		assertTrue(slowStarted.await(5, TimeUnit.SECONDS));
+		for (long i = 1; i <= 10; i++) {
+			bus.publish(OrderEventBus.ORDER_CREATED, order(i));
+			// let the fast subscriber keep up so only the slow one overflows
+			while (fast.size() < i + 1) Thread.onSpinWait();
+		}
+
+		assertTrue(fastDone.await(5, TimeUnit.SECONDS));
+		assertEquals(11, fast.size());
+
+		release.countDown();
+		long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+		while (slow.size() < 2 && System.nanoTime() < deadline) Thread.sleep(10);
+		Thread.sleep(50);
+
+		// the event in flight, then one resync instead of the backlog that overflowed
+		assertEquals(OrderEventBus.ORDER_CREATED, slow.get(0).type());
+		assertTrue(slow.stream().anyMatch(e -> OrderEventBus.RESYNC.equals(e.type())));
+		assertTrue(slow.size() <= 1 + 4);
+		assertTrue(bus.droppedCount() > 0);
+	}
+
+	@Test
+	void failingSinkIsUnsubscribed() throws Exception {
+		CountDownLatch failed = new CountDownLatch(1);
+		bus.subscribe(e -> {
+			failed.countDown();
+			throw new IOException("client went away");
+		});
+		assertEquals(1, bus.subscriberCount());
+
+		bus.publish(OrderEventBus.ORDER_STATUS, order(1L));
+
+		assertTrue(failed.await(5, TimeUnit.SECONDS));
+		long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+		while (bus.subscriberCount() > 0 && System.nanoTime() < deadline) Thread.sleep(10);
+		assertEquals(0, bus.subscriberCount());
+	}
+
+	@Test
+	void rejectsSubscribersOverTheLimitUntilOneCloses() {
+		Subscription first = bus.subscribe(e -> {});
+		assertNotNull(bus.subscribe(e -> {}));
+		assertNull(bus.subscribe(e -> {}));
+
+		first.close();
+		assertNotNull(bus.subscribe(e -> {}));
+	}
+
+	private static OrderListItemDTO order(Long id) {
+		OrderListItemDTO dto = new OrderListItemDTO();
+		dto.setOrderId(id);
+		return dto;
+	}
+}
@@ -0,0 +1,196 @@
+package com.example.momskitchen.service;
+
+import com.example.momskitchen.config.JacksonConfig;
+import com.example.momskitchen.service.OrderExportService.CsvSink;
+import com.example.momskitchen.service.OrderExportService.ExportedAddon;
+import com.example.momskitchen.service.OrderExportService.ExportedLine;
+import com.example.momskitchen.service.OrderExportService.ExportedOrder;
+import com.example.momskitchen.service.OrderExportService.Format;
+import com.example.momskitchen.service.OrderExportService.Grouper;
+import com.example.momskitchen.service.OrderExportService.NdjsonSink;
+import com.example.momskitchen.service.OrderExportService.Row;
+import com.example.momskitchen.service.OrderExportService.Sink;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import javax.sql.DataSource;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class OrderExportServiceTest {
+
+	private static final LocalDateTime CREATED = LocalDateTime.of(2025, 9, 12, 18, 30);
+	private static final LocalDate DAY = CREATED.toLocalDate();
+
+	@Test
+	void groupsContiguousRowsIntoOrders() throws IOException {
+		List<ExportedOrder> written = new ArrayList<>();
+		Grouper grouper = new Grouper(collecting(written));
+
+		// order 1: line 10 with two add-ons, line 11 without; order 2: no lines
+		grouper.accept(row(1L, 10L, "Jollof", "Extra chicken"));
+		grouper.accept(row(1L, 10L, "Jollof", "Shito"));
+		grouper.accept(row(1L, 11L, "Plantains", null));
+		grouper.accept(new Row(order(2L, "Ama"), null, null, null));
+
+		assertEquals(2, grouper.finish());
+		assertEquals(2, written.size());
+		ExportedOrder first = written.get(0);
+		assertEquals(2, first.lines().size());
+		assertEquals(List.of("Extra chicken", "Shito"),
+				first.lines().get(0).addons().stream().map(ExportedAddon::name).toList());
+		assertEquals(0, first.lines().get(1).addons().size());
+		assertEquals(0, written.get(1).lines().size());
+	}
+
+	@Test
+	void csvWritesOneRowPerLineAndEscapesText() throws IOException {
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		Sink csv = new CsvSink(out);
+		Grouper grouper = new Grouper(csv);
+		grouper.accept(row(1L, 10L, "Jollof, large", "Extra chicken"));
+		grouper.accept(row(1L, 11L, "Plantains", null));
+		grouper.accept(new Row(order(2L, "=HYPERLINK(\"x\")"), null, null, null));
+		grouper.finish();
+
+		String[] rows = out.toString(StandardCharsets.UTF_8).split("\r\n");
+		assertEquals(4, rows.length);
+		assertEquals(CsvSink.HEADER, rows[0]);
+		assertEquals("1,MK1,2025-09-12T18:30,2025-09-13T12:00,CONFIRMED,PAID,Kofi,k@example.com,3025550100,,"
+				+ "12.99,1.04,14.03,\"Jollof, large\",12.99,2,25.98,Extra chicken (+1.50)", rows[1]);
+		assertEquals("1,MK1,2025-09-12T18:30,2025-09-13T12:00,CONFIRMED,PAID,Kofi,k@example.com,3025550100,,"
+				+ "12.99,1.04,14.03,Plantains,12.99,2,25.98,", rows[2]);
+		// formula-looking text is neutralized and quoted
+		assertEquals("2,MK2,2025-09-12T18:30,2025-09-13T12:00,CONFIRMED,PAID,\"'=HYPERLINK(\"\"x\"\")\","
+				+ "k@example.com,3025550100,,12.99,1.04,14.03,,,,,", rows[3]);
+	}
+
+	@Test
+	void ndjsonWritesOneObjectPerOrder() throws IOException {
+		ObjectMapper mapper = new JacksonConfig().objectMapper();
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		Grouper grouper = new Grouper(new NdjsonSink(mapper, out));
+		grouper.accept(row(1L, 10L, "Jollof", "Extra chicken"));
+		grouper.accept(new Row(order(2L, "Ama"), null, null, null));
+		grouper.finish();
+
+		String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+		assertEquals(2, lines.length);
+		JsonNode first = mapper.readTree(lines[0]);
+		assertEquals("MK1", first.get("orderCode").asText());
+		assertEquals("2025-09-12T18:30:00", first.get("createdAtUtc").asText());
+		assertEquals("Extra chicken", first.get("lines").get(0).get("addons").get(0).get("name").asText());
+		assertEquals(0, mapper.readTree(lines[1]).get("lines").size());
+	}
+
+	@Test
+	void bodyThatNeverRunsHoldsNoPermit() throws Exception {
+		AtomicInteger exports = new AtomicInteger();
+		OrderExportService service = service(1, () -> exports.incrementAndGet());
+		AtomicInteger busy = new AtomicInteger();
+
+		// e.g. requests aborted before their async task started
+		for (int i = 0; i < 5; i++) {
+			service.stream(DAY, DAY, Format.CSV, busy::incrementAndGet);
+		}
+
+		service.stream(DAY, DAY, Format.CSV, busy::incrementAndGet).writeTo(new ByteArrayOutputStream());
+		assertEquals(1, exports.get());
+		assertEquals(0, busy.get());
+	}
+
+	@Test
+	void bodyIsBusyWhileMaxConcurrentExportsRun() throws Exception {
+		CountDownLatch running = new CountDownLatch(1);
+		CountDownLatch release = new CountDownLatch(1);
+		OrderExportService service = service(1, () -> {
+			running.countDown();
+			release.await();
+		});
+		AtomicInteger busy = new AtomicInteger();
+
+		ExecutorService pool = Executors.newSingleThreadExecutor();
+		Future<?> first = pool.submit(() -> {
+			service.stream(DAY, DAY, Format.CSV, busy::incrementAndGet).writeTo(new ByteArrayOutputStream());
+			return null;
+		});
+		assertTrue(running.await(5, TimeUnit.SECONDS));
+
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		service.stream(DAY, DAY, Format.CSV, busy::incrementAndGet).writeTo(out);
+		assertEquals(1, busy.get());
+		assertEquals(0, out.size());
+
+		release.countDown();
+		first.get(5, TimeUnit.SECONDS);
+		pool.shutdown();
+		service.stream(DAY, DAY, Format.CSV, busy::incrementAndGet).writeTo(new ByteArrayOutputStream());
+		assertEquals(1, busy.get());
+	}
+
+	/** Service whose export runs the given step instead of the query */
+	private static OrderExportService service(int maxConcurrent, Step onExport) {
+		PickupService pickup = mock(PickupService.class);
+		when(pickup.zone()).thenReturn(ZoneOffset.UTC);
+		return new OrderExportService(mock(DataSource.class), new ObjectMapper(), pickup, maxConcurrent) {
+			@Override
+			long export(LocalDateTime fromUtc, LocalDateTime toUtc, Sink sink) throws IOException {
+				try {
+					onExport.run();
+				} catch (InterruptedException ex) {
+					Thread.currentThread().interrupt();
+					throw new IOException(ex);
+				}
+				return 0;
+			}
+		};
+	}
+
+	private interface Step {
+		void run() throws InterruptedException;
+	}
+
+	private static Sink collecting(List<ExportedOrder> into) {
+		return new Sink() {
+			@Override
+			public void write(ExportedOrder order) {
+				into.add(order);
+			}
+
+			@Override
+			public void finish() {
+			}
+		};
+	}
+
+	private static Row row(Long orderId, Long lineId, String item, String addon) {
+		ExportedLine line = new ExportedLine(item, new BigDecimal("12.99"), 2, new BigDecimal("25.98"), new ArrayList<>());
+		return new Row(order(orderId, "Kofi"), lineId, line,
+				addon != null ? new ExportedAddon(addon, new BigDecimal("1.50")) : null);
+	}
+
+	private static ExportedOrder order(Long id, String customer) {
+		return new ExportedOrder(id, "MK" + id, "CONFIRMED", "PAID", CREATED, CREATED.plusHours(17).plusMinutes(30),
+				customer, "k@example.com", "3025550100", null,
+				new BigDecimal("12.99"), new BigDecimal("1.04"), new BigDecimal("14.03"), new ArrayList<>());
+	}
+}
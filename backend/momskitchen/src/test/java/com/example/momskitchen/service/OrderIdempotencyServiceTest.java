@@ -0,0 +1,84 @@
+package com.example.momskitchen.service;
+
+import com.example.momskitchen.config.JacksonConfig;
+import com.example.momskitchen.dto.CartItemDTO;
+import com.example.momskitchen.dto.CreateOrderRequest;
+import com.example.momskitchen.dto.OrderSummaryDTO;
+import com.example.momskitchen.model.OrderIdempotency;
+import com.example.momskitchen.repository.OrderIdempotencyRepository;
+import com.example.momskitchen.service.OrderIdempotencyService.Key;
+import com.example.momskitchen.service.OrderIdempotencyService.Replay;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class OrderIdempotencyServiceTest {
+
+	private static final String KEY = "3f0c1e52-8a4b-4c5e-9d61-0b7f2a9e4c10";
+
+	private final OrderIdempotencyRepository repository = mock(OrderIdempotencyRepository.class);
+	private final OrderIdempotencyService service =
+			new OrderIdempotencyService(repository, new JacksonConfig().objectMapper(), 100, 24);
+
+	@Test
+	void sameBodyHashesAlikeAndBadKeysAreRejected() {
+		assertEquals(service.key(KEY, request(1)).requestHash(), service.key(KEY, request(1)).requestHash());
+		assertNotEquals(service.key(KEY, request(1)).requestHash(), service.key(KEY, request(2)).requestHash());
+		assertThrows(IllegalArgumentException.class, () -> service.key("has space", request(1)));
+		assertThrows(IllegalArgumentException.class, () -> service.key("x".repeat(65), request(1)));
+	}
+
+	@Test
+	void unknownKeyIsEmptyAndRememberedSummaryReplaysWithoutQueries() {
+		Key key = service.key(KEY, request(1));
+		when(repository.findById(KEY)).thenReturn(Optional.empty());
+		assertTrue(service.find(key).isEmpty());
+
+		OrderSummaryDTO summary = new OrderSummaryDTO();
+		service.remember(key, 42L, summary);
+		Replay replay = service.find(key).orElseThrow();
+		assertEquals(42L, replay.orderId());
+		assertSame(summary, replay.summary());
+		verify(repository).findById(KEY);   // only the first lookup
+	}
+
+	@Test
+	void storedKeyReplaysOrderIdAndRejectsDifferentBody() {
+		Key key = service.key(KEY, request(1));
+		when(repository.findById(KEY)).thenReturn(Optional.of(
+				new OrderIdempotency(KEY, key.requestHash(), 7L, LocalDateTime.now())));
+
+		Replay replay = service.find(key).orElseThrow();
+		assertEquals(7L, replay.orderId());
+		assertNull(replay.summary());
+
+		Key other = service.key(KEY, request(3));
+		assertThrows(IdempotencyConflictException.class, () -> service.find(other));
+	}
+
+	private static CreateOrderRequest request(int quantity) {
+		CreateOrderRequest req = new CreateOrderRequest();
+		req.setCustomerName("Test");
+		req.setCustomerEmail("test@example.com");
+		req.setCustomerPhone("3025550123");
+		req.setPickupSlotId(1L);
+		req.setPickupDay(5);
+		CartItemDTO item = new CartItemDTO();
+		item.setMenuItemId(1L);
+		item.setQuantity(quantity);
+		req.setItems(List.of(item));
+		return req;
+	}
+}
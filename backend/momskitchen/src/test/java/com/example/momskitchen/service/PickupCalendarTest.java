@@ -0,0 +1,73 @@
+package com.example.momskitchen.service;
+
+import com.example.momskitchen.model.PickupSlot;
+import com.example.momskitchen.service.PickupCalendar.SlotView;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class PickupCalendarTest {
+
+	@Test
+	void slotAtMatchesLinearScanWithOverlappingSlots() {
+		Random rnd = new Random(11);
+		List<PickupSlot> slots = new ArrayList<>();
+		for (long id = 1; id <= 60; id++) {
+			int start = rnd.nextInt(0, 22 * 4) * 15;             // quarter hours, overlaps likely
+			int end = start + rnd.nextInt(1, 16) * 15;
+			slots.add(slot(id, rnd.nextInt(7), start, Math.min(end, 24 * 60 - 1), rnd.nextInt(5) > 0));
+		}
+		PickupCalendar cal = PickupCalendar.of(1L, slots);
+
+		for (int day = 0; day < 7; day++) {
+			List<SlotView> active = cal.slotsOn(day);
+			for (int minute = 0; minute < 24 * 60; minute++) {
+				SlotView expected = null;
+				for (SlotView s : active) {
+					if (s.contains(minute)) { expected = s; break; }
+				}
+				assertEquals(expected, cal.slotAt(day, minute), "day " + day + " minute " + minute);
+			}
+		}
+	}
+
+	@Test
+	void daysAreSortedAndInactiveSlotsOnlyResolveById() {
+		PickupCalendar cal = PickupCalendar.of(1L, List.of(
+				slot(1L, 5, 16 * 60, 19 * 60, true),
+				slot(2L, 5, 11 * 60, 13 * 60, true),
+				slot(3L, 5, 9 * 60, 10 * 60, false)));
+
+		assertEquals(List.of(2L, 1L), cal.slotsOn(5).stream().map(SlotView::id).toList());
+		assertEquals(2L, cal.firstSlot(5).id());
+		assertFalse(cal.hasSlots(4));
+		assertNull(cal.slotAt(5, 9 * 60 + 30));
+		assertFalse(cal.slot(3L).orElseThrow().active());
+		assertEquals(1L, cal.slotAt(5, 19 * 60 - 1).id());
+		assertNull(cal.slotAt(5, 19 * 60));                      // end is exclusive
+	}
+
+	@Test
+	void midnightEndCoversTheRestOfTheDay() {
+		PickupCalendar cal = PickupCalendar.of(1L, List.of(slot(1L, 6, 22 * 60, 0, true)));
+		assertNotNull(cal.slotAt(6, 23 * 60 + 59));
+	}
+
+	private static PickupSlot slot(Long id, int day, int startMinute, int endMinute, boolean active) {
+		PickupSlot s = new PickupSlot();
+		s.setId(id);
+		s.setDayOfWeek(day);
+		s.setStartTime(LocalTime.of(startMinute / 60, startMinute % 60));
+		s.setEndTime(LocalTime.of(endMinute / 60, endMinute % 60));
+		s.setActive(active);
+		return s;
+	}
+}
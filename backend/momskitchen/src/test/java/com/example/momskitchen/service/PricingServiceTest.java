@@ -0,0 +1,80 @@
+package com.example.momskitchen.service;
+
+import com.example.momskitchen.dto.CartItemDTO;
+import com.example.momskitchen.dto.CreateOrderRequest;
+import com.example.momskitchen.dto.QuoteResponse;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+
+/**
+ * Property check: Money-based quotes equal the original BigDecimal pricing on random carts,
+ * plus quote-cache keying.
+ */
+class PricingServiceTest {
+
+	@Test
+	void quoteTotalsMatchBigDecimalReference() {
+		QuoteFixtures fx = new QuoteFixtures(42, 200, 40);
+		for (String rate : new String[]{"0.00", "0.06", "0.0625", "0.08875", "0.125"}) {
+			BigDecimal taxRate = new BigDecimal(rate);
+			PricingService pricing = new PricingService(fx.catalogService(), taxRate, true, 0);
+
+			for (int i = 0; i < 20_000; i++) {
+				CreateOrderRequest cart = fx.randomCart(12);
+				BigDecimal[] expected = fx.referenceTotals(cart, taxRate);
+				QuoteResponse actual = pricing.quote(cart);
+
+				assertEquals(expected[0], actual.getSubtotal(), "subtotal @ " + rate);
+				assertEquals(expected[1], actual.getTax(), "tax @ " + rate);
+				assertEquals(expected[2], actual.getTotal(), "total @ " + rate);
+			}
+		}
+	}
+
+	@Test
+	void repeatedCartIsServedFromQuoteCacheInAnyLineOrder() {
+		QuoteFixtures fx = new QuoteFixtures(7, 50, 10);
+		PricingService pricing = new PricingService(fx.catalogService(), new BigDecimal("0.06"), true, 100);
+
+		CreateOrderRequest cart = fx.randomCart(6);
+		while (cart.getItems().size() < 2) cart = fx.randomCart(6);
+		QuoteResponse first = pricing.quote(cart);
+
+		CreateOrderRequest reordered = new CreateOrderRequest();
+		List<CartItemDTO> lines = new ArrayList<>(cart.getItems());
+		Collections.reverse(lines);
+		reordered.setItems(lines);
+		QuoteResponse second = pricing.quote(reordered);
+
+		assertEquals(first.getTotal(), second.getTotal());
+		assertEquals(1, pricing.quoteCacheStats().hits());
+		assertEquals(1, pricing.quoteCacheStats().misses());
+
+		// a new catalog version must not reuse old quotes
+		fx.catalogVersion++;
+		pricing.quote(cart);
+		assertEquals(2, pricing.quoteCacheStats().misses());
+		assertEquals(1, pricing.quoteCacheStats().size());
+	}
+
+	@Test
+	void differentQuantitiesAreDifferentCarts() {
+		QuoteFixtures fx = new QuoteFixtures(9, 50, 10);
+		PricingService pricing = new PricingService(fx.catalogService(), BigDecimal.ZERO, true, 100);
+
+		CreateOrderRequest cart = fx.randomCart(1);
+		BigDecimal one = pricing.quote(cart).getTotal();
+		cart.getItems().get(0).setQuantity(cart.getItems().get(0).getQuantity() + 1);
+		BigDecimal more = pricing.quote(cart).getTotal();
+
+		assertNotEquals(one, more);
+		assertEquals(0, pricing.quoteCacheStats().hits());
+	}
+}
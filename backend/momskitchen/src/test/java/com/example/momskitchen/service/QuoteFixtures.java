@@ -0,0 +1,112 @@
+package com.example.momskitchen.service;
+
+import com.example.momskitchen.dto.CartAddonDTO;
+import com.example.momskitchen.dto.CartItemDTO;
+import com.example.momskitchen.dto.CreateOrderRequest;
+import com.example.momskitchen.service.CatalogService.CatalogLookup;
+import com.example.momskitchen.service.CatalogSnapshot.AddonView;
+import com.example.momskitchen.service.CatalogSnapshot.ItemView;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.*;
+
+/**
+ * Synthetic catalog + carts for pricing tests and benchmarks, plus the original
+ * BigDecimal pricing math as a reference implementation.
+ */
+public final class QuoteFixtures {
+
+	public final Map<Long, ItemView> items = new HashMap<>();
+	public final Map<Long, AddonView> addons = new HashMap<>();
+	/** What catalogService().version() reports; bump it to simulate a catalog change. */
+	public long catalogVersion = 1L;
+	private final Random rnd;
+
+	/**
+	 * @param itemCount  number of menu items (ids 1..itemCount)
+	 * @param addonCount number of add-ons (ids 1..addonCount); each item allows 3-6 of them
+	 */
+	public QuoteFixtures(long seed, int itemCount, int addonCount) {
+		this.rnd = new Random(seed);
+		for (long id = 1; id <= addonCount; id++) {
+			addons.put(id, new AddonView(id, "Addon " + id, null, cents(rnd.nextInt(0, 500)), true));
+		}
+		for (long id = 1; id <= itemCount; id++) {
+			List<Long> allowed = new ArrayList<>();
+			int n = rnd.nextInt(3, 7);
+			while (allowed.size() < n) {
+				long a = rnd.nextLong(1, addonCount + 1);
+				if (!allowed.contains(a)) allowed.add(a);
+			}
+			items.put(id, new ItemView(id, 1L, "Item " + id, null, cents(rnd.nextInt(199, 4_999)),
+					true, null, 0, allowed));
+		}
+	}
+
+	/** A cart of 1..maxLines lines, quantity 1..5, 0..3 allowed add-ons per line. */
+	public CreateOrderRequest randomCart(int maxLines) {
+		List<CartItemDTO> lines = new ArrayList<>();
+		int n = rnd.nextInt(1, maxLines + 1);
+		for (int i = 0; i < n; i++) {
+			ItemView item = items.get(rnd.nextLong(1, items.size() + 1));
+			CartItemDTO line = new CartItemDTO();
+			line.setMenuItemId(item.id());
+			line.setQuantity(rnd.nextInt(1, 6));
+			List<CartAddonDTO> chosen = new ArrayList<>();
+			int k = rnd.nextInt(0, 4);
+			for (int j = 0; j < k; j++) {
+				Long addonId = item.allowedAddonIds().get(rnd.nextInt(item.allowedAddonIds().size()));
+				chosen.add(new CartAddonDTO(addonId, null, null));
+			}
+			line.setAddons(chosen);
+			lines.add(line);
+		}
+		CreateOrderRequest req = new CreateOrderRequest();
+		req.setItems(lines);
+		return req;
+	}
+
+	/** A CatalogService that answers resolve() from this fixture (no database). */
+	public CatalogService catalogService() {
+		CatalogLookup all = new CatalogLookup(1L, items, addons);
+		return new CatalogService(null, null, null, null, null) {
+			@Override
+			public long version() {
+				return catalogVersion;
+			}
+
+			@Override
+			public CatalogLookup resolve(Collection<Long> itemIds, Collection<Long> addonIds) {
+				return all;
+			}
+		};
+	}
+
+	/**
+	 * The pre-Money pricing math: {subtotal, tax, total}.
+	 */
+	public BigDecimal[] referenceTotals(CreateOrderRequest req, BigDecimal taxRate) {
+		BigDecimal subtotal = BigDecimal.ZERO;
+		for (CartItemDTO line : req.getItems()) {
+			ItemView item = items.get(line.getItemId());
+			int qty = (line.getQuantity() != null && line.getQuantity() > 0) ? line.getQuantity() : 1;
+			BigDecimal addonSum = BigDecimal.ZERO;
+			for (CartAddonDTO a : line.getAddons()) {
+				if (!item.allowsAddon(a.getAddonId())) {
+					throw new IllegalArgumentException("Addon " + a.getAddonId() + " is not allowed for item " + item.id());
+				}
+				addonSum = addonSum.add(addons.get(a.getAddonId()).priceDelta());
+			}
+			BigDecimal lineTotal = item.price().add(addonSum).multiply(BigDecimal.valueOf(qty));
+			subtotal = subtotal.add(lineTotal.setScale(2, RoundingMode.HALF_UP));
+		}
+		BigDecimal tax = subtotal.multiply(taxRate).setScale(2, RoundingMode.HALF_UP);
+		BigDecimal total = subtotal.add(tax).setScale(2, RoundingMode.HALF_UP);
+		return new BigDecimal[]{subtotal, tax, total};
+	}
+
+	private static BigDecimal cents(long c) {
+		return BigDecimal.valueOf(c, 2);
+	}
+}
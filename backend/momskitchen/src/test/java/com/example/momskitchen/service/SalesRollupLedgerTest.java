@@ -0,0 +1,129 @@
+package com.example.momskitchen.service;
+
+import com.example.momskitchen.model.Addon;
+import com.example.momskitchen.model.MenuItem;
+import com.example.momskitchen.model.Order;
+import com.example.momskitchen.model.OrderItem;
+import com.example.momskitchen.model.OrderItemAddon;
+import com.example.momskitchen.model.PickupSlot;
+import com.example.momskitchen.model.SalesRollup;
+import com.example.momskitchen.repository.SalesRollupRepository;
+import com.example.momskitchen.service.SalesRollupLedger.Delta;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class SalesRollupLedgerTest {
+
+	private static final LocalDate TODAY = LocalDate.of(2025, 9, 12);
+
+	private final SalesRollupRepository repository = mock(SalesRollupRepository.class);
+	private final PickupService pickupService = mock(PickupService.class);
+	private final SalesRollupLedger ledger = new SalesRollupLedger(repository, pickupService);
+
+	SalesRollupLedgerTest() {
+		when(pickupService.today()).thenReturn(TODAY);
+		when(pickupService.zone()).thenReturn(ZoneId.of("America/New_York"));
+	}
+
+	@Test
+	void placedOrderCountsOnEveryDimension() {
+		ledger.orderPlaced(order());
+
+		assertEquals(new Delta(1, 3103, 0, 0, 0, 0), ledger.pendingDelta(SalesRollup.DAY, TODAY, 0L));
+		assertEquals(new Delta(1, 3103, 0, 0, 0, 0), ledger.pendingDelta(SalesRollup.SLOT, TODAY, 3L));
+		assertEquals(new Delta(2, 2898, 0, 0, 0, 0), ledger.pendingDelta(SalesRollup.ITEM, TODAY, 1L));
+		// add-on delta 1.50 on each of the 2 portions
+		assertEquals(new Delta(2, 300, 0, 0, 0, 0), ledger.pendingDelta(SalesRollup.ADDON, TODAY, 7L));
+	}
+
+	@Test
+	void orderCountsOnItsCreatedDayWhenCommittedAfterMidnight() {
+		// created 23:59:50 on the 12th in New York; the pickup zone's today has already moved on
+		when(pickupService.today()).thenReturn(TODAY.plusDays(1));
+		Order order = order();
+		order.setCreatedAt(LocalDateTime.of(2025, 9, 13, 3, 59, 50));
+
+		ledger.orderPlaced(order);
+		order.setPaymentStatus("PAID");
+		ledger.paymentChanged(order, order.getItems(), "UNPAID");
+
+		assertEquals(new Delta(1, 3103, 1, 3103, 0, 0), ledger.pendingDelta(SalesRollup.DAY, TODAY, 0L));
+		assertNull(ledger.pendingDelta(SalesRollup.DAY, TODAY.plusDays(1), 0L));
+	}
+
+	@Test
+	void paymentChangesMoveAmountsBetweenPaidAndRefunded() {
+		Order order = order();
+		// created 02:00 UTC on the 13th = 22:00 on the 12th in New York
+		order.setCreatedAt(LocalDateTime.of(2025, 9, 13, 2, 0));
+
+		order.setPaymentStatus("PAID");
+		ledger.paymentChanged(order, order.getItems(), "UNPAID");
+		assertEquals(new Delta(0, 0, 1, 3103, 0, 0), ledger.pendingDelta(SalesRollup.DAY, TODAY, 0L));
+
+		order.setPaymentStatus("REFUNDED");
+		ledger.paymentChanged(order, order.getItems(), "PAID");
+		assertEquals(new Delta(0, 0, 0, 0, 1, 3103), ledger.pendingDelta(SalesRollup.DAY, TODAY, 0L));
+		assertEquals(new Delta(0, 0, 0, 0, 2, 2898), ledger.pendingDelta(SalesRollup.ITEM, TODAY, 1L));
+
+		assertFalse(SalesRollupLedger.affectsRollups("UNPAID", "PENDING"));
+		assertTrue(SalesRollupLedger.affectsRollups("PAID", "UNPAID"));
+	}
+
+	@Test
+	void flushWritesMergedDeltasAndKeepsFailedOnes() {
+		ledger.orderPlaced(order());
+		ledger.orderPlaced(order());
+		when(repository.add(eq(SalesRollup.ADDON), any(), anyLong(), anyLong(), any(), anyLong(), any(), anyLong(), any()))
+				.thenThrow(new IllegalStateException("db down"));
+
+		ledger.flush();
+
+		verify(repository).add(SalesRollup.DAY, TODAY, 0L, 2L, new BigDecimal("62.06"),
+				0L, new BigDecimal("0.00"), 0L, new BigDecimal("0.00"));
+		verify(repository, times(4)).add(any(), any(), anyLong(), anyLong(), any(), anyLong(), any(), anyLong(), any());
+		assertNull(ledger.pendingDelta(SalesRollup.DAY, TODAY, 0L));
+		assertEquals(new Delta(4, 600, 0, 0, 0, 0), ledger.pendingDelta(SalesRollup.ADDON, TODAY, 7L));
+	}
+
+	private static Order order() {
+		PickupSlot slot = new PickupSlot();
+		slot.setId(3L);
+		MenuItem item = new MenuItem();
+		item.setId(1L);
+		Addon addon = new Addon();
+		addon.setId(7L);
+
+		Order order = new Order();
+		order.setPickupSlot(slot);
+		order.setTotalAmount(new BigDecimal("31.03"));
+
+		OrderItem line = new OrderItem();
+		line.setMenuItem(item);
+		line.setQuantity(2);
+		line.setLineSubtotal(new BigDecimal("28.98"));
+		OrderItemAddon oia = new OrderItemAddon();
+		oia.setAddon(addon);
+		oia.setPriceDelta(new BigDecimal("1.50"));
+		line.getAddons().add(oia);
+		order.setItems(List.of(line));
+		return order;
+	}
+}
@@ -0,0 +1,128 @@
+package com.example.momskitchen.service;
+
+import com.example.momskitchen.model.PickupSlotCapacity;
+import com.example.momskitchen.repository.PickupSlotCapacityRepository;
+import com.example.momskitchen.service.PickupCalendar.SlotView;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class SlotCapacityLedgerTest {
+
+	private static final LocalDate DATE = LocalDate.now().plusDays(3);
+
+	@Test
+	void concurrentCheckoutsNeverOverbook() throws Exception {
+		SlotCapacityLedger ledger = new SlotCapacityLedger(emptyRepository(), "UTC");
+		SlotView slot = slot(1L, 100, 250);
+
+		int threads = 8;
+		AtomicInteger accepted = new AtomicInteger();
+		CountDownLatch start = new CountDownLatch(1);
+		ExecutorService pool = Executors.newFixedThreadPool(threads);
+		for (int t = 0; t < threads; t++) {
+			pool.submit(() -> {
+				start.await();
+				for (int i = 0; i < 100; i++) {
+					try {
+						ledger.reserve(slot, DATE, 2);
+						accepted.incrementAndGet();
+					} catch (IllegalArgumentException full) {
+						// expected once the slot is full
+					}
+				}
+				return null;
+			});
+		}
+		start.countDown();
+		pool.shutdown();
+		assertTrue(pool.awaitTermination(10, TimeUnit.SECONDS));
+
+		// 250 items / 2 per order = 125 > 100 orders, so the order limit binds
+		assertEquals(100, accepted.get());
+		SlotCapacityLedger.Usage usage = ledger.usage(slot, DATE);
+		assertEquals(100, usage.ordersReserved());
+		assertEquals(200, usage.itemsReserved());
+		assertEquals(0, usage.ordersLeft());
+		assertEquals(50, usage.itemsLeft());
+	}
+
+	@Test
+	void itemLimitRejectsLargeOrders() {
+		SlotCapacityLedger ledger = new SlotCapacityLedger(emptyRepository(), "UTC");
+		SlotView slot = slot(2L, null, 10);
+
+		ledger.reserve(slot, DATE, 8);
+		assertFalse(ledger.hasRoom(slot, DATE, 3));
+		assertThrows(IllegalArgumentException.class, () -> ledger.reserve(slot, DATE, 3));
+		ledger.reserve(slot, DATE, 2);
+		assertEquals(0, ledger.usage(slot, DATE).itemsLeft());
+		assertNull(ledger.usage(slot, DATE).ordersLeft());
+	}
+
+	@Test
+	void persistedTotalsCountAndDeltasAreFlushed() {
+		PickupSlotCapacityRepository repo = emptyRepository();
+		when(repo.findById(any())).thenReturn(Optional.of(new PickupSlotCapacity(3L, DATE, 4, 9)));
+		SlotCapacityLedger ledger = new SlotCapacityLedger(repo, "UTC");
+		SlotView slot = slot(3L, 5, null);
+
+		ledger.reserve(slot, DATE, 1);                 // 5th order
+		assertThrows(IllegalArgumentException.class, () -> ledger.reserve(slot, DATE, 1));
+		ledger.adjust(3L, DATE, -1, -1);               // a cancellation frees one
+		ledger.reserve(slot, DATE, 6);
+
+		ledger.flush();
+		verify(repo).addReserved(3L, DATE, 1, 6);      // +1/+1, -1/-1, +1/+6
+		assertEquals(15, ledger.usage(slot, DATE).itemsReserved());
+	}
+
+	@Test
+	void flushDropsDatesBeforeYesterdayInThePickupZone() {
+		PickupSlotCapacityRepository repo = emptyRepository();
+		LocalDate today = LocalDate.of(2025, 9, 12);
+		SlotCapacityLedger ledger = new SlotCapacityLedger(repo, "UTC") {
+			@Override
+			protected LocalDate today() {
+				return today;
+			}
+		};
+		SlotView slot = slot(4L, null, null);
+		ledger.usage(slot, today.minusDays(1));
+		ledger.usage(slot, today.minusDays(2));
+
+		ledger.flush();
+		ledger.usage(slot, today.minusDays(1));       // kept
+		ledger.usage(slot, today.minusDays(2));       // dropped, so loaded again
+		verify(repo, times(3)).findById(any());
+	}
+
+	private static PickupSlotCapacityRepository emptyRepository() {
+		PickupSlotCapacityRepository repo = mock(PickupSlotCapacityRepository.class);
+		when(repo.findById(any())).thenReturn(Optional.empty());
+		return repo;
+	}
+
+	private static SlotView slot(Long id, Integer maxOrders, Integer maxItems) {
+		return new SlotView(id, DATE.getDayOfWeek().getValue() % 7, LocalTime.of(16, 0), LocalTime.of(19, 0),
+				true, maxOrders, maxItems, 16 * 60, 19 * 60);
+	}
+}
@@ -0,0 +1,75 @@
+package com.example.momskitchen.util;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+class AfterCommitTest {
+
+	private final List<String> ran = new ArrayList<>();
+
+	@AfterEach
+	void endTransaction() {
+		if (TransactionSynchronizationManager.isSynchronizationActive()) {
+			TransactionSynchronizationManager.clearSynchronization();
+		}
+	}
+
+	@Test
+	void runsNowWithoutATransaction() {
+		AfterCommit.run(() -> ran.add("now"));
+		assertEquals(List.of("now"), ran);
+		assertNull(AfterCommit.pending("key", ArrayList::new, state -> ran.add("pending")));
+	}
+
+	@Test
+	void runsOnlyOnceTheTransactionCommits() {
+		TransactionSynchronizationManager.initSynchronization();
+		AfterCommit.run(() -> ran.add("commit"));
+		AfterCommit.run(() -> ran.add("reserve"), () -> ran.add("release"));
+		assertEquals(List.of(), ran);
+
+		complete(TransactionSynchronization.STATUS_COMMITTED);
+		assertEquals(List.of("commit", "reserve"), ran);
+	}
+
+	@Test
+	void rollbackRunsOnlyTheCompensation() {
+		TransactionSynchronizationManager.initSynchronization();
+		AfterCommit.run(() -> ran.add("commit"));
+		AfterCommit.run(() -> ran.add("reserve"), () -> ran.add("release"));
+
+		complete(TransactionSynchronization.STATUS_ROLLED_BACK);
+		assertEquals(List.of("release"), ran);
+	}
+
+	@Test
+	void pendingStateIsSharedWithinATransactionAndDroppedAfterIt() {
+		TransactionSynchronizationManager.initSynchronization();
+		List<String> first = AfterCommit.pending("key", ArrayList::new, ran::addAll);
+		List<String> second = AfterCommit.pending("key", ArrayList::new, ran::addAll);
+		assertSame(first, second);
+		first.add("a");
+		second.add("b");
+
+		complete(TransactionSynchronization.STATUS_COMMITTED);
+		assertEquals(List.of("a", "b"), ran);
+		assertFalse(TransactionSynchronizationManager.hasResource("key"));
+	}
+
+	private static void complete(int status) {
+		for (TransactionSynchronization sync : TransactionSynchronizationManager.getSynchronizations()) {
+			if (status == TransactionSynchronization.STATUS_COMMITTED) sync.afterCommit();
+			sync.afterCompletion(status);
+		}
+	}
+}
@@ -0,0 +1,45 @@
+package com.example.momskitchen.util;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class BoundedLruCacheTest {
+
+	@Test
+	void evictsLeastRecentlyUsedBeyondMaxEntries() {
+		BoundedLruCache<String, Integer> cache = new BoundedLruCache<>(2);
+		cache.get("a", k -> 1);
+		cache.get("b", k -> 2);
+		cache.get("a", k -> -1);      // hit; "b" is now least recently used
+		cache.get("c", k -> 3);       // evicts "b"
+
+		assertEquals(1, cache.get("a", k -> -1));
+		assertEquals(20, cache.get("b", k -> 20));
+
+		BoundedLruCache.Stats stats = cache.stats();
+		assertEquals(2, stats.size());
+		assertEquals(2, stats.hits());
+		assertEquals(4, stats.misses());
+		assertEquals(2, stats.evictions());
+	}
+
+	@Test
+	void zeroSizeNeverStores() {
+		BoundedLruCache<String, Integer> cache = new BoundedLruCache<>(0);
+		cache.get("a", k -> 1);
+		assertEquals(2, cache.get("a", k -> 2));
+		assertEquals(0, cache.size());
+	}
+
+	@Test
+	void putStoresUnlessDisabled() {
+		BoundedLruCache<String, Integer> cache = new BoundedLruCache<>(2);
+		cache.put("a", 1);
+		assertEquals(1, cache.get("a", k -> -1));
+
+		BoundedLruCache<String, Integer> off = new BoundedLruCache<>(0);
+		off.put("a", 1);
+		assertEquals(0, off.size());
+	}
+}
@@ -0,0 +1,71 @@
+package com.example.momskitchen.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Property checks: Money must agree with the BigDecimal math it replaced.
+ * Seeded, so failures are reproducible.
+ */
+class MoneyTest {
+
+	private static final int RUNS = 100_000;
+
+	@Test
+	void roundTripsTwoDecimalAmounts() {
+		Random rnd = new Random(1);
+		for (int i = 0; i < RUNS; i++) {
+			BigDecimal amount = BigDecimal.valueOf(rnd.nextLong(-100_000_000L, 100_000_000L), 2);
+			assertEquals(amount, Money.of(amount).toBigDecimal());
+		}
+	}
+
+	@Test
+	void plusAndTimesMatchBigDecimal() {
+		Random rnd = new Random(2);
+		for (int i = 0; i < RUNS; i++) {
+			BigDecimal a = BigDecimal.valueOf(rnd.nextLong(0, 10_000_00L), 2);
+			BigDecimal b = BigDecimal.valueOf(rnd.nextLong(0, 10_000_00L), 2);
+			int qty = rnd.nextInt(1, 100);
+
+			assertEquals(a.add(b), Money.of(a).plus(Money.of(b)).toBigDecimal());
+			assertEquals(a.multiply(BigDecimal.valueOf(qty)), Money.of(a).times(qty).toBigDecimal());
+		}
+	}
+
+	@Test
+	void rateRoundingMatchesHalfUp() {
+		Random rnd = new Random(3);
+		for (int i = 0; i < RUNS; i++) {
+			BigDecimal amount = BigDecimal.valueOf(rnd.nextLong(-10_000_000L, 10_000_000L), 2);
+			// rates like 0.06, 0.0625, 0.08875, 1.5
+			BigDecimal rate = BigDecimal.valueOf(rnd.nextLong(0, 200_000L), rnd.nextInt(0, 7));
+
+			BigDecimal expected = amount.multiply(rate).setScale(2, RoundingMode.HALF_UP);
+			assertEquals(expected, Money.of(amount).times(Money.Rate.of(rate)).toBigDecimal(),
+					() -> amount + " * " + rate);
+		}
+	}
+
+	@Test
+	void exactHalfCentTiesRoundAwayFromZero() {
+		Money.Rate half = Money.Rate.of(new BigDecimal("0.5"));
+		assertEquals(new BigDecimal("0.01"), Money.ofCents(1).times(half).toBigDecimal());
+		assertEquals(new BigDecimal("-0.01"), Money.ofCents(-1).times(half).toBigDecimal());
+		assertEquals(new BigDecimal("0.02"), Money.ofCents(3).times(half).toBigDecimal());
+	}
+
+	@Test
+	void overflowThrows() {
+		Money big = Money.ofCents(Long.MAX_VALUE / 2 + 1);
+		assertThrows(ArithmeticException.class, () -> big.plus(big));
+		assertThrows(ArithmeticException.class, () -> big.times(3));
+		assertThrows(ArithmeticException.class, () -> Money.of(new BigDecimal("1e30")));
+	}
+}
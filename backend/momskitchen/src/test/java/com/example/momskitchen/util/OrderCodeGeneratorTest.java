@@ -0,0 +1,142 @@
+package com.example.momskitchen.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class OrderCodeGeneratorTest {
+
+	private static final long START = 1_760_000_000_000L; // Oct 2025
+
+	@Test
+	void codesAreUniqueAcrossNodesAndFullSeconds() {
+		Set<String> seen = new HashSet<>();
+		for (int node : new int[]{0, 1, OrderCodeGenerator.MAX_NODE_ID}) {
+			OrderCodeGenerator gen = generator(node, new AtomicLong(START));
+			for (int i = 0; i < 5 * 256 + 1; i++) {      // exhausts the sequence several times
+				String code = gen.generate();
+				assertTrue(code.matches("MK[A-HJ-NP-Z2-9]{9}"), code);
+				assertTrue(seen.add(code), "duplicate " + code);
+			}
+		}
+		assertEquals(3 * (5 * 256 + 1), seen.size());
+	}
+
+	@Test
+	void restartInSameSecondDoesNotRepeatCodes() {
+		AtomicLong clock = new AtomicLong(START);
+		Set<String> seen = new HashSet<>();
+		OrderCodeGenerator before = generator(7, clock);
+		clock.addAndGet(1_000);
+		for (int i = 0; i < 100; i++) seen.add(before.generate());
+
+		OrderCodeGenerator after = generator(7, clock);   // restarted, same second
+		for (int i = 0; i < 100; i++) {
+			String code = after.generate();
+			assertTrue(seen.add(code), "repeated " + code);
+		}
+	}
+
+	@Test
+	void clockSteppingBackFailsFastOnceTheLastSecondIsUsedUp() {
+		AtomicLong clock = new AtomicLong(START);
+		AtomicInteger sleeps = new AtomicInteger();
+		OrderCodeGenerator gen = generator(3, clock, sleeps);
+		Set<String> seen = new HashSet<>();
+		clock.addAndGet(5_000);
+		for (int i = 0; i < 50; i++) assertTrue(seen.add(gen.generate()));
+		clock.addAndGet(-3_000);
+
+		// the rest of the last issued second is still handed out, then no waiting for the clock
+		for (int i = 50; i < 256; i++) assertTrue(seen.add(gen.generate()));
+		assertThrows(OrderCodeUnavailableException.class, gen::generate);
+		assertEquals(0, sleeps.get());
+
+		clock.addAndGet(3_000);
+		for (int i = 0; i < 500; i++) assertTrue(seen.add(gen.generate()));
+	}
+
+	@Test
+	void waitingForTheNextSecondDoesNotHoldTheLock() throws Exception {
+		AtomicLong clock = new AtomicLong(START + 500);
+		CountDownLatch asleep = new CountDownLatch(1);
+		CountDownLatch wake = new CountDownLatch(1);
+		Thread[] sleeper = new Thread[1];
+		OrderCodeGenerator gen = new OrderCodeGenerator(5) {
+			@Override
+			protected long currentTimeMillis() {
+				return clock.get();
+			}
+
+			@Override
+			protected void sleep(long millis) throws InterruptedException {
+				if (Thread.currentThread() == sleeper[0]) {
+					asleep.countDown();
+					wake.await();
+				}
+				clock.addAndGet(millis);
+			}
+		};
+
+		// the startup second is used up, so the first caller reserves the next one and sleeps
+		ExecutorService pool = Executors.newSingleThreadExecutor();
+		Future<String> first = pool.submit(() -> {
+			sleeper[0] = Thread.currentThread();
+			return gen.generate();
+		});
+		assertTrue(asleep.await(5, TimeUnit.SECONDS));
+
+		String second = assertTimeoutPreemptively(Duration.ofSeconds(5), gen::generate);
+		wake.countDown();
+		assertNotEquals(second, first.get(5, TimeUnit.SECONDS));
+		pool.shutdown();
+	}
+
+	@Test
+	void scrambleIsInjectiveOnASample() {
+		Set<Long> out = new HashSet<>();
+		for (long x = 0; x < 200_000; x++) out.add(OrderCodeGenerator.scramble(x << 20 | x));
+		assertEquals(200_000, out.size());
+	}
+
+	@Test
+	void rejectsOutOfRangeNodeId() {
+		assertThrows(IllegalArgumentException.class, () -> new OrderCodeGenerator(64));
+		assertThrows(IllegalArgumentException.class, () -> new OrderCodeGenerator(-1));
+	}
+
+	private static OrderCodeGenerator generator(int node, AtomicLong clock) {
+		return generator(node, clock, new AtomicInteger());
+	}
+
+	/** Generator on a fake clock; sleeping advances the clock instead of blocking (and is counted). */
+	private static OrderCodeGenerator generator(int node, AtomicLong clock, AtomicInteger sleeps) {
+		return new OrderCodeGenerator(node) {
+			@Override
+			protected long currentTimeMillis() {
+				return clock.get();
+			}
+
+			@Override
+			protected void sleep(long millis) {
+				sleeps.incrementAndGet();
+				clock.addAndGet(millis);
+			}
+		};
+	}
+}
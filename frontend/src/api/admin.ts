@@ -1,5 +1,5 @@
-import { get, put, adminHeaders } from './base';
-import type { OrderListItemDTO, OrderSummaryDTO, Page } from './types';
+import { get, getBlob, post, put, stream, adminHeaders } from './base';
+import type { CursorPage, DailySales, KeyedSales, KitchenQueue, OrderListItemDTO, OrderStreamEvent, OrderSummaryDTO, Page } from './types';
 
 type ListParams = {
   status?: string;
@@ -20,6 +20,29 @@ export function listOrders(params: ListParams = {}): Promise<Page<OrderListItemD
   return get<Page<OrderListItemDTO>>(`/api/admin/orders?${q.toString()}`, hdrs);
 }
 
+type CursorParams = {
+  status?: string;
+  paymentStatus?: string;
+  cursor?: string | null; // omit/null for the first page, then pass the previous nextCursor
+  size?: number;
+};
+
+// Keyset pagination (newest first, no total count) — stays fast on deep pages
+export function listOrdersByCursor(params: CursorParams = {}): Promise<CursorPage<OrderListItemDTO>> {
+  const q = new URLSearchParams();
+  q.set('cursor', params.cursor ?? '');
+  if (params.status) q.set('status', params.status);
+  if (params.paymentStatus) q.set('paymentStatus', params.paymentStatus);
+  if (params.size != null) q.set('size', String(params.size));
+  return get<CursorPage<OrderListItemDTO>>(`/api/admin/orders?${q.toString()}`, adminHeaders());
+}
+
+// Orders created on [from, to] (yyyy-MM-dd) with lines and add-ons, as a CSV or NDJSON file
+export function exportOrders(from: string, to: string, format: 'csv' | 'ndjson' = 'csv'): Promise<Blob> {
+  const q = new URLSearchParams({ from, to, format });
+  return getBlob(`/api/admin/orders/export?${q.toString()}`, adminHeaders());
+}
+
 export function getOrder(id: number): Promise<OrderSummaryDTO> {
   return get<OrderSummaryDTO>(`/api/admin/orders/${id}`, adminHeaders());
 }
@@ -32,3 +55,40 @@ export function updatePayment(id: number, newPayment: string): Promise<OrderList
   return put<OrderListItemDTO>(`/api/admin/orders/${id}/payment/${encodeURIComponent(newPayment)}`, undefined, adminHeaders());
 }
 
+
+// Live order changes (server-sent events). Resolves when the server closes the stream
+// (reconnect then); rejects on errors, including abort via the signal.
+export function streamOrders(onEvent: (e: OrderStreamEvent) => void, signal?: AbortSignal): Promise<void> {
+  return stream('/api/admin/orders/stream', (e) => {
+    if (e.event === 'resync') {
+      onEvent({ type: 'resync' });
+    } else if (e.event === 'order-created' || e.event === 'order-status' || e.event === 'order-payment') {
+      onEvent({ type: e.event, order: JSON.parse(e.data) as OrderListItemDTO });
+    }
+  }, adminHeaders(), signal);
+}
+
+// Kitchen display: confirmed orders, earliest start first
+export function kitchenQueue(limit = 50): Promise<KitchenQueue> {
+  return get<KitchenQueue>(`/api/admin/kitchen/queue?limit=${limit}`, adminHeaders());
+}
+
+// Sales reports (from/to: yyyy-MM-dd, inclusive; default the last 30 days)
+function rangeQuery(from?: string, to?: string): string {
+  const q = new URLSearchParams();
+  if (from) q.set('from', from);
+  if (to) q.set('to', to);
+  return q.toString();
+}
+
+export function dailySales(from?: string, to?: string): Promise<DailySales[]> {
+  return get<DailySales[]>(`/api/admin/reports/daily?${rangeQuery(from, to)}`, adminHeaders());
+}
+
+export function salesBy(dimension: 'items' | 'addons' | 'slots', from?: string, to?: string): Promise<KeyedSales[]> {
+  return get<KeyedSales[]>(`/api/admin/reports/${dimension}?${rangeQuery(from, to)}`, adminHeaders());
+}
+
+export function rebuildSales(from: string, to: string): Promise<{ days: number; rows: number }> {
+  return post<{ days: number; rows: number }>(`/api/admin/reports/rebuild?${rangeQuery(from, to)}`, undefined, adminHeaders());
+}
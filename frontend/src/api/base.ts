@@ -59,6 +59,59 @@ export function del<T>(path: string, headers: HeadersMap = {}): Promise<T> {
   return request<T>(path, { method: 'DELETE', headers });
 }
 
+// Raw response body as a Blob (file downloads)
+export function getBlob(path: string, headers: HeadersMap = {}): Promise<Blob> {
+  return fetch(`${API}${path}`, { method: 'GET', headers }).then((res) => {
+    if (!res.ok) return buildError(res);
+    return res.blob();
+  });
+}
+
+export type StreamEvent = { id: string | null; event: string; data: string };
+
+// Server-sent events over fetch (EventSource cannot send the X-Admin-Key header).
+// Resolves when the server ends the stream, rejects on HTTP/network errors; abort via signal.
+export function stream(path: string, onEvent: (e: StreamEvent) => void, headers: HeadersMap = {}, signal?: AbortSignal): Promise<void> {
+  return fetch(`${API}${path}`, { method: 'GET', headers: { Accept: 'text/event-stream', ...headers }, signal }).then((res) => {
+    if (!res.ok) return buildError(res);
+    if (!res.body) throw new Error('Streaming not supported');
+    const reader = res.body.getReader();
+    const decoder = new TextDecoder();
+    let buffer = '';
+
+    function dispatch(block: string) {
+      let id: string | null = null;
+      let event = 'message';
+      const data: string[] = [];
+      for (const line of block.split('\n')) {
+        if (!line || line.startsWith(':')) continue; // comment (heartbeat)
+        const i = line.indexOf(':');
+        const field = i < 0 ? line : line.slice(0, i);
+        const value = i < 0 ? '' : line.slice(i + 1).replace(/^ /, '');
+        if (field === 'id') id = value;
+        else if (field === 'event') event = value;
+        else if (field === 'data') data.push(value);
+      }
+      if (data.length || event !== 'message') onEvent({ id, event, data: data.join('\n') });
+    }
+
+    function pump(): Promise<void> {
+      return reader.read().then(({ done, value }) => {
+        if (done) return;
+        buffer += decoder.decode(value, { stream: true }).replace(/\r\n?/g, '\n');
+        let sep = buffer.indexOf('\n\n');
+        while (sep >= 0) {
+          dispatch(buffer.slice(0, sep));
+          buffer = buffer.slice(sep + 2);
+          sep = buffer.indexOf('\n\n');
+        }
+        return pump();
+      });
+    }
+    return pump();
+  });
+}
+
 // Admin auth helpers: store/get admin key (password) from localStorage, fallback to env
 export function getAdminKey(): string | undefined {
   try {
@@ -2,5 +2,6 @@ export * from './base';
 export * as MenuApi from './menu';
 export * as OrdersApi from './orders';
 export * as AdminApi from './admin';
+export * as PickupApi from './pickup';
 export * from './types';
 
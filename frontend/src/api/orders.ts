@@ -12,12 +12,31 @@ export function quote(body: CreateOrderRequest): Promise<QuoteResponse> {
   return post<QuoteResponse>('/api/orders/quote', payload);
 }
 
-export function create(body: CreateOrderRequest): Promise<OrderSummaryDTO> {
+// Network errors and 5xx may have happened after the order was stored; with an
+// idempotency key they are safe to retry (the server returns the original order).
+const CREATE_RETRIES = 2;
+const isTransient = (e: any) => !e?.status || e.status >= 500;
+const delay = (ms: number) => new Promise<void>((resolve) => setTimeout(resolve, ms));
+
+export function create(body: CreateOrderRequest, idempotencyKey?: string): Promise<OrderSummaryDTO> {
   const payload: CreateOrderRequest = {
     ...body,
     customerPhone: digitsOnly(body.customerPhone),
   };
-  return post<OrderSummaryDTO>('/api/orders', payload);
+  if (!idempotencyKey) return post<OrderSummaryDTO>('/api/orders', payload);
+
+  const headers = { 'Idempotency-Key': idempotencyKey };
+  const attempt = (n: number): Promise<OrderSummaryDTO> =>
+    post<OrderSummaryDTO>('/api/orders', payload, headers).catch((e: any) => {
+      if (n >= CREATE_RETRIES || !isTransient(e)) throw e;
+      return delay(500 * 2 ** n).then(() => attempt(n + 1));
+    });
+  return attempt(0);
+}
+
+// One key per checkout attempt; reuse it for every retry of the same cart
+export function newIdempotencyKey(): string {
+  return crypto.randomUUID();
 }
 
 export function lookup(orderCode: string, phone: string): Promise<OrderSummaryDTO> {
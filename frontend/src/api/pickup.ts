@@ -0,0 +1,9 @@
+import { get } from './base';
+import type { PickupSlotAvailability } from './types';
+
+// Active pickup slots per date with remaining capacity; from defaults to today (server zone)
+export function listSlots(from?: string, days = 7): Promise<PickupSlotAvailability[]> {
+  const params = new URLSearchParams({ days: String(days) });
+  if (from) params.set('from', from);
+  return get<PickupSlotAvailability[]>(`/api/pickup/slots?${params.toString()}`);
+}
@@ -56,6 +56,11 @@ export type OrderListItemDTO = {
   orderCode: string;
 };
 
+// Events of GET /api/admin/orders/stream; 'resync' means some were missed: reload the list
+export type OrderStreamEvent =
+  | { type: 'order-created' | 'order-status' | 'order-payment'; order: OrderListItemDTO }
+  | { type: 'resync' };
+
 export type OrderSummaryItemAddon = {
   addonName: string;
   priceDelta: number;
@@ -118,3 +123,66 @@ export type Page<T> = {
   number: number; // current page index
 };
 
+// Keyset page from /api/admin/orders?cursor=... (nextCursor is null on the last page)
+export type CursorPage<T> = {
+  items: T[];
+  nextCursor: string | null;
+};
+
+
+// One pickup slot on one date; limits/remaining are null when unlimited
+export type PickupSlotAvailability = {
+  slotId: number;
+  date: string; // yyyy-MM-dd
+  dayOfWeek: number; // 0..6
+  startTime: string; // HH:mm:ss
+  endTime: string;
+  maxOrders: number | null;
+  maxItems: number | null;
+  ordersRemaining: number | null;
+  itemsRemaining: number | null;
+  full: boolean;
+};
+
+// GET /api/admin/kitchen/queue — times are local to the pickup zone
+export type KitchenTicket = {
+  orderId: number;
+  orderCode: string;
+  customerName: string;
+  notes: string | null;
+  pickupAt: string;
+  startBy: string;   // pickupAt - prepMinutes
+  prepMinutes: number;
+  portions: number;
+  late: boolean;     // startBy has passed
+  lines: { itemName: string; quantity: number; addons: string[] }[];
+};
+
+export type KitchenQueue = {
+  now: string;
+  open: number;      // tickets on the queue in total
+  tickets: KitchenTicket[];
+};
+
+// /api/admin/reports — sales rollups; days are the day orders were placed (pickup zone)
+export type DailySales = {
+  day: string;
+  orders: number;
+  amount: number;
+  paidOrders: number;
+  paidAmount: number;
+  refundedOrders: number;
+  refundedAmount: number;
+};
+
+// units: portions (items/add-ons) or orders (slots); id 0 = deleted item / no slot
+export type KeyedSales = {
+  id: number;
+  name: string | null;
+  units: number;
+  amount: number;
+  paidUnits: number;
+  paidAmount: number;
+  refundedUnits: number;
+  refundedAmount: number;
+};
@@ -1,18 +1,23 @@
-import { useEffect, useState } from 'react'
+import { useEffect, useRef, useState } from 'react'
 import { AdminApi } from '../api'
-import type { Page, OrderListItemDTO, OrderSummaryDTO } from '../api'
+import type { Page, OrderListItemDTO, OrderStreamEvent, OrderSummaryDTO } from '../api'
+
+const PAGE_SIZE = 20
 
 export default function AdminOrdersPage({ onLogout }: { onLogout?: () => void }) {
   const [page, setPage] = useState<Page<OrderListItemDTO> | null>(null)
   const [loading, setLoading] = useState(false)
   const [error, setError] = useState<string | null>(null)
   const [selected, setSelected] = useState<OrderSummaryDTO | null>(null)
+  const [live, setLive] = useState(false)
+  const pageNumber = useRef(0)
 
   function load(p = 0) {
     setLoading(true)
     setError(null)
     setSelected(null)
-    AdminApi.listOrders({ page: p, size: 20, sort: 'createdAt,desc' })
+    pageNumber.current = p
+    AdminApi.listOrders({ page: p, size: PAGE_SIZE, sort: 'createdAt,desc' })
       .then(setPage)
       .catch((e: any) => setError(e?.body?.message || e.message || 'Failed to load orders'))
       .finally(() => setLoading(false))
@@ -20,6 +25,44 @@ export default function AdminOrdersPage({ onLogout }: { onLogout?: () => void })
 
   useEffect(() => { load(0) }, [])
 
+  // Live updates: apply streamed changes to the loaded page; reconnect with backoff
+  useEffect(() => {
+    const abort = new AbortController()
+    let retryMs = 1000
+    let timer: ReturnType<typeof setTimeout> | undefined
+
+    function onEvent(e: OrderStreamEvent) {
+      retryMs = 1000
+      if (e.type === 'resync') {
+        load(pageNumber.current)
+      } else if (e.type === 'order-created') {
+        if (pageNumber.current === 0) setPage((p) => p && prependRow(p, e.order))
+      } else {
+        setPage((p) => p && replaceRow(p, e.order))
+      }
+    }
+
+    function connect() {
+      setLive(true)
+      AdminApi.streamOrders(onEvent, abort.signal)
+        .catch(() => {})
+        .then(() => {
+          setLive(false)
+          if (abort.signal.aborted) return
+          // we may have missed changes while disconnected
+          load(pageNumber.current)
+          timer = setTimeout(connect, retryMs)
+          retryMs = Math.min(retryMs * 2, 30000)
+        })
+    }
+
+    connect()
+    return () => {
+      abort.abort()
+      if (timer) clearTimeout(timer)
+    }
+  }, [])
+
   function openDetails(id: number) {
     setLoading(true)
     setError(null)
@@ -33,7 +76,7 @@ export default function AdminOrdersPage({ onLogout }: { onLogout?: () => void })
     setLoading(true)
     setError(null)
     AdminApi.updateStatus(id, status)
-      .then(() => load(page?.number || 0))
+      .then((o) => setPage((p) => p && replaceRow(p, o)))
       .catch((e: any) => setError(e?.body?.message || e.message || 'Update failed'))
       .finally(() => setLoading(false))
   }
@@ -42,7 +85,7 @@ export default function AdminOrdersPage({ onLogout }: { onLogout?: () => void })
     setLoading(true)
     setError(null)
     AdminApi.updatePayment(id, pay)
-      .then(() => load(page?.number || 0))
+      .then((o) => setPage((p) => p && replaceRow(p, o)))
       .catch((e: any) => setError(e?.body?.message || e.message || 'Update failed'))
       .finally(() => setLoading(false))
   }
@@ -50,7 +93,9 @@ export default function AdminOrdersPage({ onLogout }: { onLogout?: () => void })
   return (
     <div>
       <h2>Admin — Orders</h2>
-      <div className="notice">Authenticated as admin; requests send X-Admin-Key.</div>
+      <div className="notice">
+        Authenticated as admin; requests send X-Admin-Key. {live ? 'Live updates on.' : 'Live updates reconnecting…'}
+      </div>
       {onLogout && (
         <button style={{ float: 'right', marginTop: -36 }} onClick={onLogout}>Sign out</button>
       )}
@@ -118,6 +163,21 @@ export default function AdminOrdersPage({ onLogout }: { onLogout?: () => void })
   )
 }
 
+function replaceRow(p: Page<OrderListItemDTO>, o: OrderListItemDTO): Page<OrderListItemDTO> {
+  if (!p.content.some((r) => r.orderId === o.orderId)) return p
+  return { ...p, content: p.content.map((r) => (r.orderId === o.orderId ? o : r)) }
+}
+
+// Newest first: a new order goes on top of the first page and pushes the last row off
+function prependRow(p: Page<OrderListItemDTO>, o: OrderListItemDTO): Page<OrderListItemDTO> {
+  if (p.content.some((r) => r.orderId === o.orderId)) return p
+  return {
+    ...p,
+    content: [o, ...p.content].slice(0, PAGE_SIZE),
+    totalElements: p.totalElements + 1,
+  }
+}
+
 function parseMaybeDate(v: any): Date | null {
   if (!v) return null;
   // String ISO
@@ -1,4 +1,4 @@
-import { useMemo, useState } from 'react';
+import { useMemo, useRef, useState } from 'react';
 import { OrdersApi } from '../api';
 import { useCart } from '../context/CartContext';
 import type { QuoteResponse, OrderSummaryDTO } from '../api';
@@ -14,6 +14,9 @@ export default function CheckoutPage() {
   const [quote, setQuote] = useState<QuoteResponse | null>(null);
   const [order, setOrder] = useState<OrderSummaryDTO | null>(null);
   const [paymentMethod, setPaymentMethod] = useState<'CASH'|'CASHAPP'>('CASH');
+  // Idempotency key of the pending submission; kept while the body is unchanged so a
+  // retry after a lost response returns the same order instead of placing another
+  const pendingCreate = useRef<{ key: string; body: string } | null>(null);
 
   const cashTag = (import.meta as any).env.VITE_CASHAPP_TAG as string | undefined;
   const buildCashAppUrl = useMemo(() => {
@@ -51,8 +54,13 @@ export default function CheckoutPage() {
 
   function doCreate() {
     setLoading(true); setError(null);
-    OrdersApi.create(buildBody())
-      .then(o => { setOrder(o); cart.clear(); })
+    const body = buildBody();
+    const json = JSON.stringify(body);
+    if (!pendingCreate.current || pendingCreate.current.body !== json) {
+      pendingCreate.current = { key: OrdersApi.newIdempotencyKey(), body: json };
+    }
+    OrdersApi.create(body, pendingCreate.current.key)
+      .then(o => { pendingCreate.current = null; setOrder(o); cart.clear(); })
       .catch((e: any) => setError(e?.body?.message || e.message || 'Create failed'))
       .finally(() => setLoading(false));
   }